@@ -0,0 +1,150 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares JMH json results with a baseline from an earlier run on the same machine.
+ *
+ * Usage: BaselineComparison <baseline.json> <results.json> [thresholdPercent]
+ *
+ * Exits with 1 if any benchmark regressed by more than the threshold, taking the
+ * direction of the mode into account (throughput is higher is better, all time
+ * based modes are lower is better).
+ */
+public class BaselineComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    static class Score {
+        final String mode;
+        final double score;
+        final double error;
+        final String unit;
+
+        Score(String mode, double score, double error, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+
+        boolean isHigherBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <results.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        Path baselinePath = Paths.get(args[0]);
+        Path resultsPath = Paths.get(args[1]);
+        double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        if (!Files.exists(baselinePath)) {
+            System.err.println("No baseline at " + baselinePath + ", run the jmh and jmhSaveBaseline tasks first");
+            System.exit(2);
+        }
+        if (!Files.exists(resultsPath)) {
+            System.err.println("No results at " + resultsPath + ", run the jmh task first");
+            System.exit(2);
+        }
+
+        int numRegressions = compare(readScores(baselinePath), readScores(resultsPath), thresholdPercent);
+        if (numRegressions > 0) {
+            System.err.println(numRegressions + " benchmark(s) regressed by more than " + thresholdPercent + "%");
+            System.exit(1);
+        }
+    }
+
+    static int compare(Map<String, Score> baseline, Map<String, Score> results, double thresholdPercent) {
+        int numRegressions = 0;
+        System.out.printf("%-90s %14s %14s %-10s %9s%n", "Benchmark", "Baseline", "Current", "Unit", "Worse by");
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score current = entry.getValue();
+            Score previous = baseline.get(entry.getKey());
+            if (previous == null || previous.score == 0) {
+                System.out.printf("%-90s %14s %14.3f %-10s %9s%n", entry.getKey(), "-", current.score, current.unit, "new");
+                continue;
+            }
+            double changePercent = getChangePercent(previous, current);
+            boolean isRegression = changePercent > thresholdPercent && !isWithinError(previous, current);
+            if (isRegression) numRegressions++;
+            System.out.printf("%-90s %14.3f %14.3f %-10s %+8.1f%%%s%n", entry.getKey(), previous.score, current.score,
+                    current.unit, changePercent, isRegression ? "  REGRESSION" : "");
+        }
+        return numRegressions;
+    }
+
+    // positive if the current score is worse than the baseline
+    static double getChangePercent(Score previous, Score current) {
+        double change = (current.score - previous.score) / previous.score * 100;
+        return previous.isHigherBetter() ? -change : change;
+    }
+
+    // differences inside the combined confidence intervals are noise
+    private static boolean isWithinError(Score previous, Score current) {
+        double error = (Double.isNaN(previous.error) ? 0 : previous.error) + (Double.isNaN(current.error) ? 0 : current.error);
+        return Math.abs(current.score - previous.score) <= error;
+    }
+
+    static Map<String, Score> readScores(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parseScores(JsonParser.parseReader(reader));
+        }
+    }
+
+    static Map<String, Score> parseScores(JsonElement json) {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonElement element : json.getAsJsonArray()) {
+            JsonObject result = element.getAsJsonObject();
+            String mode = result.get("mode").getAsString();
+            JsonObject primaryMetric = result.getAsJsonObject("primaryMetric");
+            JsonElement error = primaryMetric.get("scoreError");
+            scores.put(getKey(result), new Score(mode,
+                    primaryMetric.get("score").getAsDouble(),
+                    error == null || !error.isJsonPrimitive() || !error.getAsJsonPrimitive().isNumber() ? Double.NaN : error.getAsDouble(),
+                    primaryMetric.get("scoreUnit").getAsString()));
+        }
+        return scores;
+    }
+
+    private static String getKey(JsonObject result) {
+        StringBuilder key = new StringBuilder(result.get("benchmark").getAsString());
+        if (result.has("params")) {
+            Map<String, String> params = new TreeMap<>();
+            result.getAsJsonObject("params").entrySet().forEach(e -> params.put(e.getKey(), e.getValue().getAsString()));
+            key.append(params);
+        }
+        return key.append(" (").append(result.get("mode").getAsString()).append(')').toString();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.persistence;
+
+import haveno.common.crypto.CryptoException;
+import haveno.common.crypto.Encryption;
+import haveno.common.file.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appending single records and replaying a log of many records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptedAppendLogBenchmark {
+
+    private static final int NUM_REPLAY_RECORDS = 1000;
+
+    @Param({"256", "16384"})
+    public int recordSize;
+
+    private File dir;
+    private SecretKey key;
+    private byte[] record;
+    private EncryptedAppendLog appendLog;
+    private EncryptedAppendLog replayLog;
+
+    @Setup
+    public void setUp() throws IOException, CryptoException {
+        dir = Files.createTempDirectory("append_log_benchmark").toFile();
+        key = Encryption.generateSecretKey(256);
+        record = new byte[recordSize];
+        new Random(1).nextBytes(record);
+
+        replayLog = new EncryptedAppendLog(dir, "Replay.log", key, 1);
+        List<byte[]> records = new ArrayList<>(NUM_REPLAY_RECORDS);
+        for (int i = 0; i < NUM_REPLAY_RECORDS; i++) records.add(record);
+        replayLog.appendAll(records);
+    }
+
+    // start each iteration with an empty log, so appends do not slow down with file size
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        File file = new File(dir, "Append.log");
+        if (file.exists() && !file.delete()) throw new IllegalStateException("Cannot delete " + file);
+        appendLog = new EncryptedAppendLog(dir, "Append.log", key, 1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtil.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public void append() throws CryptoException {
+        appendLog.append(record);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<byte[]> replay() {
+        return replayLog.readAllValidRecords();
+    }
+}
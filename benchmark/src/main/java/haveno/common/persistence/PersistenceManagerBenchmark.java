@@ -0,0 +1,92 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.persistence;
+
+import haveno.common.crypto.KeyRing;
+import haveno.common.crypto.KeyStorage;
+import haveno.common.file.FileUtil;
+import haveno.common.proto.persistable.NavigationPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing, encrypting and writing a large store with persistNow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceManagerBenchmark {
+
+    private static final String FILE_NAME = "BenchmarkStore";
+
+    @Param({"1000", "100000"})
+    public int numEntries;
+
+    @Param({"true", "false"})
+    public boolean encrypted;
+
+    private File dir;
+    private PersistenceManager<NavigationPath> persistenceManager;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("persistence_benchmark").toFile();
+        KeyRing keyRing = encrypted ? new KeyRing(new KeyStorage(dir), null, true) : null;
+        persistenceManager = new PersistenceManager<>(dir, null, null, keyRing);
+        PersistenceManager.allServicesInitialized.set(true);
+
+        List<String> entries = new ArrayList<>(numEntries);
+        for (int i = 0; i < numEntries; i++) entries.add("navigation/path/segment/number/" + i + "/with/some/padding");
+        persistenceManager.initialize(new NavigationPath(entries), FILE_NAME, PersistenceManager.Source.PRIVATE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        persistenceManager.shutdown();
+        PersistenceManager.allServicesInitialized.set(false);
+        FileUtil.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public void persistNow() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        persistenceManager.persistNow(latch::countDown);
+        if (!latch.await(60, TimeUnit.SECONDS)) throw new IllegalStateException("Write did not complete");
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.notifications.alerts.market;
+
+import haveno.core.offer.OfferDirection;
+import haveno.core.payment.PaymentAccount;
+import haveno.core.payment.payload.PaymentMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Matching a new offer against numFilters market alert filters, spread over a few payment methods and both
+ * directions, with the index and with a scan of all filters as MarketAlerts did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarketAlertIndexBenchmark {
+
+    private static final String[] PAYMENT_METHOD_IDS = {
+            PaymentMethod.SEPA_ID, PaymentMethod.SEPA_INSTANT_ID, PaymentMethod.ZELLE_ID, PaymentMethod.REVOLUT_ID,
+            PaymentMethod.TRANSFERWISE_ID, PaymentMethod.PAYPAL_ID, PaymentMethod.CASH_APP_ID, PaymentMethod.F2F_ID};
+    private static final int NUM_OFFERS = 1024;
+
+    @Param({"1000", "100000"})
+    public int numFilters;
+
+    private List<MarketAlertFilter> filters;
+    private MarketAlertIndex marketAlertIndex;
+    private String[] offerPaymentMethodIds;
+    private OfferDirection[] offerDirections;
+    private double[] offerRatios;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        PaymentAccount[] paymentAccounts = new PaymentAccount[PAYMENT_METHOD_IDS.length];
+        for (int i = 0; i < paymentAccounts.length; i++) {
+            paymentAccounts[i] = stub(PaymentAccount.class);
+            when(paymentAccounts[i].getPaymentMethod()).thenReturn(PaymentMethod.getDummyPaymentMethod(PAYMENT_METHOD_IDS[i]));
+        }
+
+        // trigger values between -5% and 5%
+        filters = new ArrayList<>();
+        for (int i = 0; i < numFilters; i++) {
+            filters.add(new MarketAlertFilter(paymentAccounts[random.nextInt(paymentAccounts.length)], random.nextInt(1001) - 500, random.nextBoolean()));
+        }
+        marketAlertIndex = new MarketAlertIndex(filters);
+
+        // offer prices between 0% and 10% worse than the market price
+        offerPaymentMethodIds = new String[NUM_OFFERS];
+        offerDirections = new OfferDirection[NUM_OFFERS];
+        offerRatios = new double[NUM_OFFERS];
+        for (int i = 0; i < NUM_OFFERS; i++) {
+            offerPaymentMethodIds[i] = PAYMENT_METHOD_IDS[random.nextInt(PAYMENT_METHOD_IDS.length)];
+            offerDirections[i] = random.nextBoolean() ? OfferDirection.BUY : OfferDirection.SELL;
+            offerRatios[i] = random.nextDouble() * 1000;
+        }
+    }
+
+    @Benchmark
+    public List<MarketAlertFilter> getTriggeredFilters() {
+        int i = nextOffer();
+        return marketAlertIndex.getTriggeredFilters(offerPaymentMethodIds[i], offerDirections[i], offerRatios[i]);
+    }
+
+    @Benchmark
+    public List<MarketAlertFilter> scanAllFilters() {
+        int i = nextOffer();
+        boolean isBuyOffer = offerDirections[i] == OfferDirection.BUY;
+        List<MarketAlertFilter> result = new ArrayList<>();
+        for (MarketAlertFilter filter : filters) {
+            if (filter.getPaymentAccount().getPaymentMethod().getId().equals(offerPaymentMethodIds[i]) &&
+                    filter.isBuyOffer() == isBuyOffer &&
+                    offerRatios[i] <= filter.getTriggerValue()) {
+                result.add(filter);
+            }
+        }
+        return result;
+    }
+
+    private int nextOffer() {
+        int i = index;
+        index = (index + 1) % NUM_OFFERS;
+        return i;
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.offer;
+
+import haveno.common.app.Version;
+import haveno.common.crypto.KeyRing;
+import haveno.common.crypto.KeyStorage;
+import haveno.core.payment.payload.PaymentMethod;
+import haveno.core.trade.HavenoUtils;
+import haveno.network.p2p.NodeAddress;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates valid offer payloads for the offer benchmarks.
+ */
+public class BenchmarkOffers {
+
+    // v3 onion address, which offers require on mainnet
+    public static final NodeAddress MAKER_NODE_ADDRESS = new NodeAddress("benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchmarkbe.onion", 9999);
+    public static final NodeAddress ARBITRATOR_NODE_ADDRESS = new NodeAddress("arbitratorarbitratorarbitratorarbitratorarbitratorarbitr.onion", 9999);
+
+    public static KeyRing createKeyRing() {
+        try {
+            File dir = Files.createTempDirectory("benchmark-keys").toFile();
+            dir.deleteOnExit();
+            return new KeyRing(new KeyStorage(dir), null, true);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @param index - unique index which determines the offer id and reserve key images
+     * @param arbitratorKeyRing - key ring to sign the offer with as arbitrator, or null to leave unsigned
+     */
+    public static OfferPayload createOfferPayload(int index, KeyRing makerKeyRing, KeyRing arbitratorKeyRing) {
+        OfferPayload payload = new OfferPayload("benchmark-offer-" + index,
+                System.currentTimeMillis(),
+                MAKER_NODE_ADDRESS,
+                makerKeyRing.getPubKeyRing(),
+                index % 2 == 0 ? OfferDirection.BUY : OfferDirection.SELL,
+                0L,
+                0.01,
+                true,
+                100_000_000_000L,
+                100_000_000_000L,
+                0.0015,
+                0.0075,
+                0.25,
+                0.15,
+                0.15,
+                "XMR",
+                "EUR",
+                PaymentMethod.SEPA_ID,
+                "benchmark-account",
+                "DE",
+                List.of("DE", "FR", "IT"),
+                null,
+                null,
+                Version.VERSION,
+                3_000_000L,
+                1_000_000_000_000L,
+                TimeUnit.DAYS.toMillis(6),
+                false,
+                false,
+                0L,
+                0L,
+                false,
+                null,
+                null,
+                Version.TRADE_PROTOCOL_VERSION,
+                null,
+                null,
+                List.of("benchmark-key-image-" + index + "-0", "benchmark-key-image-" + index + "-1"),
+                null);
+        if (arbitratorKeyRing != null) {
+            payload.setArbitratorSigner(ARBITRATOR_NODE_ADDRESS);
+            payload.setArbitratorSignature(HavenoUtils.signOffer(payload, arbitratorKeyRing));
+        }
+        return payload;
+    }
+}
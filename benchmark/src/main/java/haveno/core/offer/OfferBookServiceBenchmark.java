@@ -0,0 +1,118 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.offer;
+
+import haveno.common.ThreadUtils;
+import haveno.common.crypto.KeyRing;
+import haveno.core.api.XmrConnectionService;
+import haveno.core.api.XmrKeyImagePoller;
+import haveno.core.filter.FilterManager;
+import haveno.core.provider.price.PriceFeedService;
+import haveno.network.p2p.P2PService;
+import haveno.network.p2p.storage.HashMapChangedListener;
+import haveno.network.p2p.storage.payload.ProtectedStorageEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Adding and removing a batch of offers in an offer book which already holds
+ * numOffers offers. Each added offer is validated against all offers in the book.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OfferBookServiceBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"1000", "5000"})
+    public int numOffers;
+
+    private HashMapChangedListener offerListener;
+    private List<ProtectedStorageEntry> batch;
+
+    @Setup
+    public void setUp() throws Exception {
+        P2PService p2PService = stub(P2PService.class);
+        doAnswer(invocation -> {
+            offerListener = invocation.getArgument(0);
+            return null;
+        }).when(p2PService).addHashSetChangedListener(any());
+        XmrConnectionService xmrConnectionService = stub(XmrConnectionService.class);
+        when(xmrConnectionService.getKeyImagePoller()).thenReturn(stub(XmrKeyImagePoller.class));
+        File storageDir = Files.createTempDirectory("benchmark-offerbook").toFile();
+        storageDir.deleteOnExit();
+        new OfferBookService(p2PService, stub(PriceFeedService.class), stub(FilterManager.class), xmrConnectionService, storageDir, false);
+
+        KeyRing keyRing = BenchmarkOffers.createKeyRing();
+        List<ProtectedStorageEntry> offers = new ArrayList<>();
+        for (int i = 0; i < numOffers; i++) offers.add(toEntry(BenchmarkOffers.createOfferPayload(i, keyRing, null)));
+        offerListener.onAdded(offers);
+        awaitOfferBook();
+
+        batch = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) batch.add(toEntry(BenchmarkOffers.createOfferPayload(numOffers + i, keyRing, null)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void addAndRemoveOffers() {
+        offerListener.onAdded(batch);
+        offerListener.onRemoved(batch);
+        awaitOfferBook();
+    }
+
+    private static void awaitOfferBook() {
+        ThreadUtils.await(() -> {}, OfferBookService.class.getSimpleName());
+    }
+
+    private static ProtectedStorageEntry toEntry(OfferPayload payload) {
+        ProtectedStorageEntry entry = stub(ProtectedStorageEntry.class);
+        when(entry.getProtectedStoragePayload()).thenReturn(payload);
+        return entry;
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.offer;
+
+import haveno.common.crypto.KeyRing;
+import haveno.core.account.witness.AccountAgeWitnessService;
+import haveno.core.filter.FilterManager;
+import haveno.core.support.dispute.arbitration.arbitrator.Arbitrator;
+import haveno.core.user.Preferences;
+import haveno.core.user.User;
+import haveno.network.p2p.P2PService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * canTakeOffer, which the offer book runs for each displayed offer whenever the
+ * book is refreshed. Offers are signed by an accepted arbitrator, so all checks run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferFilterServiceBenchmark {
+
+    @Param({"100", "10000"})
+    public int numOffers;
+
+    private OfferFilterService offerFilterService;
+    private Offer[] offers;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        KeyRing makerKeyRing = BenchmarkOffers.createKeyRing();
+        KeyRing arbitratorKeyRing = BenchmarkOffers.createKeyRing();
+        Arbitrator arbitrator = new Arbitrator(BenchmarkOffers.ARBITRATOR_NODE_ADDRESS,
+                arbitratorKeyRing.getPubKeyRing(),
+                List.of("en"),
+                System.currentTimeMillis(),
+                new byte[32],
+                "",
+                null,
+                null,
+                null);
+
+        User user = stub(User.class);
+        when(user.getAcceptedArbitratorByAddress(BenchmarkOffers.ARBITRATOR_NODE_ADDRESS)).thenReturn(arbitrator);
+        AccountAgeWitnessService accountAgeWitnessService = stub(AccountAgeWitnessService.class);
+        when(accountAgeWitnessService.verifyPeersTradeAmount(any(), any(), any())).thenReturn(true);
+        offerFilterService = new OfferFilterService(user,
+                stub(P2PService.class),
+                stub(Preferences.class),
+                stub(FilterManager.class),
+                accountAgeWitnessService);
+
+        offers = new Offer[numOffers];
+        for (int i = 0; i < numOffers; i++) {
+            offers[i] = new Offer(BenchmarkOffers.createOfferPayload(i, makerKeyRing, arbitratorKeyRing));
+        }
+    }
+
+    @Benchmark
+    public OfferFilterService.Result canTakeOffer() {
+        Offer offer = offers[index];
+        index = (index + 1) % offers.length;
+        return offerFilterService.canTakeOffer(offer, false);
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,491 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.load;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import haveno.common.UserThread;
+import haveno.common.app.Capabilities;
+import haveno.common.app.Capability;
+import haveno.common.crypto.CryptoException;
+import haveno.common.util.Utilities;
+import haveno.core.offer.BenchmarkOffers;
+import haveno.core.offer.OfferPayload;
+import haveno.core.payment.payload.PaymentMethod;
+import haveno.core.proto.network.CoreNetworkProtoResolver;
+import haveno.core.support.SupportType;
+import haveno.core.support.messages.ChatMessage;
+import haveno.core.trade.statistics.TradeStatistics3;
+import haveno.network.p2p.DecryptedMessageWithPubKey;
+import haveno.network.p2p.NodeAddress;
+import haveno.network.p2p.P2PService;
+import haveno.network.p2p.SendMailboxMessageListener;
+import haveno.network.p2p.network.LocalhostNetworkNode;
+import haveno.network.p2p.seed.SeedNodeRepository;
+import haveno.network.p2p.storage.HashMapChangedListener;
+import haveno.network.p2p.storage.P2PDataStorage;
+import haveno.network.p2p.storage.messages.RefreshOfferMessage;
+import haveno.network.p2p.storage.payload.ProtectedStorageEntry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Starts seed nodes and peers on LocalhostNetworkNodes in one JVM, generates offer,
+ * mailbox and trade statistics traffic at the configured rates and reports propagation
+ * latency, bootstrap time, bandwidth per node and heap usage.
+ *
+ * Usage, e.g.: ./gradlew :benchmark:p2pLoad -PloadArgs="--peers=48 --durationSec=120"
+ *
+ * Rates are per second over the whole network. Traffic is sent from random peers.
+ */
+@Slf4j
+public class LoadHarness {
+
+    static class LoadConfig {
+        int seeds = 2;
+        int peers = 48;
+        int basePort = 20000;
+        int maxConnections = 12;
+        int peerStartIntervalMs = 100;
+        int torDelayMs = 0;
+        int bootstrapTimeoutSec = 180;
+        int durationSec = 60;
+        int drainSec = 15;
+        double offerAddsPerSec = 5;
+        double offerRefreshesPerSec = 5;
+        double offerRemovesPerSec = 2;
+        double mailboxMessagesPerSec = 5;
+        double tradeStatisticsPerSec = 1;
+
+        static LoadConfig parse(String[] args) {
+            LoadConfig config = new LoadConfig();
+            for (String arg : args) {
+                String[] nameAndValue = arg.replaceFirst("^--", "").split("=", 2);
+                if (nameAndValue.length != 2) throw new IllegalArgumentException("Expected --name=value but got " + arg);
+                String value = nameAndValue[1];
+                switch (nameAndValue[0]) {
+                    case "seeds": config.seeds = Integer.parseInt(value); break;
+                    case "peers": config.peers = Integer.parseInt(value); break;
+                    case "basePort": config.basePort = Integer.parseInt(value); break;
+                    case "maxConnections": config.maxConnections = Integer.parseInt(value); break;
+                    case "peerStartIntervalMs": config.peerStartIntervalMs = Integer.parseInt(value); break;
+                    case "torDelayMs": config.torDelayMs = Integer.parseInt(value); break;
+                    case "bootstrapTimeoutSec": config.bootstrapTimeoutSec = Integer.parseInt(value); break;
+                    case "durationSec": config.durationSec = Integer.parseInt(value); break;
+                    case "drainSec": config.drainSec = Integer.parseInt(value); break;
+                    case "offerAddsPerSec": config.offerAddsPerSec = Double.parseDouble(value); break;
+                    case "offerRefreshesPerSec": config.offerRefreshesPerSec = Double.parseDouble(value); break;
+                    case "offerRemovesPerSec": config.offerRemovesPerSec = Double.parseDouble(value); break;
+                    case "mailboxMessagesPerSec": config.mailboxMessagesPerSec = Double.parseDouble(value); break;
+                    case "tradeStatisticsPerSec": config.tradeStatisticsPerSec = Double.parseDouble(value); break;
+                    default: throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            if (config.seeds < 1) throw new IllegalArgumentException("At least one seed node is required");
+            if (config.peers < 2) throw new IllegalArgumentException("At least two peers are required");
+            return config;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadHarness harness = new LoadHarness(LoadConfig.parse(args));
+        int exitCode = 0;
+        try {
+            harness.run();
+        } catch (Exception e) {
+            log.error("Load run failed", e);
+            exitCode = 1;
+        } finally {
+            harness.shutDown();
+        }
+        System.exit(exitCode);
+    }
+
+    private final LoadConfig config;
+    private final List<LoadNode> seedNodes = new ArrayList<>();
+    private final List<LoadNode> peers = new ArrayList<>();
+    private final List<LoadNode> allNodes = new ArrayList<>();
+    private final PropagationTracker offerAdds = new PropagationTracker("offer add");
+    private final PropagationTracker offerRefreshes = new PropagationTracker("offer refresh");
+    private final PropagationTracker offerRemoves = new PropagationTracker("offer remove");
+    private final PropagationTracker mailboxMessages = new PropagationTracker("mailbox message");
+    private final PropagationTracker tradeStatistics = new PropagationTracker("trade statistics");
+    private final AtomicInteger itemCounter = new AtomicInteger();
+    private ScheduledExecutorService scheduler;
+
+    LoadHarness(LoadConfig config) {
+        this.config = config;
+    }
+
+    void run() throws Exception {
+        Capabilities.app.addAll(Capability.TRADE_STATISTICS_3,
+                Capability.ACK_MSG,
+                Capability.BUNDLE_OF_ENVELOPES,
+                Capability.NO_ADDRESS_PRE_FIX);
+        UserThread.setExecutor(Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat(LoadHarness.class.getSimpleName())
+                .setDaemon(true)
+                .build()));
+        LocalhostNetworkNode.setSimulateTorDelayTorNode(config.torDelayMs);
+        LocalhostNetworkNode.setSimulateTorDelayHiddenService(config.torDelayMs);
+
+        createNodes();
+
+        // seed nodes are started one after the other so each finds the previous ones
+        for (LoadNode seedNode : seedNodes) {
+            startAndAwaitBootstrap(List.of(seedNode), config.bootstrapTimeoutSec);
+        }
+        startAndAwaitBootstrap(peers, config.bootstrapTimeoutSec);
+
+        List<Long> sentBytesAtStart = allNodes.stream().map(LoadNode::getSentBytes).collect(Collectors.toList());
+        List<Long> receivedBytesAtStart = allNodes.stream().map(LoadNode::getReceivedBytes).collect(Collectors.toList());
+        long loadStartTime = System.currentTimeMillis();
+
+        System.out.printf("Generating load for %d s%n", config.durationSec);
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("LoadScheduler")
+                .setDaemon(true)
+                .build());
+        schedule(config.offerAddsPerSec, this::addOffer);
+        schedule(config.offerRefreshesPerSec, this::refreshOffer);
+        schedule(config.offerRemovesPerSec, this::removeOffer);
+        schedule(config.mailboxMessagesPerSec, this::sendMailboxMessage);
+        schedule(config.tradeStatisticsPerSec, this::addTradeStatistics);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(config.durationSec));
+        scheduler.shutdownNow();
+
+        // wait for items sent at the end of the run to propagate
+        Thread.sleep(TimeUnit.SECONDS.toMillis(config.drainSec));
+        long loadDurationMs = System.currentTimeMillis() - loadStartTime;
+
+        printReport(sentBytesAtStart, receivedBytesAtStart, loadDurationMs);
+    }
+
+    private void createNodes() throws Exception {
+        Set<NodeAddress> seedNodeAddresses = new LinkedHashSet<>();
+        for (int i = 0; i < config.seeds; i++) seedNodeAddresses.add(new NodeAddress("localhost", config.basePort + i));
+        SeedNodeRepository seedNodeRepository = new SeedNodeRepository() {
+            @Override
+            public boolean isSeedNode(NodeAddress nodeAddress) {
+                return seedNodeAddresses.contains(nodeAddress);
+            }
+
+            @Override
+            public Collection<NodeAddress> getSeedNodeAddresses() {
+                return seedNodeAddresses;
+            }
+        };
+
+        CoreNetworkProtoResolver networkProtoResolver = new CoreNetworkProtoResolver(Clock.systemDefaultZone());
+        File keyStorageRoot = Files.createTempDirectory("haveno-load").toFile();
+        keyStorageRoot.deleteOnExit();
+        for (int i = 0; i < config.seeds + config.peers; i++) {
+            boolean isSeedNode = i < config.seeds;
+            File keyStorageDir = new File(keyStorageRoot, "node_" + i);
+            keyStorageDir.deleteOnExit();
+            LoadNode node = new LoadNode(i, isSeedNode, config.basePort + i, seedNodeRepository, networkProtoResolver,
+                    config.maxConnections, keyStorageDir);
+            addReceiveListeners(node);
+            allNodes.add(node);
+            (isSeedNode ? seedNodes : peers).add(node);
+        }
+    }
+
+    private void addReceiveListeners(LoadNode node) {
+        int index = node.getIndex();
+        P2PService p2PService = node.getP2PService();
+        p2PService.addHashSetChangedListener(new HashMapChangedListener() {
+            @Override
+            public void onAdded(Collection<ProtectedStorageEntry> protectedStorageEntries) {
+                protectedStorageEntries.forEach(entry -> {
+                    if (entry.getProtectedStoragePayload() instanceof OfferPayload) {
+                        offerAdds.onReceived(((OfferPayload) entry.getProtectedStoragePayload()).getId(), index);
+                    }
+                });
+            }
+
+            @Override
+            public void onRemoved(Collection<ProtectedStorageEntry> protectedStorageEntries) {
+                protectedStorageEntries.forEach(entry -> {
+                    if (entry.getProtectedStoragePayload() instanceof OfferPayload) {
+                        offerRemoves.onReceived(((OfferPayload) entry.getProtectedStoragePayload()).getId(), index);
+                    }
+                });
+            }
+        });
+        p2PService.getP2PDataStorage().addAppendOnlyDataStoreListener(payload ->
+                tradeStatistics.onReceived(Utilities.encodeToHex(payload.getHash()), index));
+        p2PService.getNetworkNode().addMessageListener((networkEnvelope, connection) -> {
+            if (networkEnvelope instanceof RefreshOfferMessage) {
+                RefreshOfferMessage refreshOfferMessage = (RefreshOfferMessage) networkEnvelope;
+                offerRefreshes.onReceived(getRefreshKey(refreshOfferMessage), index);
+            }
+        });
+        p2PService.addDecryptedDirectMessageListener((decryptedMessageWithPubKey, peerNodeAddress) ->
+                onMailboxMessageReceived(decryptedMessageWithPubKey, index));
+        node.getMailboxMessageService().addDecryptedMailboxListener((decryptedMessageWithPubKey, senderNodeAddress) ->
+                onMailboxMessageReceived(decryptedMessageWithPubKey, index));
+    }
+
+    private void onMailboxMessageReceived(DecryptedMessageWithPubKey decryptedMessageWithPubKey, int index) {
+        if (decryptedMessageWithPubKey.getNetworkEnvelope() instanceof ChatMessage) {
+            mailboxMessages.onReceived(((ChatMessage) decryptedMessageWithPubKey.getNetworkEnvelope()).getUid(), index);
+        }
+    }
+
+    private void startAndAwaitBootstrap(List<LoadNode> nodes, int timeoutSec) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(nodes.size());
+        for (LoadNode node : nodes) {
+            UserThread.execute(() -> node.start(latch::countDown));
+            if (nodes.size() > 1) Thread.sleep(config.peerStartIntervalMs);
+        }
+        if (!latch.await(timeoutSec, TimeUnit.SECONDS)) {
+            System.out.printf("%d of %d nodes did not bootstrap within %d s%n", latch.getCount(), nodes.size(), timeoutSec);
+        }
+    }
+
+    private void schedule(double perSec, Runnable action) {
+        if (perSec <= 0) return;
+        long periodMicros = (long) (TimeUnit.SECONDS.toMicros(1) / perSec);
+        scheduler.scheduleAtFixedRate(() -> UserThread.execute(() -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                System.out.printf("Error generating load: %s%n", e);
+            }
+        }), periodMicros, periodMicros, TimeUnit.MICROSECONDS);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Traffic, called on the user thread
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void addOffer() {
+        LoadNode node = getRandomBootstrappedPeer(null);
+        if (node == null) return;
+        OfferPayload offerPayload = BenchmarkOffers.createOfferPayload(itemCounter.incrementAndGet(), node.getKeyRing(), null);
+        offerAdds.onSent(offerPayload.getId(), node.getIndex(), allNodes.size() - 1);
+        if (node.getP2PService().addProtectedStorageEntry(offerPayload)) {
+            node.getOffers().add(offerPayload);
+        } else {
+            offerAdds.onSendFailed(offerPayload.getId());
+        }
+    }
+
+    private void refreshOffer() {
+        LoadNode node = getRandomPeerWithOffers();
+        if (node == null) return;
+        OfferPayload offerPayload = node.getOffers().get(ThreadLocalRandom.current().nextInt(node.getOffers().size()));
+        P2PDataStorage p2PDataStorage = node.getP2PService().getP2PDataStorage();
+        RefreshOfferMessage refreshOfferMessage;
+        try {
+            refreshOfferMessage = p2PDataStorage.getRefreshTTLMessage(offerPayload, node.getKeyRing().getSignatureKeyPair());
+        } catch (CryptoException e) {
+            throw new RuntimeException(e);
+        }
+        String key = getRefreshKey(refreshOfferMessage);
+        offerRefreshes.onSent(key, node.getIndex(), allNodes.size() - 1);
+        if (!p2PDataStorage.refreshTTL(refreshOfferMessage, node.getNodeAddress())) offerRefreshes.onSendFailed(key);
+    }
+
+    private void removeOffer() {
+        LoadNode node = getRandomPeerWithOffers();
+        if (node == null) return;
+        OfferPayload offerPayload = node.getOffers().remove(ThreadLocalRandom.current().nextInt(node.getOffers().size()));
+        offerRemoves.onSent(offerPayload.getId(), node.getIndex(), allNodes.size() - 1);
+        if (!node.getP2PService().removeData(offerPayload)) offerRemoves.onSendFailed(offerPayload.getId());
+    }
+
+    private void sendMailboxMessage() {
+        LoadNode sender = getRandomBootstrappedPeer(null);
+        LoadNode receiver = getRandomBootstrappedPeer(sender);
+        if (sender == null || receiver == null) return;
+        ChatMessage chatMessage = new ChatMessage(SupportType.TRADE,
+                "load-" + itemCounter.incrementAndGet(),
+                0,
+                true,
+                "Load test message",
+                sender.getNodeAddress());
+        String uid = chatMessage.getUid();
+        mailboxMessages.onSent(uid, sender.getIndex(), 1);
+        sender.getMailboxMessageService().sendEncryptedMailboxMessage(receiver.getNodeAddress(),
+                receiver.getKeyRing().getPubKeyRing(),
+                chatMessage,
+                new SendMailboxMessageListener() {
+                    @Override
+                    public void onArrived() {
+                    }
+
+                    @Override
+                    public void onStoredInMailbox() {
+                    }
+
+                    @Override
+                    public void onFault(String errorMessage) {
+                        mailboxMessages.onSendFailed(uid);
+                    }
+                });
+    }
+
+    private void addTradeStatistics() {
+        LoadNode node = getRandomBootstrappedPeer(null);
+        if (node == null) return;
+        TradeStatistics3 payload = new TradeStatistics3("EUR",
+                1_500_000L,
+                100_000_000_000L + itemCounter.incrementAndGet(),
+                PaymentMethod.SEPA_ID,
+                System.currentTimeMillis(),
+                node.getNodeAddress().getFullAddress(),
+                (Map<String, String>) null,
+                null);
+        String key = Utilities.encodeToHex(payload.getHash());
+        tradeStatistics.onSent(key, node.getIndex(), allNodes.size() - 1);
+        if (!node.getP2PService().addPersistableNetworkPayload(payload, false)) tradeStatistics.onSendFailed(key);
+    }
+
+    private LoadNode getRandomBootstrappedPeer(LoadNode excluded) {
+        List<LoadNode> candidates = peers.stream()
+                .filter(LoadNode::isBootstrapped)
+                .filter(peer -> peer != excluded)
+                .collect(Collectors.toList());
+        return candidates.isEmpty() ? null : candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+
+    private LoadNode getRandomPeerWithOffers() {
+        List<LoadNode> candidates = peers.stream()
+                .filter(peer -> !peer.getOffers().isEmpty())
+                .collect(Collectors.toList());
+        return candidates.isEmpty() ? null : candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+
+    private static String getRefreshKey(RefreshOfferMessage refreshOfferMessage) {
+        return Utilities.encodeToHex(refreshOfferMessage.getHashOfPayload()) + ":" + refreshOfferMessage.getSequenceNumber();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Report
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void printReport(List<Long> sentBytesAtStart, List<Long> receivedBytesAtStart, long loadDurationMs) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%nNodes: %d seed nodes, %d peers, max %d connections per node%n",
+                config.seeds, config.peers, config.maxConnections));
+
+        sb.append(String.format("%nBootstrap time (ms)%n"));
+        sb.append(String.format("%-12s %8s %8s %8s %8s %8s %8s%n", "", "nodes", "failed", "p50", "p90", "p99", "max"));
+        appendBootstrapTimes(sb, "seed nodes", seedNodes);
+        appendBootstrapTimes(sb, "peers", peers);
+
+        sb.append(String.format("%nPropagation latency (ms)%n"));
+        sb.append(String.format("%-16s %8s %8s %10s %9s %8s %8s %8s %8s%n",
+                "", "sent", "failed", "receipts", "coverage", "p50", "p90", "p99", "max"));
+        for (PropagationTracker tracker : List.of(offerAdds, offerRefreshes, offerRemoves, mailboxMessages, tradeStatistics)) {
+            double coverage = tracker.getNumExpectedReceipts() == 0 ? 0 : 100d * tracker.getNumReceipts() / tracker.getNumExpectedReceipts();
+            sb.append(String.format("%-16s %8d %8d %10d %8.1f%% %8d %8d %8d %8d%n",
+                    tracker.getName(),
+                    tracker.getNumSent(),
+                    tracker.getNumFailed(),
+                    tracker.getNumReceipts(),
+                    coverage,
+                    tracker.getLatencyPercentile(50),
+                    tracker.getLatencyPercentile(90),
+                    tracker.getLatencyPercentile(99),
+                    tracker.getLatencyPercentile(100)));
+        }
+
+        long[] sentBytesPerSec = new long[allNodes.size()];
+        long[] receivedBytesPerSec = new long[allNodes.size()];
+        for (int i = 0; i < allNodes.size(); i++) {
+            sentBytesPerSec[i] = (allNodes.get(i).getSentBytes() - sentBytesAtStart.get(i)) * 1000 / loadDurationMs;
+            receivedBytesPerSec[i] = (allNodes.get(i).getReceivedBytes() - receivedBytesAtStart.get(i)) * 1000 / loadDurationMs;
+        }
+        sb.append(String.format("%nBandwidth per node during load (bytes/s)%n"));
+        sb.append(String.format("%-12s %10s %10s %10s %10s%n", "", "p50", "p90", "max", "mean"));
+        appendDistribution(sb, "sent", sentBytesPerSec);
+        appendDistribution(sb, "received", receivedBytesPerSec);
+
+        long peakHeapBytes = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .map(MemoryPoolMXBean::getPeakUsage)
+                .mapToLong(MemoryUsage::getUsed)
+                .sum();
+        System.gc();
+        long usedHeapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        sb.append(String.format("%nHeap: %d MB used after GC (%d KB per node), %d MB peak, %d MB max%n",
+                toMb(usedHeapBytes),
+                usedHeapBytes / 1024 / allNodes.size(),
+                toMb(peakHeapBytes),
+                toMb(Runtime.getRuntime().maxMemory())));
+        System.out.print(sb);
+    }
+
+    private static void appendBootstrapTimes(StringBuilder sb, String name, List<LoadNode> nodes) {
+        long[] durations = nodes.stream().filter(LoadNode::isBootstrapped).mapToLong(LoadNode::getBootstrapDuration).toArray();
+        sb.append(String.format("%-12s %8d %8d %8d %8d %8d %8d%n",
+                name,
+                nodes.size(),
+                nodes.size() - durations.length,
+                PropagationTracker.percentile(durations, 50),
+                PropagationTracker.percentile(durations, 90),
+                PropagationTracker.percentile(durations, 99),
+                PropagationTracker.percentile(durations, 100)));
+    }
+
+    private static void appendDistribution(StringBuilder sb, String name, long[] values) {
+        long sum = 0;
+        for (long value : values) sum += value;
+        sb.append(String.format("%-12s %10d %10d %10d %10d%n",
+                name,
+                PropagationTracker.percentile(values, 50),
+                PropagationTracker.percentile(values, 90),
+                PropagationTracker.percentile(values, 100),
+                values.length == 0 ? 0 : sum / values.length));
+    }
+
+    private static long toMb(long bytes) {
+        return bytes / 1024 / 1024;
+    }
+
+    void shutDown() throws InterruptedException {
+        if (scheduler != null) scheduler.shutdownNow();
+        CountDownLatch latch = new CountDownLatch(allNodes.size());
+        allNodes.forEach(node -> UserThread.execute(() -> node.shutDown(latch::countDown)));
+        latch.await(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.load;
+
+import haveno.benchmark.fakes.AppendOnlyDataStoreServiceFake;
+import haveno.benchmark.fakes.MapStoreServiceFake;
+import haveno.common.ClockWatcher;
+import haveno.common.crypto.KeyRing;
+import haveno.common.crypto.KeyStorage;
+import haveno.common.persistence.PersistenceManager;
+import haveno.common.proto.network.NetworkProtoResolver;
+import haveno.core.offer.OfferPayload;
+import haveno.network.Socks5ProxyProvider;
+import haveno.network.crypto.EncryptionService;
+import haveno.network.p2p.BootstrapListener;
+import haveno.network.p2p.NodeAddress;
+import haveno.network.p2p.P2PService;
+import haveno.network.p2p.mailbox.IgnoredMailboxService;
+import haveno.network.p2p.mailbox.MailboxMessageService;
+import haveno.network.p2p.network.CloseConnectionReason;
+import haveno.network.p2p.network.Connection;
+import haveno.network.p2p.network.ConnectionListener;
+import haveno.network.p2p.network.LocalhostNetworkNode;
+import haveno.network.p2p.network.NetworkNode;
+import haveno.network.p2p.peers.Broadcaster;
+import haveno.network.p2p.peers.PeerManager;
+import haveno.network.p2p.peers.getdata.RequestDataManager;
+import haveno.network.p2p.peers.keepalive.KeepAliveManager;
+import haveno.network.p2p.peers.peerexchange.PeerExchangeManager;
+import haveno.network.p2p.seed.SeedNodeRepository;
+import haveno.network.p2p.storage.P2PDataStorage;
+import haveno.network.p2p.storage.persistence.ProtectedDataStoreService;
+import haveno.network.p2p.storage.persistence.RemovedPayloadsService;
+import haveno.network.p2p.storage.persistence.ResourceDataStoreService;
+import lombok.Getter;
+
+import java.io.File;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * P2PService wired the same way as in the applications, but on a LocalhostNetworkNode
+ * and with in-memory stores, so many nodes can run in one JVM.
+ */
+public class LoadNode {
+
+    private static final int MAX_SEQUENCE_NUMBER_MAP_SIZE_BEFORE_PURGE = 1000;
+
+    @Getter
+    private final int index;
+    @Getter
+    private final boolean isSeedNode;
+    @Getter
+    private final NodeAddress nodeAddress;
+    @Getter
+    private final KeyRing keyRing;
+    @Getter
+    private final P2PService p2PService;
+    @Getter
+    private final MailboxMessageService mailboxMessageService;
+
+    // own offers, only accessed on the user thread
+    @Getter
+    private final List<OfferPayload> offers = new ArrayList<>();
+
+    private final AtomicLong closedConnectionsSentBytes = new AtomicLong();
+    private final AtomicLong closedConnectionsReceivedBytes = new AtomicLong();
+    private volatile long startTime;
+    private volatile long bootstrapDuration = -1;
+
+    public LoadNode(int index,
+                    boolean isSeedNode,
+                    int port,
+                    SeedNodeRepository seedNodeRepository,
+                    NetworkProtoResolver networkProtoResolver,
+                    int maxConnections,
+                    File keyStorageDir) {
+        this.index = index;
+        this.isSeedNode = isSeedNode;
+        this.nodeAddress = new NodeAddress("localhost", port);
+        this.keyRing = new KeyRing(new KeyStorage(keyStorageDir), null, true);
+
+        Clock clock = Clock.systemDefaultZone();
+        NetworkNode networkNode = new LocalhostNetworkNode(port, networkProtoResolver, null, maxConnections);
+        PeerManager peerManager = new PeerManager(networkNode, seedNodeRepository, new ClockWatcher(), stub(PersistenceManager.class), maxConnections);
+        Broadcaster broadcaster = new Broadcaster(networkNode, peerManager, maxConnections);
+        ProtectedDataStoreService protectedDataStoreService = new ProtectedDataStoreService();
+        protectedDataStoreService.addService(new MapStoreServiceFake());
+        P2PDataStorage p2PDataStorage = new P2PDataStorage(networkNode,
+                broadcaster,
+                new AppendOnlyDataStoreServiceFake(),
+                protectedDataStoreService,
+                stub(ResourceDataStoreService.class),
+                stub(PersistenceManager.class),
+                stub(RemovedPayloadsService.class),
+                clock,
+                MAX_SEQUENCE_NUMBER_MAP_SIZE_BEFORE_PURGE);
+        p2PDataStorage.readFromResourcesSync("unused");
+        EncryptionService encryptionService = new EncryptionService(keyRing, networkProtoResolver);
+        mailboxMessageService = new MailboxMessageService(networkNode,
+                peerManager,
+                p2PDataStorage,
+                encryptionService,
+                new IgnoredMailboxService(stub(PersistenceManager.class)),
+                stub(PersistenceManager.class),
+                keyRing,
+                clock,
+                false);
+        p2PService = new P2PService(networkNode,
+                peerManager,
+                p2PDataStorage,
+                new RequestDataManager(networkNode, seedNodeRepository, p2PDataStorage, peerManager),
+                new PeerExchangeManager(networkNode, seedNodeRepository, peerManager),
+                new KeepAliveManager(networkNode, peerManager),
+                broadcaster,
+                new Socks5ProxyProvider("", ""),
+                encryptionService,
+                keyRing,
+                mailboxMessageService);
+
+        networkNode.addConnectionListener(new ConnectionListener() {
+            @Override
+            public void onConnection(Connection connection) {
+            }
+
+            @Override
+            public void onDisconnect(CloseConnectionReason closeConnectionReason, Connection connection) {
+                closedConnectionsSentBytes.addAndGet(connection.getStatistic().getSentBytesProperty());
+                closedConnectionsReceivedBytes.addAndGet(connection.getStatistic().getReceivedBytesProperty());
+            }
+        });
+    }
+
+    public void start(Runnable bootstrapHandler) {
+        startTime = System.currentTimeMillis();
+        p2PService.start(new BootstrapListener() {
+            @Override
+            public void onDataReceived() {
+                onBootstrapped(bootstrapHandler);
+            }
+
+            // the first seed node has no other seed node to request data from
+            @Override
+            public void onNoSeedNodeAvailable() {
+                onBootstrapped(bootstrapHandler);
+            }
+        });
+        p2PService.onAllServicesInitialized();
+        mailboxMessageService.onAllServicesInitialized();
+    }
+
+    private void onBootstrapped(Runnable bootstrapHandler) {
+        if (bootstrapDuration >= 0) return;
+        bootstrapDuration = System.currentTimeMillis() - startTime;
+        bootstrapHandler.run();
+    }
+
+    public boolean isBootstrapped() {
+        return bootstrapDuration >= 0;
+    }
+
+    /**
+     * @return time from start until initial data was received, or -1 if not bootstrapped
+     */
+    public long getBootstrapDuration() {
+        return bootstrapDuration;
+    }
+
+    public long getSentBytes() {
+        return closedConnectionsSentBytes.get() + p2PService.getNetworkNode().getAllConnections().stream()
+                .mapToLong(connection -> connection.getStatistic().getSentBytesProperty())
+                .sum();
+    }
+
+    public long getReceivedBytes() {
+        return closedConnectionsReceivedBytes.get() + p2PService.getNetworkNode().getAllConnections().stream()
+                .mapToLong(connection -> connection.getStatistic().getReceivedBytesProperty())
+                .sum();
+    }
+
+    public void shutDown(Runnable resultHandler) {
+        p2PService.shutDown(resultHandler);
+    }
+
+    // stub only mocks do not record invocations, which would otherwise grow over the run
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<?> type) {
+        return (T) mock(type, withSettings().stubOnly());
+    }
+}
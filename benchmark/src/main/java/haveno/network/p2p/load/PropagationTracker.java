@@ -0,0 +1,118 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the propagation latency of one kind of traffic, from the time an item is sent
+ * until each receiving node has applied it. All nodes run in the same JVM, so send and
+ * receive times come from the same clock.
+ */
+public class PropagationTracker {
+
+    private static class Sent {
+        private final long time;
+        private final int senderIndex;
+        private final int numExpectedReceivers;
+        private final Set<Integer> receivers = ConcurrentHashMap.newKeySet();
+
+        private Sent(long time, int senderIndex, int numExpectedReceivers) {
+            this.time = time;
+            this.senderIndex = senderIndex;
+            this.numExpectedReceivers = numExpectedReceivers;
+        }
+    }
+
+    private final String name;
+    private final Map<String, Sent> sentByKey = new ConcurrentHashMap<>();
+    private final AtomicLong numExpectedReceipts = new AtomicLong();
+    private final AtomicLong numFailed = new AtomicLong();
+    private long[] latencies = new long[1024];
+    private int numLatencies;
+
+    public PropagationTracker(String name) {
+        this.name = name;
+    }
+
+    public void onSent(String key, int senderIndex, int numExpectedReceivers) {
+        sentByKey.put(key, new Sent(System.currentTimeMillis(), senderIndex, numExpectedReceivers));
+        numExpectedReceipts.addAndGet(numExpectedReceivers);
+    }
+
+    public void onSendFailed(String key) {
+        Sent sent = sentByKey.remove(key);
+        if (sent != null) numExpectedReceipts.addAndGet(-sent.numExpectedReceivers);
+        numFailed.incrementAndGet();
+    }
+
+    /**
+     * Records the latency of the first receipt of the item at the given node. Items which
+     * were not sent by the harness and receipts at the sender itself are ignored.
+     */
+    public void onReceived(String key, int nodeIndex) {
+        Sent sent = sentByKey.get(key);
+        if (sent == null || sent.senderIndex == nodeIndex || !sent.receivers.add(nodeIndex)) return;
+        addLatency(System.currentTimeMillis() - sent.time);
+    }
+
+    private synchronized void addLatency(long latency) {
+        if (numLatencies == latencies.length) latencies = Arrays.copyOf(latencies, latencies.length * 2);
+        latencies[numLatencies++] = latency;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getNumSent() {
+        return sentByKey.size();
+    }
+
+    public long getNumFailed() {
+        return numFailed.get();
+    }
+
+    public long getNumExpectedReceipts() {
+        return numExpectedReceipts.get();
+    }
+
+    public synchronized int getNumReceipts() {
+        return numLatencies;
+    }
+
+    /**
+     * @param percentile - between 0 and 100
+     * @return latency in ms at the percentile, or -1 if nothing was received
+     */
+    public synchronized long getLatencyPercentile(double percentile) {
+        return percentile(Arrays.copyOf(latencies, numLatencies), percentile);
+    }
+
+    // sorts the given values
+    static long percentile(long[] values, double percentile) {
+        if (values.length == 0) return -1;
+        Arrays.sort(values);
+        int index = (int) Math.ceil(percentile / 100 * values.length) - 1;
+        return values[Math.max(0, Math.min(index, values.length - 1))];
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.storage;
+
+import com.google.common.base.Strings;
+import haveno.benchmark.fakes.AppendOnlyDataStoreServiceFake;
+import haveno.benchmark.fakes.MapStoreServiceFake;
+import haveno.common.app.Capabilities;
+import haveno.common.crypto.CryptoException;
+import haveno.common.crypto.Sig;
+import haveno.common.persistence.PersistenceManager;
+import haveno.core.account.witness.AccountAgeWitness;
+import haveno.network.p2p.network.NetworkNode;
+import haveno.network.p2p.peers.Broadcaster;
+import haveno.network.p2p.peers.getdata.messages.GetDataResponse;
+import haveno.network.p2p.peers.getdata.messages.PreliminaryGetDataRequest;
+import haveno.network.p2p.storage.payload.ProtectedStorageEntry;
+import haveno.network.p2p.storage.payload.ProtectedStoragePayload;
+import haveno.network.p2p.storage.persistence.ProtectedDataStoreService;
+import haveno.network.p2p.storage.persistence.RemovedPayloadsService;
+import haveno.network.p2p.storage.persistence.ResourceDataStoreService;
+import haveno.network.p2p.storage.persistence.SequenceNumberMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Building the response to a peer's data request and adding protected storage entries.
+ *
+ * buildGetDataResponse covers filterKnownHashes for both payload types, as the filter is
+ * only reachable through it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class P2PDataStorageBenchmark {
+
+    private static final int MAX_ENTRIES_PER_TYPE = 5000;
+    private static final int MAX_SEQUENCE_NUMBER_MAP_SIZE_BEFORE_PURGE = 1000;
+    private static final int NUM_ADDED_ENTRIES = 500;
+
+    @State(Scope.Benchmark)
+    public static class GetDataState {
+        @Param({"1000", "10000"})
+        public int numEntries;
+
+        // share of our data which the peer already has
+        @Param({"0.0", "0.9"})
+        public double knownRatio;
+
+        private P2PDataStorage storage;
+        private PreliminaryGetDataRequest getDataRequest;
+
+        @Setup
+        public void setUp() throws CryptoException {
+            KeyPair ownerKeys = Sig.generateKeyPair();
+            storage = createStorage();
+            List<ProtectedStorageEntry> entries = createEntries(storage, ownerKeys, "stored", numEntries);
+            Set<byte[]> knownKeys = new HashSet<>();
+            int numKnown = (int) (numEntries * knownRatio);
+            for (int i = 0; i < numEntries; i++) {
+                AccountAgeWitness witness = new AccountAgeWitness(getWitnessHash(i), System.currentTimeMillis());
+                storage.addPersistableNetworkPayload(witness, null, false, false);
+                ProtectedStorageEntry entry = entries.get(i);
+                storage.addProtectedStorageEntry(entry, null, null);
+                if (i < numKnown) {
+                    knownKeys.add(witness.getHash());
+                    knownKeys.add(P2PDataStorage.get32ByteHash(entry.getProtectedStoragePayload()));
+                }
+            }
+            getDataRequest = new PreliminaryGetDataRequest(1, knownKeys);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AddState {
+        @Param({"1000", "10000"})
+        public int numStoredEntries;
+
+        private List<ProtectedStorageEntry> storedEntries;
+        private List<ProtectedStorageEntry> addedEntries;
+        private P2PDataStorage storage;
+
+        @Setup
+        public void setUp() throws CryptoException {
+            KeyPair ownerKeys = Sig.generateKeyPair();
+            P2PDataStorage signer = createStorage();
+            storedEntries = createEntries(signer, ownerKeys, "stored", numStoredEntries);
+            addedEntries = createEntries(signer, ownerKeys, "added", NUM_ADDED_ENTRIES);
+        }
+
+        // entries can only be added once per store, so each invocation adds to a fresh store
+        @Setup(Level.Invocation)
+        public void setUpInvocation() {
+            storage = createStorage();
+            storedEntries.forEach(storage::addProtectedMailboxStorageEntryToMap);
+        }
+    }
+
+    @Benchmark
+    public GetDataResponse buildGetDataResponse(GetDataState state) {
+        return state.storage.buildGetDataResponse(state.getDataRequest,
+                MAX_ENTRIES_PER_TYPE,
+                new AtomicBoolean(),
+                new AtomicBoolean(),
+                new Capabilities(Capabilities.app));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(NUM_ADDED_ENTRIES)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public int addProtectedStorageEntry(AddState state) {
+        int numAdded = 0;
+        for (ProtectedStorageEntry entry : state.addedEntries) {
+            if (state.storage.addProtectedStorageEntry(entry, null, null)) numAdded++;
+        }
+        return numAdded;
+    }
+
+    private static List<ProtectedStorageEntry> createEntries(P2PDataStorage signer,
+                                                             KeyPair ownerKeys,
+                                                             String prefix,
+                                                             int numEntries) throws CryptoException {
+        List<ProtectedStorageEntry> entries = new ArrayList<>(numEntries);
+        for (int i = 0; i < numEntries; i++) {
+            entries.add(signer.getProtectedStorageEntry(new BenchmarkStoragePayload(prefix + i, ownerKeys.getPublic()), ownerKeys));
+        }
+        return entries;
+    }
+
+    private static byte[] getWitnessHash(int index) {
+        return ByteBuffer.allocate(20).putInt(index).array();
+    }
+
+    private static P2PDataStorage createStorage() {
+        ProtectedDataStoreService protectedDataStoreService = new ProtectedDataStoreService();
+        protectedDataStoreService.addService(new MapStoreServiceFake());
+        @SuppressWarnings("unchecked")
+        PersistenceManager<SequenceNumberMap> persistenceManager = stub(PersistenceManager.class);
+        P2PDataStorage storage = new P2PDataStorage(stub(NetworkNode.class),
+                stub(Broadcaster.class),
+                new AppendOnlyDataStoreServiceFake(),
+                protectedDataStoreService,
+                stub(ResourceDataStoreService.class),
+                persistenceManager,
+                stub(RemovedPayloadsService.class),
+                Clock.systemDefaultZone(),
+                MAX_SEQUENCE_NUMBER_MAP_SIZE_BEFORE_PURGE);
+        storage.readFromResourcesSync("unused");
+        return storage;
+    }
+
+    // stub only mocks do not record invocations, which would otherwise grow over the run
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    /**
+     * Offer sized payload with a real proto, so hashing and serialization cost is realistic.
+     */
+    static class BenchmarkStoragePayload implements ProtectedStoragePayload {
+        private final PublicKey ownerPubKey;
+        private final protobuf.StoragePayload proto;
+
+        BenchmarkStoragePayload(String id, PublicKey ownerPubKey) {
+            this.ownerPubKey = ownerPubKey;
+            this.proto = protobuf.StoragePayload.newBuilder()
+                    .setOfferPayload(protobuf.OfferPayload.newBuilder()
+                            .setId(id)
+                            .setExtraInfo(Strings.repeat("x", 1500)))
+                    .build();
+        }
+
+        @Override
+        public PublicKey getOwnerPubKey() {
+            return ownerPubKey;
+        }
+
+        @Nullable
+        @Override
+        public Map<String, String> getExtraDataMap() {
+            return null;
+        }
+
+        @Override
+        public protobuf.StoragePayload toProtoMessage() {
+            return proto;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.storage.persistence;
+
+import haveno.benchmark.fakes.HistoricalDataStoreServiceFake;
+import haveno.core.account.witness.AccountAgeWitness;
+import haveno.network.p2p.storage.P2PDataStorage;
+import haveno.network.p2p.storage.payload.PersistableNetworkPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getMapOfAllData, which is called for each data request and for the account age
+ * and trade statistics lookups. The fake store holds all entries as live data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoricalDataStoreServiceBenchmark {
+
+    @Param({"10000", "100000"})
+    public int numEntries;
+
+    private HistoricalDataStoreServiceFake service;
+
+    @Setup
+    public void setUp() {
+        service = new HistoricalDataStoreServiceFake();
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> liveData = service.getMapOfLiveData();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < numEntries; i++) {
+            byte[] hash = ByteBuffer.allocate(20).putInt(i).array();
+            liveData.put(new P2PDataStorage.ByteArray(hash), new AccountAgeWitness(hash, now));
+        }
+    }
+
+    @Benchmark
+    public Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getMapOfAllData() {
+        return service.getMapOfAllData();
+    }
+}
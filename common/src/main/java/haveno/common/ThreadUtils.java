@@ -27,8 +27,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import haveno.common.metrics.MetricsRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -38,6 +40,14 @@ public class ThreadUtils {
     private static final int POOL_SIZE = 500;
     private static final ExecutorService POOL = Executors.newFixedThreadPool(POOL_SIZE);
     private static Class<? extends Timer> timerClass = BackgroundTimer.class;
+
+    static {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) POOL;
+        registry.gauge("haveno_thread_pool_queue_size", "Number of tasks waiting in the shared thread pool", () -> pool.getQueue().size());
+        registry.gauge("haveno_thread_pool_active_threads", "Number of busy threads in the shared thread pool", pool::getActiveCount);
+        registry.gauge("haveno_thread_executors", "Number of keyed single thread executors", EXECUTORS::size);
+    }
     
     public static Future<?> execute(Runnable command, String threadId) {
         ExecutorService executor = EXECUTORS.compute(threadId, (id, existing) -> { // only use one active executor per thread id
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Lock free histogram with fixed bucket upper bounds.
+ *
+ * Bucket counts are not cumulative, the last bucket counts observations above
+ * the highest bound.
+ */
+@ThreadSafe
+public class Histogram {
+
+    // default bounds for durations in milliseconds
+    public static final double[] DURATION_MS_BOUNDS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000, 120000, 300000};
+
+    private final double[] upperBounds;
+    private final AtomicLongArray bucketCounts;
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+
+    public Histogram() {
+        this(DURATION_MS_BOUNDS);
+    }
+
+    public Histogram(double[] upperBounds) {
+        for (int i = 1; i < upperBounds.length; i++) {
+            if (upperBounds[i] <= upperBounds[i - 1]) throw new IllegalArgumentException("Histogram bounds must be increasing");
+        }
+        this.upperBounds = upperBounds.clone();
+        this.bucketCounts = new AtomicLongArray(upperBounds.length + 1);
+    }
+
+    public void observe(double value) {
+        int idx = Arrays.binarySearch(upperBounds, value);
+        if (idx < 0) idx = -idx - 1; // insertion point is the first bound above the value
+        bucketCounts.incrementAndGet(idx);
+        count.increment();
+        sum.add(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getSum() {
+        return sum.sum();
+    }
+
+    public double[] getUpperBounds() {
+        return upperBounds.clone();
+    }
+
+    /**
+     * @return the count of each bucket, with the count above the highest bound last
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[bucketCounts.length()];
+        for (int i = 0; i < counts.length; i++) counts[i] = bucketCounts.get(i);
+        return counts;
+    }
+
+    /**
+     * Estimate a quantile as the upper bound of the bucket which contains it.
+     *
+     * @param quantile - the quantile between 0 and 1
+     * @return the upper bound of the bucket, or infinity if above the highest bound
+     */
+    public double getQuantileUpperBound(double quantile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long bucketCount : counts) total += bucketCount;
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(quantile * total);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) return i < upperBounds.length ? upperBounds[i] : Double.POSITIVE_INFINITY;
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+}
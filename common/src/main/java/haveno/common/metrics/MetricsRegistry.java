@@ -0,0 +1,163 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Process wide registry of counters, gauges and histograms.
+ *
+ * Metrics are identified by name and labels, which are given as alternating label
+ * names and values. Getting a metric which already exists returns the registered
+ * instance, so callers may look metrics up on demand or keep a reference.
+ */
+@Slf4j
+public class MetricsRegistry {
+
+    private static final Pattern METRIC_NAME_PATTERN = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Writes metrics which are computed on scrape, e.g. per task or per message type.
+     */
+    public interface Collector {
+        void collect(MetricsWriter writer);
+    }
+
+    private static class Family {
+        private final String help;
+        private final MetricsWriter.Type type;
+        private final Map<String, Sample> samples = new ConcurrentSkipListMap<>();
+
+        private Family(String help, MetricsWriter.Type type) {
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    private static class Sample {
+        private final String[] labels;
+        private final Object metric;
+
+        private Sample(String[] labels, Object metric) {
+            this.labels = labels;
+            this.metric = metric;
+        }
+    }
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+    private final List<Collector> collectors = new CopyOnWriteArrayList<>();
+
+    public Counter counter(String name, String help, String... labels) {
+        return getOrRegister(name, help, MetricsWriter.Type.COUNTER, labels, Counter::new);
+    }
+
+    public Histogram histogram(String name, String help, String... labels) {
+        return getOrRegister(name, help, MetricsWriter.Type.HISTOGRAM, labels, Histogram::new);
+    }
+
+    public Histogram histogram(String name, String help, double[] upperBounds, String... labels) {
+        return getOrRegister(name, help, MetricsWriter.Type.HISTOGRAM, labels, () -> new Histogram(upperBounds));
+    }
+
+    /**
+     * Register a gauge whose value is read on scrape. Replaces a gauge with the same name and labels.
+     */
+    public void gauge(String name, String help, DoubleSupplier supplier, String... labels) {
+        Family family = getOrRegisterFamily(name, help, MetricsWriter.Type.GAUGE);
+        family.samples.put(toKey(labels), new Sample(labels.clone(), supplier));
+    }
+
+    public void addCollector(Collector collector) {
+        collectors.add(collector);
+    }
+
+    public void removeCollector(Collector collector) {
+        collectors.remove(collector);
+    }
+
+    /**
+     * @return all metrics in the Prometheus text exposition format
+     */
+    public String scrape() {
+        MetricsWriter writer = new MetricsWriter();
+        families.forEach((name, family) -> {
+            for (Sample sample : family.samples.values()) {
+                switch (family.type) {
+                    case COUNTER:
+                        writer.writeCounter(name, family.help, ((Counter) sample.metric).get(), sample.labels);
+                        break;
+                    case GAUGE:
+                        double value;
+                        try {
+                            value = ((DoubleSupplier) sample.metric).getAsDouble();
+                        } catch (Exception e) {
+                            log.warn("Error reading gauge {}: {}", name, e.getMessage());
+                            continue;
+                        }
+                        writer.writeGauge(name, family.help, value, sample.labels);
+                        break;
+                    case HISTOGRAM:
+                        writer.writeHistogram(name, family.help, (Histogram) sample.metric, sample.labels);
+                        break;
+                }
+            }
+        });
+        for (Collector collector : collectors) {
+            try {
+                collector.collect(writer);
+            } catch (Exception e) {
+                log.warn("Error collecting metrics from {}: {}", collector.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        return writer.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <M> M getOrRegister(String name, String help, MetricsWriter.Type type, String[] labels, Supplier<M> factory) {
+        Family family = getOrRegisterFamily(name, help, type);
+        return (M) family.samples.computeIfAbsent(toKey(labels), key -> new Sample(labels.clone(), factory.get())).metric;
+    }
+
+    private Family getOrRegisterFamily(String name, String help, MetricsWriter.Type type) {
+        Family family = families.computeIfAbsent(name, key -> {
+            if (!METRIC_NAME_PATTERN.matcher(name).matches()) throw new IllegalArgumentException("Invalid metric name: " + name);
+            return new Family(help, type);
+        });
+        if (family.type != type) throw new IllegalArgumentException("Metric " + name + " is already registered as " + family.type);
+        return family;
+    }
+
+    private static String toKey(String[] labels) {
+        if (labels.length % 2 != 0) throw new IllegalArgumentException("Labels must be name and value pairs");
+        return Arrays.toString(labels);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.metrics;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Writes metrics in the Prometheus text exposition format.
+ *
+ * Samples of the same metric family must be written consecutively. The HELP and
+ * TYPE lines are written before the first sample of each family.
+ */
+public class MetricsWriter {
+
+    public enum Type {
+        COUNTER("counter"),
+        GAUGE("gauge"),
+        HISTOGRAM("histogram");
+
+        private final String text;
+
+        Type(String text) {
+            this.text = text;
+        }
+    }
+
+    private final StringBuilder sb = new StringBuilder();
+    private final Set<String> writtenFamilies = new HashSet<>();
+
+    /**
+     * @param labels - label names and values in alternating order
+     */
+    public void writeCounter(String name, String help, long value, String... labels) {
+        writeHeader(name, help, Type.COUNTER);
+        writeSample(name, labels, null, null, value);
+    }
+
+    /**
+     * @param labels - label names and values in alternating order
+     */
+    public void writeGauge(String name, String help, double value, String... labels) {
+        writeHeader(name, help, Type.GAUGE);
+        writeSample(name, labels, null, null, value);
+    }
+
+    /**
+     * @param labels - label names and values in alternating order
+     */
+    public void writeHistogram(String name, String help, Histogram histogram, String... labels) {
+        writeHeader(name, help, Type.HISTOGRAM);
+        double[] upperBounds = histogram.getUpperBounds();
+        long[] bucketCounts = histogram.getBucketCounts();
+        long cumulativeCount = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            cumulativeCount += bucketCounts[i];
+            String le = i < upperBounds.length ? formatValue(upperBounds[i]) : "+Inf";
+            writeSample(name + "_bucket", labels, "le", le, cumulativeCount);
+        }
+        writeSample(name + "_sum", labels, null, null, histogram.getSum());
+        writeSample(name + "_count", labels, null, null, cumulativeCount);
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+
+    private void writeHeader(String name, String help, Type type) {
+        if (!writtenFamilies.add(name)) return;
+        sb.append("# HELP ").append(name).append(' ').append(escapeHelp(help)).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type.text).append('\n');
+    }
+
+    private void writeSample(String name, String[] labels, String extraLabelName, String extraLabelValue, double value) {
+        if (labels.length % 2 != 0) throw new IllegalArgumentException("Labels must be name and value pairs");
+        sb.append(name);
+        if (labels.length > 0 || extraLabelName != null) {
+            sb.append('{');
+            boolean first = true;
+            for (int i = 0; i < labels.length; i += 2) {
+                if (!first) sb.append(',');
+                sb.append(labels[i]).append("=\"").append(escapeLabelValue(labels[i + 1])).append('"');
+                first = false;
+            }
+            if (extraLabelName != null) {
+                if (!first) sb.append(',');
+                sb.append(extraLabelName).append("=\"").append(extraLabelValue).append('"');
+            }
+            sb.append('}');
+        }
+        sb.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    private static String formatValue(double value) {
+        if (value == Double.POSITIVE_INFINITY) return "+Inf";
+        if (value == Double.NEGATIVE_INFINITY) return "-Inf";
+        if (Double.isNaN(value)) return "NaN";
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) return Long.toString((long) value);
+        return Double.toString(value);
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String escapeLabelValue(String value) {
+        if (value == null) return "";
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
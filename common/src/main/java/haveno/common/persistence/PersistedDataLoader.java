@@ -0,0 +1,217 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.persistence;
+
+import haveno.common.UserThread;
+import haveno.common.proto.persistable.PersistedDataHost;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the persisted data of all hosts at startup.
+ * <p>
+ * The stores are read and decrypted concurrently on the read pool of the PersistenceManager, but while
+ * a load is running the results are applied on the user thread in the order the reads were requested.
+ * As the hosts request their reads one after another, hosts which depend on the data of an earlier host
+ * see the same state as if the stores were read sequentially. Reads requested from a result handler,
+ * e.g. a store which is only read once another store is known, get a later slot.
+ */
+@Slf4j
+public class PersistedDataLoader {
+
+    private static class Read {
+        private final long slot;
+        private final String fileName;
+        private final long requestTime = System.currentTimeMillis();
+        private long loadDuration = -1;
+        private long applyDelay = -1;
+        private long completeTime;
+        private Runnable applier;
+
+        private Read(long slot, String fileName) {
+            this.slot = slot;
+            this.fileName = fileName;
+        }
+    }
+
+    private static final Object LOCK = new Object();
+
+    // guarded by LOCK
+    private static int numActiveLoads;
+    private static long loadStartTime;
+    private static long nextSlot;
+    private static long nextSlotToApply;
+    private static boolean applying;
+    private static final Map<Long, Read> completedReads = new HashMap<>();
+    private static final Set<Long> skippedSlots = new HashSet<>();
+    private static final List<Read> reads = new ArrayList<>();
+
+    /**
+     * Reads the persisted data of the given hosts and calls the complete handler on the user thread
+     * once all hosts have completed.
+     */
+    public static void readAll(List<PersistedDataHost> hosts, Runnable completeHandler) {
+        if (hosts.isEmpty()) {
+            UserThread.execute(completeHandler);
+            return;
+        }
+
+        onLoadStarted();
+        AtomicInteger remaining = new AtomicInteger(hosts.size());
+        Runnable onHostCompleted = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                onLoadCompleted(hosts.size());
+                UserThread.execute(completeHandler);
+            }
+        };
+        for (PersistedDataHost host : hosts) {
+            AtomicBoolean hostCompleted = new AtomicBoolean();
+            long firstSlot = getNextSlot();
+            try {
+                host.readPersisted(() -> {
+                    if (hostCompleted.compareAndSet(false, true)) onHostCompleted.run();
+                });
+            } catch (Throwable t) {
+                // a failing host must not block the results of the later hosts or the completion of the load
+                log.error("Reading persisted data of {} failed", host.getClass().getSimpleName(), t);
+                skipPendingReads(firstSlot);
+                if (hostCompleted.compareAndSet(false, true)) onHostCompleted.run();
+            }
+        }
+    }
+
+    /**
+     * @return executor to apply the result of a read of the given file. While a load is running the
+     * results are applied in the order this method was called, otherwise as soon as they are read.
+     */
+    static Executor getApplyExecutor(String fileName) {
+        synchronized (LOCK) {
+            if (numActiveLoads == 0) return UserThread::execute;
+            Read read = new Read(nextSlot++, fileName);
+            reads.add(read);
+            return applier -> onReadCompleted(read, applier);
+        }
+    }
+
+    private static void onReadCompleted(Read read, Runnable applier) {
+        synchronized (LOCK) {
+            read.completeTime = System.currentTimeMillis();
+            read.loadDuration = read.completeTime - read.requestTime;
+            skippedSlots.remove(read.slot);
+            if (read.slot < nextSlotToApply) {
+                // the slot was skipped after its host failed, so the later results did not wait for it
+                read.applyDelay = 0;
+            } else {
+                read.applier = applier;
+                completedReads.put(read.slot, read);
+                applier = null;
+            }
+        }
+        if (applier != null) UserThread.execute(applier);
+        else applyCompletedReads();
+    }
+
+    private static void applyCompletedReads() {
+        synchronized (LOCK) {
+            // only one thread applies at a time so the results are queued on the user thread in order
+            if (applying) return;
+            applying = true;
+        }
+        while (true) {
+            Runnable nextApplier;
+            synchronized (LOCK) {
+                Read next = completedReads.remove(nextSlotToApply);
+                if (next == null) {
+                    if (skippedSlots.remove(nextSlotToApply)) {
+                        nextSlotToApply++;
+                        continue;
+                    }
+                    applying = false;
+                    return;
+                }
+                nextSlotToApply++;
+                next.applyDelay = System.currentTimeMillis() - next.completeTime;
+                // the applier holds the persisted data, which must not be retained for the summary
+                nextApplier = next.applier;
+                next.applier = null;
+            }
+            try {
+                UserThread.execute(nextApplier);
+            } catch (Throwable t) {
+                // with a direct user thread executor a failing result handler must not block the later reads
+                log.error("Applying persisted data failed", t);
+            }
+        }
+    }
+
+    private static long getNextSlot() {
+        synchronized (LOCK) {
+            return nextSlot;
+        }
+    }
+
+    // later results no longer wait for the reads from the given slot on which have not completed
+    private static void skipPendingReads(long fromSlot) {
+        synchronized (LOCK) {
+            for (long slot = Math.max(fromSlot, nextSlotToApply); slot < nextSlot; slot++) {
+                if (!completedReads.containsKey(slot)) skippedSlots.add(slot);
+            }
+        }
+        applyCompletedReads();
+    }
+
+    private static void onLoadStarted() {
+        synchronized (LOCK) {
+            if (numActiveLoads++ == 0) {
+                loadStartTime = System.currentTimeMillis();
+                reads.clear();
+            }
+        }
+    }
+
+    private static void onLoadCompleted(int numHosts) {
+        long duration;
+        int numStores;
+        String summary;
+        synchronized (LOCK) {
+            if (--numActiveLoads > 0) return;
+            duration = System.currentTimeMillis() - loadStartTime;
+            List<Read> completed = reads.stream()
+                    .filter(read -> read.loadDuration >= 0)
+                    .sorted(Comparator.comparingLong((Read read) -> read.loadDuration).reversed())
+                    .collect(Collectors.toList());
+            numStores = completed.size();
+            summary = completed.stream()
+                    .map(read -> read.fileName + ": loaded in " + read.loadDuration + " ms, applied " + read.applyDelay + " ms later")
+                    .collect(Collectors.joining("\n"));
+        }
+        log.info("Reading persisted data of {} hosts completed in {} ms. Load times of {} stores:\n{}",
+                numHosts, duration, numStores, summary);
+    }
+}
@@ -31,12 +31,14 @@ import haveno.common.crypto.Encryption;
 import haveno.common.crypto.KeyRing;
 import haveno.common.file.CorruptedStorageFileHandler;
 import haveno.common.file.FileUtil;
+import haveno.common.metrics.MetricsRegistry;
 import haveno.common.handlers.ResultHandler;
 import haveno.common.proto.persistable.PersistableEnvelope;
 import haveno.common.proto.persistable.PersistenceProtoResolver;
 import haveno.common.util.GcUtil;
 import static haveno.common.util.Preconditions.checkDir;
 import haveno.common.util.SingleThreadExecutorUtils;
+import haveno.common.util.Utilities;
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -49,7 +51,9 @@ import java.security.MessageDigest;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -89,6 +93,10 @@ public class PersistenceManager<T extends PersistableEnvelope> {
     // CipherInputStream pulls from the underlying stream in 512-byte chunks, so encrypted reads go
     // through a buffer of this size to keep syscalls proportional to the buffer, not the chunk.
     private static final int READ_BUFFER_SIZE = 64 * 1024;
+    // Stores are read and decrypted concurrently, but bounded so startup does not start a thread per store.
+    private static final int NUM_READ_THREADS = Math.max(2, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+    private static final ExecutorService READ_EXECUTOR = Utilities.getListeningExecutorService("PersistenceManager-read",
+            NUM_READ_THREADS, NUM_READ_THREADS, 60, new LinkedBlockingQueue<>());
 
     public static void onAllServicesInitialized() {
         allServicesInitialized.set(true);
@@ -323,8 +331,9 @@ public class PersistenceManager<T extends PersistableEnvelope> {
     }
 
     /**
-     * Read persisted file in a thread.
-     * We map result handler calls to UserThread, so clients don't need to worry about threading
+     * Read persisted file on the read pool.
+     * We map result handler calls to UserThread, so clients don't need to worry about threading.
+     * While a PersistedDataLoader is reading all hosts the result handlers are called in the order of the reads.
      *
      * @param fileName      File name of our persisted data.
      * @param resultHandler Consumer of persisted data once it was read from disk.
@@ -336,18 +345,29 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             return;
         }
 
-        new Thread(() -> {
-            T persisted = getPersisted(fileName);
-            if (persisted != null) {
-                UserThread.execute(() -> {
-                    resultHandler.accept(persisted);
+        Executor applyExecutor = PersistedDataLoader.getApplyExecutor(fileName);
+        READ_EXECUTOR.execute(() -> {
+            long ts = System.currentTimeMillis();
+            Runnable applier = () -> {
+            };
+            try {
+                T persisted = getPersisted(fileName);
+                if (persisted != null) {
+                    applier = () -> {
+                        resultHandler.accept(persisted);
 
-                    GcUtil.maybeReleaseMemory();
-                });
-            } else {
-                UserThread.execute(orElse);
+                        GcUtil.maybeReleaseMemory();
+                    };
+                } else {
+                    applier = orElse;
+                }
+            } finally {
+                MetricsRegistry.getInstance().histogram("haveno_persistence_read_duration_ms",
+                        "Time to read and decrypt a persisted store", "file", fileName).observe(System.currentTimeMillis() - ts);
+                // on an OutOfMemoryError we still complete the read so results of later reads are applied
+                applyExecutor.execute(applier);
             }
-        }, "PersistenceManager-read-" + fileName).start();
+        });
     }
 
     // API for synchronous reading of data. Not recommended to be used in application code.
@@ -538,6 +558,8 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             getWriteToDiskExecutor().execute(() -> writeToDisk(serialized, completeHandler, force));
 
             long duration = System.currentTimeMillis() - ts;
+            MetricsRegistry.getInstance().histogram("haveno_persistence_serialize_duration_ms",
+                    "Time to serialize a persisted store", "file", fileName).observe(duration);
             if (duration > 100) {
                 log.info("Serializing {} took {} msec", fileName, duration);
             }
@@ -627,6 +649,8 @@ public class PersistenceManager<T extends PersistableEnvelope> {
                 log.error("Cannot close resources." + e.getMessage());
             }
             long duration = System.currentTimeMillis() - ts;
+            MetricsRegistry.getInstance().histogram("haveno_persistence_write_duration_ms",
+                    "Time to write a persisted store to disk", "file", fileName).observe(duration);
             if (duration > 100) {
                 log.info("Writing the serialized {} completed in {} msec", fileName, duration);
             }
@@ -24,6 +24,8 @@ import haveno.common.app.DevEnv;
 import haveno.common.app.Log;
 import haveno.common.app.Version;
 import haveno.common.config.Config;
+import haveno.common.metrics.MetricsRegistry;
+import haveno.common.metrics.MetricsServer;
 import haveno.common.util.Profiler;
 import haveno.common.util.Utilities;
 import lombok.extern.slf4j.Slf4j;
@@ -51,6 +53,8 @@ public class CommonSetup {
         setupSigIntHandlers(gracefulShutDownHandler);
 
         DevEnv.setup(config);
+
+        setupMetrics(config);
     }
 
     public static void printSystemLoadPeriodically(int delayMin) {
@@ -87,6 +91,21 @@ public class CommonSetup {
         Thread.currentThread().setUncaughtExceptionHandler(handler);
     }
 
+    private static void setupMetrics(Config config) {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        Runtime runtime = Runtime.getRuntime();
+        registry.gauge("haveno_jvm_memory_used_bytes", "Used JVM heap memory", () -> runtime.totalMemory() - runtime.freeMemory());
+        registry.gauge("haveno_jvm_memory_max_bytes", "Max JVM heap memory", runtime::maxMemory);
+        registry.gauge("haveno_jvm_threads", "Number of live threads", Thread::activeCount);
+
+        if (config.metricsPort == Config.UNSPECIFIED_PORT) return;
+        try {
+            new MetricsServer(registry, config.metricsPort).start();
+        } catch (Exception e) {
+            log.error("Failed to start metrics server on port {}: {}", config.metricsPort, e.getMessage());
+        }
+    }
+
     private static void setupLog(Config config) {
         String logPath = Paths.get(config.appDataDir.getPath(), "haveno").toString();
         Log.setup(logPath);
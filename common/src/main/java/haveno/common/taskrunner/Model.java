@@ -19,4 +19,9 @@ package haveno.common.taskrunner;
 
 public interface Model {
     void onComplete();
+
+    // id of the trade, offer or dispute the tasks run for, used to trace task runs
+    default String getTaskModelId() {
+        return null;
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.taskrunner;
+
+import haveno.common.metrics.Histogram;
+import haveno.common.metrics.MetricsRegistry;
+import haveno.common.metrics.MetricsWriter;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wall time and outcome of each task run by a TaskRunner, aggregated per task class.
+ *
+ * Each run is also written to the "TaskTrace" logger at debug level, with the id of
+ * the enclosing model (e.g. the trade id), so enabling that logger gives a structured
+ * trace of the steps of each protocol.
+ */
+public class TaskMetrics {
+    private static final Logger traceLog = LoggerFactory.getLogger("TaskTrace");
+
+    public enum Outcome {
+        COMPLETED,
+        FAILED,
+        CANCELED
+    }
+
+    @Getter
+    public static class TaskStats {
+        private final String taskName;
+        private final Histogram durationsMs = new Histogram();
+        private final LongAdder numCompleted = new LongAdder();
+        private final LongAdder numFailed = new LongAdder();
+        private final LongAdder numCanceled = new LongAdder();
+
+        private TaskStats(String taskName) {
+            this.taskName = taskName;
+        }
+
+        private void record(Outcome outcome, double durationMs) {
+            durationsMs.observe(durationMs);
+            switch (outcome) {
+                case COMPLETED:
+                    numCompleted.increment();
+                    break;
+                case FAILED:
+                    numFailed.increment();
+                    break;
+                case CANCELED:
+                    numCanceled.increment();
+                    break;
+            }
+        }
+    }
+
+    private static final Map<String, TaskStats> TASK_STATS = new ConcurrentHashMap<>();
+
+    static {
+        MetricsRegistry.getInstance().addCollector(TaskMetrics::collect);
+    }
+
+    static void record(String modelId, Class<?> taskClass, Outcome outcome, long durationNanos) {
+        double durationMs = durationNanos / 1_000_000d;
+        TASK_STATS.computeIfAbsent(taskClass.getSimpleName(), TaskStats::new).record(outcome, durationMs);
+        if (traceLog.isDebugEnabled()) {
+            traceLog.debug("id={} task={} outcome={} durationMs={}", modelId, taskClass.getSimpleName(), outcome, String.format("%.1f", durationMs));
+        }
+    }
+
+    /**
+     * @return the stats of all tasks which have run, keyed by the simple name of the task class
+     */
+    public static Map<String, TaskStats> getTaskStats() {
+        return Collections.unmodifiableMap(TASK_STATS);
+    }
+
+    public static void clear() {
+        TASK_STATS.clear();
+    }
+
+    private static void collect(MetricsWriter writer) {
+        Collection<TaskStats> taskStats = new TreeMap<>(TASK_STATS).values();
+        for (TaskStats stats : taskStats) {
+            writer.writeHistogram("haveno_task_duration_ms", "Wall time of protocol tasks", stats.durationsMs, "task", stats.taskName);
+        }
+        for (TaskStats stats : taskStats) {
+            String help = "Number of protocol tasks by outcome";
+            writer.writeCounter("haveno_tasks_total", help, stats.numCompleted.sum(), "task", stats.taskName, "outcome", "completed");
+            writer.writeCounter("haveno_tasks_total", help, stats.numFailed.sum(), "task", stats.taskName, "outcome", "failed");
+            writer.writeCounter("haveno_tasks_total", help, stats.numCanceled.sum(), "task", stats.taskName, "outcome", "canceled");
+        }
+    }
+}
@@ -21,14 +21,20 @@ import haveno.common.handlers.ErrorMessageHandler;
 import haveno.common.handlers.ResultHandler;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Constructor;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 @Slf4j
 public class TaskRunner<T extends Model> {
+    // task constructors by task class and model class, to avoid repeated reflection lookups
+    private static final Map<Class<?>, Map<Class<?>, Constructor<?>>> TASK_CONSTRUCTORS = new ConcurrentHashMap<>();
+
     private final Queue<Class<? extends Task<T>>> tasks = new LinkedBlockingQueue<>();
     private final T sharedModel;
     private final Class<T> sharedModelClass;
@@ -38,6 +44,8 @@ public class TaskRunner<T extends Model> {
     private boolean isCanceled;
 
     private Class<? extends Task<T>> currentTask;
+    private long currentTaskStartNanos;
+    private boolean isCurrentTaskRunning;
 
 
     public TaskRunner(T sharedModel, ResultHandler resultHandler, ErrorMessageHandler errorMessageHandler) {
@@ -67,7 +75,9 @@ public class TaskRunner<T extends Model> {
                 try {
                     currentTask = tasks.poll();
                     log.info("Run task: " + currentTask.getSimpleName());
-                    currentTask.getDeclaredConstructor(TaskRunner.class, sharedModelClass).newInstance(this, sharedModel).run();
+                    currentTaskStartNanos = System.nanoTime();
+                    isCurrentTaskRunning = true;
+                    getTaskConstructor(currentTask).newInstance(this, sharedModel).run();
                 } catch (Throwable throwable) {
                     log.error(ExceptionUtils.getStackTrace(throwable));
                     handleErrorMessage("Error at taskRunner, error=" + throwable.getMessage());
@@ -79,6 +89,7 @@ public class TaskRunner<T extends Model> {
     }
 
     public void cancel() {
+        if (!isCanceled) recordCurrentTask(TaskMetrics.Outcome.CANCELED);
         isCanceled = true;
     }
 
@@ -87,13 +98,34 @@ public class TaskRunner<T extends Model> {
     }
 
     void handleComplete() {
+        recordCurrentTask(TaskMetrics.Outcome.COMPLETED);
         next();
     }
 
     void handleErrorMessage(String errorMessage) {
         if (isCanceled) return;
+        recordCurrentTask(TaskMetrics.Outcome.FAILED);
         log.error("Task failed: " + currentTask.getSimpleName() + " / errorMessage: " + errorMessage);
         failed = true;
         errorMessageHandler.handleErrorMessage(errorMessage);
     }
+
+    private void recordCurrentTask(TaskMetrics.Outcome outcome) {
+        if (!isCurrentTaskRunning) return;
+        isCurrentTaskRunning = false;
+        TaskMetrics.record(sharedModel.getTaskModelId(), currentTask, outcome, System.nanoTime() - currentTaskStartNanos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Constructor<? extends Task<T>> getTaskConstructor(Class<? extends Task<T>> taskClass) {
+        return (Constructor<? extends Task<T>>) TASK_CONSTRUCTORS
+                .computeIfAbsent(taskClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(sharedModelClass, modelClass -> {
+                    try {
+                        return taskClass.getDeclaredConstructor(TaskRunner.class, modelClass);
+                    } catch (NoSuchMethodException e) {
+                        throw new IllegalStateException("Task " + taskClass.getSimpleName() + " has no constructor for " + modelClass.getSimpleName(), e);
+                    }
+                });
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.util;
+
+import haveno.common.metrics.Counter;
+import haveno.common.metrics.MetricsRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Size bounded cache which evicts the least recently used entries first.
+ *
+ * Values are loaded outside the cache lock, so a slow load does not block other callers. A value loaded while the
+ * cache was invalidated is not cached, so an invalidation is never undone by a load which started before it.
+ */
+@ThreadSafe
+public class BoundedCache<K, V> {
+
+    private final Map<K, V> cache;
+    private final Counter numHits;
+    private final Counter numMisses;
+    // incremented on each invalidation, guarded by the cache lock
+    private long generation;
+
+    /**
+     * @param maxSize - the maximum number of cached values
+     */
+    public BoundedCache(int maxSize) {
+        this(maxSize, new Counter(), new Counter());
+    }
+
+    /**
+     * Create a cache whose size, hits, misses and hit ratio are exported as metrics.
+     *
+     * @param maxSize - the maximum number of cached values
+     * @param name - name of the cache, used as label of the metrics
+     */
+    public BoundedCache(int maxSize, String name) {
+        this(maxSize,
+                MetricsRegistry.getInstance().counter("haveno_cache_hits_total", "Number of lookups served from the cache", "cache", name),
+                MetricsRegistry.getInstance().counter("haveno_cache_misses_total", "Number of lookups not served from the cache", "cache", name));
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.gauge("haveno_cache_size", "Number of cached values", this::size, "cache", name);
+        registry.gauge("haveno_cache_hit_ratio", "Ratio of lookups served from the cache", this::getHitRatio, "cache", name);
+    }
+
+    private BoundedCache(int maxSize, Counter numHits, Counter numMisses) {
+        this.numHits = numHits;
+        this.numMisses = numMisses;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Nullable
+    public V get(K key) {
+        V value;
+        synchronized (cache) {
+            value = cache.get(key);
+        }
+        (value != null ? numHits : numMisses).increment();
+        return value;
+    }
+
+    /**
+     * Get the cached value or load and cache it.
+     *
+     * @param key - the key of the value
+     * @param loader - loads the value, a null value is returned but not cached
+     */
+    @Nullable
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (cache) {
+            V value = cache.get(key);
+            if (value != null) {
+                numHits.increment();
+                return value;
+            }
+            loadGeneration = generation;
+        }
+        numMisses.increment();
+
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (cache) {
+                if (loadGeneration == generation) cache.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        synchronized (cache) {
+            cache.put(key, value);
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (cache) {
+            generation++;
+            cache.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            generation++;
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getNumHits() {
+        return numHits.get();
+    }
+
+    public long getNumMisses() {
+        return numMisses.get();
+    }
+
+    // ratio of lookups served from the cache to all lookups
+    public double getHitRatio() {
+        long numHits = this.numHits.get();
+        long numTotal = numHits + numMisses.get();
+        return numTotal == 0 ? 0 : (double) numHits / numTotal;
+    }
+}
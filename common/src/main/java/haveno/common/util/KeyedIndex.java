@@ -0,0 +1,93 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.util;
+
+import javafx.collections.ListChangeListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Index of the items of a list by a key, so lookups do not scan the list. Several items can share a key, they are
+ * kept in the order they were added. The lists held by the index are never mutated once published, so lookups are
+ * safe without holding the lock of the indexed list.
+ */
+public final class KeyedIndex<T> {
+    private final Function<T, String> keyFunction;
+    private final Map<String, List<T>> itemsByKey = new ConcurrentHashMap<>();
+
+    /**
+     * @param keyFunction returns the key of an item, items with a null key are not indexed
+     */
+    public KeyedIndex(Function<T, String> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    public void add(T item) {
+        String key = keyFunction.apply(item);
+        if (key == null) return;
+        itemsByKey.compute(key, (k, items) -> {
+            List<T> result = items == null ? new ArrayList<>(1) : new ArrayList<>(items);
+            result.add(item);
+            return List.copyOf(result);
+        });
+    }
+
+    // Removes the instance, equal items stay indexed
+    public void remove(T item) {
+        String key = keyFunction.apply(item);
+        if (key == null) return;
+        itemsByKey.computeIfPresent(key, (k, items) -> {
+            List<T> result = new ArrayList<>(items.size());
+            boolean removed = false;
+            for (T existing : items) {
+                if (!removed && existing == item) {
+                    removed = true;
+                } else {
+                    result.add(existing);
+                }
+            }
+            return result.isEmpty() ? null : List.copyOf(result);
+        });
+    }
+
+    /**
+     * Applies a change of the indexed observable list. Call from a listener registered on the list.
+     */
+    public void onChanged(ListChangeListener.Change<? extends T> change) {
+        while (change.next()) {
+            // a permutation keeps the same items
+            if (change.wasPermutated()) continue;
+            change.getRemoved().forEach(this::remove);
+            change.getAddedSubList().forEach(this::add);
+        }
+    }
+
+    public List<T> get(String key) {
+        return key == null ? List.of() : itemsByKey.getOrDefault(key, List.of());
+    }
+
+    // Returns the first item added with the given key
+    public Optional<T> getFirst(String key) {
+        return get(key).stream().findFirst();
+    }
+}
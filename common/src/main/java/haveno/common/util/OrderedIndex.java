@@ -0,0 +1,176 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.util;
+
+import javafx.collections.ListChangeListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Index of items ordered by a number, e.g. a date or a block height, and by their key for items with the same number,
+ * so a page of items after a position is found without scanning the items before it. Each key is indexed once, adding
+ * an item with an indexed key replaces the indexed item and moves it if its number changed.
+ * <p>
+ * The position of an item is exposed as a cursor string, so API clients can continue paging after the last item they
+ * received.
+ */
+public final class OrderedIndex<T> {
+
+    // Position of an item, the key makes positions unique
+    private static final class Position implements Comparable<Position> {
+        private final long order;
+        private final String key;
+
+        private Position(long order, String key) {
+            this.order = order;
+            this.key = key;
+        }
+
+        private static Position fromCursor(String cursor) {
+            int separator = cursor.indexOf(':');
+            if (separator > 0) {
+                try {
+                    return new Position(Long.parseLong(cursor.substring(0, separator)), cursor.substring(separator + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("invalid cursor '" + cursor + "'");
+                }
+            }
+            throw new IllegalArgumentException("invalid cursor '" + cursor + "'");
+        }
+
+        private String toCursor() {
+            return order + ":" + key;
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            int result = Long.compare(order, other.order);
+            return result != 0 ? result : key.compareTo(other.key);
+        }
+    }
+
+    private final ToLongFunction<T> orderFunction;
+    private final Function<T, String> keyFunction;
+    private final NavigableMap<Position, T> items = new TreeMap<>();
+    private final Map<String, Position> positionsByKey = new HashMap<>();
+
+    /**
+     * @param orderFunction returns the number by which an item is ordered
+     * @param keyFunction returns the unique key of an item, items with a null or empty key are not indexed
+     */
+    public OrderedIndex(ToLongFunction<T> orderFunction, Function<T, String> keyFunction) {
+        this.orderFunction = orderFunction;
+        this.keyFunction = keyFunction;
+    }
+
+    public synchronized void add(T item) {
+        Position position = getPosition(item);
+        if (position == null) return;
+        Position previous = positionsByKey.put(position.key, position);
+        if (previous != null) items.remove(previous);
+        items.put(position, item);
+    }
+
+    // Removes the instance, an item which replaced it under the same key stays indexed
+    public synchronized void remove(T item) {
+        String key = keyFunction.apply(item);
+        if (key == null) return;
+        Position position = positionsByKey.get(key);
+        if (position != null && items.get(position) == item) {
+            positionsByKey.remove(key);
+            items.remove(position);
+        }
+    }
+
+    public synchronized void replaceAll(Collection<? extends T> newItems) {
+        items.clear();
+        positionsByKey.clear();
+        newItems.forEach(this::add);
+    }
+
+    /**
+     * Applies a change of the indexed observable list. Call from a listener registered on the list.
+     */
+    public void onChanged(ListChangeListener.Change<? extends T> change) {
+        while (change.next()) {
+            // a permutation keeps the same items
+            if (change.wasPermutated()) continue;
+            change.getRemoved().forEach(this::remove);
+            change.getAddedSubList().forEach(this::add);
+        }
+    }
+
+    /**
+     * Returns a page of the indexed items in their order.
+     *
+     * @param fromOrder only items ordered at or after this number are returned
+     * @param cursor only items after the item with this cursor are returned, null or empty to start at fromOrder
+     * @param limit max number of items to return, 0 for all
+     */
+    public synchronized List<T> getPage(long fromOrder, @Nullable String cursor, int limit) {
+        Position from = new Position(fromOrder, "");
+        NavigableMap<Position, T> page = items.tailMap(from, true);
+        if (cursor != null && !cursor.isEmpty()) {
+            Position after = Position.fromCursor(cursor);
+            if (after.compareTo(from) >= 0) page = items.tailMap(after, false);
+        }
+        List<T> result = new ArrayList<>(limit > 0 ? Math.min(limit, page.size()) : page.size());
+        for (T item : page.values()) {
+            if (limit > 0 && result.size() == limit) break;
+            result.add(item);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cursor to continue paging after the given item.
+     */
+    public String getCursor(T item) {
+        Position position = getPosition(item);
+        if (position == null) throw new IllegalArgumentException("item has no key");
+        return position.toCursor();
+    }
+
+    /**
+     * Returns the order of the index, to merge pages of several indexes with the same functions.
+     */
+    public Comparator<T> comparator() {
+        return Comparator.comparingLong(orderFunction).thenComparing(keyFunction);
+    }
+
+    public synchronized int size() {
+        return items.size();
+    }
+
+    @Nullable
+    private Position getPosition(T item) {
+        String key = keyFunction.apply(item);
+        return key == null || key.isEmpty() ? null : new Position(orderFunction.applyAsLong(item), key);
+    }
+}
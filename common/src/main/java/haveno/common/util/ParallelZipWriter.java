@@ -0,0 +1,348 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * Writes a zip stream whose entries are deflated in parallel.
+ * <p>
+ * Each file is split into blocks which are deflated independently on the executor and written in order,
+ * so only a bounded number of blocks is held in memory. The deflated blocks end on a byte boundary and
+ * together form one valid deflate stream, as with pigz. Files which do not compress, like encrypted
+ * stores and wallet files, are stored instead. The output can be read by ZipInputStream and ZipFile,
+ * but it has no zip64 support, so the caller must only use it for less than 4 GB and 65535 entries.
+ */
+class ParallelZipWriter implements Closeable {
+
+    static final long MAX_SIZE = 0xFFFFFFFFL;
+    static final int MAX_ENTRIES = 0xFFFF;
+
+    private static final int BLOCK_SIZE = 1024 * 1024;
+    private static final int SAMPLE_SIZE = 64 * 1024;
+    // files which compress to more than this share of their sample size are stored
+    private static final double MIN_COMPRESSION_RATIO = 0.95;
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of("zip", "gz", "bz2", "xz", "7z", "jar",
+            "png", "jpg", "jpeg", "gif", "webp", "mp3", "mp4", "pdf");
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int VERSION = 20;
+    private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+    private static final int FLAG_UTF8 = 0x800;
+
+    private static class Entry {
+        private byte[] name;
+        private int flags;
+        private int method;
+        private int dosTime;
+        private long crc;
+        private long compressedSize;
+        private long size;
+        private long offset;
+    }
+
+    private final OutputStream out;
+    private final ExecutorService executor;
+    private final int maxBlocksInFlight;
+    private final int bufferSize;
+    private final List<Entry> entries = new ArrayList<>();
+    private long position;
+
+    /**
+     * @param out The stream to write to.
+     * @param executor The executor to deflate blocks on.
+     * @param maxBlocksInFlight The maximum number of blocks being deflated or waiting to be written.
+     * @param bufferSize The buffer used to copy stored files.
+     */
+    ParallelZipWriter(OutputStream out, ExecutorService executor, int maxBlocksInFlight, int bufferSize) {
+        this.out = new BufferedOutputStream(out, bufferSize);
+        this.executor = executor;
+        this.maxBlocksInFlight = maxBlocksInFlight;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Adds the file as entry. A FileNotFoundException is thrown before anything is written, so the
+     * caller can skip files which were deleted in the meantime.
+     */
+    void putFile(String name, File file) throws IOException {
+        if (isCompressible(file)) {
+            putDeflated(name, file);
+        } else {
+            putStored(name, file);
+        }
+    }
+
+    void putBytes(String name, byte[] data, long lastModified) throws IOException {
+        Entry entry = newEntry(name, lastModified, ZipEntry.DEFLATED);
+        writeLocalHeader(entry);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        byte[] deflated = deflate(data, data.length, true);
+        write(deflated, deflated.length);
+        finishDeflated(entry, crc.getValue(), data.length, deflated.length);
+    }
+
+    // deflates blocks on the executor while the next blocks are read
+    private void putDeflated(String name, File file) throws IOException {
+        CRC32 crc = new CRC32();
+        long size = 0;
+        long compressedSize = 0;
+        Deque<Future<byte[]>> blocks = new ArrayDeque<>();
+        Entry entry;
+        try (InputStream in = openFile(file)) {
+            entry = newEntry(name, file.lastModified(), ZipEntry.DEFLATED);
+            writeLocalHeader(entry);
+            byte[] block = readBlock(in);
+            while (true) {
+                byte[] nextBlock = block.length == 0 ? block : readBlock(in);
+                boolean last = nextBlock.length == 0;
+                crc.update(block);
+                size += block.length;
+                byte[] input = block;
+                blocks.add(executor.submit(() -> deflate(input, input.length, last)));
+                if (blocks.size() >= maxBlocksInFlight) compressedSize += writeBlock(blocks.poll());
+                if (last) break;
+                block = nextBlock;
+            }
+            while (!blocks.isEmpty()) compressedSize += writeBlock(blocks.poll());
+        } finally {
+            blocks.forEach(future -> future.cancel(true));
+        }
+        finishDeflated(entry, crc.getValue(), size, compressedSize);
+    }
+
+    // the size and crc of stored entries must be known before the data, so the file is read twice. Both streams
+    // are opened before the header is written, so a file deleted in the meantime is not left without data.
+    private void putStored(String name, File file) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        try (InputStream in = openFile(file); InputStream copyIn = openFile(file)) {
+            CRC32 crc = new CRC32();
+            long size = 0;
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, length);
+                size += length;
+            }
+            Entry entry = newEntry(name, file.lastModified(), ZipEntry.STORED);
+            entry.crc = crc.getValue();
+            entry.size = size;
+            entry.compressedSize = size;
+            writeLocalHeader(entry);
+
+            CRC32 copiedCrc = new CRC32();
+            long remaining = size;
+            while (remaining > 0) {
+                length = copyIn.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (length == -1) break;
+                copiedCrc.update(buffer, 0, length);
+                write(buffer, length);
+                remaining -= length;
+            }
+            if (remaining > 0 || copiedCrc.getValue() != entry.crc) {
+                throw new IOException("File " + file + " changed while it was being zipped");
+            }
+        }
+    }
+
+    // overridden in tests to change files while they are zipped
+    InputStream openFile(File file) throws IOException {
+        return new FileInputStream(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+        long centralDirectoryOffset = position;
+        for (Entry entry : entries) {
+            writeInt(CENTRAL_HEADER_SIGNATURE);
+            writeShort(VERSION);
+            writeShort(VERSION);
+            writeShort(entry.flags);
+            writeShort(entry.method);
+            writeInt(entry.dosTime);
+            writeInt(entry.crc);
+            writeInt(entry.compressedSize);
+            writeInt(entry.size);
+            writeShort(entry.name.length);
+            writeShort(0); // extra field length
+            writeShort(0); // comment length
+            writeShort(0); // disk number
+            writeShort(0); // internal attributes
+            writeInt(0); // external attributes
+            writeInt(entry.offset);
+            write(entry.name, entry.name.length);
+        }
+        long centralDirectorySize = position - centralDirectoryOffset;
+        writeInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+        writeShort(0); // disk number
+        writeShort(0); // disk with central directory
+        writeShort(entries.size());
+        writeShort(entries.size());
+        writeInt(centralDirectorySize);
+        writeInt(centralDirectoryOffset);
+        writeShort(0); // comment length
+        out.close();
+    }
+
+    static boolean isCompressible(File file) throws IOException {
+        String name = file.getName();
+        int extensionIndex = name.lastIndexOf('.');
+        if (extensionIndex >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(extensionIndex + 1).toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        byte[] sample = new byte[SAMPLE_SIZE];
+        int length;
+        try (InputStream in = new FileInputStream(file)) {
+            length = in.readNBytes(sample, 0, sample.length);
+        }
+        if (length == 0) return true;
+        return deflate(sample, length, true).length < length * MIN_COMPRESSION_RATIO;
+    }
+
+    private static byte[] deflate(byte[] input, int length, boolean last) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(input, 0, length);
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(length / 2 + 64);
+            byte[] buffer = new byte[64 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int count = deflater.deflate(buffer);
+                    deflated.write(buffer, 0, count);
+                }
+            } else {
+                // a sync flush ends the block on a byte boundary, so the next block can be appended
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    deflated.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+            return deflated.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] readBlock(InputStream in) throws IOException {
+        byte[] block = in.readNBytes(BLOCK_SIZE);
+        return block.length == BLOCK_SIZE ? block : Arrays.copyOf(block, block.length);
+    }
+
+    private long writeBlock(Future<byte[]> future) throws IOException {
+        byte[] deflated;
+        try {
+            deflated = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while deflating", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Deflating failed", e.getCause());
+        }
+        write(deflated, deflated.length);
+        return deflated.length;
+    }
+
+    private Entry newEntry(String name, long lastModified, int method) {
+        Entry entry = new Entry();
+        entry.name = name.getBytes(StandardCharsets.UTF_8);
+        entry.method = method;
+        entry.flags = FLAG_UTF8 | (method == ZipEntry.DEFLATED ? FLAG_DATA_DESCRIPTOR : 0);
+        entry.dosTime = toDosTime(lastModified);
+        entry.offset = position;
+        entries.add(entry);
+        return entry;
+    }
+
+    // sizes and crc of deflated entries follow the data in a data descriptor
+    private void writeLocalHeader(Entry entry) throws IOException {
+        boolean hasDataDescriptor = (entry.flags & FLAG_DATA_DESCRIPTOR) != 0;
+        writeInt(LOCAL_HEADER_SIGNATURE);
+        writeShort(VERSION);
+        writeShort(entry.flags);
+        writeShort(entry.method);
+        writeInt(entry.dosTime);
+        writeInt(hasDataDescriptor ? 0 : entry.crc);
+        writeInt(hasDataDescriptor ? 0 : entry.compressedSize);
+        writeInt(hasDataDescriptor ? 0 : entry.size);
+        writeShort(entry.name.length);
+        writeShort(0); // extra field length
+        write(entry.name, entry.name.length);
+    }
+
+    private void finishDeflated(Entry entry, long crc, long size, long compressedSize) throws IOException {
+        entry.crc = crc;
+        entry.size = size;
+        entry.compressedSize = compressedSize;
+        writeInt(DATA_DESCRIPTOR_SIGNATURE);
+        writeInt(crc);
+        writeInt(compressedSize);
+        writeInt(size);
+    }
+
+    private static int toDosTime(long time) {
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        if (dateTime.getYear() < 1980) return (1 << 21) | (1 << 16);
+        return (dateTime.getYear() - 1980) << 25 | dateTime.getMonthValue() << 21 | dateTime.getDayOfMonth() << 16 |
+                dateTime.getHour() << 11 | dateTime.getMinute() << 5 | dateTime.getSecond() >> 1;
+    }
+
+    private void writeShort(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+        position += 2;
+    }
+
+    private void writeInt(long value) throws IOException {
+        writeShort((int) (value & 0xffff));
+        writeShort((int) ((value >>> 16) & 0xffff));
+    }
+
+    private void write(byte[] bytes, int length) throws IOException {
+        out.write(bytes, 0, length);
+        position += length;
+    }
+}
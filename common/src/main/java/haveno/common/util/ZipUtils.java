@@ -20,12 +20,20 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Predicate;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -33,6 +41,9 @@ import java.util.zip.ZipOutputStream;
 @Slf4j
 public class ZipUtils {
 
+    // Lists the hashes of the hashed files of an incremental zip. Not unzipped.
+    public static final String MANIFEST_NAME = "backup-manifest.txt";
+
     /**
      * Zips directory into the output stream. Empty directories are not included.
      *
@@ -72,6 +83,81 @@ public class ZipUtils {
         }
     }
 
+    /**
+     * Zips directory into the output stream like {@link #zipDirToStream(File, OutputStream, int, Collection)},
+     * but deflates the files in parallel and stores files which do not compress.
+     * <p>
+     * Files matching isHashed are hashed with SHA-256 and skipped if the receiver already has them, i.e.
+     * their hash is in knownHashes. The hashes of all hashed files are listed in a manifest entry, so the
+     * receiver can pass them for the next zip. Falls back to the sequential zip if the directory is too
+     * large for a zip without zip64 extensions.
+     *
+     * @param knownHashes Hex encoded hashes of the files the receiver already has, by entry name.
+     */
+    public static void zipDirToStream(File dir,
+                                      OutputStream out,
+                                      int bufferSize,
+                                      Collection<File> excludedFiles,
+                                      Predicate<File> isHashed,
+                                      Map<String, String> knownHashes) throws Exception {
+        List<File> fileList = new ArrayList<>();
+        getFilesRecursive(dir, fileList, excludedFiles);
+        long totalSize = fileList.stream().mapToLong(File::length).sum();
+        if (fileList.size() >= ParallelZipWriter.MAX_ENTRIES ||
+                totalSize + totalSize / 64 + 1024L * (fileList.size() + 1) >= ParallelZipWriter.MAX_SIZE) {
+            log.warn("Zipping {} files of {} bytes sequentially as a full zip", fileList.size(), totalSize);
+            zipDirToStream(dir, out, bufferSize, excludedFiles);
+            return;
+        }
+
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Utilities.getListeningExecutorService("ZipUtils-deflate", numThreads, numThreads, 60, new LinkedBlockingQueue<>());
+        Map<String, String> hashes = new TreeMap<>();
+        int numSkipped = 0;
+        long ts = System.currentTimeMillis();
+        try (ParallelZipWriter zip = new ParallelZipWriter(out, executor, 2 * numThreads, bufferSize)) {
+            for (File file : fileList) {
+                String filePath = file.getAbsolutePath();
+                String name = filePath.substring(dir.getAbsolutePath().length() + 1);
+                try {
+                    if (isHashed.test(file)) {
+                        String hash = sha256(file, bufferSize);
+                        hashes.put(name, hash);
+                        if (hash.equals(knownHashes.get(name))) {
+                            log.info("Skipping unchanged: " + filePath);
+                            numSkipped++;
+                            continue;
+                        }
+                    }
+                    log.info("Compressing: " + filePath);
+                    zip.putFile(name, file);
+                } catch (FileNotFoundException e) {
+                    log.warn(e.getMessage());
+                }
+            }
+
+            StringBuilder manifest = new StringBuilder();
+            hashes.forEach((name, hash) -> manifest.append(hash).append("  ").append(name).append("\n"));
+            zip.putBytes(MANIFEST_NAME, manifest.toString().getBytes(StandardCharsets.UTF_8), System.currentTimeMillis());
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Zipped {} files with {} threads in {} ms, skipped {} unchanged files",
+                fileList.size() - numSkipped, numThreads, System.currentTimeMillis() - ts, numSkipped);
+    }
+
+    private static String sha256(File file, int bufferSize) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (FileInputStream fis = new FileInputStream(file)) {
+            byte[] buffer = new byte[bufferSize];
+            int length;
+            while ((length = fis.read(buffer)) != -1) {
+                digest.update(buffer, 0, length);
+            }
+        }
+        return Hex.encode(digest.digest());
+    }
+
     /**
      * Get files list from the directory recursive to the subdirectory.
      */
@@ -103,6 +189,10 @@ public class ZipUtils {
             byte[] buffer = new byte[bufferSize];
             int count;
             while ((entry = zipStream.getNextEntry()) != null) {
+                if (MANIFEST_NAME.equals(entry.getName())) {
+                    zipStream.closeEntry();
+                    continue;
+                }
                 File file = new File(dir, entry.getName());
                 if (entry.isDirectory()) {
                     file.mkdirs();
@@ -0,0 +1,80 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testCounterIsRegisteredOncePerLabels() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("test_total", "Test counter", "type", "a");
+        assertSame(counter, registry.counter("test_total", "Test counter", "type", "a"));
+        counter.add(2);
+        registry.counter("test_total", "Test counter", "type", "b").increment();
+
+        assertEquals("# HELP test_total Test counter\n" +
+                "# TYPE test_total counter\n" +
+                "test_total{type=\"a\"} 2\n" +
+                "test_total{type=\"b\"} 1\n", registry.scrape());
+    }
+
+    @Test
+    public void testHistogramIsWrittenWithCumulativeBuckets() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Histogram histogram = registry.histogram("test_ms", "Test histogram", new double[]{1, 10});
+        histogram.observe(0.5);
+        histogram.observe(5);
+        histogram.observe(50);
+
+        assertEquals("# HELP test_ms Test histogram\n" +
+                "# TYPE test_ms histogram\n" +
+                "test_ms_bucket{le=\"1\"} 1\n" +
+                "test_ms_bucket{le=\"10\"} 2\n" +
+                "test_ms_bucket{le=\"+Inf\"} 3\n" +
+                "test_ms_sum 55.5\n" +
+                "test_ms_count 3\n", registry.scrape());
+    }
+
+    @Test
+    public void testGaugesAndCollectors() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.gauge("test_gauge", "Test gauge", () -> 1);
+        registry.gauge("test_gauge", "Test gauge", () -> 2);
+        registry.addCollector(writer -> writer.writeCounter("test_collected_total", "Collected", 3, "name", "quote\"d"));
+
+        String scrape = registry.scrape();
+        assertTrue(scrape.contains("test_gauge 2\n"));
+        assertTrue(scrape.contains("test_collected_total{name=\"quote\\\"d\"} 3\n"));
+    }
+
+    @Test
+    public void testRejectsInvalidRegistrations() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("test_total", "Test counter");
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("test_total", "Test histogram"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("invalid-name", "Invalid"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("test_total", "Test counter", "type"));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.persistence;
+
+import haveno.common.proto.persistable.PersistedDataHost;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PersistedDataLoaderTest {
+
+    // Host which requests a read of its store and completes once the result is applied. The read is
+    // completed by the test, so it can complete the reads in any order.
+    private static class Host implements PersistedDataHost {
+        private final String fileName;
+        private final List<String> applied;
+        private Executor applyExecutor;
+        private Runnable completeHandler;
+
+        private Host(String fileName, List<String> applied) {
+            this.fileName = fileName;
+            this.applied = applied;
+        }
+
+        @Override
+        public void readPersisted(Runnable completeHandler) {
+            this.completeHandler = completeHandler;
+            applyExecutor = PersistedDataLoader.getApplyExecutor(fileName);
+        }
+
+        private void completeRead() {
+            applyExecutor.execute(() -> {
+                applied.add(fileName);
+                completeHandler.run();
+            });
+        }
+    }
+
+    @Test
+    public void testResultsAreAppliedInHostOrder() {
+        List<String> applied = new CopyOnWriteArrayList<>();
+        List<Host> hosts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) hosts.add(new Host("Store" + i, applied));
+        AtomicBoolean completed = new AtomicBoolean();
+
+        PersistedDataLoader.readAll(new ArrayList<>(hosts), () -> completed.set(true));
+
+        hosts.get(3).completeRead();
+        hosts.get(1).completeRead();
+        assertTrue(applied.isEmpty(), "results must wait for the first store");
+
+        hosts.get(0).completeRead();
+        assertEquals(List.of("Store0", "Store1"), applied);
+        assertFalse(completed.get());
+
+        hosts.get(2).completeRead();
+        assertEquals(List.of("Store0", "Store1", "Store2", "Store3"), applied);
+        assertTrue(completed.get());
+    }
+
+    @Test
+    public void testReadRequestedByResultHandlerIsAppliedAfterEarlierReads() {
+        List<String> applied = new CopyOnWriteArrayList<>();
+        Host dependent = new Host("Dependent", applied);
+        Host second = new Host("Second", applied);
+        // the first host only requests the read of the dependent store once its own data is applied
+        Host first = new Host("First", applied) {
+            @Override
+            public void readPersisted(Runnable completeHandler) {
+                super.readPersisted(() -> dependent.readPersisted(completeHandler));
+            }
+        };
+        AtomicBoolean completed = new AtomicBoolean();
+
+        PersistedDataLoader.readAll(List.of(first, second), () -> completed.set(true));
+
+        first.completeRead();
+        dependent.completeRead();
+        assertEquals(List.of("First"), applied);
+
+        second.completeRead();
+        assertEquals(List.of("First", "Second", "Dependent"), applied);
+        assertTrue(completed.get());
+    }
+
+    @Test
+    public void testResultsAreAppliedDirectlyWithoutLoad() {
+        List<String> applied = new CopyOnWriteArrayList<>();
+        Host first = new Host("First", applied);
+        Host second = new Host("Second", applied);
+        first.readPersisted(() -> {
+        });
+        second.readPersisted(() -> {
+        });
+
+        second.completeRead();
+        assertEquals(List.of("Second"), applied);
+        first.completeRead();
+        assertEquals(List.of("Second", "First"), applied);
+    }
+
+    @Test
+    public void testFailingHostDoesNotBlockLaterHosts() {
+        List<String> applied = new CopyOnWriteArrayList<>();
+        Host first = new Host("First", applied);
+        Host last = new Host("Last", applied);
+        Host failingBeforeRead = new Host("FailingBeforeRead", applied) {
+            @Override
+            public void readPersisted(Runnable completeHandler) {
+                throw new IllegalStateException("failed before read");
+            }
+        };
+        Host failingAfterRead = new Host("FailingAfterRead", applied) {
+            @Override
+            public void readPersisted(Runnable completeHandler) {
+                super.readPersisted(completeHandler);
+                throw new IllegalStateException("failed after read");
+            }
+        };
+        AtomicBoolean completed = new AtomicBoolean();
+
+        PersistedDataLoader.readAll(List.of(first, failingBeforeRead, failingAfterRead, last), () -> completed.set(true));
+
+        last.completeRead();
+        assertTrue(applied.isEmpty(), "results must wait for the first store");
+
+        first.completeRead();
+        assertEquals(List.of("First", "Last"), applied);
+        assertTrue(completed.get());
+    }
+
+    @Test
+    public void testEmptyHostsComplete() {
+        AtomicBoolean completed = new AtomicBoolean();
+        PersistedDataLoader.readAll(List.of(), () -> completed.set(true));
+        assertTrue(completed.get());
+    }
+}
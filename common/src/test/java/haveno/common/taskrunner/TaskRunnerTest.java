@@ -0,0 +1,131 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.taskrunner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TaskRunnerTest {
+
+    public static class TestModel implements Model {
+        private final List<String> runTasks = new ArrayList<>();
+
+        @Override
+        public void onComplete() {
+        }
+
+        @Override
+        public String getTaskModelId() {
+            return "model-id";
+        }
+    }
+
+    public static class CompletingTask extends Task<TestModel> {
+        public CompletingTask(TaskRunner<TestModel> taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            model.runTasks.add(getClass().getSimpleName());
+            complete();
+        }
+    }
+
+    public static class FailingTask extends Task<TestModel> {
+        public FailingTask(TaskRunner<TestModel> taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            model.runTasks.add(getClass().getSimpleName());
+            failed("test failure");
+        }
+    }
+
+    public static class PendingTask extends Task<TestModel> {
+        public PendingTask(TaskRunner<TestModel> taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            model.runTasks.add(getClass().getSimpleName());
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        TaskMetrics.clear();
+    }
+
+    @Test
+    public void testRecordsCompletedAndFailedTasks() {
+        TestModel model = new TestModel();
+        List<String> errors = new ArrayList<>();
+        boolean[] completed = {false};
+        TaskRunner<TestModel> taskRunner = new TaskRunner<>(model, () -> completed[0] = true, errors::add);
+        taskRunner.addTasks(CompletingTask.class, CompletingTask.class, FailingTask.class, CompletingTask.class);
+        taskRunner.run();
+
+        assertEquals(List.of("CompletingTask", "CompletingTask", "FailingTask"), model.runTasks);
+        assertEquals(1, errors.size());
+        assertFalse(completed[0]);
+
+        TaskMetrics.TaskStats completingStats = TaskMetrics.getTaskStats().get("CompletingTask");
+        assertEquals(2, completingStats.getNumCompleted().sum());
+        assertEquals(2, completingStats.getDurationsMs().getCount());
+        TaskMetrics.TaskStats failingStats = TaskMetrics.getTaskStats().get("FailingTask");
+        assertEquals(1, failingStats.getNumFailed().sum());
+        assertEquals(0, failingStats.getNumCompleted().sum());
+    }
+
+    @Test
+    public void testRecordsCanceledTask() {
+        TestModel model = new TestModel();
+        TaskRunner<TestModel> taskRunner = new TaskRunner<>(model, () -> {}, errorMessage -> {});
+        taskRunner.addTasks(PendingTask.class, CompletingTask.class);
+        taskRunner.run();
+        taskRunner.cancel();
+        taskRunner.cancel();
+
+        assertEquals(List.of("PendingTask"), model.runTasks);
+        assertEquals(1, TaskMetrics.getTaskStats().get("PendingTask").getNumCanceled().sum());
+        assertNull(TaskMetrics.getTaskStats().get("CompletingTask"));
+    }
+
+    @Test
+    public void testRunsTasksAgainWithCachedConstructor() {
+        for (int i = 0; i < 3; i++) {
+            TestModel model = new TestModel();
+            TaskRunner<TestModel> taskRunner = new TaskRunner<>(model, () -> {}, errorMessage -> {});
+            taskRunner.addTasks(CompletingTask.class);
+            taskRunner.run();
+            assertEquals(List.of("CompletingTask"), model.runTasks);
+        }
+        assertEquals(3, TaskMetrics.getTaskStats().get("CompletingTask").getNumCompleted().sum());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.util;
+
+import haveno.common.metrics.MetricsRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedValuesAreEvicted() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(1, cache.get("a"));
+        cache.put("c", 3);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(3, cache.getNumHits());
+        assertEquals(1, cache.getNumMisses());
+        assertEquals(0.75, cache.getHitRatio());
+
+        // null values are returned but not cached
+        assertNull(cache.computeIfAbsent("d", key -> null));
+        assertEquals(2, cache.size());
+        assertEquals(4, cache.computeIfAbsent("d", key -> 4));
+        assertEquals(4, cache.computeIfAbsent("d", key -> 5));
+    }
+
+    @Test
+    public void testNamedCacheExportsMetrics() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2, "bounded_cache_test");
+        cache.put("a", 1);
+        cache.get("a");
+        cache.get("b");
+
+        String scrape = MetricsRegistry.getInstance().scrape();
+        assertTrue(scrape.contains("# TYPE haveno_cache_hits_total counter\n"));
+        assertTrue(scrape.contains("haveno_cache_hits_total{cache=\"bounded_cache_test\"} 1\n"));
+        assertTrue(scrape.contains("haveno_cache_misses_total{cache=\"bounded_cache_test\"} 1\n"));
+        assertTrue(scrape.contains("haveno_cache_size{cache=\"bounded_cache_test\"} 1\n"));
+        assertTrue(scrape.contains("haveno_cache_hit_ratio{cache=\"bounded_cache_test\"} 0.5\n"));
+    }
+
+    @Test
+    public void testValueLoadedDuringInvalidationIsNotCached() throws Exception {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> load = executor.submit(() -> cache.computeIfAbsent("a", key -> {
+                loading.countDown();
+                try {
+                    invalidated.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 1;
+            }));
+            loading.await();
+            cache.invalidateAll();
+            invalidated.countDown();
+
+            // the loader still gets its value, but the stale value must not be cached
+            assertEquals(1, load.get(10, TimeUnit.SECONDS));
+            assertEquals(0, cache.size());
+            assertEquals(2, cache.computeIfAbsent("a", key -> 2));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentAccessIsBoundedAndConsistent() throws Exception {
+        int maxSize = 100;
+        int numThreads = 8;
+        int numLookups = 10_000;
+        BoundedCache<Integer, String> cache = new BoundedCache<>(maxSize);
+        AtomicInteger numLoads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < numLookups; i++) {
+                        int key = (i * 31 + seed) % (maxSize * 2);
+                        String value = cache.computeIfAbsent(key, k -> {
+                            numLoads.incrementAndGet();
+                            return "value-" + k;
+                        });
+                        assertEquals("value-" + key, value);
+                        if (i % 1000 == 0) cache.invalidate(key);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(cache.size() <= maxSize);
+        assertEquals((long) numThreads * numLookups, cache.getNumHits() + cache.getNumMisses());
+        assertEquals(numLoads.get(), cache.getNumMisses());
+    }
+}
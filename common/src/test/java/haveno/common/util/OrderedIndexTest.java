@@ -0,0 +1,113 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.util;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OrderedIndexTest {
+
+    private static class Item {
+        private final String key;
+        private final long order;
+
+        private Item(String key, long order) {
+            this.key = key;
+            this.order = order;
+        }
+    }
+
+    private static OrderedIndex<Item> createIndex() {
+        return new OrderedIndex<>(item -> item.order, item -> item.key);
+    }
+
+    @Test
+    public void testPagesFollowOrderAndCursor() {
+        OrderedIndex<Item> index = createIndex();
+        for (int i = 9; i >= 0; i--) index.add(new Item("item" + i, i / 2));
+
+        List<String> keys = new ArrayList<>();
+        String cursor = null;
+        List<Item> page;
+        do {
+            page = index.getPage(0, cursor, 3);
+            page.forEach(item -> keys.add(item.key));
+            if (!page.isEmpty()) cursor = index.getCursor(page.get(page.size() - 1));
+        } while (page.size() == 3);
+        assertEquals(List.of("item0", "item1", "item2", "item3", "item4", "item5", "item6", "item7", "item8", "item9"), keys);
+
+        // items of the same order are all returned from that order on
+        assertEquals(List.of("item4", "item5", "item6"), keys(index.getPage(2, null, 3)));
+
+        // a cursor before the start order does not return earlier items
+        assertEquals(List.of("item6", "item7"), keys(index.getPage(3, index.getCursor(keyed(index, "item1")), 2)));
+        assertThrows(IllegalArgumentException.class, () -> index.getPage(0, "invalid", 0));
+    }
+
+    @Test
+    public void testReplacingItemMovesIt() {
+        OrderedIndex<Item> index = createIndex();
+        Item pending = new Item("tx1", Long.MAX_VALUE);
+        index.add(pending);
+        index.add(new Item("tx2", 100));
+        assertEquals(List.of("tx2", "tx1"), keys(index.getPage(50, null, 0)));
+
+        index.add(new Item("tx1", 90));
+        assertEquals(List.of("tx1", "tx2"), keys(index.getPage(50, null, 0)));
+        assertEquals(2, index.size());
+
+        // removing the replaced instance keeps the new item
+        index.remove(pending);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testIndexFollowsListChanges() {
+        ObservableList<Item> list = FXCollections.observableArrayList();
+        OrderedIndex<Item> index = createIndex();
+        list.addListener(index::onChanged);
+
+        Item item1 = new Item("item1", 1);
+        Item item2 = new Item("item2", 2);
+        list.addAll(item2, item1, new Item(null, 3));
+        assertEquals(List.of("item1", "item2"), keys(index.getPage(0, null, 0)));
+
+        list.remove(item1);
+        FXCollections.sort(list, (a, b) -> Long.compare(a.order, b.order));
+        assertEquals(List.of("item2"), keys(index.getPage(0, null, 0)));
+        assertTrue(index.getPage(3, null, 0).isEmpty());
+    }
+
+    private static Item keyed(OrderedIndex<Item> index, String key) {
+        return index.getPage(0, null, 0).stream().filter(item -> key.equals(item.key)).findFirst().orElseThrow();
+    }
+
+    private static List<String> keys(List<Item> items) {
+        List<String> keys = new ArrayList<>();
+        items.forEach(item -> keys.add(item.key));
+        return keys;
+    }
+}
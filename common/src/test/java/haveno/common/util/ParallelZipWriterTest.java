@@ -0,0 +1,123 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelZipWriterTest {
+
+    private ExecutorService executor;
+    private File file;
+    private byte[] data;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        executor = Executors.newFixedThreadPool(2);
+        file = Files.createTempFile("zip_writer", ".db").toFile();
+        // random bytes are stored, so the file is read twice
+        data = new byte[100_000];
+        new Random(1).nextBytes(data);
+        Files.write(file.toPath(), data);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+        file.delete();
+    }
+
+    @Test
+    public void testStoredFileDeletedBetweenPassesIsComplete() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ParallelZipWriter writer = new ParallelZipWriter(out, executor, 4, 4096) {
+            private int opened;
+
+            @Override
+            InputStream openFile(File openedFile) throws IOException {
+                InputStream in = super.openFile(openedFile);
+                if (++opened > 1) return in;
+                // the file is deleted once the first pass has read it to the end
+                return new FilterInputStream(in) {
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = super.read(buffer, offset, length);
+                        if (read == -1) openedFile.delete();
+                        return read;
+                    }
+                };
+            }
+        }) {
+            writer.putFile("wallet", file);
+        }
+
+        assertFalse(file.exists());
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry = zip.getNextEntry();
+            assertEquals("wallet", entry.getName());
+            assertEquals(ZipEntry.STORED, entry.getMethod());
+            assertArrayEquals(data, zip.readAllBytes());
+            assertNull(zip.getNextEntry());
+        }
+    }
+
+    @Test
+    public void testStoredFileDeletedBeforeSecondOpenIsNotWritten() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ParallelZipWriter writer = new ParallelZipWriter(out, executor, 4, 4096) {
+            private int opened;
+
+            @Override
+            InputStream openFile(File openedFile) throws IOException {
+                // the file is deleted after the compressibility check and the first open
+                if (++opened == 2) openedFile.delete();
+                return super.openFile(openedFile);
+            }
+        }) {
+            assertThrows(FileNotFoundException.class, () -> writer.putFile("wallet", file));
+            writer.putBytes("other", "other".getBytes(StandardCharsets.UTF_8), System.currentTimeMillis());
+        }
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("other", zip.getNextEntry().getName());
+            assertArrayEquals("other".getBytes(StandardCharsets.UTF_8), zip.readAllBytes());
+            assertNull(zip.getNextEntry());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.common.util;
+
+import haveno.common.file.FileUtil;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ZipUtilsTest {
+
+    private File srcDir;
+    private File dstDir;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        srcDir = Files.createTempDirectory("zip_src").toFile();
+        dstDir = Files.createTempDirectory("zip_dst").toFile();
+        assertTrue(new File(srcDir, "db").mkdir());
+
+        // compressible file over several deflate blocks, with a size which is not a multiple of the block size
+        byte[] text = "offer trade dispute ".repeat(200_000).getBytes(StandardCharsets.UTF_8);
+        Files.write(new File(srcDir, "db/Compressible").toPath(), Arrays.copyOf(text, text.length - 3));
+        // random bytes like an encrypted store, which are stored
+        byte[] random = new byte[2 * 1024 * 1024 + 7];
+        new Random(1).nextBytes(random);
+        Files.write(new File(srcDir, "wallet").toPath(), random);
+        Files.write(new File(srcDir, "empty").toPath(), new byte[0]);
+        Files.write(new File(srcDir, "db/HistoricalStore_0.0.1").toPath(), text);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        FileUtil.deleteDirectory(srcDir);
+        FileUtil.deleteDirectory(dstDir);
+    }
+
+    @Test
+    public void testParallelZipRoundTrip() throws Exception {
+        byte[] zip = zip(new HashMap<>());
+        ZipUtils.unzipToDir(dstDir, new ByteArrayInputStream(zip), 4096);
+
+        for (String name : List.of("db/Compressible", "wallet", "empty", "db/HistoricalStore_0.0.1")) {
+            assertArrayEquals(Files.readAllBytes(new File(srcDir, name).toPath()),
+                    Files.readAllBytes(new File(dstDir, name).toPath()), name);
+        }
+        assertFalse(new File(dstDir, ZipUtils.MANIFEST_NAME).exists(), "manifest must not be unzipped");
+        assertTrue(zip.length < 2 * 1024 * 1024 + 64 * 1024, "compressible files must be deflated");
+    }
+
+    @Test
+    public void testIncrementalZipSkipsKnownFiles() throws Exception {
+        Map<String, byte[]> entries = readEntries(zip(new HashMap<>()));
+        String manifest = new String(entries.get(ZipUtils.MANIFEST_NAME), StandardCharsets.UTF_8);
+        String[] line = manifest.trim().split(" {2}");
+        assertEquals(2, line.length);
+        assertEquals("db" + File.separator + "HistoricalStore_0.0.1", line[1]);
+
+        Map<String, String> knownHashes = new HashMap<>();
+        knownHashes.put(line[1], line[0]);
+        Map<String, byte[]> incrementalEntries = readEntries(zip(knownHashes));
+        assertFalse(incrementalEntries.containsKey(line[1]));
+        assertTrue(incrementalEntries.containsKey("wallet"));
+        assertEquals(manifest, new String(incrementalEntries.get(ZipUtils.MANIFEST_NAME), StandardCharsets.UTF_8));
+
+        // a changed file is included again
+        Files.write(new File(srcDir, "db/HistoricalStore_0.0.1").toPath(), new byte[]{1, 2, 3});
+        assertTrue(readEntries(zip(knownHashes)).containsKey(line[1]));
+    }
+
+    private byte[] zip(Map<String, String> knownHashes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ZipUtils.zipDirToStream(srcDir, out, 8192, new ArrayList<>(),
+                file -> file.getName().endsWith("_0.0.1"), knownHashes);
+        return out.toByteArray();
+    }
+
+    private static Map<String, byte[]> readEntries(byte[] zip) throws IOException {
+        Map<String, byte[]> entries = new HashMap<>();
+        try (ZipInputStream zipStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = zipStream.getNextEntry()) != null) {
+                entries.put(entry.getName(), zipStream.readAllBytes());
+            }
+        }
+        return entries;
+    }
+}
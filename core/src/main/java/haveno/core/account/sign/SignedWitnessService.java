@@ -42,10 +42,12 @@ import java.security.SignatureException;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -97,6 +99,19 @@ public class SignedWitnessService {
     // access to the set of SignedWitness which match the ownerPubKey.
     private final Map<P2PDataStorage.ByteArray, Set<SignedWitness>> signedWitnessSetByOwnerPubKey = new HashMap<>();
 
+    // Reverse of signedWitnessSetByOwnerPubKey, used to find the descendants of a newly added SignedWitness.
+    private final Map<P2PDataStorage.ByteArray, Set<SignedWitness>> signedWitnessSetBySignerPubKey = new HashMap<>();
+
+    // Walking the signer chain up to an arbitrator is called for every offer in the book and every trade limit
+    // computation, so we cache per witness hash whether a valid chain exists when starting from that witness. The
+    // result does not depend on the time of the child signature, which is checked separately. Adding a witness can
+    // only complete chains, so on add we only drop the cached invalid results of its descendants. Filter changes
+    // and removals clear the cache.
+    private final Map<P2PDataStorage.ByteArray, Boolean> validSignerChainCache = new HashMap<>();
+
+    // Avoids hex encoding the owner pub key at every hop of the chain for the ban check. Cleared on filter changes.
+    private final Map<P2PDataStorage.ByteArray, Boolean> bannedWitnessOwnerCache = new HashMap<>();
+
     // The signature verification calls are rather expensive and called at filtering the offer book many times,
     // so we cache the results using the hash as key. The hash is created from the accountAgeWitnessHash and the
     // signature.
@@ -144,6 +159,8 @@ public class SignedWitnessService {
                 addToMap((SignedWitness) e);
         });
 
+        filterManager.filterProperty().addListener((observable, oldValue, newValue) -> onFilterChanged());
+
         if (p2PService.isBootstrapped()) {
             onBootstrapComplete();
         } else {
@@ -272,7 +289,7 @@ public class SignedWitnessService {
     public boolean isFilteredWitness(AccountAgeWitness accountAgeWitness) {
         return getSignedWitnessSet(accountAgeWitness).stream()
                 .map(SignedWitness::getWitnessOwnerPubKey)
-                .anyMatch(ownerPubKey -> filterManager.isWitnessSignerPubKeyBanned(Utils.HEX.encode(ownerPubKey)));
+                .anyMatch(this::isWitnessOwnerPubKeyBanned);
     }
 
     private byte[] ownerPubKey(AccountAgeWitness accountAgeWitness) {
@@ -616,7 +633,31 @@ public class SignedWitnessService {
                                                  long childSignedWitnessDateMillis,
                                                  Stack<P2PDataStorage.ByteArray> excludedPubKeys,
                                                  @Nullable List<SignedWitness> path) {
-        if (filterManager.isWitnessSignerPubKeyBanned(Utils.HEX.encode(signedWitness.getWitnessOwnerPubKey()))) {
+        if (!signedWitness.isSignedByArbitrator() && !verifyDate(signedWitness, childSignedWitnessDateMillis)) {
+            return false;
+        }
+        if (excludedPubKeys.isEmpty() && path == null) {
+            return isValidSignerChain(signedWitness);
+        }
+        return isValidSignerChainInternal(signedWitness, excludedPubKeys, path);
+    }
+
+    // Memoized check whether signedWitness has a valid signer chain up to an arbitrator, starting without excluded keys.
+    private boolean isValidSignerChain(SignedWitness signedWitness) {
+        P2PDataStorage.ByteArray hash = signedWitness.getHashAsByteArray();
+        Boolean cachedResult = validSignerChainCache.get(hash);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+        boolean isValid = isValidSignerChainInternal(signedWitness, new Stack<>(), null);
+        validSignerChainCache.put(hash, isValid);
+        return isValid;
+    }
+
+    private boolean isValidSignerChainInternal(SignedWitness signedWitness,
+                                               Stack<P2PDataStorage.ByteArray> excludedPubKeys,
+                                               @Nullable List<SignedWitness> path) {
+        if (isWitnessOwnerPubKeyBanned(signedWitness.getWitnessOwnerPubKey())) {
             return false;
         }
         if (!verifySignature(signedWitness)) {
@@ -627,7 +668,9 @@ public class SignedWitnessService {
             if (path != null) path.add(signedWitness);
             return true;
         } else {
-            if (!verifyDate(signedWitness, childSignedWitnessDateMillis)) {
+            // Excluded keys only remove candidate signers, so a chain which is invalid without excluded keys
+            // is invalid with any of them.
+            if (Boolean.FALSE.equals(validSignerChainCache.get(signedWitness.getHashAsByteArray()))) {
                 return false;
             }
             if (excludedPubKeys.size() >= 2000) {
@@ -651,6 +694,11 @@ public class SignedWitnessService {
         return false;
     }
 
+    private boolean isWitnessOwnerPubKeyBanned(byte[] witnessOwnerPubKey) {
+        return bannedWitnessOwnerCache.computeIfAbsent(new P2PDataStorage.ByteArray(witnessOwnerPubKey),
+                key -> filterManager.isWitnessSignerPubKeyBanned(Utils.HEX.encode(witnessOwnerPubKey)));
+    }
+
     private boolean verifyDate(SignedWitness signedWitness, long childSignedWitnessDateMillis) {
         long childSignedWitnessDateMinusChargebackPeriodMillis = Instant.ofEpochMilli(
                 childSignedWitnessDateMillis).minus(SIGNER_AGE, ChronoUnit.MILLIS).toEpochMilli();
@@ -662,9 +710,15 @@ public class SignedWitnessService {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    @VisibleForTesting
+    void onFilterChanged() {
+        bannedWitnessOwnerCache.clear();
+        validSignerChainCache.clear();
+    }
+
     @VisibleForTesting
     public void addToMap(SignedWitness signedWitness) {
-        signedWitnessMap.putIfAbsent(signedWitness.getHashAsByteArray(), signedWitness);
+        boolean isNew = signedWitnessMap.putIfAbsent(signedWitness.getHashAsByteArray(), signedWitness) == null;
 
         P2PDataStorage.ByteArray accountAgeWitnessHash = new P2PDataStorage.ByteArray(signedWitness.getAccountAgeWitnessHash());
         signedWitnessSetByAccountAgeWitnessHash.putIfAbsent(accountAgeWitnessHash, new HashSet<>());
@@ -673,6 +727,33 @@ public class SignedWitnessService {
         P2PDataStorage.ByteArray ownerPubKey = new P2PDataStorage.ByteArray(signedWitness.getWitnessOwnerPubKey());
         signedWitnessSetByOwnerPubKey.putIfAbsent(ownerPubKey, new HashSet<>());
         signedWitnessSetByOwnerPubKey.get(ownerPubKey).add(signedWitness);
+
+        P2PDataStorage.ByteArray signerPubKey = new P2PDataStorage.ByteArray(signedWitness.getSignerPubKey());
+        signedWitnessSetBySignerPubKey.putIfAbsent(signerPubKey, new HashSet<>());
+        signedWitnessSetBySignerPubKey.get(signerPubKey).add(signedWitness);
+
+        if (isNew) {
+            invalidateDescendantsInSignerChainCache(signedWitness);
+        }
+    }
+
+    // The new witness can complete the chains of the witnesses it signed directly or indirectly, so we drop their
+    // cached invalid results. Cached valid results cannot be affected by an additional witness.
+    private void invalidateDescendantsInSignerChainCache(SignedWitness signedWitness) {
+        validSignerChainCache.remove(signedWitness.getHashAsByteArray());
+        Set<P2PDataStorage.ByteArray> visitedSignerPubKeys = new HashSet<>();
+        Deque<P2PDataStorage.ByteArray> signerPubKeys = new ArrayDeque<>();
+        signerPubKeys.add(new P2PDataStorage.ByteArray(signedWitness.getWitnessOwnerPubKey()));
+        while (!signerPubKeys.isEmpty()) {
+            P2PDataStorage.ByteArray signerPubKey = signerPubKeys.poll();
+            if (!visitedSignerPubKeys.add(signerPubKey)) continue;
+            for (SignedWitness child : signedWitnessSetBySignerPubKey.getOrDefault(signerPubKey, new HashSet<>())) {
+                if (Boolean.FALSE.equals(validSignerChainCache.get(child.getHashAsByteArray()))) {
+                    validSignerChainCache.remove(child.getHashAsByteArray());
+                }
+                signerPubKeys.add(new P2PDataStorage.ByteArray(child.getWitnessOwnerPubKey()));
+            }
+        }
     }
 
     private void publishSignedWitness(SignedWitness signedWitness) {
@@ -713,6 +794,18 @@ public class SignedWitnessService {
                 signedWitnessSetByOwnerPubKey.remove(ownerPubKey);
             }
         }
+
+        P2PDataStorage.ByteArray signerPubKey = new P2PDataStorage.ByteArray(signedWitness.getSignerPubKey());
+        if (signedWitnessSetBySignerPubKey.containsKey(signerPubKey)) {
+            Set<SignedWitness> set = signedWitnessSetBySignerPubKey.get(signerPubKey);
+            set.remove(signedWitness);
+            if (set.isEmpty()) {
+                signedWitnessSetBySignerPubKey.remove(signerPubKey);
+            }
+        }
+
+        // Removing a witness can break any chain passing through it
+        validSignerChainCache.clear();
     }
 
     // Remove SignedWitnesses that are signed by TRADE that also have an ARBITRATOR signature
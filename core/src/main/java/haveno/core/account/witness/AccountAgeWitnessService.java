@@ -27,6 +27,7 @@ import haveno.common.crypto.KeyRing;
 import haveno.common.crypto.PubKeyRing;
 import haveno.common.crypto.Sig;
 import haveno.common.handlers.ErrorMessageHandler;
+import haveno.common.util.BoundedCache;
 import haveno.common.util.MathUtils;
 import haveno.common.util.Tuple2;
 import haveno.common.util.Utilities;
@@ -61,7 +62,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.GregorianCalendar;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -139,12 +139,14 @@ public class AccountAgeWitnessService {
     @Getter
     private final AccountAgeWitnessUtils accountAgeWitnessUtils;
 
-    private final Map<P2PDataStorage.ByteArray, AccountAgeWitness> accountAgeWitnessMap = new HashMap<>();
+    // All witnesses we know, witnesses are never removed
+    private final Map<P2PDataStorage.ByteArray, AccountAgeWitness> accountAgeWitnessMap = new ConcurrentHashMap<>();
 
     // The accountAgeWitnessMap is very large (70k items) and access is a bit expensive. We usually only access less
     // than 100 items, those who have offers online. So we use a cache for a fast lookup and only if
     // not found there we use the accountAgeWitnessMap and put then the new item into our cache.
-    private final Map<P2PDataStorage.ByteArray, AccountAgeWitness> accountAgeWitnessCache = new ConcurrentHashMap<>();
+    private final BoundedCache<P2PDataStorage.ByteArray, AccountAgeWitness> accountAgeWitnessCache =
+            new BoundedCache<>(1000, "account_age_witness");
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -236,9 +238,7 @@ public class AccountAgeWitnessService {
 
     @VisibleForTesting
     public void addToMap(AccountAgeWitness accountAgeWitness) {
-        synchronized (this) {
-            accountAgeWitnessMap.putIfAbsent(accountAgeWitness.getHashAsByteArray(), accountAgeWitness);
-        }
+        accountAgeWitnessMap.putIfAbsent(accountAgeWitness.getHashAsByteArray(), accountAgeWitness);
     }
 
 
@@ -247,19 +247,9 @@ public class AccountAgeWitnessService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public void publishMyAccountAgeWitness(PaymentAccountPayload paymentAccountPayload) {
-        synchronized (this) {
-            AccountAgeWitness accountAgeWitness = getMyWitness(paymentAccountPayload);
-            P2PDataStorage.ByteArray hash = accountAgeWitness.getHashAsByteArray();
-
-            // We use first our fast lookup cache. If its in accountAgeWitnessCache it is also in accountAgeWitnessMap
-            // and we do not publish.
-            if (accountAgeWitnessCache.containsKey(hash)) {
-                return;
-            }
-
-            if (!accountAgeWitnessMap.containsKey(hash)) {
-                p2PService.addPersistableNetworkPayload(accountAgeWitness, false);
-            }
+        AccountAgeWitness accountAgeWitness = getMyWitness(paymentAccountPayload);
+        if (!accountAgeWitnessMap.containsKey(accountAgeWitness.getHashAsByteArray())) {
+            p2PService.addPersistableNetworkPayload(accountAgeWitness, false);
         }
     }
 
@@ -313,25 +303,9 @@ public class AccountAgeWitnessService {
     }
 
     private Optional<AccountAgeWitness> getWitnessByHash(byte[] hash) {
-        P2PDataStorage.ByteArray hashAsByteArray = new P2PDataStorage.ByteArray(hash);
-        synchronized (this) {
-
-            // First we look up in our fast lookup cache
-            if (accountAgeWitnessCache.containsKey(hashAsByteArray)) {
-                return Optional.of(accountAgeWitnessCache.get(hashAsByteArray));
-            }
-
-            if (accountAgeWitnessMap.containsKey(hashAsByteArray)) {
-                AccountAgeWitness accountAgeWitness = accountAgeWitnessMap.get(hashAsByteArray);
-
-                // We add it to our fast lookup cache
-                accountAgeWitnessCache.put(hashAsByteArray, accountAgeWitness);
-
-                return Optional.of(accountAgeWitness);
-            }
-
-            return Optional.empty();
-        }
+        // First we look up in our fast lookup cache, unknown witnesses are not cached
+        return Optional.ofNullable(accountAgeWitnessCache.computeIfAbsent(new P2PDataStorage.ByteArray(hash),
+                accountAgeWitnessMap::get));
     }
 
     private Optional<AccountAgeWitness> getWitnessByHashAsHex(String hashAsHex) {
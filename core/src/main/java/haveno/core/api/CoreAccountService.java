@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import haveno.common.app.Log;
+import haveno.common.app.Version;
 import haveno.common.config.Config;
 import haveno.common.crypto.IncorrectPasswordException;
 import haveno.common.crypto.KeyRing;
@@ -36,7 +37,9 @@ import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import lombok.Getter;
@@ -169,6 +172,14 @@ public class CoreAccountService {
 
     // TODO: share common code with BackupView to backup
     public void backupAccount(int bufferSize, Consumer<InputStream> consume, Consumer<Exception> error) {
+        backupAccount(bufferSize, Collections.emptyMap(), consume, error);
+    }
+
+    /**
+     * Streams a zip of the app data directory. Historical store files whose hash is in knownFileHashes
+     * are left out, the hashes of all of them are listed in the manifest of the zip.
+     */
+    public void backupAccount(int bufferSize, Map<String, String> knownFileHashes, Consumer<InputStream> consume, Consumer<Exception> error) {
         if (!accountExists()) throw new IllegalStateException("Cannot backup non existing account");
 
         var accountWasOpen = isAccountOpen();
@@ -194,7 +205,7 @@ public class CoreAccountService {
 
                 new Thread(() -> {
                     try {
-                        ZipUtils.zipDirToStream(dataDir, out, bufferSize, excludedFiles);
+                        ZipUtils.zipDirToStream(dataDir, out, bufferSize, excludedFiles, CoreAccountService::isHistoricalStoreFile, knownFileHashes);
                     } catch (Exception ex) {
                         error.accept(ex);
                     } finally {
@@ -215,6 +226,11 @@ public class CoreAccountService {
         });
     }
 
+    // historical stores are never written after they are created from the resources
+    private static boolean isHistoricalStoreFile(File file) {
+        return Version.HISTORICAL_RESOURCE_FILE_VERSION_TAGS.stream().anyMatch(version -> file.getName().endsWith("_" + version));
+    }
+
     public void restoreAccount(InputStream inputStream, int bufferSize, Runnable onShutdown) throws Exception {
         if (accountExists()) throw new IllegalStateException("Cannot restore account if there is an existing account");
         File dataDir = new File(config.appDataDir.getPath());
@@ -65,11 +65,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import monero.common.MoneroRpcConnection;
@@ -188,6 +190,10 @@ public class CoreApi {
         coreAccountService.backupAccount(bufferSize, consume, error);
     }
 
+    public void backupAccount(int bufferSize, Map<String, String> knownFileHashes, Consumer<InputStream> consume, Consumer<Exception> error) {
+        coreAccountService.backupAccount(bufferSize, knownFileHashes, consume, error);
+    }
+
     public void restoreAccount(InputStream zipStream, int bufferSize, Runnable onShutdown) throws Exception {
         coreAccountService.restoreAccount(zipStream, bufferSize, onShutdown);
     }
@@ -280,6 +286,14 @@ public class CoreApi {
         return walletsService.getXmrTxs();
     }
 
+    public List<MoneroTxWallet> getXmrTxs(long sinceHeight, @Nullable String cursor, int limit) {
+        return walletsService.getXmrTxs(sinceHeight, cursor, limit);
+    }
+
+    public String getXmrTxCursor(MoneroTxWallet tx) {
+        return walletsService.getXmrTxCursor(tx);
+    }
+
     public MoneroTxWallet createXmrTx(List<MoneroDestination> destinations) {
         return walletsService.createXmrTx(destinations);
     }
@@ -356,6 +370,10 @@ public class CoreApi {
         return coreDisputeService.getDisputes();
     }
 
+    public List<Dispute> getDisputes(@Nullable Boolean isClosed, long sinceDate) {
+        return coreDisputeService.getDisputes(isClosed, sinceDate);
+    }
+
     public Dispute getDispute(String tradeId) {
         return coreDisputeService.getDispute(tradeId);
     }
@@ -576,10 +594,22 @@ public class CoreApi {
         return coreTradesService.getTrades();
     }
 
+    public List<Trade> getTrades(long sinceDate, @Nullable String cursor, int limit) {
+        return coreTradesService.getTrades(sinceDate, cursor, limit);
+    }
+
+    public String getTradeCursor(Trade trade) {
+        return coreTradesService.getTradeCursor(trade);
+    }
+
     public List<ChatMessage> getChatMessages(String tradeId) {
         return coreTradesService.getChatMessages(tradeId);
     }
 
+    public List<ChatMessage> getChatMessages(String tradeId, @Nullable String afterUid, int limit) {
+        return coreTradesService.getChatMessages(tradeId, afterUid, limit);
+    }
+
     public void sendChatMessage(String tradeId, String message) {
         coreTradesService.sendChatMessage(tradeId, message);
     }
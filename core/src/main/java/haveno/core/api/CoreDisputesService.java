@@ -48,9 +48,12 @@ import haveno.core.xmr.wallet.XmrWalletService;
 import static java.lang.String.format;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
@@ -91,6 +94,19 @@ public class CoreDisputesService {
         return new ArrayList<>(arbitrationManager.getDisputesAsObservableList());
     }
 
+    /**
+     * Returns the disputes opened at or after the given date, ordered by opening date.
+     *
+     * @param isClosed true for closed disputes, false for open disputes, null for all disputes
+     */
+    public List<Dispute> getDisputes(@Nullable Boolean isClosed, long sinceDate) {
+        return getDisputes().stream()
+                .filter(dispute -> isClosed == null || dispute.isClosed() == isClosed)
+                .filter(dispute -> dispute.getOpeningDate() >= sinceDate)
+                .sorted(Comparator.comparingLong(Dispute::getOpeningDate).thenComparing(Dispute::getId))
+                .collect(Collectors.toList());
+    }
+
     public Dispute getDispute(String tradeId) {
         Optional<Dispute> dispute = arbitrationManager.findDispute(tradeId);
         if (dispute.isPresent()) return dispute.get();
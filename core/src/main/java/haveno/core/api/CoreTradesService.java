@@ -61,6 +61,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -227,6 +228,28 @@ class CoreTradesService {
         return trades;
     }
 
+    /**
+     * Returns a page of the open and closed trades ordered by date.
+     *
+     * @param sinceDate only trades taken at or after this date are returned
+     * @param cursor only trades after the trade with this cursor are returned, null or empty to start at sinceDate
+     * @param limit max number of trades to return, 0 for all
+     */
+    List<Trade> getTrades(long sinceDate, @Nullable String cursor, int limit) {
+        coreWalletsService.verifyWalletsAreAvailable();
+        coreWalletsService.verifyEncryptedWalletIsUnlocked();
+
+        // each list returns its first trades of the page, so merging them yields the page
+        List<Trade> trades = new ArrayList<>(tradeManager.getOpenTradesByDate(sinceDate, cursor, limit));
+        trades.addAll(closedTradableManager.getClosedTradesByDate(sinceDate, cursor, limit));
+        trades.sort(tradeManager.getTradesByDateComparator());
+        return limit > 0 && trades.size() > limit ? new ArrayList<>(trades.subList(0, limit)) : trades;
+    }
+
+    String getTradeCursor(Trade trade) {
+        return tradeManager.getTradeCursor(trade);
+    }
+
     List<ChatMessage> getChatMessages(String tradeId) {
         Trade trade;
         var tradeOptional = tradeManager.getOpenTrade(tradeId);
@@ -237,6 +260,26 @@ class CoreTradesService {
         return tradeChatSession.getObservableChatMessageList();
     }
 
+    /**
+     * Returns a page of the chat messages of a trade.
+     *
+     * @param afterUid only messages after the message with this uid are returned, null or empty to start with the first
+     * @param limit max number of messages to return, 0 for all
+     */
+    List<ChatMessage> getChatMessages(String tradeId, @Nullable String afterUid, int limit) {
+        List<ChatMessage> chatMessages = getChatMessages(tradeId);
+        synchronized (chatMessages) {
+            int from = 0;
+            if (afterUid != null && !afterUid.isEmpty()) {
+                while (from < chatMessages.size() && !chatMessages.get(from).getUid().equals(afterUid)) from++;
+                if (from == chatMessages.size()) throw new IllegalArgumentException(format("chat message with uid '%s' not found", afterUid));
+                from++;
+            }
+            int to = limit > 0 ? Math.min(chatMessages.size(), from + limit) : chatMessages.size();
+            return new ArrayList<>(chatMessages.subList(from, to));
+        }
+    }
+
     void sendChatMessage(String tradeId, String message) {
         Trade trade;
         var tradeOptional = tradeManager.getOpenTrade(tradeId);
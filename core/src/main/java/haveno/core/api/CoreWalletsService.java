@@ -161,6 +161,18 @@ class CoreWalletsService {
         return xmrWalletService.getTxs();
     }
 
+    /**
+     * Returns a page of the wallet's transactions ordered by height, see {@link XmrWalletService#getTxs(long, String, int)}.
+     */
+    List<MoneroTxWallet> getXmrTxs(long sinceHeight, @Nullable String cursor, int limit) {
+        accountService.checkAccountOpen();
+        return xmrWalletService.getTxs(sinceHeight, cursor, limit);
+    }
+
+    String getXmrTxCursor(MoneroTxWallet tx) {
+        return xmrWalletService.getTxCursor(tx);
+    }
+
     MoneroTxWallet createXmrTx(List<MoneroDestination> destinations) {
         accountService.checkAccountOpen();
         verifyWalletsAreAvailable();
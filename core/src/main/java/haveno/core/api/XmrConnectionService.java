@@ -25,6 +25,8 @@ import haveno.common.app.DevEnv;
 import haveno.common.config.BaseCurrencyNetwork;
 import haveno.common.config.Config;
 import haveno.common.crypto.Hash;
+import haveno.common.metrics.Histogram;
+import haveno.common.metrics.MetricsRegistry;
 import haveno.common.util.Utilities;
 import monero.common.NetworkUtils;
 import haveno.core.locale.Res;
@@ -44,7 +46,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -147,7 +148,12 @@ public final class XmrConnectionService {
     private boolean isShutDownStarted;
     private List<XmrConnectionListener> listeners = new ArrayList<>();
     private XmrKeyImagePoller keyImagePoller;
-    private final Map<String, Optional<MoneroTx>> txCache = new HashMap<String, Optional<MoneroTx>>();
+    private static final int MAX_TX_CACHE_SIZE = 1000;
+    private final XmrTxCache txCache = new XmrTxCache(this::fetchTxs, MAX_TX_CACHE_SIZE, this::getRefreshPeriodMs,
+            MetricsRegistry.getInstance().counter("haveno_tx_cache_hits_total", "Number of transactions served from the tx cache"),
+            MetricsRegistry.getInstance().counter("haveno_tx_cache_misses_total", "Number of transactions fetched from the Monero node"));
+    private static final Histogram getTxsDurationsMs = getRpcDurationHistogram("get_transactions");
+    private static final Histogram getInfoDurationsMs = getRpcDurationHistogram("get_info");
 
     // connection switching
     private static final int EXCLUDE_CONNECTION_SECONDS = 180;
@@ -192,6 +198,10 @@ public final class XmrConnectionService {
         HavenoUtils.xmrConnectionService = this;
         HavenoUtils.preferences = preferences;
 
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.gauge("haveno_monerod_connected", "Whether the Monero node is connected", () -> Boolean.TRUE.equals(isConnected()) ? 1 : 0);
+        registry.gauge("haveno_monerod_chain_height", "Chain height of the Monero node", chainHeight::get);
+
         // initialize when connected to p2p network
         p2PService.addP2PServiceListener(new P2PServiceListener() {
             @Override
@@ -710,7 +720,10 @@ public final class XmrConnectionService {
 
     public XmrKeyImagePoller getKeyImagePoller() {
         synchronized (lock) {
-            if (keyImagePoller == null) keyImagePoller = new XmrKeyImagePoller();
+            if (keyImagePoller == null) {
+                keyImagePoller = new XmrKeyImagePoller();
+                keyImagePoller.setHeightSupplier(this::getHeight);
+            }
             return keyImagePoller;
         }
     }
@@ -787,60 +800,53 @@ public final class XmrConnectionService {
     }
 
     public List<MoneroTx> getTxs(List<String> txHashes) {
+        List<MoneroTx> txs = fetchTxs(txHashes);
+        txCache.put(txs);
+        return txs;
+    }
+
+    public MoneroTx getTxWithCache(String txHash) {
+        List<MoneroTx> cachedTxs = getTxsWithCache(Arrays.asList(txHash));
+        return cachedTxs == null || cachedTxs.isEmpty() ? null : cachedTxs.get(0);
+    }
+
+    // fetches only the txs missing from the cache, sharing in-flight fetches of the same txs
+    public List<MoneroTx> getTxsWithCache(List<String> txHashes) {
+        try {
+            return txCache.getTxs(txHashes);
+        } catch (Exception e) {
+            if (!isShutDownStarted) throw e;
+            return null;
+        }
+    }
+
+    public long getNumTxCacheHits() {
+        return txCache.getNumHits();
+    }
+
+    public long getNumTxCacheMisses() {
+        return txCache.getNumMisses();
+    }
 
-        // fetch txs outside the cache lock so cache reads are not blocked
+    private List<MoneroTx> fetchTxs(List<String> txHashes) {
         MoneroDaemonRpc monerod = getMonerod();
         if (monerod == null) {
             verifyConnection(); // will throw if disconnected
             monerod = getMonerod();
             if (monerod == null) throw new RuntimeException("No connection to Monero node");
         }
-        List<MoneroTx> txs;
         ReentrantLock daemonLock = HavenoUtils.acquireDaemonLock();
+        long startNanos = System.nanoTime();
         try {
-            txs = monerod.getTxs(txHashes, true);
+            return monerod.getTxs(txHashes, true);
         } finally {
+            getTxsDurationsMs.observe((System.nanoTime() - startNanos) / 1_000_000d);
             HavenoUtils.releaseDaemonLock(daemonLock);
         }
-
-        // store to cache
-        synchronized (txCache) {
-            for (MoneroTx tx : txs) txCache.put(tx.getHash(), Optional.of(tx));
-        }
-
-        // schedule txs to be removed from cache
-        UserThread.runAfter(() -> {
-            synchronized (txCache) {
-                for (MoneroTx tx : txs) txCache.remove(tx.getHash());
-            }
-        }, getRefreshPeriodMs() / 1000);
-        return txs;
-    }
-
-    public MoneroTx getTxWithCache(String txHash) {
-        List<MoneroTx> cachedTxs = getTxsWithCache(Arrays.asList(txHash));
-        return cachedTxs.isEmpty() ? null : cachedTxs.get(0);
     }
 
-    public List<MoneroTx> getTxsWithCache(List<String> txHashes) {
-        try {
-
-            // get cached txs
-            List<MoneroTx> cachedTxs = new ArrayList<MoneroTx>();
-            List<String> uncachedTxHashes = new ArrayList<String>();
-            synchronized (txCache) {
-                for (int i = 0; i < txHashes.size(); i++) {
-                    if (txCache.containsKey(txHashes.get(i))) cachedTxs.add(txCache.get(txHashes.get(i)).orElse(null));
-                    else uncachedTxHashes.add(txHashes.get(i));
-                }
-            }
-
-            // return txs from cache if available, otherwise fetch
-            return uncachedTxHashes.isEmpty() ? cachedTxs : getTxs(txHashes);
-        } catch (Exception e) {
-            if (!isShutDownStarted) throw e;
-            return null;
-        }
+    private static Histogram getRpcDurationHistogram(String method) {
+        return MetricsRegistry.getInstance().histogram("haveno_monerod_rpc_duration_ms", "Latency of Monero node RPC calls", "method", method);
     }
 
     // ---------------------------- STATIC UTILS -----------------------------
@@ -855,7 +861,9 @@ public final class XmrConnectionService {
         try {
             connection.setTimeout(getTimeoutMs(connection));
             MoneroDaemonRpc monerod = new MoneroDaemonRpc(connection);
+            long startNanos = System.nanoTime();
             MoneroDaemonInfo info = monerod.getInfo();
+            getInfoDurationsMs.observe((System.nanoTime() - startNanos) / 1_000_000d);
             connection.setOnline(getNumOutgoingConnections(info) != 0);
             connection.setAuthenticated(true);
             connection.setAttribute(LAST_INFO_KEY, info);
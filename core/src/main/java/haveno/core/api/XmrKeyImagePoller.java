@@ -17,6 +17,7 @@
 
 package haveno.core.api;
 
+import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 import monero.common.MoneroError;
 import monero.common.TaskLooper;
@@ -26,18 +27,26 @@ import monero.daemon.model.MoneroKeyImageSpentStatus;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import haveno.core.trade.HavenoUtils;
 
 /**
  * Poll for changes to the spent status of key images.
+ *
+ * Key images are polled in batches, ordered by the priority of their groups and then by
+ * the time of their last poll. Confirmed spends can only change with a new block, so they
+ * are polled again only after the chain height changes. Other key images are polled again
+ * after a new block or, to detect spends in the tx pool, at a lower rate in between. The
+ * batch size adapts to the measured latency of the daemon.
  */
 @Slf4j
 public class XmrKeyImagePoller {
@@ -45,14 +54,24 @@ public class XmrKeyImagePoller {
     private MoneroDaemonRpc monerod;
     private long refreshPeriodMs;
     private Object lock = new Object();
+    private Supplier<Long> heightSupplier;
     private Map<String, Set<String>> keyImageGroups = new HashMap<String, Set<String>>();
-    private LinkedHashSet<String> keyImagePollQueue = new LinkedHashSet<>();
+    private Map<String, Integer> groupPriorities = new HashMap<String, Integer>();
     private Set<XmrKeyImageListener> listeners = new HashSet<XmrKeyImageListener>();
     private TaskLooper looper;
     private Map<String, MoneroKeyImageSpentStatus> lastStatuses = new HashMap<String, MoneroKeyImageSpentStatus>();
+    private Map<String, Long> lastPollTimestamps = new HashMap<String, Long>();
+    private Map<String, Long> lastPollHeights = new HashMap<String, Long>();
     private boolean isPolling = false;
     private Long lastLogPollErrorTimestamp;
-    private static final int MAX_POLL_SIZE = 200;
+    private int pollSize = INITIAL_POLL_SIZE;
+    public static final int PRIORITY_DEFAULT = 0;
+    public static final int PRIORITY_HIGH = 1;
+    private static final int INITIAL_POLL_SIZE = 200;
+    private static final int MIN_POLL_SIZE = 25;
+    private static final int MAX_POLL_SIZE = 1000;
+    private static final long TARGET_POLL_LATENCY_MS = 2000; // grow batches while polls are faster, shrink if slower
+    private static final int TX_POOL_POLL_PERIOD_MULTIPLIER = 3; // poll unconfirmed key images between blocks every 3 refresh periods
 
     /**
      * Construct the listener.
@@ -116,6 +135,16 @@ public class XmrKeyImagePoller {
         return monerod;
     }
 
+    /**
+     * Set the supplier of the current chain height. Without it, every key image is
+     * eligible at each refresh period.
+     *
+     * @param heightSupplier - supplies the current chain height or null if unknown
+     */
+    public void setHeightSupplier(Supplier<Long> heightSupplier) {
+        this.heightSupplier = heightSupplier;
+    }
+
     /**
      * Set the refresh period in milliseconds.
      *
@@ -137,6 +166,19 @@ public class XmrKeyImagePoller {
         return refreshPeriodMs;
     }
 
+    /**
+     * Set the priority of a group of key images. Key images of groups with higher
+     * priority are polled first.
+     *
+     * @param groupId - the group id
+     * @param priority - the priority of the group, PRIORITY_DEFAULT if not set
+     */
+    public void setGroupPriority(String groupId, int priority) {
+        synchronized (lock) {
+            groupPriorities.put(groupId, priority);
+        }
+    }
+
     /**
      * Add a key image to listen to.
      *
@@ -156,7 +198,6 @@ public class XmrKeyImagePoller {
             if (!keyImageGroups.containsKey(groupId)) keyImageGroups.put(groupId, new HashSet<String>());
             Set<String> keyImagesGroup = keyImageGroups.get(groupId);
             keyImagesGroup.addAll(keyImages);
-            keyImagePollQueue.addAll(keyImages);
             refreshPolling();
         }
     }
@@ -174,10 +215,7 @@ public class XmrKeyImagePoller {
             if (keyImagesGroup.isEmpty()) keyImageGroups.remove(groupId);
             Set<String> allKeyImages = getKeyImages();
             for (String keyImage : keyImages) {
-                if (!allKeyImages.contains(keyImage)) {
-                    keyImagePollQueue.remove(keyImage);
-                    lastStatuses.remove(keyImage);
-                }
+                if (!allKeyImages.contains(keyImage)) removePollState(keyImage);
             }
             refreshPolling();
         }
@@ -190,10 +228,7 @@ public class XmrKeyImagePoller {
             keyImageGroups.remove(groupId);
             Set<String> allKeyImages = getKeyImages();
             for (String keyImage : keyImagesGroup) {
-                if (!allKeyImages.contains(keyImage)) {
-                    keyImagePollQueue.remove(keyImage);
-                    lastStatuses.remove(keyImage);
-                }
+                if (!allKeyImages.contains(keyImage)) removePollState(keyImage);
             }
             refreshPolling();
         }
@@ -205,8 +240,9 @@ public class XmrKeyImagePoller {
     public void clearKeyImages() {
         synchronized (lock) {
             keyImageGroups.clear();
-            keyImagePollQueue.clear();
             lastStatuses.clear();
+            lastPollTimestamps.clear();
+            lastPollHeights.clear();
             refreshPolling();
         }
     }
@@ -259,9 +295,13 @@ public class XmrKeyImagePoller {
             return;
         }
 
+        // get key images due for polling
+        Long height = heightSupplier == null ? null : heightSupplier.get();
+        List<String> keyImages = getNextKeyImageBatch(height);
+        if (keyImages.isEmpty()) return;
+
         // fetch spent statuses
         List<MoneroKeyImageSpentStatus> spentStatuses = null;
-        List<String> keyImages = new ArrayList<String>(getNextKeyImageBatch());
         try {
 
             // update connection timeout
@@ -270,16 +310,16 @@ public class XmrKeyImagePoller {
             }
 
             // query key images
-            if (keyImages.isEmpty()) spentStatuses = new ArrayList<MoneroKeyImageSpentStatus>();
-            else {
-                ReentrantLock daemonLock = HavenoUtils.acquireDaemonLock();
-                try {
-                    spentStatuses = monerod.getKeyImageSpentStatuses(keyImages); // TODO monero-java: if order of getKeyImageSpentStatuses is guaranteed, then it should take list parameter
-                } finally {
-                    HavenoUtils.releaseDaemonLock(daemonLock);
-                }
+            ReentrantLock daemonLock = HavenoUtils.acquireDaemonLock();
+            try {
+                long startTime = System.currentTimeMillis();
+                spentStatuses = monerod.getKeyImageSpentStatuses(keyImages); // TODO monero-java: if order of getKeyImageSpentStatuses is guaranteed, then it should take list parameter
+                updatePollSize(System.currentTimeMillis() - startTime, keyImages.size());
+            } finally {
+                HavenoUtils.releaseDaemonLock(daemonLock);
             }
         } catch (Exception e) {
+            updatePollSize(null, keyImages.size());
 
             // limit error logging
             if (lastLogPollErrorTimestamp == null || System.currentTimeMillis() - lastLogPollErrorTimestamp > HavenoUtils.LOG_POLL_ERROR_PERIOD_MS) {
@@ -290,7 +330,25 @@ public class XmrKeyImagePoller {
         }
 
         // process spent statuses
+        Map<String, MoneroKeyImageSpentStatus> changedStatuses = processSpentStatuses(keyImages, spentStatuses, height);
+
+        // announce changes
+        if (!changedStatuses.isEmpty()) {
+            List<XmrKeyImageListener> listeners;
+            synchronized (lock) {
+                listeners = new ArrayList<XmrKeyImageListener>(this.listeners);
+            }
+            for (XmrKeyImageListener listener : listeners) {
+                listener.onSpentStatusChanged(changedStatuses);
+            }
+        }
+    }
+
+    // record the polled spent statuses and return the changed ones
+    @VisibleForTesting
+    Map<String, MoneroKeyImageSpentStatus> processSpentStatuses(List<String> keyImages, List<MoneroKeyImageSpentStatus> spentStatuses, Long height) {
         Map<String, MoneroKeyImageSpentStatus> changedStatuses = new HashMap<String, MoneroKeyImageSpentStatus>();
+        long pollTimestamp = System.currentTimeMillis();
         synchronized (lock) {
             Set<String> allKeyImages = getKeyImages();
             for (int i = 0; i < keyImages.size(); i++) {
@@ -298,9 +356,10 @@ public class XmrKeyImagePoller {
                 // skip if key image is removed
                 if (!allKeyImages.contains(keyImages.get(i))) continue;
 
-                // move key image to the end of the queue
-                keyImagePollQueue.remove(keyImages.get(i));
-                keyImagePollQueue.add(keyImages.get(i));
+                // record poll so the key image is polled again when next due
+                lastPollTimestamps.put(keyImages.get(i), pollTimestamp);
+                if (height == null) lastPollHeights.remove(keyImages.get(i));
+                else lastPollHeights.put(keyImages.get(i), height);
 
                 // update spent status
                 if (spentStatuses.get(i) != lastStatuses.get(keyImages.get(i))) {
@@ -309,17 +368,7 @@ public class XmrKeyImagePoller {
                 }
             }
         }
-
-        // announce changes
-        if (!changedStatuses.isEmpty()) {
-            List<XmrKeyImageListener> listeners;
-            synchronized (lock) {
-                listeners = new ArrayList<XmrKeyImageListener>(this.listeners);
-            }
-            for (XmrKeyImageListener listener : listeners) {
-                listener.onSpentStatusChanged(changedStatuses);
-            }
-        }
+        return changedStatuses;
     }
 
     private void refreshPolling() {
@@ -351,16 +400,61 @@ public class XmrKeyImagePoller {
         return allKeyImages;
     }
 
-    private List<String> getNextKeyImageBatch() {
+    private void removePollState(String keyImage) {
+        lastStatuses.remove(keyImage);
+        lastPollTimestamps.remove(keyImage);
+        lastPollHeights.remove(keyImage);
+    }
+
+    @VisibleForTesting
+    List<String> getNextKeyImageBatch(Long height) {
         synchronized (lock) {
-            List<String> keyImageBatch = new ArrayList<>();
-            int count = 0;
-            for (String keyImage : keyImagePollQueue) {
-                if (count >= MAX_POLL_SIZE) break;
-                keyImageBatch.add(keyImage);
-                count++;
+
+            // get the highest priority of each key image
+            Map<String, Integer> priorities = new HashMap<String, Integer>();
+            for (Map.Entry<String, Set<String>> keyImageGroup : keyImageGroups.entrySet()) {
+                int priority = groupPriorities.getOrDefault(keyImageGroup.getKey(), PRIORITY_DEFAULT);
+                for (String keyImage : keyImageGroup.getValue()) priorities.merge(keyImage, priority, Math::max);
+            }
+
+            // order due key images by priority, then by last poll with never polled first
+            long now = System.currentTimeMillis();
+            PriorityQueue<String> dueKeyImages = new PriorityQueue<String>(Comparator
+                    .comparing((String keyImage) -> priorities.get(keyImage), Comparator.reverseOrder())
+                    .thenComparing(keyImage -> lastPollTimestamps.getOrDefault(keyImage, 0l)));
+            for (String keyImage : priorities.keySet()) {
+                if (isPollDue(keyImage, height, now)) dueKeyImages.add(keyImage);
             }
+
+            // take the next batch
+            List<String> keyImageBatch = new ArrayList<>();
+            while (!dueKeyImages.isEmpty() && keyImageBatch.size() < pollSize) keyImageBatch.add(dueKeyImages.poll());
             return keyImageBatch;
         }
     }
+
+    private boolean isPollDue(String keyImage, Long height, long now) {
+        MoneroKeyImageSpentStatus lastStatus = lastStatuses.get(keyImage);
+        if (lastStatus == null) return true; // never polled
+        if (height == null || !height.equals(lastPollHeights.get(keyImage))) return true; // new block
+        if (lastStatus == MoneroKeyImageSpentStatus.CONFIRMED) return false; // confirmed spends only change with a new block
+        Long lastPollTimestamp = lastPollTimestamps.get(keyImage);
+        return lastPollTimestamp == null || now - lastPollTimestamp >= refreshPeriodMs * TX_POOL_POLL_PERIOD_MULTIPLIER;
+    }
+
+    // grow the batch size while full batches are fast and shrink it when polls are slow or fail
+    @VisibleForTesting
+    void updatePollSize(Long latencyMs, int batchSize) {
+        synchronized (lock) {
+            if (latencyMs == null || latencyMs > TARGET_POLL_LATENCY_MS) pollSize = Math.max(MIN_POLL_SIZE, pollSize / 2);
+            else if (latencyMs < TARGET_POLL_LATENCY_MS / 2 && batchSize >= pollSize) pollSize = Math.min(MAX_POLL_SIZE, pollSize * 2);
+        }
+    }
+
+    @VisibleForTesting
+    int getPollSize() {
+        synchronized (lock) {
+            return pollSize;
+        }
+    }
 }
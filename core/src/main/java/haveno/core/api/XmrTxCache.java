@@ -0,0 +1,199 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.api;
+
+import haveno.common.metrics.Counter;
+import monero.daemon.model.MoneroTx;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size bounded cache of daemon transactions which expire after a time to live.
+ *
+ * Only hashes missing from the cache are fetched, and concurrent requests for the
+ * same hash share one fetch.
+ */
+public class XmrTxCache {
+
+    private final Function<List<String>, List<MoneroTx>> fetcher;
+    private final int maxSize;
+    private final LongSupplier ttlMsSupplier;
+    private final Map<String, CachedTx> cache;
+    private final Map<String, CompletableFuture<Optional<MoneroTx>>> inFlightFetches = new HashMap<>();
+    private final Counter numHits;
+    private final Counter numMisses;
+
+    private static class CachedTx {
+        private final MoneroTx tx;
+        private final long expirationTimestamp;
+
+        private CachedTx(MoneroTx tx, long expirationTimestamp) {
+            this.tx = tx;
+            this.expirationTimestamp = expirationTimestamp;
+        }
+    }
+
+    /**
+     * Construct the cache.
+     *
+     * @param fetcher - fetches the txs with the given hashes from the daemon, omitting unknown txs
+     * @param maxSize - the maximum number of cached txs, least recently used txs are evicted first
+     * @param ttlMsSupplier - supplies the time to live of a tx in milliseconds when it is cached
+     */
+    public XmrTxCache(Function<List<String>, List<MoneroTx>> fetcher, int maxSize, LongSupplier ttlMsSupplier) {
+        this(fetcher, maxSize, ttlMsSupplier, new Counter(), new Counter());
+    }
+
+    /**
+     * Construct the cache which counts hits and misses with the given counters.
+     *
+     * @param fetcher - fetches the txs with the given hashes from the daemon, omitting unknown txs
+     * @param maxSize - the maximum number of cached txs, least recently used txs are evicted first
+     * @param ttlMsSupplier - supplies the time to live of a tx in milliseconds when it is cached
+     * @param numHits - counts txs served from the cache
+     * @param numMisses - counts txs missing from the cache
+     */
+    public XmrTxCache(Function<List<String>, List<MoneroTx>> fetcher, int maxSize, LongSupplier ttlMsSupplier, Counter numHits, Counter numMisses) {
+        this.fetcher = fetcher;
+        this.numHits = numHits;
+        this.numMisses = numMisses;
+        this.maxSize = maxSize;
+        this.ttlMsSupplier = ttlMsSupplier;
+        this.cache = new LinkedHashMap<String, CachedTx>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTx> eldest) {
+                return size() > XmrTxCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get txs from the cache, fetching the missing ones.
+     *
+     * @param txHashes - hashes of the txs to get
+     * @return the known txs in the order of the given hashes
+     */
+    public List<MoneroTx> getTxs(List<String> txHashes) {
+
+        // collect cached txs, in-flight fetches of other callers, and the hashes we need to fetch
+        Map<String, MoneroTx> txsByHash = new HashMap<>();
+        Map<String, CompletableFuture<Optional<MoneroTx>>> awaitedFetches = new HashMap<>();
+        Map<String, CompletableFuture<Optional<MoneroTx>>> ownFetches = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            for (String txHash : txHashes) {
+                if (txsByHash.containsKey(txHash) || awaitedFetches.containsKey(txHash) || ownFetches.containsKey(txHash)) continue;
+                CachedTx cachedTx = cache.get(txHash);
+                if (cachedTx != null && cachedTx.expirationTimestamp > now) {
+                    numHits.increment();
+                    txsByHash.put(txHash, cachedTx.tx);
+                    continue;
+                }
+                if (cachedTx != null) cache.remove(txHash);
+                numMisses.increment();
+                CompletableFuture<Optional<MoneroTx>> inFlightFetch = inFlightFetches.get(txHash);
+                if (inFlightFetch != null) {
+                    awaitedFetches.put(txHash, inFlightFetch);
+                } else {
+                    CompletableFuture<Optional<MoneroTx>> ownFetch = new CompletableFuture<>();
+                    inFlightFetches.put(txHash, ownFetch);
+                    ownFetches.put(txHash, ownFetch);
+                }
+            }
+        }
+
+        // fetch missing txs outside the cache lock so cache reads are not blocked
+        if (!ownFetches.isEmpty()) {
+            try {
+                List<MoneroTx> fetchedTxs = fetcher.apply(new ArrayList<>(ownFetches.keySet()));
+                put(fetchedTxs);
+                for (MoneroTx tx : fetchedTxs) txsByHash.put(tx.getHash(), tx);
+                ownFetches.forEach((txHash, ownFetch) -> ownFetch.complete(Optional.ofNullable(txsByHash.get(txHash))));
+            } catch (Throwable e) {
+
+                // complete on any throwable, otherwise callers awaiting our fetches would block forever
+                ownFetches.values().forEach(ownFetch -> ownFetch.completeExceptionally(e));
+                throw e;
+            } finally {
+                synchronized (cache) {
+                    ownFetches.keySet().forEach(inFlightFetches::remove);
+                }
+            }
+        }
+
+        // wait for fetches of other callers
+        for (Map.Entry<String, CompletableFuture<Optional<MoneroTx>>> awaitedFetch : awaitedFetches.entrySet()) {
+            try {
+                awaitedFetch.getValue().join().ifPresent(tx -> txsByHash.put(awaitedFetch.getKey(), tx));
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                if (e.getCause() instanceof Error) throw (Error) e.getCause();
+                throw e;
+            }
+        }
+
+        // return known txs in requested order
+        List<MoneroTx> txs = new ArrayList<>();
+        for (String txHash : txHashes) {
+            MoneroTx tx = txsByHash.get(txHash);
+            if (tx != null) txs.add(tx);
+        }
+        return txs;
+    }
+
+    /**
+     * Add txs to the cache.
+     *
+     * @param txs - the txs to add
+     */
+    public void put(List<MoneroTx> txs) {
+        long expirationTimestamp = System.currentTimeMillis() + ttlMsSupplier.getAsLong();
+        synchronized (cache) {
+            for (MoneroTx tx : txs) cache.put(tx.getHash(), new CachedTx(tx, expirationTimestamp));
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getNumHits() {
+        return numHits.get();
+    }
+
+    public long getNumMisses() {
+        return numMisses.get();
+    }
+}
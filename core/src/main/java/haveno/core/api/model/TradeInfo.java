@@ -25,6 +25,7 @@ import haveno.core.trade.TradeUtil;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 import static haveno.core.api.model.OfferInfo.toOfferInfo;
@@ -153,9 +154,18 @@ public class TradeInfo implements Payload {
     }
 
     public static TradeInfo toTradeInfo(Trade trade) {
+        return toTradeInfo(trade, false);
+    }
+
+    /**
+     * @param summary omit the offer and the contract, which make up most of the size of a trade
+     */
+    public static TradeInfo toTradeInfo(Trade trade, boolean summary) {
         String role = TradeUtil.getRole(trade);
         ContractInfo contractInfo;
-        if (trade.getContract() != null) {
+        if (summary) {
+            contractInfo = null;
+        } else if (trade.getContract() != null) {
             Contract contract = trade.getContract();
             contractInfo = new ContractInfo(contract.getBuyerPayoutAddressString(),
                     contract.getSellerPayoutAddressString(),
@@ -211,9 +221,9 @@ public class TradeInfo implements Payload {
                 .withIsPayoutUnlocked(trade.isPayoutUnlocked())
                 .withIsPayoutFinalized(trade.isPayoutFinalized())
                 .withIsCompleted(trade.isCompleted())
-                .withContractAsJson(trade.getContractAsJson())
+                .withContractAsJson(summary ? null : trade.getContractAsJson())
                 .withContract(contractInfo)
-                .withOffer(toOfferInfo(trade.getOffer()))
+                .withOffer(summary ? null : toOfferInfo(trade.getOffer()))
                 .withStartTime(trade.getStartDate().getTime())
                 .withMaxDurationMs(trade.getMaxTradePeriod())
                 .withDeadlineTime(trade.getMaxTradePeriodDate().getTime())
@@ -226,8 +236,7 @@ public class TradeInfo implements Payload {
 
     @Override
     public haveno.proto.grpc.TradeInfo toProtoMessage() {
-        return haveno.proto.grpc.TradeInfo.newBuilder()
-                .setOffer(offer.toProtoMessage())
+        haveno.proto.grpc.TradeInfo.Builder builder = haveno.proto.grpc.TradeInfo.newBuilder()
                 .setTradeId(tradeId)
                 .setShortId(shortId)
                 .setDate(date)
@@ -267,16 +276,17 @@ public class TradeInfo implements Payload {
                 .setIsPayoutUnlocked(isPayoutUnlocked)
                 .setIsPayoutFinalized(isPayoutFinalized)
                 .setContractAsJson(contractAsJson == null ? "" : contractAsJson)
-                .setContract(contract.toProtoMessage())
                 .setStartTime(startTime)
                 .setMaxDurationMs(maxDurationMs)
-                .setDeadlineTime(deadlineTime)
-                .build();
+                .setDeadlineTime(deadlineTime);
+        Optional.ofNullable(offer).ifPresent(e -> builder.setOffer(offer.toProtoMessage()));
+        Optional.ofNullable(contract).ifPresent(e -> builder.setContract(contract.toProtoMessage()));
+        return builder.build();
     }
 
     public static TradeInfo fromProto(haveno.proto.grpc.TradeInfo proto) {
         return new TradeInfoV1Builder()
-                .withOffer(OfferInfo.fromProto(proto.getOffer()))
+                .withOffer(proto.hasOffer() ? OfferInfo.fromProto(proto.getOffer()) : null)
                 .withTradeId(proto.getTradeId())
                 .withShortId(proto.getShortId())
                 .withDate(proto.getDate())
@@ -316,7 +326,7 @@ public class TradeInfo implements Payload {
                 .withIsPayoutUnlocked(proto.getIsPayoutUnlocked())
                 .withIsPayoutFinalized(proto.getIsPayoutFinalized())
                 .withContractAsJson(proto.getContractAsJson())
-                .withContract((ContractInfo.fromProto(proto.getContract())))
+                .withContract(proto.hasContract() ? ContractInfo.fromProto(proto.getContract()) : null)
                 .withStartTime(proto.getStartTime())
                 .withMaxDurationMs(proto.getMaxDurationMs())
                 .withDeadlineTime(proto.getDeadlineTime())
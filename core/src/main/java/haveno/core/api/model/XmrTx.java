@@ -45,12 +45,19 @@ public class XmrTx implements Payload {
     }
 
     public static XmrTx toXmrTx(MoneroTxWallet tx){
+        return toXmrTx(tx, false);
+    }
+
+    /**
+     * @param summary omit the transfers and the metadata of the tx
+     */
+    public static XmrTx toXmrTx(MoneroTxWallet tx, boolean summary){
         Long timestamp = tx.getBlock() == null ? null : tx.getBlock().getTimestamp();
-        List<XmrIncomingTransfer> incomingTransfers = tx.getIncomingTransfers() == null ? null :
+        List<XmrIncomingTransfer> incomingTransfers = summary || tx.getIncomingTransfers() == null ? null :
                 tx.getIncomingTransfers().stream()
                 .map(s -> toXmrIncomingTransfer(s))
                 .collect(Collectors.toList());
-        XmrOutgoingTransfer outgoingTransfer = tx.getOutgoingTransfer() == null ? null :
+        XmrOutgoingTransfer outgoingTransfer = summary || tx.getOutgoingTransfer() == null ? null :
                 toXmrOutgoingTransfer(tx.getOutgoingTransfer());
         XmrTxBuilder builder = new XmrTxBuilder()
                 .withHash(tx.getHash())
@@ -61,7 +68,7 @@ public class XmrTx implements Payload {
         Optional.ofNullable(timestamp).ifPresent(e ->builder.withTimestamp(timestamp));
         Optional.ofNullable(outgoingTransfer).ifPresent(e ->builder.withOutgoingTransfer(outgoingTransfer));
         Optional.ofNullable(incomingTransfers).ifPresent(e ->builder.withIncomingTransfers(incomingTransfers));
-        Optional.ofNullable(tx.getMetadata()).ifPresent(e ->builder.withMetadata(tx.getMetadata()));
+        if (!summary) Optional.ofNullable(tx.getMetadata()).ifPresent(e ->builder.withMetadata(tx.getMetadata()));
         return builder.build();
     }
 
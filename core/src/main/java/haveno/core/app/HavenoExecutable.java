@@ -45,6 +45,7 @@ import haveno.common.config.ConfigException;
 import haveno.common.config.HavenoHelpFormatter;
 import haveno.common.crypto.IncorrectPasswordException;
 import haveno.common.handlers.ResultHandler;
+import haveno.common.persistence.PersistedDataLoader;
 import haveno.common.persistence.PersistenceManager;
 import haveno.common.proto.persistable.PersistedDataHost;
 import haveno.common.setup.CommonSetup;
@@ -287,14 +288,7 @@ public abstract class HavenoExecutable implements GracefulShutDownHandler, Haven
             hosts.addAll(additionalHosts);
         }
 
-        AtomicInteger remaining = new AtomicInteger(hosts.size());
-        hosts.forEach(host -> {
-            host.readPersisted(() -> {
-                if (remaining.decrementAndGet() == 0) {
-                    UserThread.execute(completeHandler);
-                }
-            });
-        });
+        PersistedDataLoader.readAll(hosts, completeHandler);
     }
 
     protected void setupAvoidStandbyMode() {
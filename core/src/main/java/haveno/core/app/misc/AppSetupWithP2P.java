@@ -19,6 +19,7 @@ package haveno.core.app.misc;
 
 import com.google.inject.Inject;
 import haveno.common.config.Config;
+import haveno.common.persistence.PersistedDataLoader;
 import haveno.common.persistence.PersistenceManager;
 import haveno.common.proto.persistable.PersistedDataHost;
 import haveno.core.account.sign.SignedWitnessService;
@@ -75,14 +76,12 @@ public class AppSetupWithP2P extends AppSetup {
         persistedDataHosts.add(peerManager);
 
         // we apply at startup the reading of persisted data but don't want to get it triggered in the constructor
-        persistedDataHosts.forEach(e -> {
-            try {
-                e.readPersisted(() -> {
-                });
-            } catch (Throwable e1) {
-                log.error("readPersisted error", e1);
-            }
-        });
+        try {
+            PersistedDataLoader.readAll(persistedDataHosts, () -> {
+            });
+        } catch (Throwable e) {
+            log.error("readPersisted error", e);
+        }
     }
 
     @Override
@@ -38,7 +38,7 @@ import haveno.network.p2p.network.NetworkNode;
 import haveno.network.p2p.network.Statistic;
 import haveno.network.p2p.peers.PeerManager;
 import haveno.network.p2p.storage.P2PDataStorage;
-import haveno.network.p2p.storage.payload.ProtectedStorageEntry;
+import haveno.network.p2p.storage.persistence.AppendOnlyDataStoreService;
 import java.lang.management.ManagementFactory;
 import java.util.HashMap;
 import java.util.Map;
@@ -49,6 +49,7 @@ public class GetInventoryRequestHandler implements MessageListener {
     private final NetworkNode networkNode;
     private final PeerManager peerManager;
     private final P2PDataStorage p2PDataStorage;
+    private final AppendOnlyDataStoreService appendOnlyDataStoreService;
     private final FilterManager filterManager;
     private final int maxConnections;
 
@@ -56,11 +57,13 @@ public class GetInventoryRequestHandler implements MessageListener {
     public GetInventoryRequestHandler(NetworkNode networkNode,
                                       PeerManager peerManager,
                                       P2PDataStorage p2PDataStorage,
+                                      AppendOnlyDataStoreService appendOnlyDataStoreService,
                                       FilterManager filterManager,
                                       @Named(Config.MAX_CONNECTIONS) int maxConnections) {
         this.networkNode = networkNode;
         this.peerManager = peerManager;
         this.p2PDataStorage = p2PDataStorage;
+        this.appendOnlyDataStoreService = appendOnlyDataStoreService;
         this.filterManager = filterManager;
         this.maxConnections = maxConnections;
 
@@ -73,13 +76,18 @@ public class GetInventoryRequestHandler implements MessageListener {
             // Data
             GetInventoryRequest getInventoryRequest = (GetInventoryRequest) networkEnvelope;
             Map<InventoryItem, Integer> dataObjects = new HashMap<>();
-            p2PDataStorage.getMapForDataResponse(getInventoryRequest.getVersion()).values().stream()
-                    .map(e -> e.getClass().getSimpleName())
-                    .forEach(className -> addClassNameToMap(dataObjects, className));
-            p2PDataStorage.getMap().values().stream()
-                    .map(ProtectedStorageEntry::getProtectedStoragePayload)
-                    .map(e -> e.getClass().getSimpleName())
-                    .forEach(className -> addClassNameToMap(dataObjects, className));
+            String requestersVersion = getInventoryRequest.getVersion();
+            if (requestersVersion != null && !Version.isNewVersion(Version.VERSION, requestersVersion)) {
+                // The requester does not get historical data, so we can use the maintained counters
+                appendOnlyDataStoreService.getLivePayloadCountByClassName()
+                        .forEach((className, count) -> addClassNameToMap(dataObjects, className, count));
+            } else {
+                p2PDataStorage.getMapForDataResponse(requestersVersion).values().stream()
+                        .map(e -> e.getClass().getSimpleName())
+                        .forEach(className -> addClassNameToMap(dataObjects, className, 1));
+            }
+            p2PDataStorage.getProtectedStoragePayloadCountByClassName()
+                    .forEach((className, count) -> addClassNameToMap(dataObjects, className, count));
             Map<InventoryItem, String> inventory = new HashMap<>();
             dataObjects.forEach((key, value) -> inventory.put(key, String.valueOf(value)));
 
@@ -119,13 +127,13 @@ public class GetInventoryRequestHandler implements MessageListener {
         networkNode.removeMessageListener(this);
     }
 
-    private void addClassNameToMap(Map<InventoryItem, Integer> dataObjects, String className) {
+    private void addClassNameToMap(Map<InventoryItem, Integer> dataObjects, String className, int count) {
         Optional<InventoryItem> optionalEnum = Enums.getIfPresent(InventoryItem.class, className);
         if (optionalEnum.isPresent()) {
             InventoryItem key = optionalEnum.get();
             dataObjects.putIfAbsent(key, 0);
             int prev = dataObjects.get(key);
-            dataObjects.put(key, prev + 1);
+            dataObjects.put(key, prev + count);
         }
     }
 }
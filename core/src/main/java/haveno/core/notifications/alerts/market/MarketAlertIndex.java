@@ -0,0 +1,95 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.notifications.alerts.market;
+
+import haveno.core.offer.OfferDirection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Market alert filters by payment method and offer direction, sorted by trigger value, so an offer is only matched
+ * against the filters it triggers instead of against all filters.
+ * <p>
+ * Not thread safe, callers synchronize on the index.
+ */
+final class MarketAlertIndex {
+    // Filters are compared by identity, their alert ids change after they are indexed
+    private final Map<String, NavigableMap<Integer, List<MarketAlertFilter>>> filtersByKey = new HashMap<>();
+    private int size;
+
+    MarketAlertIndex() {
+    }
+
+    MarketAlertIndex(Collection<MarketAlertFilter> filters) {
+        filters.forEach(this::add);
+    }
+
+    void add(MarketAlertFilter filter) {
+        filtersByKey.computeIfAbsent(getKey(filter), key -> new TreeMap<>())
+                .computeIfAbsent(filter.getTriggerValue(), triggerValue -> new ArrayList<>())
+                .add(filter);
+        size++;
+    }
+
+    void remove(MarketAlertFilter filter) {
+        String key = getKey(filter);
+        NavigableMap<Integer, List<MarketAlertFilter>> filtersByTriggerValue = filtersByKey.get(key);
+        if (filtersByTriggerValue == null) return;
+        List<MarketAlertFilter> filters = filtersByTriggerValue.get(filter.getTriggerValue());
+        if (filters == null || !filters.removeIf(indexed -> indexed == filter)) return;
+        size--;
+        if (!filters.isEmpty()) return;
+        filtersByTriggerValue.remove(filter.getTriggerValue());
+        if (filtersByTriggerValue.isEmpty()) filtersByKey.remove(key);
+    }
+
+    /**
+     * Returns the filters of the payment method and direction whose trigger value is at least the given distance
+     * of the offer price from the market price.
+     *
+     * @param ratio the distance from the market price in hundredths of a percent, positive if the offer price is
+     *              worse than the market price for the taker
+     */
+    List<MarketAlertFilter> getTriggeredFilters(String paymentMethodId, OfferDirection direction, double ratio) {
+        List<MarketAlertFilter> result = new ArrayList<>();
+        NavigableMap<Integer, List<MarketAlertFilter>> filtersByTriggerValue = filtersByKey.get(getKey(paymentMethodId, direction));
+        if (filtersByTriggerValue == null || Double.isNaN(ratio) || ratio > Integer.MAX_VALUE) return result;
+
+        int minTriggerValue = ratio < Integer.MIN_VALUE ? Integer.MIN_VALUE : (int) Math.ceil(ratio);
+        filtersByTriggerValue.tailMap(minTriggerValue, true).values().forEach(result::addAll);
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static String getKey(MarketAlertFilter filter) {
+        return getKey(filter.getPaymentAccount().getPaymentMethod().getId(),
+                filter.isBuyOffer() ? OfferDirection.BUY : OfferDirection.SELL);
+    }
+
+    private static String getKey(String paymentMethodId, OfferDirection direction) {
+        return paymentMethodId + "|" + direction;
+    }
+}
@@ -48,6 +48,7 @@ public class MarketAlerts {
     private final User user;
     private final PriceFeedService priceFeedService;
     private final KeyRing keyRing;
+    private final MarketAlertIndex marketAlertIndex = new MarketAlertIndex();
 
     @Inject
     private MarketAlerts(OfferBookService offerBookService, MobileNotificationService mobileNotificationService,
@@ -65,6 +66,10 @@ public class MarketAlerts {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public void onAllServicesInitialized() {
+        // the index is complete before the first offer is matched against it
+        synchronized (marketAlertIndex) {
+            user.getMarketAlertFilters().forEach(marketAlertIndex::add);
+        }
         offerBookService.addOfferBookChangedListener(new OfferBookService.OfferBookChangedListener() {
             @Override
             public void onAdded(Offer offer) {
@@ -79,16 +84,24 @@ public class MarketAlerts {
             public void onRefresh(Offer offer) {
             }
         });
-        applyFilterOnAllOffers();
+        applyFilterOnAllOffers(marketAlertIndex);
     }
 
     public void addMarketAlertFilter(MarketAlertFilter filter) {
         user.addMarketAlertFilter(filter);
-        applyFilterOnAllOffers();
+        synchronized (marketAlertIndex) {
+            marketAlertIndex.add(filter);
+        }
+
+        // only the new filter has to be applied to the offers we have already seen
+        applyFilterOnAllOffers(new MarketAlertIndex(List.of(filter)));
     }
 
     public void removeMarketAlertFilter(MarketAlertFilter filter) {
         user.removeMarketAlertFilter(filter);
+        synchronized (marketAlertIndex) {
+            marketAlertIndex.remove(filter);
+        }
     }
 
     public List<MarketAlertFilter> getMarketAlertFilters() {
@@ -100,8 +113,8 @@ public class MarketAlerts {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private void applyFilterOnAllOffers() {
-        offerBookService.getOffers().forEach(this::onOfferAdded);
+    private void applyFilterOnAllOffers(MarketAlertIndex marketAlertIndex) {
+        offerBookService.getOffers().forEach(offer -> applyFilters(offer, marketAlertIndex));
     }
 
     // We combine the offer ID and the price (either as % price or as fixed price) to get also updates for edited offers
@@ -114,75 +127,67 @@ public class MarketAlerts {
     }
 
     private void onOfferAdded(Offer offer) {
+        applyFilters(offer, marketAlertIndex);
+    }
+
+    private void applyFilters(Offer offer, MarketAlertIndex marketAlertIndex) {
         String currencyCode = offer.getCounterCurrencyCode();
         MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
         Price offerPrice = offer.getPrice();
-        if (marketPrice != null && offerPrice != null) {
+        if (marketPrice != null && offerPrice != null && !offer.isMyOffer(keyRing)) {
             boolean isSellOffer = offer.getDirection() == OfferDirection.SELL;
             String shortOfferId = offer.getShortId();
             String alertId = getAlertId(offer);
-            user.getMarketAlertFilters().stream()
-                    .filter(marketAlertFilter -> !offer.isMyOffer(keyRing))
+            int precision = CurrencyUtil.isTraditionalCurrency(currencyCode) ?
+                    TraditionalMoney.SMALLEST_UNIT_EXPONENT :
+                    CryptoMoney.SMALLEST_UNIT_EXPONENT;
+            double marketPriceAsDouble = MathUtils.scaleUpByPowerOf10(marketPrice.getPrice(), precision);
+            double offerPriceValue = offerPrice.getValue();
+            double ratio = (1 - offerPriceValue / marketPriceAsDouble) * (isSellOffer ? -1 : 1) * 10000;
+
+            // the index only returns the filters for the direction of the offer which are triggered by the ratio
+            List<MarketAlertFilter> triggeredFilters;
+            synchronized (marketAlertIndex) {
+                triggeredFilters = marketAlertIndex.getTriggeredFilters(offer.getPaymentMethod().getId(), offer.getDirection(), ratio);
+            }
+            triggeredFilters.stream()
                     .filter(marketAlertFilter -> offer.getPaymentMethod().equals(marketAlertFilter.getPaymentAccount().getPaymentMethod()))
                     .filter(marketAlertFilter -> marketAlertFilter.notContainsAlertId(alertId))
                     .forEach(marketAlertFilter -> {
-                        int triggerValue = marketAlertFilter.getTriggerValue();
-                        boolean isTriggerForBuyOffer = marketAlertFilter.isBuyOffer();
-                        double marketPriceAsDouble1 = marketPrice.getPrice();
-                        int precision = CurrencyUtil.isTraditionalCurrency(currencyCode) ?
-                                TraditionalMoney.SMALLEST_UNIT_EXPONENT :
-                                CryptoMoney.SMALLEST_UNIT_EXPONENT;
-                        double marketPriceAsDouble = MathUtils.scaleUpByPowerOf10(marketPriceAsDouble1, precision);
-                        double offerPriceValue = offerPrice.getValue();
-                        double ratio = offerPriceValue / marketPriceAsDouble;
-                        ratio = 1 - ratio;
-                        if (isSellOffer)
-                            ratio *= -1;
-
-                        ratio = ratio * 10000;
-                        boolean triggered = ratio <= triggerValue;
-                        if (!triggered)
-                            return;
-
-                        boolean isTriggerForBuyOfferAndTriggered = !isSellOffer && isTriggerForBuyOffer;
-                        boolean isTriggerForSellOfferAndTriggered = isSellOffer && !isTriggerForBuyOffer;
-                        if (isTriggerForBuyOfferAndTriggered || isTriggerForSellOfferAndTriggered) {
-                            String direction = isSellOffer ? Res.get("shared.sell") : Res.get("shared.buy");
-                            String marketDir;
-                            if (isSellOffer) {
-                                marketDir = ratio > 0 ?
-                                        Res.get("account.notifications.marketAlert.message.msg.above") :
-                                        Res.get("account.notifications.marketAlert.message.msg.below");
-                            } else {
-                                marketDir = ratio < 0 ?
-                                        Res.get("account.notifications.marketAlert.message.msg.above") :
-                                        Res.get("account.notifications.marketAlert.message.msg.below");
-                            }
+                        String direction = isSellOffer ? Res.get("shared.sell") : Res.get("shared.buy");
+                        String marketDir;
+                        if (isSellOffer) {
+                            marketDir = ratio > 0 ?
+                                    Res.get("account.notifications.marketAlert.message.msg.above") :
+                                    Res.get("account.notifications.marketAlert.message.msg.below");
+                        } else {
+                            marketDir = ratio < 0 ?
+                                    Res.get("account.notifications.marketAlert.message.msg.above") :
+                                    Res.get("account.notifications.marketAlert.message.msg.below");
+                        }
 
-                            ratio = Math.abs(ratio);
-                            String msg = Res.get("account.notifications.marketAlert.message.msg",
-                                    direction,
-                                    CurrencyUtil.getCurrencyPair(currencyCode),
-                                    FormattingUtils.formatPrice(offerPrice),
-                                    FormattingUtils.formatToPercentWithSymbol(ratio / 10000d),
-                                    marketDir,
-                                    Res.get(offer.getPaymentMethod().getId()),
-                                    shortOfferId);
-                            MobileMessage message = new MobileMessage(Res.get("account.notifications.marketAlert.message.title"),
-                                    msg,
-                                    shortOfferId,
-                                    MobileMessageType.MARKET);
-                            try {
-                                boolean wasSent = mobileNotificationService.sendMessage(message);
-                                if (wasSent) {
-                                    // In case we have disabled alerts wasSent is false and we do not
-                                    // persist the offer
-                                    marketAlertFilter.addAlertId(alertId);
-                                    user.requestPersistence();
-                                }
-                            } catch (Exception e) {
-                                e.printStackTrace();
+                        String msg = Res.get("account.notifications.marketAlert.message.msg",
+                                direction,
+                                CurrencyUtil.getCurrencyPair(currencyCode),
+                                FormattingUtils.formatPrice(offerPrice),
+                                FormattingUtils.formatToPercentWithSymbol(Math.abs(ratio) / 10000d),
+                                marketDir,
+                                Res.get(offer.getPaymentMethod().getId()),
+                                shortOfferId);
+                        MobileMessage message = new MobileMessage(Res.get("account.notifications.marketAlert.message.title"),
+                                msg,
+                                shortOfferId,
+                                MobileMessageType.MARKET);
+                        try {
+                            boolean wasSent = mobileNotificationService.sendMessage(message);
+                            if (wasSent) {
+                                // In case we have disabled alerts wasSent is false and we do not
+                                // persist the offer
+                                marketAlertFilter.addAlertId(alertId);
+                                user.requestPersistence();
                             }
+                        } catch (Exception e) {
+                            e.printStackTrace();
                         }
                     });
         }
@@ -89,6 +89,17 @@ public class Offer implements NetworkPayload, PersistablePayload {
         INVALID
     }
 
+    // Price of a market based offer and the market price it was derived from
+    private static final class DerivedPrice {
+        private final MarketPrice marketPrice;
+        private final Price price;
+
+        private DerivedPrice(MarketPrice marketPrice, Price price) {
+            this.marketPrice = marketPrice;
+            this.price = price;
+        }
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Instance fields
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -114,6 +125,11 @@ public class Offer implements NetworkPayload, PersistablePayload {
     @JsonExclude
     transient private String currencyCode;
 
+    // Used only as cache of the price of a market based offer
+    @Nullable
+    @JsonExclude
+    transient private volatile DerivedPrice derivedPrice;
+
     @JsonExclude
     @Getter
     @Setter
@@ -192,6 +208,13 @@ public class Offer implements NetworkPayload, PersistablePayload {
         checkNotNull(priceFeedService, "priceFeed must not be null");
         MarketPrice marketPrice = priceFeedService.getMarketPrice(counterCurrencyCode);
         if (marketPrice != null && marketPrice.isRecentExternalPriceAvailable()) {
+
+            // market prices are immutable, so the price only has to be computed once per market price update
+            DerivedPrice derivedPrice = this.derivedPrice;
+            if (derivedPrice != null && derivedPrice.marketPrice == marketPrice) {
+                return derivedPrice.price;
+            }
+
             double factor;
             double marketPriceMargin = offerPayload.getMarketPriceMarginPct();
             factor = getDirection() == OfferDirection.BUY ?
@@ -204,7 +227,9 @@ public class Offer implements NetworkPayload, PersistablePayload {
                         CryptoMoney.SMALLEST_UNIT_EXPONENT;
                 double scaled = MathUtils.scaleUpByPowerOf10(targetPriceAsDouble, precision);
                 final long roundedToLong = MathUtils.roundDoubleToLong(scaled);
-                return Price.valueOf(counterCurrencyCode, roundedToLong);
+                Price price = Price.valueOf(counterCurrencyCode, roundedToLong);
+                this.derivedPrice = new DerivedPrice(marketPrice, price);
+                return price;
             } catch (Exception e) {
                 log.error("Exception at getPrice / parseToFiat: " + e + "\n" +
                         "That case should never happen.");
@@ -55,6 +55,7 @@ import haveno.core.xmr.wallet.Restrictions;
 import haveno.network.p2p.BootstrapListener;
 import haveno.network.p2p.P2PService;
 import haveno.network.p2p.storage.HashMapChangedListener;
+import haveno.network.p2p.storage.P2PDataStorage;
 import haveno.network.p2p.storage.payload.ProtectedStorageEntry;
 import haveno.network.utils.Utils;
 import lombok.extern.slf4j.Slf4j;
@@ -72,6 +73,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import monero.daemon.model.MoneroKeyImageSpentStatus;
@@ -236,6 +238,15 @@ public class OfferBookService {
         }
     }
 
+    /**
+     * Whether our storage still has a live entry for the unchanged offer payload. A changed payload has
+     * a different hash, so it is not found.
+     */
+    public boolean hasLiveEntry(OfferPayload offerPayload) {
+        ProtectedStorageEntry entry = p2PService.getDataMap().get(P2PDataStorage.get32ByteHashAsByteArray(offerPayload));
+        return entry != null && System.currentTimeMillis() - entry.getCreationTimeStamp() < offerPayload.getTTL();
+    }
+
     public void refreshTTL(OfferPayload offerPayload,
                            ResultHandler resultHandler,
                            ErrorMessageHandler errorMessageHandler) {
@@ -252,6 +263,22 @@ public class OfferBookService {
         }
     }
 
+    /**
+     * Refreshes the TTL of many offers at once, so they are applied in one pass and broadcast in bundles.
+     *
+     * @param resultHandler called with the offers whose TTL was refreshed
+     */
+    public void refreshTTL(Collection<OfferPayload> offerPayloads,
+                           Consumer<List<OfferPayload>> resultHandler,
+                           ErrorMessageHandler errorMessageHandler) {
+        if (filterManager.requireUpdateToNewVersionForTrading()) {
+            errorMessageHandler.handleErrorMessage(Res.get("popup.warning.mandatoryUpdate.trading"));
+            return;
+        }
+
+        resultHandler.accept(p2PService.refreshTTL(offerPayloads));
+    }
+
     public void activateOffer(Offer offer,
                               @Nullable ResultHandler resultHandler,
                               @Nullable ErrorMessageHandler errorMessageHandler) {
@@ -20,6 +20,7 @@ package haveno.core.offer;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import haveno.common.app.Version;
+import haveno.common.util.BoundedCache;
 import haveno.core.account.witness.AccountAgeWitnessService;
 import haveno.core.filter.FilterManager;
 import haveno.core.payment.PaymentAccount;
@@ -29,8 +30,6 @@ import haveno.core.trade.HavenoUtils;
 import haveno.core.user.Preferences;
 import haveno.core.user.User;
 import haveno.network.p2p.P2PService;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import javafx.collections.ListChangeListener;
 import lombok.Getter;
@@ -40,13 +39,18 @@ import org.bitcoinj.core.Coin;
 @Slf4j
 @Singleton
 public class OfferFilterService {
+    // More than the offers we usually see, entries of removed offers get evicted
+    private static final int MAX_CACHED_OFFERS = 10_000;
+
     private final User user;
     private final P2PService p2PService;
     private final Preferences preferences;
     private final FilterManager filterManager;
     private final AccountAgeWitnessService accountAgeWitnessService;
-    private final Map<String, Boolean> insufficientCounterpartyTradeLimitCache = new HashMap<>();
-    private final Map<String, Boolean> myInsufficientTradeLimitCache = new HashMap<>();
+    private final BoundedCache<String, Boolean> insufficientCounterpartyTradeLimitCache =
+            new BoundedCache<>(MAX_CACHED_OFFERS, "offer_counterparty_trade_limit");
+    private final BoundedCache<String, Boolean> myInsufficientTradeLimitCache =
+            new BoundedCache<>(MAX_CACHED_OFFERS, "offer_my_trade_limit");
 
     @Inject
     public OfferFilterService(User user,
@@ -63,10 +67,20 @@ public class OfferFilterService {
         if (user != null && user.getPaymentAccountsAsObservable() != null) {
             // If our accounts have changed we reset our myInsufficientTradeLimitCache as it depends on account data
             user.getPaymentAccountsAsObservable().addListener((ListChangeListener<PaymentAccount>) c ->
-                    myInsufficientTradeLimitCache.clear());
+                    myInsufficientTradeLimitCache.invalidateAll());
+        }
+
+        if (filterManager != null && filterManager.filterProperty() != null) {
+            // Trade limits depend on the banned witness signers of the filter
+            filterManager.filterProperty().addListener((observable, oldValue, newValue) -> invalidateCaches());
         }
     }
 
+    public void invalidateCaches() {
+        insufficientCounterpartyTradeLimitCache.invalidateAll();
+        myInsufficientTradeLimitCache.invalidateAll();
+    }
+
     public enum Result {
         VALID(true),
         API_DISABLED,
@@ -179,26 +193,19 @@ public class OfferFilterService {
 
     // This call is a bit expensive so we cache results
     public boolean isInsufficientCounterpartyTradeLimit(Offer offer) {
-        String offerId = offer.getId();
-        if (insufficientCounterpartyTradeLimitCache.containsKey(offerId)) {
-            return insufficientCounterpartyTradeLimitCache.get(offerId);
-        }
-
-        boolean result = offer.isTraditionalOffer() &&
-                !accountAgeWitnessService.verifyPeersTradeAmount(offer, offer.getAmount(),
-                        errorMessage -> {
-                        });
-        insufficientCounterpartyTradeLimitCache.put(offerId, result);
-        return result;
+        return insufficientCounterpartyTradeLimitCache.computeIfAbsent(offer.getId(), offerId ->
+                offer.isTraditionalOffer() &&
+                        !accountAgeWitnessService.verifyPeersTradeAmount(offer, offer.getAmount(),
+                                errorMessage -> {
+                                }));
     }
 
     // This call is a bit expensive so we cache results
     public boolean isMyInsufficientTradeLimit(Offer offer) {
-        String offerId = offer.getId();
-        if (myInsufficientTradeLimitCache.containsKey(offerId)) {
-            return myInsufficientTradeLimitCache.get(offerId);
-        }
+        return myInsufficientTradeLimitCache.computeIfAbsent(offer.getId(), offerId -> computeIsMyInsufficientTradeLimit(offer));
+    }
 
+    private boolean computeIsMyInsufficientTradeLimit(Offer offer) {
         Optional<PaymentAccount> accountOptional = PaymentAccountUtil.getMostMaturePaymentAccountForOffer(offer,
                 user.getPaymentAccounts(),
                 accountAgeWitnessService);
@@ -211,11 +218,9 @@ public class OfferFilterService {
                 accountOptional.isPresent() ? accountOptional.get().getAccountName() : "null",
                 Coin.valueOf(myTradeLimit).toFriendlyString(),
                 Coin.valueOf(offerMinAmount).toFriendlyString());
-        boolean result = offer.isTraditionalOffer() &&
+        return offer.isTraditionalOffer() &&
                 accountOptional.isPresent() &&
                 myTradeLimit < offerMinAmount;
-        myInsufficientTradeLimitCache.put(offerId, result);
-        return result;
     }
 
     private boolean hasValidArbitrator(Offer offer) {
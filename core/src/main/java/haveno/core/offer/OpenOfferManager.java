@@ -48,6 +48,8 @@ import haveno.common.crypto.KeyRing;
 import haveno.common.crypto.PubKeyRing;
 import haveno.common.handlers.ErrorMessageHandler;
 import haveno.common.handlers.ResultHandler;
+import haveno.common.metrics.Histogram;
+import haveno.common.metrics.MetricsRegistry;
 import haveno.common.persistence.PersistenceManager;
 import haveno.common.proto.network.NetworkEnvelope;
 import haveno.common.proto.persistable.PersistedDataHost;
@@ -109,8 +111,10 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -138,6 +142,13 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
     private static final long REPUBLISH_AGAIN_AT_STARTUP_DELAY_SEC = 30;
     private static final long REPUBLISH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(30);
     private static final long REFRESH_INTERVAL_MS = OfferPayload.TTL / 2;
+    private static final int REPUBLISH_MAX_CONCURRENT_ADDS = 10;
+    private static final int REPUBLISH_MAX_ADDS_PER_SEC = 20;
+    // unchanged offers which are still live are skipped by the periodic republish, but we publish them at least at this interval.
+    // The publish time of an offer varies within a cycle, so offers are compared against half a cycle less to not skip one more.
+    private static final long REPUBLISH_UNCHANGED_INTERVAL_MS = 2 * REPUBLISH_INTERVAL_MS;
+    private static final Histogram REPUBLISH_DURATION = MetricsRegistry.getInstance().histogram(
+            "haveno_offer_republish_duration_ms", "Time to republish all open offers");
     private static final int NUM_ATTEMPTS_THRESHOLD = 5; // process offer at reduced frequency after this many attempts
     private static final long RETRY_PROCESSING_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10); // retry processing offers with too many attempts at this interval
     private static final long SHUTDOWN_TIMEOUT_MS = 60000;
@@ -177,6 +188,8 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
     private final AccountAgeWitnessService accountAgeWitnessService;
 
     private Object processOffersLock = new Object(); // lock for processing offers
+    private final PublishBudget republishBudget = new PublishBudget(REPUBLISH_MAX_CONCURRENT_ADDS, REPUBLISH_MAX_ADDS_PER_SEC);
+    private final Map<String, Long> lastPublishedMs = new ConcurrentHashMap<>(); // offer id to last time we published the offer
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -401,6 +414,10 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
 
         maybeUpdatePersistedOffers();
 
+        // poll key images of our open and signed offers before the offer book's, as they are tied to our trades
+        xmrConnectionService.getKeyImagePoller().setGroupPriority(OPEN_OFFER_GROUP_KEY_IMAGE_ID, XmrKeyImagePoller.PRIORITY_HIGH);
+        xmrConnectionService.getKeyImagePoller().setGroupPriority(SIGNED_OFFER_KEY_IMAGE_GROUP_ID, XmrKeyImagePoller.PRIORITY_HIGH);
+
         // listen for spent key images to close open and signed offers
         xmrConnectionService.getKeyImagePoller().addListener(new XmrKeyImageListener() {
             @Override
@@ -828,7 +845,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
                         HavenoUtils.awaitLatch(latch);
                     }
                 } else {
-                    maybeRepublishOffer(editedOpenOffer, null);
+                    maybeRepublishOffer(editedOpenOffer);
                     offersToBeEdited.remove(openOffer.getId());
                     requestPersistence();
                     resultHandler.handleResult();
@@ -2306,7 +2323,51 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
     // RepublishOffers, refreshOffers
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    // Tracks the offers of one republish cycle to report its duration
+    private static class RepublishCycle {
+        private final long startTime = System.currentTimeMillis();
+        private final int numOffers;
+        private final AtomicInteger numPending;
+        private final AtomicInteger numPublished = new AtomicInteger();
+        private final AtomicInteger numSkipped = new AtomicInteger();
+        private final AtomicInteger numFailed = new AtomicInteger();
+
+        private RepublishCycle(int numOffers) {
+            this.numOffers = numOffers;
+            this.numPending = new AtomicInteger(numOffers);
+        }
+
+        private void onPublished() {
+            numPublished.incrementAndGet();
+            onDone();
+        }
+
+        private void onSkipped() {
+            numSkipped.incrementAndGet();
+            onDone();
+        }
+
+        private void onFailed() {
+            numFailed.incrementAndGet();
+            onDone();
+        }
+
+        private void onDone() {
+            if (numPending.decrementAndGet() != 0) return;
+            long duration = System.currentTimeMillis() - startTime;
+            REPUBLISH_DURATION.observe(duration);
+            log.info("Republished {} of {} open offers in {} ms, skipped={}, failed={}",
+                    numPublished.get(), numOffers, duration, numSkipped.get(), numFailed.get());
+        }
+    }
+
     private void republishOffers() {
+        republishOffers(false);
+    }
+
+    // Offers are reprocessed one at a time as that needs the wallet, while the processed offers are
+    // published to the network concurrently within the republish budget.
+    private void republishOffers(boolean skipUnchanged) {
         if (stopped) {
             return;
         }
@@ -2314,90 +2375,123 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         stopPeriodicRefreshOffersTimer();
 
         ThreadUtils.execute(() -> {
-            processListForRepublishOffers(new ArrayList<>(getOpenOffers())); // list will be modified
-        }, THREAD_ID);
+            List<OpenOffer> list = new ArrayList<>(getOpenOffers());
+            lastPublishedMs.keySet().retainAll(list.stream().map(OpenOffer::getId).collect(Collectors.toSet()));
+            if (list.isEmpty()) return;
+            RepublishCycle cycle = new RepublishCycle(list.size());
+            for (OpenOffer openOffer : list) {
+                boolean contained = false;
+                synchronized (openOffers.getList()) {
+                    contained = openOffers.contains(openOffer);
+                }
+
+                // skip if the offer was removed in the meantime
+                if (contained) processOfferForRepublish(openOffer, skipUnchanged, cycle);
+                else cycle.onSkipped();
+            }
+        }, THREAD_ID + "-maybeRepublishOffer"); // run on different thread to avoid getting backed up
     }
 
-    // modifies the given list
-    private void processListForRepublishOffers(List<OpenOffer> list) {
-        if (list.isEmpty()) {
+    private void maybeRepublishOffer(OpenOffer openOffer) {
+        ThreadUtils.execute(() -> {
+            processOfferForRepublish(openOffer, false, null);
+        }, THREAD_ID + "-maybeRepublishOffer"); // run on different thread to avoid getting backed up
+    }
+
+    // reprocesses the offer and hands it on for publishing, returns once the offer is processed
+    private void processOfferForRepublish(OpenOffer openOffer, boolean skipUnchanged, @Nullable RepublishCycle cycle) {
+
+        // skip if prevented from publishing
+        if (preventedFromPublishing(openOffer, false)) {
+            if (cycle != null) cycle.onSkipped();
             return;
         }
 
-        OpenOffer openOffer = list.remove(0);
-        boolean contained = false;
-        synchronized (openOffers.getList()) {
-            contained = openOffers.contains(openOffer);
-        }
-        if (contained) {
-            // TODO It is not clear yet if it is better for the node and the network to send out all add offer
-            //  messages in one go or to spread it over a delay. With power users who have 100-200 offers that can have
-            //  some significant impact to user experience and the network
-            maybeRepublishOffer(openOffer, () -> processListForRepublishOffers(list));
+        // reprocess offer then publish
+        synchronized (processOffersLock) {
+            CountDownLatch latch = new CountDownLatch(1);
+            processOffer(getOpenOffers(), openOffer, (transaction) -> {
+                requestPersistence();
+                latch.countDown();
 
-            /* republishOffer(openOffer,
-                    () -> UserThread.runAfter(() -> processListForRepublishOffers(list),
-                            30, TimeUnit.MILLISECONDS));*/
-        } else {
-            // If the offer was removed in the meantime or if its deactivated we skip and call
-            // processListForRepublishOffers again with the list where we removed the offer already.
-            processListForRepublishOffers(list);
+                // skip if prevented from publishing
+                if (preventedFromPublishing(openOffer, true)) {
+                    if (cycle != null) cycle.onSkipped();
+                    return;
+                }
+
+                // skip if the network has the unchanged offer
+                if (skipUnchanged && isPublishedAndUnchanged(openOffer)) {
+                    maybeStartPeriodicRefreshOffersTimer();
+                    if (cycle != null) cycle.onSkipped();
+                    return;
+                }
+
+                publishOffer(openOffer, cycle);
+            }, (errorMessage) -> {
+                log.warn("Error republishing offer {}: {}", openOffer.getId(), errorMessage);
+                latch.countDown();
+                if (cycle != null) cycle.onFailed();
+            });
+            HavenoUtils.awaitLatch(latch);
         }
     }
 
-    private void maybeRepublishOffer(OpenOffer openOffer, @Nullable Runnable completeHandler) {
-        ThreadUtils.execute(() -> {
+    private boolean isPublishedAndUnchanged(OpenOffer openOffer) {
+        Long publishedMs = lastPublishedMs.get(openOffer.getId());
+        return publishedMs != null &&
+                System.currentTimeMillis() - publishedMs < REPUBLISH_UNCHANGED_INTERVAL_MS - REPUBLISH_INTERVAL_MS / 2 &&
+                offerBookService.hasLiveEntry(openOffer.getOffer().getOfferPayload());
+    }
 
-            // skip if prevented from publishing
-            if (preventedFromPublishing(openOffer, false)) {
-                if (completeHandler != null) completeHandler.run();
+    private void publishOffer(OpenOffer openOffer, @Nullable RepublishCycle cycle) {
+        ThreadUtils.execute(() -> {
+            try {
+                republishBudget.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (cycle != null) cycle.onFailed();
                 return;
             }
-
-            // reprocess offer then publish
-            synchronized (processOffersLock) {
-                CountDownLatch latch = new CountDownLatch(1);
-                processOffer(getOpenOffers(), openOffer, (transaction) -> {
-                    requestPersistence();
-                    latch.countDown();
-
-                    // skip if prevented from publishing
-                    if (preventedFromPublishing(openOffer, true)) {
-                        if (completeHandler != null) completeHandler.run();
+            ThreadUtils.submitToPool(() -> {
+                try {
+                    if (stopped) {
+                        if (cycle != null) cycle.onSkipped();
                         return;
                     }
-                    
+
                     // publish offer to books
                     offerBookService.addOffer(openOffer.getOffer(),
                             () -> {
+                                lastPublishedMs.put(openOffer.getId(), System.currentTimeMillis());
                                 if (!stopped) {
 
                                     // refresh means we send only the data needed to refresh the TTL (hash, signature and sequence no.)
-                                    if (periodicRefreshOffersTimer == null) {
-                                        startPeriodicRefreshOffersTimer();
-                                    }
-                                    if (completeHandler != null) {
-                                        completeHandler.run();
-                                    }
+                                    maybeStartPeriodicRefreshOffersTimer();
                                 }
+                                if (cycle != null) cycle.onPublished();
                             },
                             errorMessage -> {
                                 if (!stopped) {
                                     log.error("Adding offer to P2P network failed, offerId=" + openOffer.getId() + ", error=" + errorMessage);
-                                    stopRetryRepublishOffersTimer();
-                                    retryRepublishOffersTimer = UserThread.runAfter(OpenOfferManager.this::republishOffers,
-                                            RETRY_REPUBLISH_DELAY_SEC);
-                                    if (completeHandler != null) completeHandler.run();
+                                    scheduleRetryRepublishOffers();
                                 }
+                                if (cycle != null) cycle.onFailed();
                             });
-                }, (errorMessage) -> {
-                    log.warn("Error republishing offer {}: {}", openOffer.getId(), errorMessage);
-                    latch.countDown();
-                    if (completeHandler != null) completeHandler.run();
-                });
-                HavenoUtils.awaitLatch(latch);
-            }
-        }, THREAD_ID + "-maybeRepublishOffer"); // run on different thread to avoid getting backed up
+                } catch (Exception e) {
+                    log.warn("Error publishing offer {}: {}", openOffer.getId(), e.getMessage());
+                    if (cycle != null) cycle.onFailed();
+                } finally {
+                    republishBudget.release();
+                }
+            });
+        }, THREAD_ID + "-publishOffers");
+    }
+
+    private synchronized void scheduleRetryRepublishOffers() {
+        stopRetryRepublishOffersTimer();
+        retryRepublishOffersTimer = UserThread.runAfter(OpenOfferManager.this::republishOffers,
+                RETRY_REPUBLISH_DELAY_SEC);
     }
 
     private boolean preventedFromPublishing(OpenOffer openOffer, boolean checkSignature) {
@@ -2413,7 +2507,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         if (periodicRepublishOffersTimer == null) {
             periodicRepublishOffersTimer = UserThread.runPeriodically(() -> {
                         if (!stopped) {
-                            republishOffers();
+                            republishOffers(true);
                         }
                     },
                     REPUBLISH_INTERVAL_MS,
@@ -2421,36 +2515,19 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         }
     }
 
-    private void startPeriodicRefreshOffersTimer() {
+    private synchronized void maybeStartPeriodicRefreshOffersTimer() {
+        if (periodicRefreshOffersTimer == null) {
+            startPeriodicRefreshOffersTimer();
+        }
+    }
+
+    private synchronized void startPeriodicRefreshOffersTimer() {
         stopped = false;
         // refresh sufficiently before offer would expire
         if (periodicRefreshOffersTimer == null)
             periodicRefreshOffersTimer = UserThread.runPeriodically(() -> {
-                // TODO: this runs on user thread so can block
                 if (!stopped) {
-                    log.info("Refreshing my open offers");
-                    synchronized (openOffers.getList()) {
-                        int size = openOffers.size();
-                        //we clone our list as openOffers might change during our delayed call
-                        final ArrayList<OpenOffer> openOffersList = new ArrayList<>(openOffers.getList());
-                        for (int i = 0; i < size; i++) {
-                            // we delay to avoid reaching throttle limits
-                            // roughly 4 offers per second
-
-                            long delay = 300;
-                            final long minDelay = (i + 1) * delay;
-                            final long maxDelay = (i + 2) * delay;
-                            final OpenOffer openOffer = openOffersList.get(i);
-                            UserThread.runAfterRandomDelay(() -> {
-                                // we need to check if in the meantime the offer has been removed
-                                boolean contained = false;
-                                synchronized (openOffers.getList()) {
-                                    contained = openOffers.contains(openOffer);
-                                }
-                                if (contained) maybeRefreshOffer(openOffer, 0, 1);
-                            }, minDelay, maxDelay, TimeUnit.MILLISECONDS);
-                        }
-                    }
+                    ThreadUtils.execute(this::refreshOffers, THREAD_ID + "-refreshOffers");
                 } else {
                     log.debug("We have stopped already. We ignore that periodicRefreshOffersTimer.run call.");
                 }
@@ -2461,16 +2538,26 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
             log.trace("periodicRefreshOffersTimer already stated");
     }
 
-    private void maybeRefreshOffer(OpenOffer openOffer, int numAttempts, int maxAttempts) {
-        if (preventedFromPublishing(openOffer, true)) return;
-        offerBookService.refreshTTL(openOffer.getOffer().getOfferPayload(),
-                () -> log.debug("Successful refreshed TTL for offer"),
-                (errorMessage) -> {
-                    log.warn(errorMessage);
-                    if (numAttempts + 1 < maxAttempts) {
-                        UserThread.runAfter(() -> maybeRefreshOffer(openOffer, numAttempts + 1, maxAttempts), 10);
+    // Refreshes all open offers in one batch, which is applied in one pass and broadcast in a few bundles
+    private void refreshOffers() {
+        List<OfferPayload> offerPayloads;
+        synchronized (openOffers.getList()) {
+            offerPayloads = openOffers.getList().stream()
+                    .filter(openOffer -> !preventedFromPublishing(openOffer, true))
+                    .map(openOffer -> openOffer.getOffer().getOfferPayload())
+                    .collect(Collectors.toList());
+        }
+        if (offerPayloads.isEmpty()) return;
+        log.info("Refreshing {} open offers", offerPayloads.size());
+        offerBookService.refreshTTL(offerPayloads,
+                refreshedOfferPayloads -> {
+                    if (refreshedOfferPayloads.size() < offerPayloads.size()) {
+                        log.warn("Refreshed TTL of {} of {} open offers", refreshedOfferPayloads.size(), offerPayloads.size());
+                    } else {
+                        log.debug("Successful refreshed TTL for {} offers", refreshedOfferPayloads.size());
                     }
-                });
+                },
+                log::warn);
     }
 
     private void restart() {
@@ -2495,7 +2582,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private void stopPeriodicRefreshOffersTimer() {
+    private synchronized void stopPeriodicRefreshOffersTimer() {
         if (periodicRefreshOffersTimer != null) {
             periodicRefreshOffersTimer.stop();
             periodicRefreshOffersTimer = null;
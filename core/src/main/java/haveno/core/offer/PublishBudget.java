@@ -0,0 +1,60 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.offer;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounds the number of offers published to the network at once and the rate at which publishing
+ * starts, so republishing many offers does not run into the throttle limits of our peers.
+ */
+class PublishBudget {
+    private final Semaphore inFlight;
+    private final long intervalMs;
+    private long nextStartMs;
+
+    PublishBudget(int maxInFlight, int maxPerSec) {
+        this.inFlight = new Semaphore(maxInFlight);
+        this.intervalMs = 1000 / maxPerSec;
+    }
+
+    /**
+     * Blocks until another offer may be published. Each acquire must be followed by a release once
+     * publishing completed.
+     */
+    void acquire() throws InterruptedException {
+        inFlight.acquire();
+        long delayMs;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            long startMs = Math.max(now, nextStartMs);
+            nextStartMs = startMs + intervalMs;
+            delayMs = startMs - now;
+        }
+        try {
+            if (delayMs > 0) Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    void release() {
+        inFlight.release();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.offer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Open offers with a trigger price, sorted by trigger price per currency and direction, so a new market price only
+ * visits the offers which have to be deactivated or reactivated.
+ * <p>
+ * Available offers are kept apart from offers deactivated by their trigger. Other offers are not indexed, as the
+ * market price does not change them. Re-index an offer with {@link #update} whenever its state changes.
+ */
+final class TriggerPriceIndex {
+
+    // Open offers by trigger price, an edited open offer can share the id and trigger price with the original one
+    private static class TriggerPrices {
+        private final NavigableMap<Long, Set<OpenOffer>> available = new TreeMap<>();
+        private final NavigableMap<Long, Set<OpenOffer>> deactivatedByTrigger = new TreeMap<>();
+
+        private boolean isEmpty() {
+            return available.isEmpty() && deactivatedByTrigger.isEmpty();
+        }
+    }
+
+    private final Map<String, Map<OfferDirection, TriggerPrices>> triggerPricesByCurrency = new HashMap<>();
+    private final Map<OpenOffer, NavigableMap<Long, Set<OpenOffer>>> indexedOpenOffers = new IdentityHashMap<>();
+
+    /**
+     * Adds the open offer or moves it according to its current state.
+     */
+    synchronized void update(OpenOffer openOffer) {
+        remove(openOffer);
+        if (openOffer.getTriggerPrice() <= 0) return;
+
+        boolean isAvailable = openOffer.getState() == OpenOffer.State.AVAILABLE;
+        boolean isDeactivatedByTrigger = openOffer.getState() == OpenOffer.State.DEACTIVATED && openOffer.isDeactivatedByTrigger();
+        if (!isAvailable && !isDeactivatedByTrigger) return;
+
+        Offer offer = openOffer.getOffer();
+        TriggerPrices triggerPrices = triggerPricesByCurrency
+                .computeIfAbsent(offer.getCounterCurrencyCode(), currencyCode -> new EnumMap<>(OfferDirection.class))
+                .computeIfAbsent(offer.getDirection(), direction -> new TriggerPrices());
+        NavigableMap<Long, Set<OpenOffer>> openOffersByTriggerPrice = isAvailable ? triggerPrices.available : triggerPrices.deactivatedByTrigger;
+        openOffersByTriggerPrice
+                .computeIfAbsent(openOffer.getTriggerPrice(), triggerPrice -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                .add(openOffer);
+        indexedOpenOffers.put(openOffer, openOffersByTriggerPrice);
+    }
+
+    synchronized void remove(OpenOffer openOffer) {
+        NavigableMap<Long, Set<OpenOffer>> openOffersByTriggerPrice = indexedOpenOffers.remove(openOffer);
+        if (openOffersByTriggerPrice == null) return;
+        Set<OpenOffer> openOffers = openOffersByTriggerPrice.get(openOffer.getTriggerPrice());
+        openOffers.remove(openOffer);
+        if (!openOffers.isEmpty()) return;
+        openOffersByTriggerPrice.remove(openOffer.getTriggerPrice());
+
+        Offer offer = openOffer.getOffer();
+        Map<OfferDirection, TriggerPrices> triggerPricesByDirection = triggerPricesByCurrency.get(offer.getCounterCurrencyCode());
+        if (triggerPricesByDirection.get(offer.getDirection()).isEmpty()) {
+            triggerPricesByDirection.remove(offer.getDirection());
+            if (triggerPricesByDirection.isEmpty()) triggerPricesByCurrency.remove(offer.getCounterCurrencyCode());
+        }
+    }
+
+    synchronized List<String> getCurrencyCodes() {
+        return new ArrayList<>(triggerPricesByCurrency.keySet());
+    }
+
+    /**
+     * Returns the available offers triggered by the market price and the offers deactivated by their trigger which
+     * are no longer triggered by the market price.
+     *
+     * @param marketPrice the market price in the smallest unit of the currency, like the trigger prices
+     */
+    synchronized List<OpenOffer> getOpenOffersToUpdate(String currencyCode, long marketPrice) {
+        List<OpenOffer> result = new ArrayList<>();
+        Map<OfferDirection, TriggerPrices> triggerPricesByDirection = triggerPricesByCurrency.get(currencyCode);
+        if (triggerPricesByDirection == null) return result;
+
+        // sell offers are triggered by a market price below the trigger price, buy offers by a price above it
+        TriggerPrices sellTriggerPrices = triggerPricesByDirection.get(OfferDirection.SELL);
+        if (sellTriggerPrices != null) {
+            addAll(result, sellTriggerPrices.available.tailMap(marketPrice, false).values());
+            addAll(result, sellTriggerPrices.deactivatedByTrigger.headMap(marketPrice, true).values());
+        }
+        TriggerPrices buyTriggerPrices = triggerPricesByDirection.get(OfferDirection.BUY);
+        if (buyTriggerPrices != null) {
+            addAll(result, buyTriggerPrices.available.headMap(marketPrice, false).values());
+            addAll(result, buyTriggerPrices.deactivatedByTrigger.tailMap(marketPrice, true).values());
+        }
+        return result;
+    }
+
+    synchronized int size() {
+        return indexedOpenOffers.size();
+    }
+
+    private static void addAll(List<OpenOffer> result, Collection<Set<OpenOffer>> openOffers) {
+        openOffers.forEach(result::addAll);
+    }
+}
@@ -30,12 +30,10 @@ import haveno.core.provider.price.MarketPrice;
 import haveno.core.provider.price.PriceFeedService;
 import haveno.network.p2p.BootstrapListener;
 import haveno.network.p2p.P2PService;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.ListChangeListener;
 import lombok.extern.slf4j.Slf4j;
 
@@ -45,7 +43,9 @@ public class TriggerPriceService {
     private final P2PService p2PService;
     private final OpenOfferManager openOfferManager;
     private final PriceFeedService priceFeedService;
-    private final Map<String, Set<OpenOffer>> openOffersByCurrency = new HashMap<>();
+    private final TriggerPriceIndex triggerPriceIndex = new TriggerPriceIndex();
+    // State listeners by open offer, an edited open offer is added before the original one is removed
+    private final Map<OpenOffer, ChangeListener<OpenOffer.State>> stateListeners = new IdentityHashMap<>();
 
     @Inject
     public TriggerPriceService(P2PService p2PService,
@@ -71,12 +71,13 @@ public class TriggerPriceService {
 
     private void onBootstrapComplete() {
         openOfferManager.getObservableList().addListener((ListChangeListener<OpenOffer>) c -> {
-            c.next();
-            if (c.wasAdded()) {
-                onAddedOpenOffers(c.getAddedSubList());
-            }
-            if (c.wasRemoved()) {
-                onRemovedOpenOffers(c.getRemoved());
+            while (c.next()) {
+                if (c.wasRemoved()) {
+                    onRemovedOpenOffers(c.getRemoved());
+                }
+                if (c.wasAdded()) {
+                    onAddedOpenOffers(c.getAddedSubList());
+                }
             }
         });
         onAddedOpenOffers(openOfferManager.getObservableList());
@@ -85,15 +86,15 @@ public class TriggerPriceService {
         onPriceFeedChanged();
     }
 
+    // Only visits the open offers whose trigger price was crossed by the market price
     private void onPriceFeedChanged() {
-        openOffersByCurrency.keySet().stream()
-                .map(priceFeedService::getMarketPrice)
-                .filter(Objects::nonNull)
-                .filter(marketPrice -> openOffersByCurrency.containsKey(marketPrice.getCurrencyCode()))
-                .forEach(marketPrice -> {
-                    openOffersByCurrency.get(marketPrice.getCurrencyCode()).stream()
-                            .forEach(openOffer -> checkPriceThreshold(marketPrice, openOffer));
-                });
+        for (String currencyCode : triggerPriceIndex.getCurrencyCodes()) {
+            MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
+            if (marketPrice == null) continue;
+            long marketPriceAsLong = toSmallestUnit(marketPrice);
+            triggerPriceIndex.getOpenOffersToUpdate(currencyCode, marketPriceAsLong)
+                    .forEach(openOffer -> checkPriceThreshold(marketPrice, openOffer));
+        }
     }
 
     public static boolean isTriggered(MarketPrice marketPrice, OpenOffer openOffer) {
@@ -102,13 +103,7 @@ public class TriggerPriceService {
             return false;
         }
 
-        String currencyCode = openOffer.getOffer().getCounterCurrencyCode();
-        boolean traditionalCurrency = CurrencyUtil.isTraditionalCurrency(currencyCode);
-        int smallestUnitExponent = traditionalCurrency ?
-                TraditionalMoney.SMALLEST_UNIT_EXPONENT :
-                CryptoMoney.SMALLEST_UNIT_EXPONENT;
-        long marketPriceAsLong = roundDoubleToLong(
-                scaleUpByPowerOf10(marketPrice.getPrice(), smallestUnitExponent));
+        long marketPriceAsLong = toSmallestUnit(marketPrice);
         long triggerPrice = openOffer.getTriggerPrice();
         if (triggerPrice <= 0) {
             return false;
@@ -121,6 +116,13 @@ public class TriggerPriceService {
                 marketPriceAsLong > triggerPrice;
     }
 
+    private static long toSmallestUnit(MarketPrice marketPrice) {
+        int smallestUnitExponent = CurrencyUtil.isTraditionalCurrency(marketPrice.getCurrencyCode()) ?
+                TraditionalMoney.SMALLEST_UNIT_EXPONENT :
+                CryptoMoney.SMALLEST_UNIT_EXPONENT;
+        return roundDoubleToLong(scaleUpByPowerOf10(marketPrice.getPrice(), smallestUnitExponent));
+    }
+
     private void checkPriceThreshold(MarketPrice marketPrice, OpenOffer openOffer) {
         String currencyCode = openOffer.getOffer().getCounterCurrencyCode();
         int smallestUnitExponent = CurrencyUtil.isTraditionalCurrency(currencyCode) ?
@@ -160,9 +162,13 @@ public class TriggerPriceService {
 
     private void onAddedOpenOffers(List<? extends OpenOffer> openOffers) {
         openOffers.forEach(openOffer -> {
-            String currencyCode = openOffer.getOffer().getCounterCurrencyCode();
-            openOffersByCurrency.putIfAbsent(currencyCode, new HashSet<>());
-            openOffersByCurrency.get(currencyCode).add(openOffer);
+            if (openOffer.getTriggerPrice() <= 0 || stateListeners.containsKey(openOffer)) return;
+
+            // deactivating or activating the open offer moves it in the index
+            ChangeListener<OpenOffer.State> stateListener = (observable, oldValue, newValue) -> triggerPriceIndex.update(openOffer);
+            stateListeners.put(openOffer, stateListener);
+            openOffer.stateProperty().addListener(stateListener);
+            triggerPriceIndex.update(openOffer);
 
             MarketPrice marketPrice = priceFeedService.getMarketPrice(openOffer.getOffer().getCounterCurrencyCode());
             if (marketPrice != null) {
@@ -173,14 +179,11 @@ public class TriggerPriceService {
 
     private void onRemovedOpenOffers(List<? extends OpenOffer> openOffers) {
         openOffers.forEach(openOffer -> {
-            String currencyCode = openOffer.getOffer().getCounterCurrencyCode();
-            if (openOffersByCurrency.containsKey(currencyCode)) {
-                Set<OpenOffer> set = openOffersByCurrency.get(currencyCode);
-                set.remove(openOffer);
-                if (set.isEmpty()) {
-                    openOffersByCurrency.remove(currencyCode);
-                }
+            ChangeListener<OpenOffer.State> stateListener = stateListeners.remove(openOffer);
+            if (stateListener != null) {
+                openOffer.stateProperty().removeListener(stateListener);
             }
+            triggerPriceIndex.remove(openOffer);
         });
     }
 }
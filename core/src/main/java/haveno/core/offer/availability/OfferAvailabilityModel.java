@@ -118,4 +118,9 @@ public class OfferAvailabilityModel implements Model {
     @Override
     public void onComplete() {
     }
+
+    @Override
+    public String getTaskModelId() {
+        return offer.getId();
+    }
 }
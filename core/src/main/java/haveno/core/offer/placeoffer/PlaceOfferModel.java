@@ -112,4 +112,9 @@ public class PlaceOfferModel implements Model {
     @Override
     public void onComplete() {
     }
+
+    @Override
+    public String getTaskModelId() {
+        return openOffer.getId();
+    }
 }
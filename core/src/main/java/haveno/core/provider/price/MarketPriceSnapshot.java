@@ -0,0 +1,55 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.provider.price;
+
+import haveno.core.locale.CurrencyUtil;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Immutable view of the market prices. The version is incremented whenever a market price changes, and a market
+ * price which was not updated is the same instance in the next snapshot, so derived values can be cached per instance.
+ */
+public final class MarketPriceSnapshot {
+    static final MarketPriceSnapshot EMPTY = new MarketPriceSnapshot(0, Collections.emptyMap());
+
+    private final long version;
+    private final Map<String, MarketPrice> marketPrices;
+
+    MarketPriceSnapshot(long version, Map<String, MarketPrice> marketPrices) {
+        this.version = version;
+        this.marketPrices = Collections.unmodifiableMap(new HashMap<>(marketPrices));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Nullable
+    public MarketPrice getMarketPrice(String currencyCode) {
+        return marketPrices.get(CurrencyUtil.getCurrencyCodeBase(currencyCode));
+    }
+
+    public Map<String, MarketPrice> getMarketPrices() {
+        return marketPrices;
+    }
+}
@@ -72,6 +72,8 @@ public class PriceFeedService {
     private static final long PERIOD_SEC = 60;
 
     private final Map<String, MarketPrice> cache = new HashMap<>();
+    // Copy of the cache which is replaced whenever the cache changes, read without locking
+    private volatile MarketPriceSnapshot snapshot = MarketPriceSnapshot.EMPTY;
     private final Map<String, Date> latestHavenoMarketPriceDateByCurrencyCode = new HashMap<>();
     private volatile PriceProvider priceProvider;
     @Nullable
@@ -173,9 +175,7 @@ public class PriceFeedService {
     }
 
     public boolean hasExternalPrices() {
-        synchronized (cache) {
-            return cache.values().stream().anyMatch(MarketPrice::isExternallyProvidedPrice);
-        }
+        return snapshot.getMarketPrices().values().stream().anyMatch(MarketPrice::isExternallyProvidedPrice);
     }
 
     public void startRequestingPrices() {
@@ -345,9 +345,14 @@ public class PriceFeedService {
 
     @Nullable
     public MarketPrice getMarketPrice(String currencyCode) {
-        synchronized (cache) {
-            return cache.getOrDefault(CurrencyUtil.getCurrencyCodeBase(currencyCode), null);
-        }
+        return snapshot.getMarketPrice(currencyCode);
+    }
+
+    /**
+     * @return the current market prices, which do not change when the prices are updated
+     */
+    public MarketPriceSnapshot getSnapshot() {
+        return snapshot;
     }
 
     private void setHavenoMarketPrice(String counterCurrencyCode, Price price) {
@@ -359,6 +364,7 @@ public class PriceFeedService {
                             MathUtils.scaleDownByPowerOf10(price.getValue(), CurrencyUtil.isCryptoCurrency(counterCurrencyCode) ? CryptoMoney.SMALLEST_UNIT_EXPONENT : TraditionalMoney.SMALLEST_UNIT_EXPONENT),
                             0,
                             false));
+                    updateSnapshot();
                 }
                 updateCounter.set(updateCounter.get() + 1);
             }
@@ -446,13 +452,18 @@ public class PriceFeedService {
             UserThread.execute(() -> updateCounter.removeListener(listener));
         }
         if (requestAllPricesError != null) throw new RuntimeException(requestAllPricesError);
-        return cache;
+        return snapshot.getMarketPrices();
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    // must be called while holding the cache lock
+    private void updateSnapshot() {
+        snapshot = new MarketPriceSnapshot(snapshot.getVersion() + 1, cache);
+    }
+
     private boolean applyPriceToConsumer() {
         boolean result = false;
         String errorMessage = null;
@@ -541,6 +552,7 @@ public class PriceFeedService {
 
                         synchronized (cache) {
                             cache.putAll(result);
+                            updateSnapshot();
                         }
 
                         resultHandler.run();
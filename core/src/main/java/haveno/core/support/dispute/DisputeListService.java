@@ -20,6 +20,7 @@ package haveno.core.support.dispute;
 import haveno.common.UserThread;
 import haveno.common.persistence.PersistenceManager;
 import haveno.common.proto.persistable.PersistedDataHost;
+import haveno.common.util.KeyedIndex;
 import haveno.core.trade.Contract;
 import haveno.network.p2p.NodeAddress;
 import javafx.beans.property.IntegerProperty;
@@ -31,6 +32,7 @@ import org.fxmisc.easybind.EasyBind;
 
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
@@ -46,6 +48,9 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
     private final IntegerProperty numOpenDisputes = new SimpleIntegerProperty();
     @Getter
     private final Set<String> disputedTradeIds = ConcurrentHashMap.newKeySet(); // accessed from the init, user, and ui threads
+    // Each trader of a trade can have a dispute, so a trade has only a few disputes
+    private final KeyedIndex<Dispute> disputesByTradeId = new KeyedIndex<>(Dispute::getTradeId);
+    private final KeyedIndex<Dispute> disputesById = new KeyedIndex<>(Dispute::getId);
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -57,6 +62,18 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
         disputeList = getConcreteDisputeList();
 
         this.persistenceManager.initialize(disputeList, getFileName(), PersistenceManager.Source.PRIVATE);
+
+        synchronized (disputeList.getList()) {
+            disputeList.getList().forEach(dispute -> {
+                disputesByTradeId.add(dispute);
+                disputesById.add(dispute);
+            });
+            disputeList.addListener(change -> {
+                disputesByTradeId.onChanged(change);
+                change.reset();
+                disputesById.onChanged(change);
+            });
+        }
     }
 
 
@@ -103,6 +120,21 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
     }
 
 
+    public List<Dispute> getDisputesByTradeId(String tradeId) {
+        return disputesByTradeId.get(tradeId);
+    }
+
+    public Optional<Dispute> getDispute(String tradeId, int traderId) {
+        return disputesByTradeId.get(tradeId).stream()
+                .filter(dispute -> dispute.getTraderId() == traderId)
+                .findFirst();
+    }
+
+    public Optional<Dispute> getDisputeById(String disputeId) {
+        return disputesById.getFirst(disputeId);
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Package scope
     ///////////////////////////////////////////////////////////////////////////////////////////
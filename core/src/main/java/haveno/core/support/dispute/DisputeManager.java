@@ -203,12 +203,9 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
 
     @Override
     public List<ChatMessage> getAllChatMessages(String tradeId) {
-        synchronized (getDisputeList().getList()) {
-            return getDisputeList().stream()
-                    .filter(dispute -> dispute.getTradeId().equals(tradeId))
-                    .flatMap(dispute -> dispute.getChatMessages().stream())
-                    .collect(Collectors.toList());
-        }
+        return disputeListService.getDisputesByTradeId(tradeId).stream()
+                .flatMap(dispute -> dispute.getChatMessages().stream())
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -1063,53 +1060,20 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
     }
 
     public Optional<Dispute> findDispute(String tradeId, int traderId) {
-        synchronized (getDisputeList().getList()) {
-            T disputeList = getDisputeList();
-            if (disputeList == null) {
-                log.warn("disputes is null");
-                return Optional.empty();
-            }
-            return disputeList.stream()
-                    .filter(e -> e.getTradeId().equals(tradeId) && e.getTraderId() == traderId)
-                    .findAny();
-        }
+        return disputeListService.getDispute(tradeId, traderId);
     }
 
     // TODO: throw if more than one dispute found? should not be called then
     public Optional<Dispute> findDispute(String tradeId) {
-        synchronized (getDisputeList().getList()) {
-            T disputeList = getDisputeList();
-            if (disputeList == null) {
-                log.warn("disputes is null");
-                return Optional.empty();
-            }
-            return disputeList.stream()
-                    .filter(e -> e.getTradeId().equals(tradeId))
-                    .findAny();
-        }
+        return disputeListService.getDisputesByTradeId(tradeId).stream().findAny();
     }
 
     public List<Dispute> findDisputes(String tradeId) {
-        synchronized (getDisputeList().getList()) {
-            T disputeList = getDisputeList();
-            if (disputeList == null) return new ArrayList<Dispute>();
-            return disputeList.stream()
-                    .filter(e -> e.getTradeId().equals(tradeId))
-                    .collect(Collectors.toList());
-        }
+        return new ArrayList<>(disputeListService.getDisputesByTradeId(tradeId));
     }
 
     public Optional<Dispute> findDisputeById(String disputeId) {
-        synchronized (getDisputeList().getList()) {
-            T disputeList = getDisputeList();
-            if (disputeList == null) {
-                log.warn("disputes is null");
-                return Optional.empty();
-            }
-            return disputeList.stream()
-                    .filter(e -> e.getId().equals(disputeId))
-                    .findAny();
-        }
+        return disputeListService.getDisputeById(disputeId);
     }
 
     public Optional<Trade> findTrade(Dispute dispute) {
@@ -41,6 +41,7 @@ import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 import static haveno.core.offer.OpenOffer.State.CANCELED;
 import static haveno.core.trade.ClosedTradableUtil.castToTradeModel;
@@ -164,7 +165,7 @@ public class ClosedTradableManager implements PersistedDataHost {
         synchronized (persistLock) {
             boolean contained;
             synchronized (closedTradables.getList()) {
-                contained = closedTradables.stream().anyMatch(t -> t.getId().equals(trade.getId()));
+                contained = closedTradables.getById(trade.getId()).isPresent();
             }
             try {
                 if (contained) store.appendEntries(List.of(ClosedTradesStore.upsertBytes(trade)));
@@ -206,6 +207,15 @@ public class ClosedTradableManager implements PersistedDataHost {
         }
     }
 
+    /**
+     * Returns a page of the closed trades ordered by date, see {@link TradableList#getTradesByDate}.
+     */
+    public List<Trade> getClosedTradesByDate(long fromDate, @Nullable String cursor, int limit) {
+        return closedTradables.getTradesByDate(fromDate, cursor, limit).stream()
+                .map(e -> (Trade) e)
+                .collect(Collectors.toList());
+    }
+
     public List<OpenOffer> getCanceledOpenOffers() {
         synchronized (closedTradables.getList()) {
             return ImmutableList.copyOf(getObservableList().stream()
@@ -216,15 +226,18 @@ public class ClosedTradableManager implements PersistedDataHost {
     }
 
     public Optional<Tradable> getTradableById(String id) {
-        synchronized (closedTradables.getList()) {
-            return closedTradables.stream().filter(e -> e.getId().equals(id)).findFirst();
-        }
+        return closedTradables.getById(id);
     }
 
     public Optional<Trade> getTradeById(String id) {
-        synchronized (closedTradables.getList()) {
-            return getClosedTrades().stream().filter(e -> e.getId().equals(id)).findFirst();
-        }
+        return closedTradables.getAllById(id).stream()
+                .filter(e -> e instanceof Trade)
+                .map(e -> (Trade) e)
+                .findFirst();
+    }
+
+    public boolean contains(Tradable tradable) {
+        return closedTradables.getAllById(tradable.getId()).contains(tradable);
     }
 
     public void maybeClearSensitiveData() {
@@ -265,12 +278,8 @@ public class ClosedTradableManager implements PersistedDataHost {
 
     public boolean canTradeHaveSensitiveDataCleared(String tradeId) {
         Instant safeDate = getSafeDateForSensitiveDataClearing();
-        synchronized (closedTradables.getList()) {
-            return closedTradables.stream()
-                    .filter(e -> e.getId().equals(tradeId))
-                    .filter(e -> e.getDate().toInstant().isBefore(safeDate))
-                    .count() > 0;
-        }
+        return closedTradables.getAllById(tradeId).stream()
+                .anyMatch(e -> e.getDate().toInstant().isBefore(safeDate));
     }
 
     public Instant getSafeDateForSensitiveDataClearing() {
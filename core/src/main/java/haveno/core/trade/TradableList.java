@@ -21,23 +21,37 @@ import com.google.protobuf.Message;
 import haveno.common.proto.ProtoUtil;
 import haveno.common.proto.ProtobufferRuntimeException;
 import haveno.common.proto.persistable.PersistableListAsObservable;
+import haveno.common.util.KeyedIndex;
+import haveno.common.util.OrderedIndex;
 import haveno.core.offer.OpenOffer;
 import haveno.core.proto.CoreProtoResolver;
 import haveno.core.xmr.wallet.XmrWalletService;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 public final class TradableList<T extends Tradable> extends PersistableListAsObservable<T> {
 
+    // Several items can share an id, e.g. an open offer and its trade, or repeated failed trades
+    private final KeyedIndex<T> itemsById = new KeyedIndex<>(Tradable::getId);
+    private final KeyedIndex<T> tradesByUid = new KeyedIndex<>(item -> item instanceof Trade ? ((Trade) item).getUid() : null);
+    private final OrderedIndex<T> tradesByDate = new OrderedIndex<>(item -> item.getDate().getTime(),
+            item -> item instanceof Trade ? ((Trade) item).getUid() : null);
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public TradableList() {
+        initIndexes();
     }
 
 
@@ -47,6 +61,7 @@ public final class TradableList<T extends Tradable> extends PersistableListAsObs
 
     protected TradableList(Collection<T> collection) {
         super(collection);
+        initIndexes();
     }
 
     @Override
@@ -96,6 +111,74 @@ public final class TradableList<T extends Tradable> extends PersistableListAsObs
         }
     }
 
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Lookups
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Returns the first item added with the given id
+    public Optional<T> getById(String id) {
+        return itemsById.getFirst(id);
+    }
+
+    public List<T> getAllById(String id) {
+        return itemsById.get(id);
+    }
+
+    // Returns the first trade added with the given uid
+    public Optional<T> getByUid(String uid) {
+        return tradesByUid.getFirst(uid);
+    }
+
+    public List<T> getAllByUid(String uid) {
+        return tradesByUid.get(uid);
+    }
+
+    /**
+     * Returns a page of the trades ordered by date.
+     *
+     * @param fromDate only trades taken at or after this date are returned
+     * @param cursor only trades after the trade with this cursor are returned, null or empty to start at fromDate
+     * @param limit max number of trades to return, 0 for all
+     */
+    public List<T> getTradesByDate(long fromDate, @Nullable String cursor, int limit) {
+        return tradesByDate.getPage(fromDate, cursor, limit);
+    }
+
+    // The cursor to continue paging after the given trade, shared by all tradable lists
+    public String getTradeCursor(T trade) {
+        return tradesByDate.getCursor(trade);
+    }
+
+    // The order of the pages of trades, shared by all tradable lists
+    public Comparator<T> getTradesByDateComparator() {
+        return tradesByDate.comparator();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // The constructor of the super class adds the initial items before our fields are initialized, so we index them
+    // afterwards
+    private void initIndexes() {
+        synchronized (getList()) {
+            getList().forEach(item -> {
+                itemsById.add(item);
+                tradesByUid.add(item);
+                tradesByDate.add(item);
+            });
+            addListener(change -> {
+                itemsById.onChanged(change);
+                change.reset();
+                tradesByUid.onChanged(change);
+                change.reset();
+                tradesByDate.onChanged(change);
+            });
+        }
+    }
+
     @Override
     public String toString() {
         return "TradableList{" +
@@ -530,7 +530,6 @@ public abstract class Trade extends XmrWalletBase implements Tradable, Model, Xm
     private String payoutTxKey;
     private long payoutTxFee;
     private Long payoutHeight;
-    private IdleBlockPoller idleBlockPoller;
     @Getter
     private boolean isCompleted;
     @Getter
@@ -791,9 +790,9 @@ public abstract class Trade extends XmrWalletBase implements Tradable, Model, Xm
             });
         });
 
-        // listen to wallet events to sync while idling
-        idleBlockPoller = new IdleBlockPoller();
-        xmrWalletService.addWalletListener(idleBlockPoller);
+        // update wallet on new blocks while idling
+        TradeWalletPollScheduler tradeWalletPollScheduler = getTradeWalletPollScheduler();
+        if (tradeWalletPollScheduler != null) tradeWalletPollScheduler.register(this);
 
         // TODO: buyer's payment sent message state property became unsynced if shut down while awaiting ack from seller. fixed mismatch in v1.0.19, but can this check be removed?
         if (isBuyer()) {
@@ -2133,10 +2132,8 @@ public abstract class Trade extends XmrWalletBase implements Tradable, Model, Xm
         }
 
         // de-initialize
-        if (idleBlockPoller != null) {
-            xmrWalletService.removeWalletListener(idleBlockPoller);
-            idleBlockPoller = null;
-        }
+        TradeWalletPollScheduler tradeWalletPollScheduler = getTradeWalletPollScheduler();
+        if (tradeWalletPollScheduler != null) tradeWalletPollScheduler.unregister(this);
         UserThread.execute(() -> {
             if (tradeStateSubscription != null) tradeStateSubscription.unsubscribe();
             if (tradePhaseSubscription != null) tradePhaseSubscription.unsubscribe();
@@ -2145,6 +2142,13 @@ public abstract class Trade extends XmrWalletBase implements Tradable, Model, Xm
         });
     }
 
+    // null if the trade is not wired to a trade manager, e.g. in tests or early initialization
+    @Nullable
+    private TradeWalletPollScheduler getTradeWalletPollScheduler() {
+        TradeManager tradeManager = processModel.getTradeManager();
+        return tradeManager == null ? null : tradeManager.getTradeWalletPollScheduler();
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Trade error cleanup
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -2340,6 +2344,11 @@ public abstract class Trade extends XmrWalletBase implements Tradable, Model, Xm
     public void onComplete() {
     }
 
+    @Override
+    public String getTaskModelId() {
+        return getId();
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Abstract
@@ -4329,65 +4338,67 @@ public abstract class Trade extends XmrWalletBase implements Tradable, Model, Xm
         if (!isPayoutFinalized()) setPayoutState(PayoutState.PAYOUT_FINALIZED);
     }
 
-    private Trade getTrade() {
-        return this;
-    }
-
     /**
-     * Listen to block notifications from the main wallet in order to sync
-     * idling trade wallets if necessary.
+     * Check if the idling trade wallet should be updated on a new block.
+     * Called by the TradeWalletPollScheduler, so must not query the daemon.
      */
-    private class IdleBlockPoller extends MoneroWalletListener {
+    boolean isIdleWalletUpdateDue() {
 
-        boolean processing = false;
+        // skip unless idling or waiting for finalization
+        if (isShutDownStarted || !isInitialized || !wasWalletPolledProperty.get() || !isIdling() || (isDepositsFinalized() && (!isPayoutPublished() || isPayoutFinalized())))  {
+            return false;
+        }
 
-        @Override
-        public void onNewBlock(long height) {
-            if (isShutDownStarted) return;
-            ThreadUtils.submitToPool(() -> {
+        // update to get payout height if unknown
+        if (isPayoutHeightUnknown()) return true;
+        return isIdleWalletStateChangeExpected();
+    }
 
-                // skip rapid succession blocks
-                synchronized (this) {
-                    if (processing) return;
-                    processing = true;
-                }
+    int getIdleWalletUpdatePriority() {
+        return isPayoutPublished() ? TradeWalletPollScheduler.PRIORITY_HIGH : TradeWalletPollScheduler.PRIORITY_DEFAULT;
+    }
 
-                try {
+    /**
+     * Update the idling trade wallet if it is expected to change state.
+     * Called by the TradeWalletPollScheduler on its bounded worker pool.
+     */
+    void updateIdleWallet() {
+        try {
+            if (!isIdleWalletUpdateDue()) return;
+
+            // get payout height if unknown
+            if (isPayoutHeightUnknown()) {
+                synchronized (IDLE_BLOCK_POLLER_LOCK) {
+                    MoneroTx tx = xmrConnectionService.getTx(getPayoutTxId());
+                    if (tx == null) log.warn("Payout tx not found for {} {}, txId={}", getClass().getSimpleName(), getId(), getPayoutTxId());
+                    else if (tx.isConfirmed()) payoutHeight = tx.getHeight();
+                }
+            }
 
-                    // skip unless idling or waiting for finalization
-                    if (isShutDownStarted || !isInitialized || !wasWalletPolledProperty.get() || !isIdling() || (isDepositsFinalized() && (!isPayoutPublished() || isPayoutFinalized())))  {
-                        return;
-                    }
+            // update if idling wallet is expected to change state
+            if (isIdleWalletStateChangeExpected()) {
+                log.info("Updating idle trade wallet for {} {}", getClass().getSimpleName(), getId());
+                updateWalletAux(logWalletFunctionsAtInfoLevel(), true, true);
+            }
+        } catch (Exception e) {
+            if (!isInitialized || isShutDownStarted) return;
+            if (Boolean.TRUE.equals(xmrConnectionService.isConnected())) {
+                log.warn("Error updating idle trade wallet for {} {}: {}. Monerod={}\n", getClass().getSimpleName(), getId(), e.getMessage(), getXmrWalletService().getXmrConnectionService().getConnection());
+            };
+        }
+    }
 
-                    // get payout height if unknown
-                    if (payoutHeight == null && getPayoutTxId() != null && isPayoutPublished()) {
-                        synchronized (IDLE_BLOCK_POLLER_LOCK) {
-                            MoneroTx tx = xmrConnectionService.getTx(getPayoutTxId());
-                            if (tx == null) log.warn("Payout tx not found for {} {}, txId={}", getTrade().getClass().getSimpleName(), getId(), getPayoutTxId());
-                            else if (tx.isConfirmed()) payoutHeight = tx.getHeight();
-                        }
-                    }
+    private boolean isPayoutHeightUnknown() {
+        return payoutHeight == null && getPayoutTxId() != null && isPayoutPublished();
+    }
 
-                    // update if idling wallet is expected to change state
-                    long currentHeight = xmrConnectionService.getTargetHeight() - 1;
-                    boolean depositsFinalizeExpected = !isDepositsFinalized() && (currentHeight - getDepositsConfirmedHeight() >= NUM_BLOCKS_DEPOSITS_FINALIZED);
-                    boolean payoutConfirmExpected = payoutHeight != null && !isPayoutConfirmed() && currentHeight >= payoutHeight;
-                    boolean payoutUnlockExpected = payoutHeight != null && !isPayoutUnlocked() && currentHeight >= payoutHeight + XmrWalletService.NUM_BLOCKS_UNLOCK;
-                    boolean payoutFinalizeExpected = payoutHeight != null && !isPayoutFinalized() && currentHeight >= payoutHeight + NUM_BLOCKS_PAYOUT_FINALIZED;
-                    if (depositsFinalizeExpected || payoutConfirmExpected || payoutUnlockExpected || payoutFinalizeExpected) {
-                        log.info("Updating idle trade wallet for {} {}", getTrade().getClass().getSimpleName(), getId());
-                        updateWalletAux(logWalletFunctionsAtInfoLevel(), true, true);
-                    }
-                } catch (Exception e) {
-                    if (!isInitialized || isShutDownStarted) return;
-                    if (Boolean.TRUE.equals(xmrConnectionService.isConnected())) {
-                        log.warn("Error updating idle trade wallet for {} {}: {}. Monerod={}\n", getClass().getSimpleName(), getId(), e.getMessage(), getXmrWalletService().getXmrConnectionService().getConnection());
-                    };
-                } finally {
-                    processing = false;
-                }
-            });
-        }
+    private boolean isIdleWalletStateChangeExpected() {
+        long currentHeight = xmrConnectionService.getTargetHeight() - 1;
+        boolean depositsFinalizeExpected = !isDepositsFinalized() && (currentHeight - getDepositsConfirmedHeight() >= NUM_BLOCKS_DEPOSITS_FINALIZED);
+        boolean payoutConfirmExpected = payoutHeight != null && !isPayoutConfirmed() && currentHeight >= payoutHeight;
+        boolean payoutUnlockExpected = payoutHeight != null && !isPayoutUnlocked() && currentHeight >= payoutHeight + XmrWalletService.NUM_BLOCKS_UNLOCK;
+        boolean payoutFinalizeExpected = payoutHeight != null && !isPayoutFinalized() && currentHeight >= payoutHeight + NUM_BLOCKS_PAYOUT_FINALIZED;
+        return depositsFinalizeExpected || payoutConfirmExpected || payoutUnlockExpected || payoutFinalizeExpected;
     }
 
     private void onDepositRequested() {
@@ -170,6 +170,8 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
     @Getter
     private final LongProperty numPendingTrades = new SimpleLongProperty();
     private final ReferralIdService referralIdService;
+    @Getter
+    private final TradeWalletPollScheduler tradeWalletPollScheduler;
 
     @Setter
     @Nullable
@@ -247,6 +249,7 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
         this.clockWatcher = clockWatcher;
         this.referralIdService = referralIdService;
         this.persistenceManager = persistenceManager;
+        this.tradeWalletPollScheduler = new TradeWalletPollScheduler(xmrWalletService.getXmrConnectionService());
 
         this.persistenceManager.initialize(tradableList, "PendingTrades", PersistenceManager.Source.PRIVATE);
 
@@ -418,6 +421,7 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
         log.info("Shutting down {}", getClass().getSimpleName());
         isShutDown = true;
         closeAllTrades();
+        tradeWalletPollScheduler.shutDown();
         closedTradableManager.shutDown();
     }
 
@@ -616,15 +620,15 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
     }
 
     private int getStorePriority(Trade trade) {
-        if (closedTradableManager.getClosedTrades().contains(trade)) return 2;
-        if (failedTradesManager.getObservableList().contains(trade)) return 0;
+        if (closedTradableManager.contains(trade)) return 2;
+        if (failedTradesManager.contains(trade)) return 0;
         return 1; // pending
     }
 
     // remove a duplicate trade from whichever store holds it
     private void removeDuplicateTrade(Trade trade) {
-        if (closedTradableManager.getClosedTrades().contains(trade)) closedTradableManager.removeTrade(trade);
-        else if (failedTradesManager.getObservableList().contains(trade)) failedTradesManager.removeTrade(trade);
+        if (closedTradableManager.contains(trade)) closedTradableManager.removeTrade(trade);
+        else if (failedTradesManager.contains(trade)) failedTradesManager.removeTrade(trade);
         else removeTrade(trade);
     }
 
@@ -656,7 +660,7 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
     public void requestPersistence(Trade trade) {
         if (closedTradableManager.getTradableById(trade.getId()).isPresent()) {
             closedTradableManager.persistClosedTrade(trade);
-        } else if (failedTradesManager.getObservableList().contains(trade)) {
+        } else if (failedTradesManager.contains(trade)) {
             failedTradesManager.requestPersistence();
         } else {
             requestPersistence();
@@ -1446,20 +1450,16 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
     }
 
     public Optional<Trade> getOpenTrade(String tradeId) {
-        synchronized (tradableList.getList()) {
-            return tradableList.stream().filter(e -> e.getId().equals(tradeId)).findFirst();
-        }
+        return tradableList.getById(tradeId);
     }
 
     public boolean hasOpenTrade(Trade trade) {
-        synchronized (tradableList.getList()) {
-            return tradableList.contains(trade);
-        }
+        return tradableList.getAllById(trade.getId()).contains(trade);
     }
 
     // checks for the trade instance, since id lookups can match another trade with the same id
     public boolean hasTradeInstance(Trade trade) {
-        return hasOpenTrade(trade) || failedTradesManager.getObservableList().contains(trade);
+        return hasOpenTrade(trade) || failedTradesManager.contains(trade);
     }
 
     public boolean hasFailedScheduledTrade(String offerId) {
@@ -1467,9 +1467,7 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
     }
 
     public Optional<Trade> getOpenTradeByUid(String tradeUid) {
-        synchronized (tradableList.getList()) {
-            return tradableList.stream().filter(e -> e.getUid().equals(tradeUid)).findFirst();
-        }
+        return tradableList.getByUid(tradeUid);
     }
 
     public List<Trade> getAllTrades() {
@@ -1501,6 +1499,23 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
         }
     }
 
+    /**
+     * Returns a page of the open trades ordered by date, see {@link TradableList#getTradesByDate}.
+     */
+    public List<Trade> getOpenTradesByDate(long fromDate, @Nullable String cursor, int limit) {
+        return tradableList.getTradesByDate(fromDate, cursor, limit);
+    }
+
+    // The cursor to continue paging after the given open or closed trade
+    public String getTradeCursor(Trade trade) {
+        return tradableList.getTradeCursor(trade);
+    }
+
+    // The order of the pages of open and closed trades
+    public Comparator<Trade> getTradesByDateComparator() {
+        return tradableList.getTradesByDateComparator();
+    }
+
     public List<Trade> getClosedTrades() {
         return closedTradableManager.getClosedTrades();
     }
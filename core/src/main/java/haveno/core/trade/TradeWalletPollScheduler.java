@@ -0,0 +1,142 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.trade;
+
+import com.google.common.annotations.VisibleForTesting;
+import haveno.common.ThreadUtils;
+import haveno.core.api.XmrConnectionService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared scheduler which updates idling trade wallets on new blocks.
+ *
+ * Subscribes once to the chain height of the connection service instead of
+ * registering a block listener per trade. On each new block, only trades which
+ * expect a wallet state change are queued, highest priority first, and at most
+ * one update per trade is queued or running at a time.
+ */
+@Slf4j
+public class TradeWalletPollScheduler {
+
+    public static final int PRIORITY_DEFAULT = 0;
+    public static final int PRIORITY_HIGH = 1;
+    private static final int MAX_CONCURRENT_UPDATES = 4;
+
+    private final Set<Trade> trades = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingTradeUids = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor executor;
+    private volatile boolean isShutDown;
+
+    public TradeWalletPollScheduler(XmrConnectionService xmrConnectionService) {
+        this(MAX_CONCURRENT_UPDATES);
+        xmrConnectionService.chainHeightProperty().addListener((observable, oldValue, newValue) -> {
+            if (isShutDown) return;
+            ThreadUtils.execute(() -> onNewBlock(newValue.longValue()), getClass().getSimpleName());
+        });
+    }
+
+    @VisibleForTesting
+    TradeWalletPollScheduler(int maxConcurrentUpdates) {
+        executor = new ThreadPoolExecutor(maxConcurrentUpdates, maxConcurrentUpdates, 60, TimeUnit.SECONDS, new PriorityBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, getClass().getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public void register(Trade trade) {
+        trades.add(trade);
+    }
+
+    public void unregister(Trade trade) {
+        trades.remove(trade);
+    }
+
+    public void shutDown() {
+        isShutDown = true;
+        trades.clear();
+        executor.getQueue().clear();
+        executor.shutdown();
+    }
+
+    public int getNumPendingUpdates() {
+        return pendingTradeUids.size();
+    }
+
+    @VisibleForTesting
+    void onNewBlock(long height) {
+        if (isShutDown) return;
+        int numQueued = 0;
+        for (Trade trade : trades) {
+
+            // coalesce with update already queued or running
+            if (pendingTradeUids.contains(trade.getUid())) continue;
+
+            // skip trades with nothing to do
+            try {
+                if (!trade.isIdleWalletUpdateDue()) continue;
+            } catch (Exception e) {
+                log.warn("Error checking idle wallet update for {} {}: {}", trade.getClass().getSimpleName(), trade.getId(), e.getMessage());
+                continue;
+            }
+
+            // queue update
+            if (!pendingTradeUids.add(trade.getUid())) continue;
+            executor.execute(new IdleWalletUpdate(trade, trade.getIdleWalletUpdatePriority(), sequence.getAndIncrement()));
+            numQueued++;
+        }
+        if (numQueued > 0) log.info("Queued {} idle trade wallet updates of {} trades at height {}", numQueued, trades.size(), height);
+    }
+
+    private class IdleWalletUpdate implements Runnable, Comparable<IdleWalletUpdate> {
+
+        private final Trade trade;
+        private final int priority;
+        private final long sequence;
+
+        private IdleWalletUpdate(Trade trade, int priority, long sequence) {
+            this.trade = trade;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (!isShutDown && trades.contains(trade)) trade.updateIdleWallet();
+            } finally {
+                pendingTradeUids.remove(trade.getUid());
+            }
+        }
+
+        @Override
+        public int compareTo(IdleWalletUpdate other) {
+            if (priority != other.priority) return Integer.compare(other.priority, priority);
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -37,7 +37,6 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class FailedTradesManager implements PersistedDataHost {
@@ -90,7 +89,7 @@ public class FailedTradesManager implements PersistedDataHost {
     public void add(Trade trade) {
         synchronized (failedTrades.getList()) {
             // reject a second copy of an already listed trade so the store cannot hold duplicates
-            if (failedTrades.stream().anyMatch(t -> t != trade && t.getUid().equals(trade.getUid()))) {
+            if (failedTrades.getAllByUid(trade.getUid()).stream().anyMatch(t -> t != trade)) {
                 log.warn("Not adding {} {} to failed trades because a copy with the same uid exists", trade.getClass().getSimpleName(), trade.getId());
                 return;
             }
@@ -119,16 +118,16 @@ public class FailedTradesManager implements PersistedDataHost {
     }
 
     public Optional<Trade> getTradeById(String id) {
-        synchronized (failedTrades.getList()) {
-            return failedTrades.stream().filter(e -> e.getId().equals(id)).findFirst();
-        }
+        return failedTrades.getById(id);
     }
 
     // repeated attempts for the same offer can accumulate multiple failed trades with the same id
     public List<Trade> getTradesById(String id) {
-        synchronized (failedTrades.getList()) {
-            return failedTrades.stream().filter(e -> e.getId().equals(id)).collect(Collectors.toList());
-        }
+        return failedTrades.getAllById(id);
+    }
+
+    public boolean contains(Trade trade) {
+        return failedTrades.getAllById(trade.getId()).contains(trade);
     }
 
     public Stream<Trade> getTradesStreamWithFundsLockedIn() {
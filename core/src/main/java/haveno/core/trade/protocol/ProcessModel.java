@@ -297,6 +297,11 @@ public class ProcessModel implements Model, PersistablePayload {
     public void onComplete() {
     }
 
+    @Override
+    public String getTaskModelId() {
+        return offerId;
+    }
+
     @Nullable
     public PaymentAccountPayload getPaymentAccountPayload(String paymentAccountId) {
         PaymentAccount paymentAccount = getUser().getPaymentAccount(paymentAccountId);
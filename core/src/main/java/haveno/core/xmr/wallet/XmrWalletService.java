@@ -28,6 +28,7 @@ import haveno.common.Timer;
 import haveno.common.UserThread;
 import haveno.common.config.Config;
 import haveno.common.file.FileUtil;
+import haveno.common.util.OrderedIndex;
 import haveno.common.util.Utilities;
 import haveno.core.api.AccountServiceListener;
 import haveno.core.api.CoreAccountService;
@@ -73,6 +74,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import javafx.beans.property.LongProperty;
 import javafx.beans.value.ChangeListener;
 import monero.common.MoneroError;
@@ -179,6 +181,7 @@ public class XmrWalletService extends XmrWalletBase {
     private List<MoneroSubaddress> cachedSubaddresses;
     private List<MoneroOutputWallet> cachedOutputs;
     private List<MoneroTxWallet> cachedTxs;
+    private final OrderedIndex<MoneroTxWallet> cachedTxsByHeight = new OrderedIndex<>(tx -> tx.getHeight() == null ? Long.MAX_VALUE : tx.getHeight(), MoneroTxWallet::getHash); // txs in the pool last
     private boolean isInitializingWallet;
     private Long walletRestoreHeight; // tracked in-process because wallet rpc cannot report it
 
@@ -610,6 +613,7 @@ public class XmrWalletService extends XmrWalletBase {
                 MoneroTxWallet tx = wallet.createTx(txConfig);
                 if (Boolean.TRUE.equals(txConfig.getRelay())) {
                     cachedTxs.addFirst(tx);
+                    cachedTxsByHeight.add(tx);
                     cacheWalletInfo();
                     saveWallet();
                 }
@@ -627,7 +631,10 @@ public class XmrWalletService extends XmrWalletBase {
             synchronized (HavenoUtils.getWalletFunctionLock()) {
                 List<MoneroTxWallet> txs = wallet.sweepUnlocked(txConfig);
                 if (Boolean.TRUE.equals(txConfig.getRelay())) {
-                    for (MoneroTxWallet tx : txs) cachedTxs.addFirst(tx);
+                    for (MoneroTxWallet tx : txs) {
+                        cachedTxs.addFirst(tx);
+                        cachedTxsByHeight.add(tx);
+                    }
                     cacheWalletInfo();
                     saveWallet();
                 }
@@ -760,6 +767,11 @@ public class XmrWalletService extends XmrWalletBase {
         }
     }
 
+    private void setCachedTxs(List<MoneroTxWallet> txs) {
+        cachedTxsByHeight.replaceAll(txs);
+        cachedTxs = txs;
+    }
+
     private void cacheNonPoolTxs() {
 
         // get non-pool txs
@@ -771,11 +783,15 @@ public class XmrWalletService extends XmrWalletBase {
             for (int i = 0; i < cachedTxs.size(); i++) {
                 if (cachedTxs.get(i).getHash().equals(nonPoolTx.getHash())) {
                     cachedTxs.set(i, nonPoolTx);
+                    cachedTxsByHeight.add(nonPoolTx);
                     replaced = true;
                     break;
                 }
             }
-            if (!replaced) cachedTxs.add(nonPoolTx);
+            if (!replaced) {
+                cachedTxs.add(nonPoolTx);
+                cachedTxsByHeight.add(nonPoolTx);
+            }
         }
     }
 
@@ -1456,11 +1472,28 @@ public class XmrWalletService extends XmrWalletBase {
     public List<MoneroTxWallet> getTxs(MoneroTxQuery query) {
         if (cachedTxs == null) {
             log.warn("Transactions not cached, fetching from wallet");
-            cachedTxs = wallet.getTxs(new MoneroTxQuery().setIncludeOutputs(true)); // fetches from pool
+            setCachedTxs(wallet.getTxs(new MoneroTxQuery().setIncludeOutputs(true))); // fetches from pool
         }
         return cachedTxs.stream().filter(tx -> query.meetsCriteria(tx)).collect(Collectors.toList());
     }
 
+    /**
+     * Returns a page of the cached transactions ordered by height, transactions in the pool come last.
+     *
+     * @param fromHeight only transactions confirmed at or after this height and transactions in the pool are returned
+     * @param cursor only transactions after the transaction with this cursor are returned, null or empty to start at fromHeight
+     * @param limit max number of transactions to return, 0 for all
+     */
+    public List<MoneroTxWallet> getTxs(long fromHeight, @Nullable String cursor, int limit) {
+        if (cachedTxs == null) getTxs(); // fetches from wallet
+        return cachedTxsByHeight.getPage(fromHeight, cursor, limit);
+    }
+
+    // The cursor to continue paging after the given transaction
+    public String getTxCursor(MoneroTxWallet tx) {
+        return cachedTxsByHeight.getCursor(tx);
+    }
+
     public List<MoneroTxWallet> getTxs(List<String> txIds) {
         return getTxs(new MoneroTxQuery().setIncludeOutputs(true).setHashes(txIds));
     }
@@ -2383,7 +2416,7 @@ public class XmrWalletService extends XmrWalletBase {
                 try {
                     if (lastPollTxsTimestamp == 0) lastPollTxsTimestamp = System.currentTimeMillis(); // set initial timestamp
                     try {
-                        cachedTxs = wallet.getTxs(new MoneroTxQuery().setIncludeOutputs(true));
+                        setCachedTxs(wallet.getTxs(new MoneroTxQuery().setIncludeOutputs(true)));
                         lastPollTxsTimestamp = System.currentTimeMillis();
                     } catch (Exception e) { // fetch from pool can fail
                         if (!isShutDownStarted && wallet == sourceWallet) {
@@ -2536,7 +2569,7 @@ public class XmrWalletService extends XmrWalletBase {
             BigInteger unlockedBalance = wallet.getUnlockedBalance();
             cachedSubaddresses = wallet.getSubaddresses(0);
             cachedOutputs = wallet.getOutputs();
-            if (cachedTxs == null) cachedTxs = wallet.getTxs(new MoneroTxQuery().setIncludeOutputs(true).setInTxPool(false));
+            if (cachedTxs == null) setCachedTxs(wallet.getTxs(new MoneroTxQuery().setIncludeOutputs(true).setInTxPool(false)));
 
             // cache and notify changes
             if (cachedHeight == null) {
@@ -56,9 +56,13 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static haveno.core.payment.payload.PaymentMethod.getPaymentMethod;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -333,6 +337,45 @@ public class AccountAgeWitnessServiceTest {
         assertTrue(signedWitnessService.isSignedAccountAgeWitness(aew2));
     }
 
+    @Test
+    public void testConcurrentWitnessLookups() throws Exception {
+        PubKeyRing pubKeyRing = new KeyRing(new KeyStorage(dir1), null, true).getPubKeyRing();
+        List<PaymentAccountPayload> payloads = new ArrayList<>();
+        List<AccountAgeWitness> witnesses = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            PaymentAccountPayload payload = new SepaAccountPayload(PaymentMethod.SEPA_ID, "concurrent-" + i, CountryUtil.getAllSepaCountries());
+            payloads.add(payload);
+            witnesses.add(service.getNewWitness(payload, pubKeyRing));
+        }
+
+        // writers add the witnesses while readers look them up, more witnesses than fit into the lookup cache
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < witnesses.size(); i += 4) service.addToMap(witnesses.get(i));
+                }));
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < payloads.size(); i++) {
+                        int index = i;
+                        service.findWitness(payloads.get(i), pubKeyRing).ifPresent(witness ->
+                                assertArrayEquals(witnesses.get(index).getHash(), witness.getHash()));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // a witness which was looked up before it was added must be found once added
+        for (int i = 0; i < payloads.size(); i++) {
+            assertArrayEquals(witnesses.get(i).getHash(), service.findWitness(payloads.get(i), pubKeyRing).orElseThrow().getHash());
+        }
+    }
+
     private void signAccountAgeWitness(AccountAgeWitness accountAgeWitness,
                                        PublicKey witnessOwnerPubKey,
                                        long time,
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.api;
+
+import monero.daemon.model.MoneroKeyImageSpentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class XmrKeyImagePollerTest {
+
+    private static final String OFFER_GROUP = "offer";
+    private static final String TRADE_GROUP = "trade";
+
+    @Test
+    public void testConfirmedKeyImagesArePolledOnlyOnHeightChange() {
+        XmrKeyImagePoller poller = new XmrKeyImagePoller();
+        poller.addKeyImages(Arrays.asList("confirmed", "unspent"), OFFER_GROUP);
+
+        // never polled key images are due
+        List<String> batch = poller.getNextKeyImageBatch(100l);
+        assertEquals(new HashSet<>(Arrays.asList("confirmed", "unspent")), new HashSet<>(batch));
+        poller.processSpentStatuses(Arrays.asList("confirmed", "unspent"),
+                Arrays.asList(MoneroKeyImageSpentStatus.CONFIRMED, MoneroKeyImageSpentStatus.NOT_SPENT), 100l);
+
+        // without a new block only unconfirmed key images are polled again for the tx pool
+        assertEquals(Arrays.asList("unspent"), poller.getNextKeyImageBatch(100l));
+
+        // a new block makes every key image due
+        assertEquals(new HashSet<>(Arrays.asList("confirmed", "unspent")), new HashSet<>(poller.getNextKeyImageBatch(101l)));
+    }
+
+    @Test
+    public void testUnconfirmedKeyImagesWaitForTxPoolPeriod() {
+        XmrKeyImagePoller poller = new XmrKeyImagePoller();
+        poller.setRefreshPeriodMs(60000);
+        poller.addKeyImages(Arrays.asList("confirmed", "unspent"), OFFER_GROUP);
+        poller.processSpentStatuses(Arrays.asList("confirmed", "unspent"),
+                Arrays.asList(MoneroKeyImageSpentStatus.CONFIRMED, MoneroKeyImageSpentStatus.NOT_SPENT), 100l);
+
+        // nothing is due at the same height within the tx pool period
+        assertTrue(poller.getNextKeyImageBatch(100l).isEmpty());
+        assertEquals(2, poller.getNextKeyImageBatch(101l).size());
+
+        // without a known height every key image is due
+        assertEquals(2, poller.getNextKeyImageBatch(null).size());
+    }
+
+    @Test
+    public void testTradeKeyImagesArePolledBeforeOfferKeyImages() {
+        XmrKeyImagePoller poller = new XmrKeyImagePoller();
+        poller.setGroupPriority(TRADE_GROUP, XmrKeyImagePoller.PRIORITY_HIGH);
+        List<String> offerKeyImages = new ArrayList<>();
+        for (int i = 0; i < poller.getPollSize(); i++) offerKeyImages.add("offer" + i);
+        poller.addKeyImages(offerKeyImages, OFFER_GROUP);
+        poller.addKeyImages(Arrays.asList("trade0", "trade1"), TRADE_GROUP);
+
+        // trade key images lead a full batch which displaces offer key images
+        List<String> batch = poller.getNextKeyImageBatch(100l);
+        assertEquals(poller.getPollSize(), batch.size());
+        assertEquals(new HashSet<>(Arrays.asList("trade0", "trade1")), new HashSet<>(batch.subList(0, 2)));
+
+        // a key image shared with a trade group takes the highest priority
+        String sharedKeyImage = offerKeyImages.get(offerKeyImages.size() - 1);
+        poller.addKeyImage(sharedKeyImage, TRADE_GROUP);
+        batch = poller.getNextKeyImageBatch(100l);
+        assertEquals(new HashSet<>(Arrays.asList("trade0", "trade1", sharedKeyImage)), new HashSet<>(batch.subList(0, 3)));
+
+        // among offer key images, those never polled come before those polled
+        poller.processSpentStatuses(batch, Collections.nCopies(batch.size(), MoneroKeyImageSpentStatus.NOT_SPENT), 100l);
+        List<String> unpolledKeyImages = new ArrayList<>(offerKeyImages);
+        unpolledKeyImages.removeAll(batch);
+        assertEquals(2, unpolledKeyImages.size());
+        batch = poller.getNextKeyImageBatch(101l);
+        assertEquals(new HashSet<>(Arrays.asList("trade0", "trade1", sharedKeyImage)), new HashSet<>(batch.subList(0, 3)));
+        assertEquals(new HashSet<>(unpolledKeyImages), new HashSet<>(batch.subList(3, 5)));
+    }
+
+    @Test
+    public void testPollSizeAdaptsToLatency() {
+        XmrKeyImagePoller poller = new XmrKeyImagePoller();
+        int initialPollSize = poller.getPollSize();
+
+        // fast full batches grow the poll size
+        poller.updatePollSize(100l, initialPollSize);
+        assertEquals(initialPollSize * 2, poller.getPollSize());
+
+        // fast partial batches do not grow it
+        poller.updatePollSize(100l, initialPollSize);
+        assertEquals(initialPollSize * 2, poller.getPollSize());
+
+        // latency within the target keeps it
+        poller.updatePollSize(1500l, initialPollSize * 2);
+        assertEquals(initialPollSize * 2, poller.getPollSize());
+
+        // slow polls shrink it
+        poller.updatePollSize(5000l, initialPollSize * 2);
+        assertEquals(initialPollSize, poller.getPollSize());
+
+        // failed polls shrink it
+        poller.updatePollSize(null, initialPollSize);
+        assertEquals(initialPollSize / 2, poller.getPollSize());
+    }
+
+    @Test
+    public void testPollSizeIsBounded() {
+        XmrKeyImagePoller poller = new XmrKeyImagePoller();
+        for (int i = 0; i < 20; i++) poller.updatePollSize(100l, poller.getPollSize());
+        int maxPollSize = poller.getPollSize();
+        poller.updatePollSize(100l, maxPollSize);
+        assertEquals(maxPollSize, poller.getPollSize());
+        assertTrue(maxPollSize > 0);
+
+        for (int i = 0; i < 20; i++) poller.updatePollSize(null, poller.getPollSize());
+        int minPollSize = poller.getPollSize();
+        poller.updatePollSize(null, minPollSize);
+        assertEquals(minPollSize, poller.getPollSize());
+        assertTrue(minPollSize > 0 && minPollSize < maxPollSize);
+    }
+}
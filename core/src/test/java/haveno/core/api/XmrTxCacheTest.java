@@ -0,0 +1,202 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.api;
+
+import monero.daemon.model.MoneroTx;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class XmrTxCacheTest {
+
+    /**
+     * Stub daemon which knows a fixed set of txs and records the requested hashes.
+     */
+    private static class StubDaemon {
+        private final Set<String> knownTxHashes;
+        private final List<List<String>> requests = Collections.synchronizedList(new ArrayList<>());
+        private CountDownLatch requestLatch;
+        private volatile RuntimeException error;
+        private volatile Error fatalError;
+
+        private StubDaemon(String... knownTxHashes) {
+            this.knownTxHashes = Arrays.stream(knownTxHashes).collect(Collectors.toSet());
+        }
+
+        private List<MoneroTx> getTxs(List<String> txHashes) {
+            requests.add(txHashes);
+            try {
+                if (requestLatch != null) requestLatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            if (error != null) throw error;
+            if (fatalError != null) throw fatalError;
+            return txHashes.stream()
+                    .filter(knownTxHashes::contains)
+                    .map(txHash -> new MoneroTx().setHash(txHash))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testFetchesOnlyMissingTxs() {
+        StubDaemon daemon = new StubDaemon("a", "b", "c");
+        XmrTxCache cache = new XmrTxCache(daemon::getTxs, 100, () -> 60000);
+
+        assertEquals(Arrays.asList("a"), getHashes(cache.getTxs(Arrays.asList("a"))));
+        assertEquals(Arrays.asList("a", "b", "c"), getHashes(cache.getTxs(Arrays.asList("a", "b", "c"))));
+
+        assertEquals(2, daemon.requests.size());
+        assertEquals(Arrays.asList("b", "c"), daemon.requests.get(1));
+        assertEquals(1, cache.getNumHits());
+        assertEquals(3, cache.getNumMisses());
+    }
+
+    @Test
+    public void testUnknownTxsAreOmitted() {
+        StubDaemon daemon = new StubDaemon("a");
+        XmrTxCache cache = new XmrTxCache(daemon::getTxs, 100, () -> 60000);
+
+        assertEquals(Arrays.asList("a"), getHashes(cache.getTxs(Arrays.asList("x", "a"))));
+
+        // unknown txs are not cached, so they are requested again
+        cache.getTxs(Arrays.asList("x", "a"));
+        assertEquals(Arrays.asList("x"), daemon.requests.get(1));
+    }
+
+    @Test
+    public void testExpiredTxsAreFetchedAgain() {
+        StubDaemon daemon = new StubDaemon("a");
+        XmrTxCache cache = new XmrTxCache(daemon::getTxs, 100, () -> 0);
+
+        cache.getTxs(Arrays.asList("a"));
+        cache.getTxs(Arrays.asList("a"));
+
+        assertEquals(2, daemon.requests.size());
+        assertEquals(0, cache.getNumHits());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTxsAreEvicted() {
+        StubDaemon daemon = new StubDaemon("a", "b", "c");
+        XmrTxCache cache = new XmrTxCache(daemon::getTxs, 2, () -> 60000);
+
+        cache.getTxs(Arrays.asList("a", "b"));
+        cache.getTxs(Arrays.asList("a"));
+        cache.getTxs(Arrays.asList("c"));
+        assertEquals(2, cache.size());
+
+        // b was least recently used
+        cache.getTxs(Arrays.asList("a", "b"));
+        assertEquals(Arrays.asList("b"), daemon.requests.get(daemon.requests.size() - 1));
+    }
+
+    @Test
+    public void testConcurrentRequestsShareFetch() throws Exception {
+        StubDaemon daemon = new StubDaemon("a", "b");
+        daemon.requestLatch = new CountDownLatch(1);
+        XmrTxCache cache = new XmrTxCache(daemon::getTxs, 100, () -> 60000);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<MoneroTx>> first = executor.submit(() -> cache.getTxs(Arrays.asList("a")));
+            waitForRequests(daemon, 1);
+            Future<List<MoneroTx>> second = executor.submit(() -> cache.getTxs(Arrays.asList("a", "b")));
+            waitForRequests(daemon, 2);
+            daemon.requestLatch.countDown();
+
+            assertEquals(Arrays.asList("a"), getHashes(first.get(10, TimeUnit.SECONDS)));
+            assertEquals(Arrays.asList("a", "b"), getHashes(second.get(10, TimeUnit.SECONDS)));
+            assertEquals(Arrays.asList("b"), daemon.requests.get(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFetchErrorIsPropagated() {
+        StubDaemon daemon = new StubDaemon("a");
+        daemon.error = new IllegalStateException("daemon offline");
+        XmrTxCache cache = new XmrTxCache(daemon::getTxs, 100, () -> 60000);
+
+        assertThrows(IllegalStateException.class, () -> cache.getTxs(Arrays.asList("a")));
+
+        // the failed fetch is not left in flight
+        daemon.error = null;
+        assertEquals(Arrays.asList("a"), getHashes(cache.getTxs(Arrays.asList("a"))));
+    }
+
+    @Test
+    public void testFetchErrorCompletesSharedFetch() throws Exception {
+        StubDaemon daemon = new StubDaemon("a");
+        daemon.fatalError = new AssertionError("fetcher failed");
+        daemon.requestLatch = new CountDownLatch(1);
+        XmrTxCache cache = new XmrTxCache(daemon::getTxs, 100, () -> 60000);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<MoneroTx>> first = executor.submit(() -> cache.getTxs(Arrays.asList("a")));
+            waitForRequests(daemon, 1);
+            Future<List<MoneroTx>> second = executor.submit(() -> cache.getTxs(Arrays.asList("a")));
+
+            // the second caller counts its miss while it joins the in-flight fetch under the cache lock
+            waitForMisses(cache, 2);
+            assertEquals(1, daemon.requests.size());
+            daemon.requestLatch.countDown();
+
+            // the caller waiting for the shared fetch gets the error instead of blocking forever
+            ExecutionException firstError = assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+            assertTrue(firstError.getCause() instanceof AssertionError);
+            ExecutionException secondError = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+            assertTrue(secondError.getCause() instanceof AssertionError);
+            assertEquals(1, daemon.requests.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void waitForRequests(StubDaemon daemon, int numRequests) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (daemon.requests.size() < numRequests && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertTrue(daemon.requests.size() >= numRequests);
+    }
+
+    private static void waitForMisses(XmrTxCache cache, int numMisses) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (cache.getNumMisses() < numMisses && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertEquals(numMisses, cache.getNumMisses());
+    }
+
+    private static List<String> getHashes(List<MoneroTx> txs) {
+        return txs.stream().map(MoneroTx::getHash).collect(Collectors.toList());
+    }
+}
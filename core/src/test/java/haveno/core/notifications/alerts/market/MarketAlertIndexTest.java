@@ -0,0 +1,84 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.notifications.alerts.market;
+
+import haveno.core.offer.OfferDirection;
+import haveno.core.payment.PaymentAccount;
+import haveno.core.payment.payload.PaymentMethod;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MarketAlertIndexTest {
+
+    @Test
+    public void testOnlyTriggeredFiltersAreReturned() {
+        MarketAlertFilter buySepa100 = filter(PaymentMethod.SEPA_ID, 100, true);
+        MarketAlertFilter buySepa200 = filter(PaymentMethod.SEPA_ID, 200, true);
+        MarketAlertFilter buySepaMinus50 = filter(PaymentMethod.SEPA_ID, -50, true);
+        MarketAlertFilter sellSepa100 = filter(PaymentMethod.SEPA_ID, 100, false);
+        MarketAlertFilter buyZelle100 = filter(PaymentMethod.ZELLE_ID, 100, true);
+        MarketAlertIndex index = new MarketAlertIndex(List.of(buySepa100, buySepa200, buySepaMinus50, sellSepa100, buyZelle100));
+        assertEquals(5, index.size());
+
+        assertEquals(Set.of(buySepa100, buySepa200, buySepaMinus50), toSet(index.getTriggeredFilters(PaymentMethod.SEPA_ID, OfferDirection.BUY, -50)));
+        assertEquals(Set.of(buySepa100, buySepa200), toSet(index.getTriggeredFilters(PaymentMethod.SEPA_ID, OfferDirection.BUY, 99.5)));
+        assertEquals(Set.of(buySepa200), toSet(index.getTriggeredFilters(PaymentMethod.SEPA_ID, OfferDirection.BUY, 100.5)));
+        assertEquals(Set.of(sellSepa100), toSet(index.getTriggeredFilters(PaymentMethod.SEPA_ID, OfferDirection.SELL, 0)));
+        assertTrue(index.getTriggeredFilters(PaymentMethod.SEPA_ID, OfferDirection.BUY, 201).isEmpty());
+        assertTrue(index.getTriggeredFilters(PaymentMethod.SEPA_ID, OfferDirection.BUY, Double.NaN).isEmpty());
+        assertEquals(3, index.getTriggeredFilters(PaymentMethod.SEPA_ID, OfferDirection.BUY, Double.NEGATIVE_INFINITY).size());
+        assertTrue(index.getTriggeredFilters(PaymentMethod.REVOLUT_ID, OfferDirection.BUY, 0).isEmpty());
+    }
+
+    @Test
+    public void testRemoveByIdentity() {
+        MarketAlertFilter filter = filter(PaymentMethod.SEPA_ID, 100, true);
+        MarketAlertFilter equalFilter = new MarketAlertFilter(filter.getPaymentAccount(), 100, true);
+        MarketAlertIndex index = new MarketAlertIndex(List.of(filter, equalFilter));
+
+        // the alert ids of the filter change after it was indexed
+        filter.addAlertId("offer|100");
+        index.remove(filter);
+        assertEquals(1, index.size());
+        List<MarketAlertFilter> filters = index.getTriggeredFilters(PaymentMethod.SEPA_ID, OfferDirection.BUY, 0);
+        assertEquals(1, filters.size());
+        assertTrue(filters.get(0) == equalFilter);
+
+        index.remove(filter);
+        index.remove(equalFilter);
+        assertEquals(0, index.size());
+        assertTrue(index.getTriggeredFilters(PaymentMethod.SEPA_ID, OfferDirection.BUY, 0).isEmpty());
+    }
+
+    private static MarketAlertFilter filter(String paymentMethodId, int triggerValue, boolean isBuyOffer) {
+        PaymentAccount paymentAccount = mock(PaymentAccount.class);
+        when(paymentAccount.getPaymentMethod()).thenReturn(PaymentMethod.getDummyPaymentMethod(paymentMethodId));
+        return new MarketAlertFilter(paymentAccount, triggerValue, isBuyOffer);
+    }
+
+    private static Set<MarketAlertFilter> toSet(List<MarketAlertFilter> filters) {
+        return filters.stream().collect(Collectors.toSet());
+    }
+}
@@ -17,9 +17,15 @@
 
 package haveno.core.offer;
 
+import haveno.core.monetary.Price;
+import haveno.core.provider.price.MarketPrice;
+import haveno.core.provider.price.PriceFeedService;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -45,4 +51,31 @@ public class OfferTest {
         Offer offer = new Offer(payload);
         assertTrue(offer.isRange());
     }
+
+    @Test
+    public void testMarketBasedPriceIsComputedOncePerMarketPrice() {
+        OfferPayload payload = mock(OfferPayload.class);
+        when(payload.getBaseCurrencyCode()).thenReturn("XMR");
+        when(payload.getCounterCurrencyCode()).thenReturn("USD");
+        when(payload.isUseMarketBasedPrice()).thenReturn(true);
+        when(payload.getMarketPriceMarginPct()).thenReturn(0.01);
+        when(payload.getDirection()).thenReturn(OfferDirection.SELL);
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        Offer offer = new Offer(payload);
+        offer.setPriceFeedService(priceFeedService);
+
+        when(priceFeedService.getMarketPrice("USD")).thenReturn(new MarketPrice("USD", 200, System.currentTimeMillis(), true));
+        Price price = offer.getPrice();
+        assertEquals(20_200_000_000L, price.getValue());
+        assertSame(price, offer.getPrice());
+
+        // an updated market price is a new instance
+        when(priceFeedService.getMarketPrice("USD")).thenReturn(new MarketPrice("USD", 300, System.currentTimeMillis(), true));
+        assertEquals(30_300_000_000L, offer.getPrice().getValue());
+
+        // an outdated market price is not used
+        MarketPrice outdatedMarketPrice = new MarketPrice("USD", 300, System.currentTimeMillis() - MarketPrice.MARKET_PRICE_MAX_AGE_MS - 1000, true);
+        when(priceFeedService.getMarketPrice("USD")).thenReturn(outdatedMarketPrice);
+        assertNull(offer.getPrice());
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.offer;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TriggerPriceIndexTest {
+
+    @Test
+    public void testOnlyCrossedTriggerPricesAreReturned() {
+        TriggerPriceIndex index = new TriggerPriceIndex();
+        OpenOffer sell100 = openOffer("sell100", OfferDirection.SELL, 100);
+        OpenOffer sell200 = openOffer("sell200", OfferDirection.SELL, 200);
+        OpenOffer buy300 = openOffer("buy300", OfferDirection.BUY, 300);
+        OpenOffer buy400 = openOffer("buy400", OfferDirection.BUY, 400);
+        OpenOffer noTrigger = openOffer("noTrigger", OfferDirection.SELL, 0);
+        List.of(sell100, sell200, buy300, buy400, noTrigger).forEach(index::update);
+        assertEquals(4, index.size());
+
+        assertEquals(Set.of(), ids(index.getOpenOffersToUpdate("USD", 250)));
+        assertEquals(Set.of("sell200"), ids(index.getOpenOffersToUpdate("USD", 150)));
+        assertEquals(Set.of("sell100", "sell200"), ids(index.getOpenOffersToUpdate("USD", 50)));
+        assertEquals(Set.of("buy300", "buy400"), ids(index.getOpenOffersToUpdate("USD", 500)));
+        assertEquals(Set.of(), ids(index.getOpenOffersToUpdate("EUR", 50)));
+    }
+
+    @Test
+    public void testDeactivatedByTriggerOffersAreReturnedOnceBackInRange() {
+        TriggerPriceIndex index = new TriggerPriceIndex();
+        OpenOffer sell200 = openOffer("sell200", OfferDirection.SELL, 200);
+        OpenOffer buy300 = openOffer("buy300", OfferDirection.BUY, 300);
+        index.update(sell200);
+        index.update(buy300);
+
+        setState(sell200, OpenOffer.State.DEACTIVATED, true);
+        index.update(sell200);
+        assertEquals(Set.of(), ids(index.getOpenOffersToUpdate("USD", 150)));
+        assertEquals(Set.of("sell200"), ids(index.getOpenOffersToUpdate("USD", 200)));
+
+        // deactivated by the user, so the market price does not reactivate it
+        setState(buy300, OpenOffer.State.DEACTIVATED, false);
+        index.update(buy300);
+        assertEquals(Set.of("sell200"), ids(index.getOpenOffersToUpdate("USD", 250)));
+        assertEquals(1, index.size());
+
+        setState(sell200, OpenOffer.State.AVAILABLE, false);
+        index.update(sell200);
+        assertEquals(Set.of(), ids(index.getOpenOffersToUpdate("USD", 250)));
+        assertEquals(List.of("USD"), index.getCurrencyCodes());
+    }
+
+    @Test
+    public void testEditedOpenOfferIsIndexedApartFromOriginal() {
+        TriggerPriceIndex index = new TriggerPriceIndex();
+        OpenOffer original = openOffer("offer", OfferDirection.SELL, 200);
+        OpenOffer edited = openOffer("offer", OfferDirection.SELL, 200);
+        index.update(original);
+        index.update(edited);
+        assertEquals(2, index.size());
+
+        setState(original, OpenOffer.State.CANCELED, false);
+        index.update(original);
+        List<OpenOffer> openOffers = index.getOpenOffersToUpdate("USD", 100);
+        assertEquals(1, openOffers.size());
+        assertTrue(openOffers.get(0) == edited);
+
+        index.remove(original);
+        index.remove(edited);
+        assertEquals(0, index.size());
+        assertTrue(index.getCurrencyCodes().isEmpty());
+    }
+
+    private static OpenOffer openOffer(String id, OfferDirection direction, long triggerPrice) {
+        Offer offer = mock(Offer.class);
+        when(offer.getId()).thenReturn(id);
+        when(offer.getCounterCurrencyCode()).thenReturn("USD");
+        when(offer.getDirection()).thenReturn(direction);
+        OpenOffer openOffer = mock(OpenOffer.class);
+        when(openOffer.getOffer()).thenReturn(offer);
+        when(openOffer.getTriggerPrice()).thenReturn(triggerPrice);
+        setState(openOffer, OpenOffer.State.AVAILABLE, false);
+        return openOffer;
+    }
+
+    private static void setState(OpenOffer openOffer, OpenOffer.State state, boolean deactivatedByTrigger) {
+        when(openOffer.getState()).thenReturn(state);
+        when(openOffer.isDeactivatedByTrigger()).thenReturn(deactivatedByTrigger);
+    }
+
+    private static Set<String> ids(List<OpenOffer> openOffers) {
+        return openOffers.stream().map(openOffer -> openOffer.getOffer().getId()).collect(Collectors.toSet());
+    }
+}
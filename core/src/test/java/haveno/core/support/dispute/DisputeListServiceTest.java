@@ -0,0 +1,69 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.support.dispute;
+
+import haveno.common.persistence.PersistenceManager;
+import haveno.core.support.dispute.arbitration.ArbitrationDisputeList;
+import haveno.core.support.dispute.arbitration.ArbitrationDisputeListService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DisputeListServiceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDisputeLookupsFollowListChanges() {
+        ArbitrationDisputeListService disputeListService = new ArbitrationDisputeListService(mock(PersistenceManager.class));
+        ArbitrationDisputeList disputeList = disputeListService.getDisputeList();
+        Dispute buyerDispute = mockDispute("trade1", 0);
+        Dispute sellerDispute = mockDispute("trade1", 1);
+        Dispute otherDispute = mockDispute("trade2", 0);
+        disputeList.add(buyerDispute);
+        disputeList.add(sellerDispute);
+        disputeList.add(otherDispute);
+
+        assertEquals(List.of(buyerDispute, sellerDispute), disputeListService.getDisputesByTradeId("trade1"));
+        assertEquals(Optional.of(sellerDispute), disputeListService.getDispute("trade1", 1));
+        assertEquals(Optional.of(otherDispute), disputeListService.getDisputeById("trade2_0"));
+        assertTrue(disputeListService.getDispute("trade2", 1).isEmpty());
+
+        disputeList.remove(buyerDispute);
+        assertTrue(disputeListService.getDispute("trade1", 0).isEmpty());
+        assertTrue(disputeListService.getDisputeById("trade1_0").isEmpty());
+
+        // persisted disputes are applied with setAll
+        disputeList.setAll(List.of(buyerDispute));
+        assertEquals(List.of(buyerDispute), disputeListService.getDisputesByTradeId("trade1"));
+        assertTrue(disputeListService.getDisputesByTradeId("trade2").isEmpty());
+    }
+
+    private static Dispute mockDispute(String tradeId, int traderId) {
+        Dispute dispute = mock(Dispute.class);
+        when(dispute.getTradeId()).thenReturn(tradeId);
+        when(dispute.getTraderId()).thenReturn(traderId);
+        when(dispute.getId()).thenReturn(tradeId + "_" + traderId);
+        return dispute;
+    }
+}
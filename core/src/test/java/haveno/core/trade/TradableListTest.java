@@ -22,9 +22,14 @@ import haveno.core.offer.OfferPayload;
 import haveno.core.offer.OpenOffer;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static protobuf.PersistableEnvelope.MessageCase.TRADABLE_LIST;
 
 public class TradableListTest {
@@ -44,4 +49,40 @@ public class TradableListTest {
         assertEquals(message.getMessageCase(), TRADABLE_LIST);
         assertEquals(1, message.getTradableList().getTradableList().size());
     }
+
+    @Test
+    public void testIndexesFollowListChanges() {
+        Trade trade1 = mockTrade("offer1", "uid1");
+        Trade trade2 = mockTrade("offer1", "uid2");
+        Trade trade3 = mockTrade("offer2", "uid3");
+        TradableList<Trade> tradableList = new TradableList<>();
+        tradableList.add(trade1);
+        tradableList.add(trade2);
+        tradableList.add(trade3);
+
+        assertEquals(Optional.of(trade1), tradableList.getById("offer1"));
+        assertEquals(List.of(trade1, trade2), tradableList.getAllById("offer1"));
+        assertEquals(Optional.of(trade2), tradableList.getByUid("uid2"));
+        assertTrue(tradableList.getById("unknown").isEmpty());
+        assertTrue(tradableList.getById(null).isEmpty());
+
+        tradableList.remove(trade1);
+        assertEquals(Optional.of(trade2), tradableList.getById("offer1"));
+        assertTrue(tradableList.getByUid("uid1").isEmpty());
+
+        // changes made on the observable list directly are indexed as well
+        tradableList.getObservableList().add(trade1);
+        assertEquals(List.of(trade2, trade1), tradableList.getAllById("offer1"));
+
+        tradableList.setAll(List.of(trade3));
+        assertTrue(tradableList.getById("offer1").isEmpty());
+        assertEquals(Optional.of(trade3), tradableList.getByUid("uid3"));
+    }
+
+    private static Trade mockTrade(String id, String uid) {
+        Trade trade = mock(Trade.class);
+        when(trade.getId()).thenReturn(id);
+        when(trade.getUid()).thenReturn(uid);
+        return trade;
+    }
 }
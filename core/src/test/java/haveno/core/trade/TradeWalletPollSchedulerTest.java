@@ -0,0 +1,140 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.core.trade;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TradeWalletPollSchedulerTest {
+
+    private TradeWalletPollScheduler scheduler;
+    private List<String> updatedTradeIds;
+
+    @BeforeEach
+    public void setUp() {
+        scheduler = new TradeWalletPollScheduler(1);
+        updatedTradeIds = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutDown();
+    }
+
+    @Test
+    public void testSkipsTradesWithNothingToDo() throws InterruptedException {
+        CountDownLatch updated = new CountDownLatch(1);
+        Trade dueTrade = mockTrade("due", true, TradeWalletPollScheduler.PRIORITY_DEFAULT, null, updated);
+        Trade idleTrade = mockTrade("idle", false, TradeWalletPollScheduler.PRIORITY_DEFAULT, null, null);
+        scheduler.register(dueTrade);
+        scheduler.register(idleTrade);
+
+        scheduler.onNewBlock(100);
+        assertTrue(updated.await(5, TimeUnit.SECONDS));
+        verify(idleTrade, never()).updateIdleWallet();
+        assertEquals(Arrays.asList("due"), updatedTradeIds);
+    }
+
+    @Test
+    public void testUpdatesHighPriorityTradesFirst() throws InterruptedException {
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(4);
+
+        // occupy the single worker so following updates queue up
+        Trade blocker = mockTrade("blocker", true, TradeWalletPollScheduler.PRIORITY_DEFAULT, () -> {
+            blockerStarted.countDown();
+            awaitQuietly(releaseBlocker);
+        }, updated);
+        scheduler.register(blocker);
+        scheduler.onNewBlock(100);
+        assertTrue(blockerStarted.await(5, TimeUnit.SECONDS));
+
+        scheduler.unregister(blocker);
+        scheduler.register(mockTrade("default1", true, TradeWalletPollScheduler.PRIORITY_DEFAULT, null, updated));
+        scheduler.register(mockTrade("high", true, TradeWalletPollScheduler.PRIORITY_HIGH, null, updated));
+        scheduler.register(mockTrade("default2", true, TradeWalletPollScheduler.PRIORITY_DEFAULT, null, updated));
+        scheduler.onNewBlock(101);
+        releaseBlocker.countDown();
+
+        assertTrue(updated.await(5, TimeUnit.SECONDS));
+        assertEquals("blocker", updatedTradeIds.get(0));
+        assertEquals("high", updatedTradeIds.get(1));
+    }
+
+    @Test
+    public void testCoalescesPendingUpdates() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        Trade trade = mockTrade("slow", true, TradeWalletPollScheduler.PRIORITY_DEFAULT, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        }, updated);
+        scheduler.register(trade);
+
+        // blocks arriving while the update is running are coalesced
+        scheduler.onNewBlock(100);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        scheduler.onNewBlock(101);
+        scheduler.onNewBlock(102);
+        assertEquals(1, scheduler.getNumPendingUpdates());
+        release.countDown();
+        assertTrue(updated.await(5, TimeUnit.SECONDS));
+        verify(trade, times(1)).updateIdleWallet();
+    }
+
+    private Trade mockTrade(String id, boolean isUpdateDue, int priority, Runnable onUpdate, CountDownLatch updated) {
+        Trade trade = mock(Trade.class);
+        when(trade.getId()).thenReturn(id);
+        when(trade.getUid()).thenReturn(id);
+        when(trade.isIdleWalletUpdateDue()).thenReturn(isUpdateDue);
+        when(trade.getIdleWalletUpdatePriority()).thenReturn(priority);
+        doAnswer(invocation -> {
+            if (onUpdate != null) onUpdate.run();
+            updatedTradeIds.add(id);
+            if (updated != null) updated.countDown();
+            return null;
+        }).when(trade).updateIdleWallet();
+        return trade;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
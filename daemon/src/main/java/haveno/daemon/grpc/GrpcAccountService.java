@@ -21,6 +21,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import com.google.protobuf.ByteString;
 
+import haveno.common.ThreadUtils;
 import haveno.common.UserThread;
 import haveno.common.crypto.IncorrectPasswordException;
 import haveno.core.api.CoreApi;
@@ -58,9 +59,11 @@ import haveno.proto.grpc.OpenAccountRequest;
 import haveno.proto.grpc.RestoreAccountReply;
 import haveno.proto.grpc.RestoreAccountRequest;
 import io.grpc.ServerInterceptor;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Optional;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -70,6 +73,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class GrpcAccountService extends AccountImplBase {
 
+    private static final String BACKUP_ACCOUNT_THREAD_ID = "GrpcAccountService.backupAccount";
+
     private final CoreApi coreApi;
     private final GrpcExceptionHandler exceptionHandler;
 
@@ -189,33 +194,65 @@ public class GrpcAccountService extends AccountImplBase {
 
         // Send in large chunks to reduce unnecessary overhead. Typical backup will not be more than a few MB.
         // From current testing it appears that client gRPC-web is slow in processing the bytes on download.
+        // Chunks are only sent when the client is ready for them, so a slow client does not make us
+        // buffer the whole backup in memory.
+        ServerCallStreamObserver<BackupAccountReply> serverObserver = (ServerCallStreamObserver<BackupAccountReply>) responseObserver;
+        Object readyLock = new Object();
+        serverObserver.setOnReadyHandler(() -> {
+            synchronized (readyLock) {
+                readyLock.notifyAll();
+            }
+        });
+        serverObserver.setOnCancelHandler(() -> {
+            synchronized (readyLock) {
+                readyLock.notifyAll();
+            }
+        });
         try {
             int bufferSize = 1024 * 1024 * 8;
-            coreApi.backupAccount(bufferSize, (stream) -> {
-                try {
-                    log.info("Sending bytes in chunks of: " + bufferSize);
-                    byte[] buffer = new byte[bufferSize];
-                    int length;
-                    int total = 0;
-                    while ((length = stream.read(buffer, 0, bufferSize)) != -1) {
-                        total += length;
-                        var reply = BackupAccountReply.newBuilder()
-                                .setZipBytes(ByteString.copyFrom(buffer, 0, length))
-                                .build();
-                        responseObserver.onNext(reply);
-                    }
-                    log.info("Completed backup account total sent: " + total);
-                    stream.close();
-                    responseObserver.onCompleted();
-                } catch (Exception ex) {
-                    exceptionHandler.handleException(log, ex, responseObserver);
-                }
-            }, (ex) -> exceptionHandler.handleException(log, ex, responseObserver));
+            // the stream is handed over on the user thread, which must not wait for the client to be ready
+            coreApi.backupAccount(bufferSize, req.getKnownFileHashesMap(),
+                    (stream) -> ThreadUtils.execute(() -> sendBackup(stream, bufferSize, serverObserver, readyLock), BACKUP_ACCOUNT_THREAD_ID),
+                    (ex) -> exceptionHandler.handleException(log, ex, responseObserver));
         } catch (Throwable cause) {
             exceptionHandler.handleException(log, cause, responseObserver);
         }
     }
 
+    private void sendBackup(InputStream stream, int bufferSize, ServerCallStreamObserver<BackupAccountReply> serverObserver, Object readyLock) {
+        try {
+            log.info("Sending bytes in chunks of: " + bufferSize);
+            byte[] buffer = new byte[bufferSize];
+            int length;
+            long total = 0;
+            while ((length = stream.readNBytes(buffer, 0, bufferSize)) > 0) {
+                awaitReady(serverObserver, readyLock);
+                if (serverObserver.isCancelled()) {
+                    log.info("Backup account cancelled by client after sending " + total + " bytes");
+                    stream.close();
+                    return;
+                }
+                total += length;
+                var reply = BackupAccountReply.newBuilder()
+                        .setZipBytes(ByteString.copyFrom(buffer, 0, length))
+                        .build();
+                serverObserver.onNext(reply);
+            }
+            log.info("Completed backup account total sent: " + total);
+            stream.close();
+            serverObserver.onCompleted();
+        } catch (Exception ex) {
+            exceptionHandler.handleException(log, ex, serverObserver);
+        }
+    }
+
+    private static void awaitReady(ServerCallStreamObserver<?> serverObserver, Object readyLock) throws InterruptedException {
+        synchronized (readyLock) {
+            // the timeout guards against a missed ready notification
+            while (!serverObserver.isReady() && !serverObserver.isCancelled()) readyLock.wait(1000);
+        }
+    }
+
     @Override
     public void restoreAccount(RestoreAccountRequest req, StreamObserver<RestoreAccountReply> responseObserver) {
         try {
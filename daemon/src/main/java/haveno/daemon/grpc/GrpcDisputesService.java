@@ -94,12 +94,32 @@ public class GrpcDisputesService extends DisputesImplBase {
         UserThread.execute(() -> {
             ThreadUtils.submitToPool(() -> {
                 try {
-                    var disputes = coreApi.getDisputes();
-                    var disputesProtobuf = disputes.stream()
+                    Boolean isClosed;
+                    switch (req.getCategory()) {
+                        case OPEN:
+                            isClosed = false;
+                            break;
+                        case CLOSED:
+                            isClosed = true;
+                            break;
+                        default:
+                            isClosed = null;
+                    }
+                    // only the requested page is serialized, offset and limit are unsigned
+                    long offset = Integer.toUnsignedLong(req.getOffset());
+                    long limit = Integer.toUnsignedLong(req.getLimit());
+
+                    // default requests keep the order of the dispute list
+                    boolean isDefaultRequest = isClosed == null && req.getSinceDate() == 0 && offset == 0 && limit == 0;
+                    var disputes = isDefaultRequest ? coreApi.getDisputes() : coreApi.getDisputes(isClosed, req.getSinceDate());
+                    int from = (int) Math.min(offset, disputes.size());
+                    int to = limit > 0 ? (int) Math.min(disputes.size(), from + limit) : disputes.size();
+                    var disputesProtobuf = disputes.subList(from, to).stream()
                             .map(d -> d.toProtoMessage())
                             .collect(Collectors.toList());
                     var reply = GetDisputesReply.newBuilder()
                             .addAllDisputes(disputesProtobuf)
+                            .setTotalCount(disputes.size())
                             .build();
                     responseObserver.onNext(reply);
                     responseObserver.onCompleted();
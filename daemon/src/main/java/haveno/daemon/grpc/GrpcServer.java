@@ -21,6 +21,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import haveno.common.config.Config;
 import haveno.core.api.CoreContext;
+import haveno.daemon.grpc.interceptor.MetricsInterceptor;
 import haveno.daemon.grpc.interceptor.PasswordAuthInterceptor;
 import static io.grpc.ServerInterceptors.interceptForward;
 import java.io.IOException;
@@ -61,6 +62,7 @@ public class GrpcServer {
         this.server = ServerBuilder.forPort(config.apiPort)
                 .addService(shutdownService)
                 .intercept(passwordAuthInterceptor)
+                .intercept(new MetricsInterceptor())
                 .addService(interceptForward(accountService, config.disableRateLimits ? interceptors() : accountService.interceptors()))
                 .addService(interceptForward(disputeAgentsService, config.disableRateLimits ? interceptors() : disputeAgentsService.interceptors()))
                 .addService(interceptForward(disputesService, config.disableRateLimits ? interceptors() : disputesService.interceptors()))
@@ -72,7 +72,6 @@ import static haveno.proto.grpc.TradesGrpc.getWithdrawFundsMethod;
 import io.grpc.ServerInterceptor;
 import io.grpc.stub.StreamObserver;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Optional;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -115,13 +114,16 @@ class GrpcTradesService extends TradesImplBase {
     public void getTrades(GetTradesRequest req,
                          StreamObserver<GetTradesReply> responseObserver) {
         try {
-            List<TradeInfo> trades = coreApi.getTrades()
-                    .stream().map(TradeInfo::toTradeInfo)
-                    .collect(Collectors.toList());
+            // we fetch one more trade than requested to know if there is a next page, the limit is unsigned
+            int limit = (int) Math.min(Integer.toUnsignedLong(req.getLimit()), Integer.MAX_VALUE - 1);
+            var trades = coreApi.getTrades(req.getSinceDate(), req.getCursor(), limit > 0 ? limit + 1 : 0);
+            boolean hasMore = limit > 0 && trades.size() > limit;
+            if (hasMore) trades = trades.subList(0, limit);
             var reply = GetTradesReply.newBuilder()
                     .addAllTrades(trades.stream()
-                            .map(TradeInfo::toProtoMessage)
+                            .map(trade -> toTradeInfo(trade, req.getSummary()).toProtoMessage())
                             .collect(Collectors.toList()))
+                    .setNextCursor(hasMore ? coreApi.getTradeCursor(trades.get(limit - 1)) : "")
                     .build();
             responseObserver.onNext(reply);
             responseObserver.onCompleted();
@@ -211,12 +213,17 @@ class GrpcTradesService extends TradesImplBase {
     public void getChatMessages(GetChatMessagesRequest req,
                                 StreamObserver<GetChatMessagesReply> responseObserver) {
         try {
-            var tradeChats = coreApi.getChatMessages(req.getTradeId())
-                    .stream()
+            // we fetch one more message than requested to know if there is a next page, the limit is unsigned
+            int limit = (int) Math.min(Integer.toUnsignedLong(req.getLimit()), Integer.MAX_VALUE - 1);
+            var chatMessages = coreApi.getChatMessages(req.getTradeId(), req.getAfterUid(), limit > 0 ? limit + 1 : 0);
+            boolean hasMore = limit > 0 && chatMessages.size() > limit;
+            if (hasMore) chatMessages = chatMessages.subList(0, limit);
+            var tradeChats = chatMessages.stream()
                     .map(msg -> msg.toProtoNetworkEnvelope().getChatMessage())
                     .collect(Collectors.toList());
             var reply = GetChatMessagesReply.newBuilder()
                     .addAllMessage(tradeChats)
+                    .setNextAfterUid(hasMore ? chatMessages.get(limit - 1).getUid() : "")
                     .build();
             responseObserver.onNext(reply);
             responseObserver.onCompleted();
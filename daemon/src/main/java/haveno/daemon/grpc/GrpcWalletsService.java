@@ -167,11 +167,16 @@ class GrpcWalletsService extends WalletsImplBase {
     @Override
     public void getXmrTxs(GetXmrTxsRequest req, StreamObserver<GetXmrTxsReply> responseObserver) {
         try {
-            List<MoneroTxWallet> xmrTxs = coreApi.getXmrTxs();
+            // we fetch one more tx than requested to know if there is a next page, the limit is unsigned
+            int limit = (int) Math.min(Integer.toUnsignedLong(req.getLimit()), Integer.MAX_VALUE - 1);
+            List<MoneroTxWallet> xmrTxs = coreApi.getXmrTxs(req.getSinceHeight(), req.getCursor(), limit > 0 ? limit + 1 : 0);
+            boolean hasMore = limit > 0 && xmrTxs.size() > limit;
+            if (hasMore) xmrTxs = xmrTxs.subList(0, limit);
             var reply = GetXmrTxsReply.newBuilder()
                     .addAllTxs(xmrTxs.stream()
-                            .map(s -> toXmrTx(s).toProtoMessage())
+                            .map(s -> toXmrTx(s, req.getSummary()).toProtoMessage())
                             .collect(Collectors.toList()))
+                    .setNextCursor(hasMore ? coreApi.getXmrTxCursor(xmrTxs.get(limit - 1)) : "")
                     .build();
             responseObserver.onNext(reply);
             responseObserver.onCompleted();
@@ -0,0 +1,51 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.daemon.grpc.interceptor;
+
+import haveno.common.metrics.MetricsRegistry;
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+/**
+ * Records the duration and status code of each rpc call, per method.
+ */
+public class MetricsInterceptor implements ServerInterceptor {
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> serverCall,
+                                                                 Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> serverCallHandler) {
+        String method = serverCall.getMethodDescriptor().getFullMethodName();
+        long startNanos = System.nanoTime();
+        return serverCallHandler.startCall(new SimpleForwardingServerCall<>(serverCall) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                MetricsRegistry registry = MetricsRegistry.getInstance();
+                registry.histogram("haveno_grpc_call_duration_ms", "Duration of rpc calls", "method", method)
+                        .observe((System.nanoTime() - startNanos) / 1_000_000d);
+                registry.counter("haveno_grpc_calls_total", "Number of rpc calls by status", "method", method, "status", status.getCode().name())
+                        .increment();
+                super.close(status, trailers);
+            }
+        }, headers);
+    }
+}
@@ -121,6 +121,7 @@ public class OfferBookChartView extends ActivatableViewAndModel<VBox, OfferBookC
     private Label sellHeaderLabel, buyHeaderLabel;
     private ChangeListener<OfferListItem> sellTableRowSelectionListener, buyTableRowSelectionListener;
     private ListChangeListener<OfferBookListItem> changeListener;
+    private boolean chartUpdateScheduled;
     private ListChangeListener<CurrencyListItem> currencyListItemsListener;
     private final double dataLimitFactor = 3;
     private final double initialOfferTableViewHeight = 83; // decrease as MainView's content-pane's top anchor increases
@@ -308,7 +309,15 @@ public class OfferBookChartView extends ActivatableViewAndModel<VBox, OfferBookC
     }
 
     private void createListener() {
-        changeListener = c -> UserThread.execute(() -> updateChartData());
+        // the removals and additions of an offer book change set are drawn at once
+        changeListener = c -> {
+            if (chartUpdateScheduled) return;
+            chartUpdateScheduled = true;
+            UserThread.execute(() -> {
+                chartUpdateScheduled = false;
+                updateChartData();
+            });
+        };
 
         currencyListItemsListener = c -> {
             if (model.getSelectedCurrencyListItem().isPresent())
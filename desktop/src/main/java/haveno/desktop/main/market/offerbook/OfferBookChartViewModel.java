@@ -125,15 +125,22 @@ class OfferBookChartViewModel extends ActivatableViewModel {
 
         offerBookListItems = offerBook.getOfferBookListItems();
         offerBookListItemsListener = c -> {
-            c.next();
-            if (c.wasAdded() || c.wasRemoved()) {
-                ArrayList<OfferBookListItem> list = new ArrayList<>(c.getRemoved());
-                list.addAll(c.getAddedSubList());
-                if (list.stream()
-                        .map(OfferBookListItem::getOffer)
-                        .anyMatch(e -> e.getCounterCurrencyCode().equals(selectedTradeCurrencyProperty.get().getCode())))
-                    updateChartData();
+            // only the sides of the chart with changed offers of the selected currency are rebuilt
+            boolean updateBuy = false;
+            boolean updateSell = false;
+            while (c.next()) {
+                if (c.wasAdded() || c.wasRemoved()) {
+                    ArrayList<OfferBookListItem> list = new ArrayList<>(c.getRemoved());
+                    list.addAll(c.getAddedSubList());
+                    for (OfferBookListItem item : list) {
+                        Offer offer = item.getOffer();
+                        if (!offer.getCounterCurrencyCode().equals(selectedTradeCurrencyProperty.get().getCode())) continue;
+                        if (offer.getDirection() == OfferDirection.BUY) updateBuy = true;
+                        else updateSell = true;
+                    }
+                }
             }
+            if (updateBuy || updateSell) updateChartData(updateBuy, updateSell);
 
             fillTradeCurrencies();
         };
@@ -353,6 +360,10 @@ class OfferBookChartViewModel extends ActivatableViewModel {
     }
 
     void updateChartData() {
+        updateChartData(true, true);
+    }
+
+    private void updateChartData(boolean updateBuy, boolean updateSell) {
 
         // Offer price can be null (if price feed unavailable), thus a null-tolerant comparator is used.
         Comparator<Offer> offerPriceComparator = Comparator.comparing(Offer::getPrice, Comparator.nullsLast(Comparator.naturalOrder()));
@@ -367,65 +378,41 @@ class OfferBookChartViewModel extends ActivatableViewModel {
                 offerPriceComparator
                         .thenComparing(offerAmountComparator);
 
-        OfferDirection buyOfferDirection = OfferDirection.BUY;
-
-        List<Offer> allBuyOffers = offerBookListItems.stream()
-                .map(OfferBookListItem::getOffer)
-                .filter(e -> e.getCounterCurrencyCode().equals(selectedTradeCurrencyProperty.get().getCode())
-                        && e.getDirection().equals(buyOfferDirection))
-                .sorted(buyOfferSortComparator)
-                .collect(Collectors.toList());
-
-        final Optional<Offer> highestBuyPriceOffer = allBuyOffers.stream()
-                .filter(o -> o.getPrice() != null)
-                .max(Comparator.comparingLong(o -> o.getPrice().getValue()));
-
-        if (highestBuyPriceOffer.isPresent()) {
-            final Offer offer = highestBuyPriceOffer.get();
-            maxPlacesForBuyPrice.set(formatPrice(offer, false).length());
-        } else {
-            log.debug("highestBuyPriceOffer not present");
-        }
-
-        final Optional<Offer> highestBuyVolumeOffer = allBuyOffers.stream()
-                .filter(o -> o.getVolume() != null)
-                .max(Comparator.comparingLong(o -> o.getVolume().getValue()));
-
-        if (highestBuyVolumeOffer.isPresent()) {
-            final Offer offer = highestBuyVolumeOffer.get();
-            maxPlacesForBuyVolume.set(formatVolume(offer, false).length());
-        }
-
-        buildChartAndTableEntries(allBuyOffers, OfferDirection.BUY, buyData, topBuyOfferList);
+        if (updateBuy) updateChartData(OfferDirection.BUY, buyOfferSortComparator);
+        if (updateSell) updateChartData(OfferDirection.SELL, sellOfferSortComparator);
+    }
 
-        OfferDirection sellOfferDirection = OfferDirection.SELL;
+    private void updateChartData(OfferDirection direction, Comparator<Offer> offerSortComparator) {
+        boolean isBuy = direction == OfferDirection.BUY;
 
-        List<Offer> allSellOffers = offerBookListItems.stream()
+        List<Offer> allOffers = offerBookListItems.stream()
                 .map(OfferBookListItem::getOffer)
                 .filter(e -> e.getCounterCurrencyCode().equals(selectedTradeCurrencyProperty.get().getCode())
-                        && e.getDirection().equals(sellOfferDirection))
-                .sorted(sellOfferSortComparator)
+                        && e.getDirection().equals(direction))
+                .sorted(offerSortComparator)
                 .collect(Collectors.toList());
 
-        final Optional<Offer> highestSellPriceOffer = allSellOffers.stream()
+        final Optional<Offer> highestPriceOffer = allOffers.stream()
                 .filter(o -> o.getPrice() != null)
                 .max(Comparator.comparingLong(o -> o.getPrice().getValue()));
 
-        if (highestSellPriceOffer.isPresent()) {
-            final Offer offer = highestSellPriceOffer.get();
-            maxPlacesForSellPrice.set(formatPrice(offer, false).length());
+        if (highestPriceOffer.isPresent()) {
+            final Offer offer = highestPriceOffer.get();
+            (isBuy ? maxPlacesForBuyPrice : maxPlacesForSellPrice).set(formatPrice(offer, false).length());
+        } else if (isBuy) {
+            log.debug("highestBuyPriceOffer not present");
         }
 
-        final Optional<Offer> highestSellVolumeOffer = allSellOffers.stream()
+        final Optional<Offer> highestVolumeOffer = allOffers.stream()
                 .filter(o -> o.getVolume() != null)
                 .max(Comparator.comparingLong(o -> o.getVolume().getValue()));
 
-        if (highestSellVolumeOffer.isPresent()) {
-            final Offer offer = highestSellVolumeOffer.get();
-            maxPlacesForSellVolume.set(formatVolume(offer, false).length());
+        if (highestVolumeOffer.isPresent()) {
+            final Offer offer = highestVolumeOffer.get();
+            (isBuy ? maxPlacesForBuyVolume : maxPlacesForSellVolume).set(formatVolume(offer, false).length());
         }
 
-        buildChartAndTableEntries(allSellOffers, OfferDirection.SELL, sellData, topSellOfferList);
+        buildChartAndTableEntries(allOffers, direction, isBuy ? buyData : sellData, isBuy ? topBuyOfferList : topSellOfferList);
     }
 
     private void buildChartAndTableEntries(List<Offer> sortedList,
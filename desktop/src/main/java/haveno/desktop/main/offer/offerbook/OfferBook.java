@@ -20,16 +20,23 @@ package haveno.desktop.main.offer.offerbook;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import haveno.common.MasterTimer;
+import haveno.common.Timer;
 import haveno.common.UserThread;
 import haveno.core.offer.Offer;
 import haveno.core.offer.OfferBookService;
 import static haveno.core.offer.OfferDirection.BUY;
 import haveno.network.p2p.storage.P2PDataStorage;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import lombok.extern.slf4j.Slf4j;
@@ -40,14 +47,27 @@ import lombok.extern.slf4j.Slf4j;
  * As it is used only by the Buy and Sell UIs we treat it as local UI model.
  * It also use OfferRepository.Listener as the lists items class and we don't want to get any dependency out of the
  * package for that.
+ * <p>
+ * Offer book changes are collected and applied to the list at most once per frame, so the views listening to the list
+ * handle one change set instead of every single offer, e.g. at startup.
  */
 @Singleton
 @Slf4j
 public class OfferBook {
     private final OfferBookService offerBookService;
     private final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
-    private final Map<String, Integer> buyOfferCountMap = new HashMap<>();
-    private final Map<String, Integer> sellOfferCountMap = new HashMap<>();
+    private final Map<String, OfferBookListItem> itemsByOfferId = new HashMap<>();
+    private final Map<String, Integer> buyOfferCountMap = new ConcurrentHashMap<>();
+    private final Map<String, Integer> sellOfferCountMap = new ConcurrentHashMap<>();
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+    private Timer applyChangesTimer;
+    private ChangeSet changeSet;
+
+    // Items removed from and added to the list while applying the pending changes
+    private static class ChangeSet {
+        private final Set<OfferBookListItem> removedItems = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<String, OfferBookListItem> addedItemsByOfferId = new LinkedHashMap<>();
+    }
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -61,81 +81,62 @@ public class OfferBook {
         offerBookService.addOfferBookChangedListener(new OfferBookService.OfferBookChangedListener() {
             @Override
             public void onAdded(Offer offer) {
-                UserThread.execute(() -> {
-                    printOfferBookListItems("Before onAdded");
-
-                    // Use offer.equals(offer) to see if the OfferBook list contains an exact
-                    // match -- offer.equals(offer) includes comparisons of payload, state
-                    // and errorMessage.
-                    synchronized (offerBookListItems) {
-                        boolean hasSameOffer = offerBookListItems.stream().anyMatch(item -> item.getOffer().equals(offer));
-                        if (!hasSameOffer) {
-                            OfferBookListItem newOfferBookListItem = new OfferBookListItem(offer);
-                            removeDuplicateItem(newOfferBookListItem);
-                            offerBookListItems.add(newOfferBookListItem);  // Add replacement.
-                            if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
-                                log.debug("onAdded: Added new offer {}\n"
-                                                + "\twith newItem.payloadHash: {}",
-                                        offer.getId(),
-                                        newOfferBookListItem.hashOfPayload.getHex());
-                            }
-                        } else {
-                            log.debug("We have the exact same offer already in our list and ignore the onAdded call. ID={}", offer.getId());
-                        }
-                        printOfferBookListItems("After onAdded");
-                    }
-                });
+                addPendingChange(() -> addOffer(offer));
             }
 
             @Override
             public void onRemoved(Offer offer) {
-                UserThread.execute(() -> {
-                    synchronized (offerBookListItems) {
-                        printOfferBookListItems("Before onRemoved");
-                        removeOffer(offer);
-                        printOfferBookListItems("After onRemoved");
-                    }
-                });
+                addPendingChange(() -> removeOffer(offer));
             }
 
             @Override
             public void onRefresh(Offer offer) {
-                UserThread.execute(() -> {
-                    synchronized (offerBookListItems) {
-                        refreshOffer(offer);
-                    }
-                });
+                addPendingChange(() -> refreshOffer(offer));
             }
         });
     }
 
-    private void removeDuplicateItem(OfferBookListItem newOfferBookListItem) {
+    private void addOffer(Offer offer) {
         synchronized (offerBookListItems) {
-            String offerId = newOfferBookListItem.getOffer().getId();
-
-            // We need to remove any view items with a matching offerId before
-            // a newOfferBookListItem is added to the view.
-            List<OfferBookListItem> duplicateItems = offerBookListItems.stream()
-                    .filter(item -> item.getOffer().getId().equals(offerId))
-                    .collect(Collectors.toList());
-            duplicateItems.forEach(oldOfferItem -> {
-                offerBookListItems.remove(oldOfferItem);
+
+            // Use offer.equals(offer) to see if the OfferBook list contains an exact
+            // match -- offer.equals(offer) includes comparisons of payload, state
+            // and errorMessage.
+            OfferBookListItem existingItem = itemsByOfferId.get(offer.getId());
+            if (existingItem != null && existingItem.getOffer().equals(offer)) {
+                log.debug("We have the exact same offer already in our list and ignore the onAdded call. ID={}", offer.getId());
+                return;
+            }
+
+            // We need to remove any view item with a matching offerId before
+            // the new item is added to the view.
+            if (existingItem != null) {
+                removeItem(existingItem);
                 if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
                     log.debug("onAdded: Removed old offer {}\n"
                                     + "\twith payload hash {} from list.\n"
                                     + "\tThis may make a subsequent onRemoved( {} ) call redundant.",
-                            offerId,
-                            oldOfferItem.getHashOfPayload().getHex(),
-                            oldOfferItem.getOffer().getId());
+                            offer.getId(),
+                            existingItem.getHashOfPayload().getHex(),
+                            existingItem.getOffer().getId());
                 }
-            });
+            }
+            OfferBookListItem newOfferBookListItem = new OfferBookListItem(offer);
+            addItem(newOfferBookListItem);  // Add replacement.
+            if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
+                log.debug("onAdded: Added new offer {}\n"
+                                + "\twith newItem.payloadHash: {}",
+                        offer.getId(),
+                        newOfferBookListItem.hashOfPayload.getHex());
+            }
         }
     }
 
     public void refreshOffer(Offer offer) {
         synchronized (offerBookListItems) {
-            offerBookListItems.removeIf(item -> item.getOffer().getId().equals(offer.getId()));
-            offerBookListItems.add(new OfferBookListItem(offer));
+            OfferBookListItem existingItem = itemsByOfferId.get(offer.getId());
+            if (existingItem != null) removeItem(existingItem);
+            addItem(new OfferBookListItem(offer));
         }
     }
 
@@ -159,13 +160,12 @@ public class OfferBook {
                         hashOfPayload.getHex());
             }
 
-            // Find the removal candidate in the OfferBook list with matching offerId and payload-hash.
-            Optional<OfferBookListItem> candidateWithMatchingPayloadHash = offerBookListItems.stream()
-                    .filter(item -> item.getOffer().getId().equals(offer.getId())
-                            && item.hashOfPayload.equals(hashOfPayload))
-                    .findAny();
-
-            if (!candidateWithMatchingPayloadHash.isPresent()) {
+            // Remove the item only if its offer payload hash matches the onRemoved hashOfPayload
+            // parameter.  We may receive add/remove messages out of order from the API's
+            // 'editoffer' method, and use the offer payload hash to ensure we do not remove an
+            // edited offer immediately after it was added.
+            OfferBookListItem candidate = itemsByOfferId.get(offer.getId());
+            if (candidate == null || !candidate.getHashOfPayload().equals(hashOfPayload)) {
                 if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
                     log.debug("UI view list does not contain offer with id {} and payload-hash {}",
                             offer.getId(),
@@ -174,30 +174,12 @@ public class OfferBook {
                 return;
             }
 
-            OfferBookListItem candidate = candidateWithMatchingPayloadHash.get();
-            // Remove the candidate only if the candidate's offer payload the hash matches the
-            // onRemoved hashOfPayload parameter.  We may receive add/remove messages out of
-            // order from the API's 'editoffer' method, and use the offer payload hash to
-            // ensure we do not remove an edited offer immediately after it was added.
-            if (candidate.getHashOfPayload().equals(hashOfPayload)) {
-                // The payload-hash test passed, remove the candidate and print reason.
-                offerBookListItems.remove(candidate);
-
-                if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
-                    log.debug("Candidate.payload-hash: {} == onRemoved.payload-hash: {} ?"
-                                    + " Yes, removed old offer",
-                            candidate.hashOfPayload.getHex(),
-                            hashOfPayload.getHex());
-                }
-            } else {
-                if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
-                    // Candidate's payload-hash test failed:  payload-hash != onRemoved.payload-hash.
-                    // Print reason for not removing candidate.
-                    log.debug("Candidate.payload-hash: {} == onRemoved.payload-hash: {} ?"
-                                    + " No, old offer not removed",
-                            candidate.hashOfPayload.getHex(),
-                            hashOfPayload.getHex());
-                }
+            removeItem(candidate);
+            if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
+                log.debug("Candidate.payload-hash: {} == onRemoved.payload-hash: {} ?"
+                                + " Yes, removed old offer",
+                        candidate.hashOfPayload.getHex(),
+                        hashOfPayload.getHex());
             }
         }
     }
@@ -209,12 +191,16 @@ public class OfferBook {
     public void fillOfferBookListItems() {
         synchronized (offerBookListItems) {
             try {
+                // One item per offer id, like when adding offers one by one
+                Map<String, OfferBookListItem> items = new LinkedHashMap<>();
+                offerBookService.getOffers().forEach(offer -> items.put(offer.getId(), new OfferBookListItem(offer)));
+
                 // setAll causes sometimes an UnsupportedOperationException
                 // Investigate why....
+                itemsByOfferId.clear();
+                itemsByOfferId.putAll(items);
                 offerBookListItems.clear();
-                offerBookListItems.addAll(offerBookService.getOffers().stream()
-                        .map(OfferBookListItem::new)
-                        .collect(Collectors.toList()));
+                offerBookListItems.addAll(items.values());
 
                 log.debug("offerBookListItems.size {}", offerBookListItems.size());
                 fillOfferCountMaps();
@@ -249,21 +235,87 @@ public class OfferBook {
     }
 
     public void fillOfferCountMaps() {
-        buyOfferCountMap.clear();
-        sellOfferCountMap.clear();
-        final String[] ccyCode = new String[1];
-        final int[] offerCount = new int[1];
-        offerBookListItems.forEach(o -> {
-            ccyCode[0] = o.getOffer().getCounterCurrencyCode();
-            if (o.getOffer().getDirection() == BUY) {
-                offerCount[0] = buyOfferCountMap.getOrDefault(ccyCode[0], 0) + 1;
-                buyOfferCountMap.put(ccyCode[0], offerCount[0]);
+        synchronized (offerBookListItems) {
+            buyOfferCountMap.clear();
+            sellOfferCountMap.clear();
+            offerBookListItems.forEach(item -> updateOfferCount(item, 1));
+            log.debug("buyOfferCountMap.size {}   sellOfferCountMap.size {}",
+                    buyOfferCountMap.size(), sellOfferCountMap.size());
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void addPendingChange(Runnable change) {
+        synchronized (pendingChanges) {
+            pendingChanges.add(change);
+            if (applyChangesTimer == null) {
+                applyChangesTimer = UserThread.runAfter(this::applyPendingChanges, MasterTimer.FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void applyPendingChanges() {
+        List<Runnable> changes;
+        synchronized (pendingChanges) {
+            changes = new ArrayList<>(pendingChanges);
+            pendingChanges.clear();
+            applyChangesTimer = null;
+        }
+        synchronized (offerBookListItems) {
+            ChangeSet appliedChangeSet = new ChangeSet();
+            changeSet = appliedChangeSet;
+            for (Runnable change : changes) {
+                try {
+                    change.run();
+                } catch (Exception e) {
+                    log.error("Error applying offer book change", e);
+                }
+            }
+            changeSet = null;
+
+            // the removed items are found in one pass over the list
+            if (!appliedChangeSet.removedItems.isEmpty()) offerBookListItems.removeAll(appliedChangeSet.removedItems);
+            if (!appliedChangeSet.addedItemsByOfferId.isEmpty()) offerBookListItems.addAll(appliedChangeSet.addedItemsByOfferId.values());
+            printOfferBookListItems("After applying " + changes.size() + " offer book changes");
+        }
+    }
+
+    // Adds the item to the list, or to the change set while applying pending changes
+    private void addItem(OfferBookListItem item) {
+        itemsByOfferId.put(item.getOffer().getId(), item);
+        updateOfferCount(item, 1);
+        if (changeSet != null) {
+            changeSet.addedItemsByOfferId.put(item.getOffer().getId(), item);
+        } else {
+            offerBookListItems.add(item);
+        }
+    }
+
+    // Removes the item from the list, or records its removal in the change set while applying pending changes
+    private void removeItem(OfferBookListItem item) {
+        String offerId = item.getOffer().getId();
+        if (itemsByOfferId.get(offerId) == item) itemsByOfferId.remove(offerId);
+        updateOfferCount(item, -1);
+        if (changeSet != null) {
+            if (changeSet.addedItemsByOfferId.get(offerId) == item) {
+                changeSet.addedItemsByOfferId.remove(offerId);
             } else {
-                offerCount[0] = sellOfferCountMap.getOrDefault(ccyCode[0], 0) + 1;
-                sellOfferCountMap.put(ccyCode[0], offerCount[0]);
+                changeSet.removedItems.add(item);
             }
+        } else {
+            offerBookListItems.remove(item);
+        }
+    }
+
+    private void updateOfferCount(OfferBookListItem item, int delta) {
+        Map<String, Integer> offerCountMap = item.getOffer().getDirection() == BUY ? buyOfferCountMap : sellOfferCountMap;
+        offerCountMap.compute(item.getOffer().getCounterCurrencyCode(), (ccyCode, offerCount) -> {
+            int newOfferCount = (offerCount == null ? 0 : offerCount) + delta;
+            return newOfferCount > 0 ? newOfferCount : null;
         });
-        log.debug("buyOfferCountMap.size {}   sellOfferCountMap.size {}",
-                buyOfferCountMap.size(), sellOfferCountMap.size());
     }
 }
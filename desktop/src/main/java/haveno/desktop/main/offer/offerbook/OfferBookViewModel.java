@@ -199,8 +199,7 @@ abstract class OfferBookViewModel extends ActivatableViewModel {
                 if (processOfferBookListItemsTimer == null) {
                     processOfferBookListItemsTimer = UserThread.runAfter(() -> {
                         ThreadUtils.execute(() -> {
-                            offerBook.fillOfferCountMaps();
-                            fillCurrencies();
+                            fillCurrencies(); // offer counts are kept up to date by the offer book
                             synchronized (processOfferBookListItemsLock) {
                                 processOfferBookListItemsTimer = null;
                             }
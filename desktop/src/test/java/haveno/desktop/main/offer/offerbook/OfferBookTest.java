@@ -0,0 +1,122 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.desktop.main.offer.offerbook;
+
+import haveno.common.UserThread;
+import haveno.core.offer.Offer;
+import haveno.core.offer.OfferBookService;
+import haveno.core.offer.OfferDirection;
+import haveno.desktop.maker.OfferMaker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static com.natpryce.makeiteasy.MakeItEasy.with;
+import static haveno.desktop.maker.OfferMaker.xmrUsdOffer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class OfferBookTest {
+    private final LinkedBlockingQueue<Runnable> userThreadQueue = new LinkedBlockingQueue<>();
+    private Executor previousExecutor;
+    private OfferBook offerBook;
+    private OfferBookService.OfferBookChangedListener listener;
+    private final AtomicInteger numListChanges = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        // the user thread runs queued tasks only when the test says so, so all events are applied as one change set
+        previousExecutor = UserThread.getExecutor();
+        UserThread.setExecutor(userThreadQueue::add);
+
+        OfferBookService offerBookService = mock(OfferBookService.class);
+        offerBook = new OfferBook(offerBookService);
+        ArgumentCaptor<OfferBookService.OfferBookChangedListener> captor = ArgumentCaptor.forClass(OfferBookService.OfferBookChangedListener.class);
+        verify(offerBookService).addOfferBookChangedListener(captor.capture());
+        listener = captor.getValue();
+        offerBook.getOfferBookListItems().addListener((ListChangeListener<OfferBookListItem>) c -> numListChanges.incrementAndGet());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        UserThread.setExecutor(previousExecutor);
+    }
+
+    @Test
+    public void testEventsAreAppliedAsOneChangeSet() throws Exception {
+        List<Offer> offers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            offers.add(offer("offer" + i, i % 4 == 0 ? OfferDirection.SELL : OfferDirection.BUY, 100000000000L));
+        }
+        numListChanges.set(0);
+        offers.forEach(listener::onAdded);
+        listener.onAdded(offers.get(0)); // same offer again
+        listener.onRemoved(offers.get(1));
+        applyPendingChanges();
+
+        assertEquals(1, numListChanges.get());
+        assertEquals(19, offerBook.getOfferBookListItems().size());
+        assertEquals(14, offerBook.getBuyOfferCountMap().get("USD"));
+        assertEquals(5, offerBook.getSellOfferCountMap().get("USD"));
+
+        // an edited offer replaces the item with the same id, removing the old payload keeps the edited offer
+        numListChanges.set(0);
+        Offer editedOffer = offer("offer2", OfferDirection.BUY, 200000000000L);
+        listener.onAdded(editedOffer);
+        listener.onRemoved(offers.get(2));
+        listener.onRemoved(offers.get(0));
+        applyPendingChanges();
+
+        assertEquals(2, numListChanges.get());
+        assertEquals(18, offerBook.getOfferBookListItems().size());
+        assertSame(editedOffer, offerBook.getOfferBookListItems().stream()
+                .filter(item -> item.getOffer().getId().equals("offer2"))
+                .findFirst().orElseThrow().getOffer());
+        assertEquals(14, offerBook.getBuyOfferCountMap().get("USD"));
+        assertEquals(4, offerBook.getSellOfferCountMap().get("USD"));
+    }
+
+    // Runs the queued user thread tasks, which include the timer ticks, until the offer book applied its changes
+    private void applyPendingChanges() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (numListChanges.get() == 0) {
+            Runnable task = userThreadQueue.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            assertNotNull(task, "offer book changes not applied in time");
+            task.run();
+        }
+    }
+
+    private static Offer offer(String id, OfferDirection direction, long amount) {
+        return make(xmrUsdOffer.but(
+                with(OfferMaker.id, id),
+                with(OfferMaker.direction, direction),
+                with(OfferMaker.amount, amount)));
+    }
+}
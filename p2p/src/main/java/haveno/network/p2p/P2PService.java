@@ -46,6 +46,7 @@ import haveno.network.p2p.peers.keepalive.KeepAliveManager;
 import haveno.network.p2p.peers.peerexchange.PeerExchangeManager;
 import haveno.network.p2p.storage.HashMapChangedListener;
 import haveno.network.p2p.storage.P2PDataStorage;
+import haveno.network.p2p.storage.P2PDataStorage.ByteArray;
 import haveno.network.p2p.storage.messages.RefreshOfferMessage;
 import haveno.network.p2p.storage.payload.PersistableNetworkPayload;
 import haveno.network.p2p.storage.payload.ProtectedStorageEntry;
@@ -67,12 +68,17 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -501,6 +507,32 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
         }
     }
 
+    /**
+     * Refreshes the TTL of many payloads in one pass over the storage and broadcasts the refreshes bundled.
+     *
+     * @return the payloads which were refreshed
+     */
+    public <T extends ProtectedStoragePayload> List<T> refreshTTL(Collection<T> protectedStoragePayloads) {
+        if (isBootstrapped()) {
+            Map<ByteArray, T> payloadsByHash = new HashMap<>();
+            List<RefreshOfferMessage> refreshTTLMessages = new ArrayList<>();
+            for (T protectedStoragePayload : protectedStoragePayloads) {
+                try {
+                    RefreshOfferMessage refreshTTLMessage = p2PDataStorage.getRefreshTTLMessage(protectedStoragePayload, keyRing.getSignatureKeyPair());
+                    payloadsByHash.put(new ByteArray(refreshTTLMessage.getHashOfPayload()), protectedStoragePayload);
+                    refreshTTLMessages.add(refreshTTLMessage);
+                } catch (CryptoException e) {
+                    log.error("Signing at getDataWithSignedSeqNr failed. That should never happen.");
+                }
+            }
+            return p2PDataStorage.refreshTTL(refreshTTLMessages, networkNode.getNodeAddress()).stream()
+                    .map(refreshTTLMessage -> payloadsByHash.get(new ByteArray(refreshTTLMessage.getHashOfPayload())))
+                    .collect(Collectors.toList());
+        } else {
+            throw new NetworkNotReadyException();
+        }
+    }
+
     public boolean removeData(ProtectedStoragePayload protectedStoragePayload) {
         if (isBootstrapped()) {
             try {
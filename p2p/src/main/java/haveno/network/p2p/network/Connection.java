@@ -38,6 +38,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.inject.Inject;
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import haveno.common.Proto;
 import haveno.common.ThreadUtils;
@@ -45,6 +46,8 @@ import haveno.common.app.Capabilities;
 import haveno.common.app.HasCapabilities;
 import haveno.common.app.Version;
 import haveno.common.config.Config;
+import haveno.common.metrics.Histogram;
+import haveno.common.metrics.MetricsRegistry;
 import haveno.common.proto.ProtobufferException;
 import haveno.common.proto.network.NetworkEnvelope;
 import haveno.common.proto.network.NetworkProtoResolver;
@@ -63,6 +66,7 @@ import haveno.network.p2p.storage.P2PDataStorage;
 import haveno.network.p2p.storage.messages.AddDataMessage;
 import haveno.network.p2p.storage.messages.AddPersistableNetworkPayloadMessage;
 import haveno.network.p2p.storage.messages.RefreshOfferMessage;
+import haveno.network.p2p.storage.messages.RefreshOffersMessage;
 import haveno.network.p2p.storage.messages.RemoveDataMessage;
 import haveno.network.p2p.storage.payload.CapabilityRequiringPayload;
 import haveno.network.p2p.storage.payload.PersistableNetworkPayload;
@@ -128,6 +132,8 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
     public static final String POSSIBLE_DOS_MESSAGE = "Possible DoS attack detected";
 
     private static final EventThrottler closeConnectionLogThrottler = new EventThrottler(60, TimeUnit.SECONDS);
+    private static final Histogram writeDurationsMs = MetricsRegistry.getInstance().histogram("haveno_p2p_write_duration_ms",
+            "Time to write an envelope to the socket");
 
     // connection throttlers
     private static LeakyBucketManager envelopeLimitsGlobalDefaultManager; // default global throttler for all connection types
@@ -156,6 +162,8 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
     private final ConnectionListener connectionListener;
     @Nullable
     private final BanFilter banFilter;
+    @Nullable
+    private final SeenMessageCache seenMessageCache;
     @Getter
     private final String uid;
     private final ExecutorService executorService;
@@ -204,10 +212,12 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                ConnectionListener connectionListener,
                @Nullable NodeAddress peersNodeAddress,
                NetworkProtoResolver networkProtoResolver,
-               @Nullable BanFilter banFilter) {
+               @Nullable BanFilter banFilter,
+               @Nullable SeenMessageCache seenMessageCache) {
         this.socket = socket;
         this.connectionListener = connectionListener;
         this.banFilter = banFilter;
+        this.seenMessageCache = seenMessageCache;
 
         this.uid = UUID.randomUUID().toString();
         this.executorService = SingleThreadExecutorUtils.getSingleThreadExecutor("Executor service for connection with uid " + uid);
@@ -245,6 +255,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
             envelopeLimitsGlobalOverrides.put(GetPeersRequest.class.getSimpleName(), new LeakyBucket(0.5, 5, 0));
             envelopeLimitsGlobalOverrides.put(Ping.class.getSimpleName(), new LeakyBucket(2, 5, 0));
             envelopeLimitsGlobalOverrides.put(RefreshOfferMessage.class.getSimpleName(), null); // unlimited
+            envelopeLimitsGlobalOverrides.put(RefreshOffersMessage.class.getSimpleName(), null); // unlimited
 
             // merge with cli overrides: format "EnvelopeName:Rate,Burst,Strikes;..."
             String overrides = config.envelopeLimitsGlobalOverrides;
@@ -272,6 +283,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         envelopeLimitsConnectionOverrides.put(GetPeersRequest.class.getSimpleName(), new LeakyBucket(0.01666667, 2, 0));
         envelopeLimitsConnectionOverrides.put(Ping.class.getSimpleName(), new LeakyBucket(0.0333333, 2, 0));
         envelopeLimitsConnectionOverrides.put(RefreshOfferMessage.class.getSimpleName(), null); // unlimited
+        envelopeLimitsConnectionOverrides.put(RefreshOffersMessage.class.getSimpleName(), null); // unlimited
 
         // merge with cli overrides: format "EnvelopeName:Rate,Burst,Strikes;..."
         String overrides = config.envelopeLimitsConnectionOverrides;
@@ -345,9 +357,41 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         long ts = System.currentTimeMillis();
         log.debug(">> Send networkEnvelope of type: {}", networkEnvelope.getClass().getSimpleName());
 
+        if (!isSendAllowed(networkEnvelope)) return;
+
+        if (!testCapability(networkEnvelope)) {
+            log.debug("Capability for networkEnvelope is required but not supported");
+            return;
+        }
+        // Convert to the proto envelope only once; it is reused for the actual send below.
+        protobuf.NetworkEnvelope proto = networkEnvelope.toProtoNetworkEnvelope();
+        send(networkEnvelope, proto.getSerializedSize(), ts, () -> protoOutputStream.writeEnvelope(networkEnvelope, proto));
+    }
+
+    // The encoded envelope is shared with other connections, so it must not be modified by the capability check.
+    void sendMessage(EncodedEnvelope encodedEnvelope) {
+        long ts = System.currentTimeMillis();
+        NetworkEnvelope networkEnvelope = encodedEnvelope.getEnvelope();
+        log.debug(">> Send encoded networkEnvelope of type: {}", networkEnvelope.getClass().getSimpleName());
+
+        if (!isSendAllowed(networkEnvelope)) return;
+
+        if (!isCapabilitySupported(networkEnvelope)) {
+            if (networkEnvelope instanceof BundleOfEnvelopes) {
+                // Fall back to a filtered copy of the bundle
+                sendMessage(new BundleOfEnvelopes(new ArrayList<>(((BundleOfEnvelopes) networkEnvelope).getEnvelopes())));
+            } else {
+                log.debug("Capability for networkEnvelope is required but not supported");
+            }
+            return;
+        }
+        send(networkEnvelope, encodedEnvelope.getSerializedSize(), ts, () -> protoOutputStream.writeEncodedEnvelope(encodedEnvelope));
+    }
+
+    private boolean isSendAllowed(NetworkEnvelope networkEnvelope) {
         if (stopped) {
             log.debug("called sendMessage but was already stopped");
-            return;
+            return false;
         }
 
         if (banFilter != null &&
@@ -355,16 +399,12 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                 banFilter.isPeerBanned(peersNodeAddressOptional.get())) {
             String errorMessage = "We tried to send a message to a banned peer. message=" + networkEnvelope.getClass().getSimpleName();
             reportInvalidRequest(RuleViolation.PEER_BANNED, errorMessage);
-            return;
+            return false;
         }
+        return true;
+    }
 
-        if (!testCapability(networkEnvelope)) {
-            log.debug("Capability for networkEnvelope is required but not supported");
-            return;
-        }
-        // Convert to the proto envelope only once; it is reused for the actual send below.
-        protobuf.NetworkEnvelope proto = networkEnvelope.toProtoNetworkEnvelope();
-        int networkEnvelopeSize = proto.getSerializedSize();
+    private void send(NetworkEnvelope networkEnvelope, int networkEnvelopeSize, long ts, Runnable write) {
         try {
             // Throttle outbound network_messages
             long now = System.currentTimeMillis();
@@ -381,7 +421,9 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
             lastSendTimeStamp = now;
 
             if (!stopped) {
-                protoOutputStream.writeEnvelope(networkEnvelope, proto);
+                long writeStartNanos = System.nanoTime();
+                write.run();
+                writeDurationsMs.observe((System.nanoTime() - writeStartNanos) / 1_000_000d);
                 ThreadUtils.execute(() -> messageListeners.forEach(e -> e.onMessageSent(networkEnvelope, this)), THREAD_ID);
                 ThreadUtils.execute(() -> connectionStatistics.addSendMsgMetrics(System.currentTimeMillis() - ts, networkEnvelopeSize), THREAD_ID);
             }
@@ -414,6 +456,17 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         return result;
     }
 
+    private boolean isCapabilitySupported(NetworkEnvelope networkEnvelope) {
+        if (networkEnvelope instanceof BundleOfEnvelopes) {
+            List<NetworkEnvelope> envelopes = ((BundleOfEnvelopes) networkEnvelope).getEnvelopes();
+            return !envelopes.isEmpty() && envelopes.stream().allMatch(this::isCapabilitySupported);
+        }
+
+        return extractCapabilityRequiringPayload(networkEnvelope)
+                .map(this::testCapability)
+                .orElse(true);
+    }
+
     private void updateBundleOfEnvelopes(BundleOfEnvelopes bundleOfEnvelopes) {
         List<NetworkEnvelope> toRemove = bundleOfEnvelopes.getEnvelopes().stream()
                 .filter(networkEnvelope -> !testCapability(networkEnvelope))
@@ -920,8 +973,9 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                         return;
                     }
 
-                    // Blocking read from the inputStream
-                    protobuf.NetworkEnvelope proto = protobuf.NetworkEnvelope.parseDelimitedFrom(protoInputStream);
+                    // Blocking read from the inputStream. We read the raw bytes first so that
+                    // duplicated gossip messages can be dropped before they get parsed.
+                    byte[] envelopeBytes = readDelimitedEnvelopeBytes();
 
                     long ts = System.currentTimeMillis();
 
@@ -932,23 +986,25 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                         return;
                     }
 
-                    if (proto == null) {
+                    if (envelopeBytes == null) {
+                        // EOF. That is expected if client got stopped without proper shutdown.
                         if (stopped) {
                             return;
                         }
-                        if (protoInputStream.read() == -1) {
-                            //throttleWarn("proto is null because protoInputStream.read()=-1 (EOF). That is expected if client got stopped without proper shutdown.");
-                        } else {
-                            throttleWarn("proto is null. protoInputStream.read()=" + protoInputStream.read());
-                        }
                         shutDown(CloseConnectionReason.NO_PROTO_BUFFER_ENV);
                         return;
                     }
 
+                    // We don't parse gossip messages we have already received from another peer
+                    byte[] envelopeDigest = seenMessageCache == null ? null : SeenMessageCache.getDigest(envelopeBytes);
+                    boolean isDuplicate = envelopeDigest != null && seenMessageCache.isDuplicate(envelopeDigest);
+                    protobuf.NetworkEnvelope proto = isDuplicate ? null : protobuf.NetworkEnvelope.parseFrom(envelopeBytes);
+
                     if (banFilter != null &&
                             peersNodeAddressOptional.isPresent() &&
                             banFilter.isPeerBanned(peersNodeAddressOptional.get())) {
-                        String errorMessage = "We got a message from a banned peer. proto=" + Utilities.toTruncatedString(proto);
+                        String errorMessage = "We got a message from a banned peer. proto=" +
+                                (isDuplicate ? "duplicate of size " + envelopeBytes.length : Utilities.toTruncatedString(proto));
                         reportInvalidRequest(RuleViolation.PEER_BANNED, errorMessage);
                         return;
                     }
@@ -963,6 +1019,17 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                         Thread.sleep(20);
                     }
 
+                    // Duplicates are dropped but still count toward the throttle limit and the peer's activity
+                    if (isDuplicate) {
+                        lastReadTimeStamp = now;
+                        statistic.addReceivedBytes(envelopeBytes.length);
+                        if (violatesThrottleLimit() && reportInvalidRequest(RuleViolation.THROTTLE_LIMIT_EXCEEDED, "Violates throttle limit"))
+                            return;
+                        if (!stopped)
+                            statistic.updateLastActivityTimestamp();
+                        continue;
+                    }
+
                     NetworkEnvelope networkEnvelope = networkProtoResolver.fromProto(proto);
                     lastReadTimeStamp = now;
                     log.debug("<< Received networkEnvelope of type: {}", networkEnvelope.getClass().getSimpleName());
@@ -1043,9 +1110,15 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                             throttleInfo("We got a " + networkEnvelope.getClass().getSimpleName() + " from a peer with yet unknown address on connection with uid=" + uid);
                         }
 
+                        if (envelopeDigest != null) {
+                            seenMessageCache.maybeAdd(envelopeDigest, proto, peersNodeAddressOptional.isPresent());
+                        }
+
                         onMessage(networkEnvelope, this);
                         ThreadUtils.execute(() -> connectionStatistics.addReceivedMsgMetrics(System.currentTimeMillis() - ts, size), THREAD_ID);
                     }
+                } catch (EnvelopeSizeExceededException e) {
+                    reportInvalidRequest(RuleViolation.MAX_MSG_SIZE_EXCEEDED, e.getMessage());
                 } catch (InvalidClassException e) {
                     reportInvalidRequest(RuleViolation.INVALID_CLASS, e.getMessage());
                 } catch (ProtobufferException | NoClassDefFoundError | InvalidProtocolBufferException e) {
@@ -1059,6 +1132,32 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         }
     }
 
+    // Reads the bytes of the next length delimited envelope, or returns null at EOF.
+    @Nullable
+    private byte[] readDelimitedEnvelopeBytes() throws IOException {
+        int firstByte = protoInputStream.read();
+        if (firstByte == -1) {
+            return null;
+        }
+        int size = CodedInputStream.readRawVarint32(firstByte, protoInputStream);
+        if (size < 0) {
+            throw new InvalidProtocolBufferException("Negative envelope size " + size);
+        }
+        if (size > MAX_PERMITTED_MESSAGE_SIZE) {
+            // We skip the envelope to stay in sync with the stream, but don't buffer it
+            protoInputStream.skipNBytes(size);
+            throw new EnvelopeSizeExceededException("size > MAX_MSG_SIZE. size=" + size);
+        }
+        byte[] envelopeBytes = protoInputStream.readNBytes(size);
+        return envelopeBytes.length == size ? envelopeBytes : null;
+    }
+
+    private static class EnvelopeSizeExceededException extends IOException {
+        EnvelopeSizeExceededException(String message) {
+            super(message);
+        }
+    }
+
     public boolean maybeHandleSupportedCapabilitiesMessage(NetworkEnvelope networkEnvelope) {
         if (!(networkEnvelope instanceof SupportedCapabilitiesMessage)) {
             return false;
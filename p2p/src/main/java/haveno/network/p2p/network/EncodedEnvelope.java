@@ -0,0 +1,82 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.network;
+
+import com.google.protobuf.CodedOutputStream;
+import haveno.common.proto.network.NetworkEnvelope;
+import lombok.Getter;
+
+import java.io.IOException;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Network envelope which is serialized to its length delimited wire format only once.
+ *
+ * Used to send the same envelope to many connections, e.g. for broadcasts, so the
+ * proto conversion and encoding are independent of the number of peers. The envelope
+ * must not be modified after it is first encoded.
+ */
+@ThreadSafe
+public class EncodedEnvelope {
+
+    @Getter
+    private final NetworkEnvelope envelope;
+    private byte[] delimitedBytes;
+    private int serializedSize;
+
+    public EncodedEnvelope(NetworkEnvelope envelope) {
+        this.envelope = envelope;
+    }
+
+    /**
+     * @return the envelope encoded as written by protobuf.NetworkEnvelope.writeDelimitedTo()
+     */
+    public synchronized byte[] getDelimitedBytes() {
+        if (delimitedBytes == null) encode();
+        return delimitedBytes;
+    }
+
+    /**
+     * @return the serialized size of the proto envelope, excluding the length prefix
+     */
+    public synchronized int getSerializedSize() {
+        if (delimitedBytes == null) encode();
+        return serializedSize;
+    }
+
+    public synchronized boolean isEncoded() {
+        return delimitedBytes != null;
+    }
+
+    private void encode() {
+        protobuf.NetworkEnvelope proto = envelope.toProtoNetworkEnvelope();
+        int size = proto.getSerializedSize();
+        byte[] bytes = new byte[CodedOutputStream.computeUInt32SizeNoTag(size) + size];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        try {
+            output.writeUInt32NoTag(size);
+            proto.writeTo(output);
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode " + envelope.getClass().getSimpleName(), e);
+        }
+        serializedSize = size;
+        delimitedBytes = bytes;
+    }
+}
@@ -22,6 +22,7 @@ import haveno.network.p2p.NodeAddress;
 import haveno.common.Timer;
 import haveno.common.UserThread;
 import haveno.common.app.Capabilities;
+import haveno.common.metrics.MetricsRegistry;
 import haveno.common.proto.network.NetworkEnvelope;
 import haveno.common.proto.network.NetworkProtoResolver;
 import haveno.common.util.Utilities;
@@ -52,6 +53,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -71,11 +73,15 @@ public abstract class NetworkNode implements MessageListener {
     private static final Logger log = LoggerFactory.getLogger(NetworkNode.class);
     static final int CREATE_SOCKET_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(120);
     private static final long REJECTION_LOG_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final int MAX_SEEN_MESSAGES = 20000;
 
     final int servicePort;
     private final NetworkProtoResolver networkProtoResolver;
     @Nullable
     private final BanFilter banFilter;
+    // shared by all connections to drop gossip messages received from multiple peers
+    @Getter
+    private final SeenMessageCache seenMessageCache = new SeenMessageCache(MAX_SEEN_MESSAGES);
 
     private final Set<InboundConnection> inBoundConnections = Collections.newSetFromMap(new ConcurrentHashMap<InboundConnection, Boolean>());
     private final Set<MessageListener> messageListeners = Collections.newSetFromMap(new ConcurrentHashMap<MessageListener, Boolean>());
@@ -110,11 +116,21 @@ public abstract class NetworkNode implements MessageListener {
                 maxConnections * 3,
                 50,
                 30);
-        sendMessageExecutor = Utilities.getListeningExecutorService("NetworkNode.sendMessage",
+        ThreadPoolExecutor sendMessageThreadPool = Utilities.getThreadPoolExecutor("NetworkNode.sendMessage",
                 maxConnections * 2,
                 maxConnections * 3,
                 30,
                 30);
+        sendMessageExecutor = MoreExecutors.listeningDecorator(sendMessageThreadPool);
+
+        // label by port as several network nodes may run in one process
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        String port = String.valueOf(servicePort);
+        registry.gauge("haveno_p2p_connections", "Number of peer connections", inBoundConnections::size, "port", port, "direction", "inbound");
+        registry.gauge("haveno_p2p_connections", "Number of peer connections", outBoundConnections::size, "port", port, "direction", "outbound");
+        registry.gauge("haveno_p2p_send_queue_size", "Number of messages waiting to be sent", () -> sendMessageThreadPool.getQueue().size(), "port", port);
+        registry.gauge("haveno_p2p_seen_messages", "Number of message digests in the duplicate filter", seenMessageCache::size, "port", port);
+        registry.gauge("haveno_p2p_duplicate_message_ratio", "Ratio of gossip messages dropped as duplicates", seenMessageCache::getDuplicateRatio, "port", port);
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -218,7 +234,8 @@ public abstract class NetworkNode implements MessageListener {
                                 connectionListener,
                                 peersNodeAddress,
                                 networkProtoResolver,
-                                banFilter);
+                                banFilter,
+                                seenMessageCache);
 
                         if (log.isDebugEnabled()) {
                             log.debug("\n\n%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%\n" +
@@ -304,13 +321,26 @@ public abstract class NetworkNode implements MessageListener {
     public SettableFuture<Connection> sendMessage(Connection connection,
             NetworkEnvelope networkEnvelope,
             ListeningExecutorService executor) {
+        return sendMessage(connection, () -> connection.sendMessage(networkEnvelope), executor);
+    }
+
+    // Sends an envelope which is encoded once and shared by all connections it is sent to
+    public SettableFuture<Connection> sendMessage(Connection connection,
+            EncodedEnvelope encodedEnvelope,
+            ListeningExecutorService executor) {
+        return sendMessage(connection, () -> connection.sendMessage(encodedEnvelope), executor);
+    }
+
+    private SettableFuture<Connection> sendMessage(Connection connection,
+            Runnable send,
+            ListeningExecutorService executor) {
         SettableFuture<Connection> resultFuture = SettableFuture.create();
         try {
             ListenableFuture<Connection> future = executor.submit(() -> {
                 String id = connection.getPeersNodeAddressOptional().isPresent() ? connection.getPeersNodeAddressOptional().get().getFullAddress() : connection.getUid();
                 Thread.currentThread().setName("NetworkNode:SendMessage-to-" + Utilities.toTruncatedString(id, 15));
 
-                connection.sendMessage(networkEnvelope);
+                send.run();
                 return connection;
             });
 
@@ -504,7 +534,8 @@ public abstract class NetworkNode implements MessageListener {
                 NetworkNode.this,
                 connectionListener,
                 networkProtoResolver,
-                banFilter);
+                banFilter,
+                seenMessageCache);
         server.start();
     }
 
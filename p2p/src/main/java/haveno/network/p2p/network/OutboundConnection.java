@@ -29,7 +29,8 @@ public class OutboundConnection extends Connection {
                               ConnectionListener connectionListener,
                               NodeAddress peersNodeAddress,
                               NetworkProtoResolver networkProtoResolver,
-                              @Nullable BanFilter banFilter) {
-        super(socket, messageListener, connectionListener, peersNodeAddress, networkProtoResolver, banFilter);
+                              @Nullable BanFilter banFilter,
+                              @Nullable SeenMessageCache seenMessageCache) {
+        super(socket, messageListener, connectionListener, peersNodeAddress, networkProtoResolver, banFilter, seenMessageCache);
     }
 }
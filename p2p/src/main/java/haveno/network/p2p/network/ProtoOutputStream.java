@@ -51,6 +51,15 @@ class ProtoOutputStream {
     }
 
     void writeEnvelope(NetworkEnvelope envelope, protobuf.NetworkEnvelope proto) {
+        write(envelope, proto.getSerializedSize(), () -> proto.writeDelimitedTo(outputStream));
+    }
+
+    // Writes the bytes encoded once for all receivers of the envelope.
+    void writeEncodedEnvelope(EncodedEnvelope encodedEnvelope) {
+        write(encodedEnvelope.getEnvelope(), encodedEnvelope.getSerializedSize(), () -> outputStream.write(encodedEnvelope.getDelimitedBytes()));
+    }
+
+    private void write(NetworkEnvelope envelope, int serializedSize, EnvelopeWriter writer) {
         // Bound the lock wait so senders cannot pile up behind a write stalled on a dead socket.
         if (!tryToAcquireLock(WRITE_LOCK_TIMEOUT_MS)) {
             if (!isConnectionActive.get()) {
@@ -60,7 +69,7 @@ class ProtoOutputStream {
         }
 
         try {
-            writeEnvelopeOrThrow(envelope, proto);
+            writeEnvelopeOrThrow(envelope, serializedSize, writer);
         } catch (IOException e) {
             if (!isConnectionActive.get()) {
                 // Connection was closed by us.
@@ -93,16 +102,16 @@ class ProtoOutputStream {
         }
     }
 
-    // The caller already converted the envelope for its size metrics, so we take the proto to avoid a second conversion.
-    private void writeEnvelopeOrThrow(NetworkEnvelope envelope, protobuf.NetworkEnvelope proto) throws IOException {
+    // The caller already converted or encoded the envelope for its size metrics, so we take its size to avoid a second conversion.
+    private void writeEnvelopeOrThrow(NetworkEnvelope envelope, int serializedSize, EnvelopeWriter writer) throws IOException {
         long ts = System.currentTimeMillis();
-        proto.writeDelimitedTo(outputStream);
+        writer.write();
         outputStream.flush();
         long duration = System.currentTimeMillis() - ts;
         if (duration > 10000) {
             log.info("Sending {} to peer took {} sec.", envelope.getClass().getSimpleName(), duration / 1000d);
         }
-        statistic.addSentBytes(proto.getSerializedSize());
+        statistic.addSentBytes(serializedSize);
         statistic.addSentMessage(envelope);
 
         if (!(envelope instanceof KeepAliveMessage)) {
@@ -118,4 +127,8 @@ class ProtoOutputStream {
             return false;
         }
     }
+
+    private interface EnvelopeWriter {
+        void write() throws IOException;
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.network;
+
+import haveno.common.crypto.Hash;
+import haveno.network.p2p.storage.P2PDataStorage;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Size bounded set of digests of gossip envelopes which were already received.
+ *
+ * Shared by the connections of a network node, so a gossip message which arrives
+ * again from another peer is dropped by one hash lookup instead of being parsed,
+ * resolved and validated again.
+ */
+@ThreadSafe
+public class SeenMessageCache {
+
+    // gossip messages which are idempotent, so identical copies can be dropped
+    private static final Set<protobuf.NetworkEnvelope.MessageCase> DEDUPLICATED_MESSAGE_CASES = EnumSet.of(
+            protobuf.NetworkEnvelope.MessageCase.ADD_DATA_MESSAGE,
+            protobuf.NetworkEnvelope.MessageCase.REMOVE_DATA_MESSAGE,
+            protobuf.NetworkEnvelope.MessageCase.REMOVE_MAILBOX_DATA_MESSAGE,
+            protobuf.NetworkEnvelope.MessageCase.REFRESH_OFFER_MESSAGE,
+            protobuf.NetworkEnvelope.MessageCase.REFRESH_OFFERS_MESSAGE,
+            protobuf.NetworkEnvelope.MessageCase.ADD_PERSISTABLE_NETWORK_PAYLOAD_MESSAGE,
+            protobuf.NetworkEnvelope.MessageCase.BUNDLE_OF_ENVELOPES);
+
+    private final Map<P2PDataStorage.ByteArray, Boolean> digests;
+    private final AtomicLong numUnique = new AtomicLong();
+    private final AtomicLong numDuplicates = new AtomicLong();
+
+    public SeenMessageCache(int maxSize) {
+        this.digests = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<P2PDataStorage.ByteArray, Boolean> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public static byte[] getDigest(byte[] envelopeBytes) {
+        return Hash.getSha256Hash(envelopeBytes);
+    }
+
+    public static boolean isDeduplicated(protobuf.NetworkEnvelope proto) {
+        return DEDUPLICATED_MESSAGE_CASES.contains(proto.getMessageCase());
+    }
+
+    /**
+     * Check if a gossip envelope with the given digest was already received.
+     *
+     * @param digest - digest of the raw envelope bytes
+     * @return true if the envelope is a duplicate
+     */
+    public boolean isDuplicate(byte[] digest) {
+        boolean isDuplicate;
+        synchronized (digests) {
+            isDuplicate = digests.get(new P2PDataStorage.ByteArray(digest)) != null;
+        }
+        if (isDuplicate) numDuplicates.incrementAndGet();
+        return isDuplicate;
+    }
+
+    /**
+     * Remember a gossip envelope which was accepted for processing.
+     *
+     * @param digest - digest of the raw envelope bytes
+     */
+    public void add(byte[] digest) {
+        boolean added;
+        synchronized (digests) {
+            added = digests.put(new P2PDataStorage.ByteArray(digest), Boolean.TRUE) == null;
+        }
+        if (added) numUnique.incrementAndGet();
+    }
+
+    /**
+     * Remember a gossip envelope which is handed on for processing, unless it came from a peer whose address
+     * is not yet known. The storage layer ignores broadcasts from such peers, so a later copy from a known
+     * peer must not be dropped.
+     *
+     * @param digest - digest of the raw envelope bytes
+     * @param proto - the parsed envelope
+     * @param isPeerAddressKnown - whether the address of the sending peer is known
+     * @return true if the envelope was remembered
+     */
+    public boolean maybeAdd(byte[] digest, protobuf.NetworkEnvelope proto, boolean isPeerAddressKnown) {
+        if (!isPeerAddressKnown || !isDeduplicated(proto)) return false;
+        add(digest);
+        return true;
+    }
+
+    public int size() {
+        synchronized (digests) {
+            return digests.size();
+        }
+    }
+
+    public long getNumUnique() {
+        return numUnique.get();
+    }
+
+    public long getNumDuplicates() {
+        return numDuplicates.get();
+    }
+
+    // ratio of dropped duplicates to all received gossip envelopes
+    public double getDuplicateRatio() {
+        long numDuplicates = this.numDuplicates.get();
+        long numTotal = numUnique.get() + numDuplicates;
+        return numTotal == 0 ? 0 : (double) numDuplicates / numTotal;
+    }
+}
@@ -41,6 +41,8 @@ class Server implements Runnable {
     private final ConnectionListener internalListener;
     @Nullable
     private final BanFilter banFilter;
+    @Nullable
+    private final SeenMessageCache seenMessageCache;
 
     private final ServerSocket serverSocket;
     private final int localPort;
@@ -52,13 +54,15 @@ class Server implements Runnable {
             MessageListener messageListener,
             ConnectionListener connectionListener,
             NetworkProtoResolver networkProtoResolver,
-            @Nullable BanFilter banFilter) {
+            @Nullable BanFilter banFilter,
+            @Nullable SeenMessageCache seenMessageCache) {
         this.networkProtoResolver = networkProtoResolver;
         this.serverSocket = serverSocket;
         this.localPort = serverSocket.getLocalPort();
         this.messageListener = messageListener;
         this.connectionListener = connectionListener;
         this.banFilter = banFilter;
+        this.seenMessageCache = seenMessageCache;
 
         // create internal listener to process connection events
         internalListener = new ConnectionListener() {
@@ -95,7 +99,8 @@ class Server implements Runnable {
                                 messageListener,
                                 internalListener,
                                 networkProtoResolver,
-                                banFilter);
+                                banFilter,
+                                seenMessageCache);
 
                         log.debug("\n\n%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%\n" +
                                 "Server created new inbound connection:"
@@ -18,6 +18,8 @@
 package haveno.network.p2p.network;
 
 import haveno.common.UserThread;
+import haveno.common.metrics.MetricsRegistry;
+import haveno.common.metrics.MetricsWriter;
 import haveno.common.proto.network.NetworkEnvelope;
 import haveno.common.util.Utilities;
 import haveno.network.utils.EventThrottler;
@@ -32,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Date;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -76,6 +79,8 @@ public class Statistic {
             totalReceivedBytesPerSecProperty.set(((double) totalReceivedBytesProperty.get()) / passed);
         }, 1);
 
+        MetricsRegistry.getInstance().addCollector(Statistic::collect);
+
         // We log statistics every 60 minutes
         UserThread.runPeriodically(() -> {
             String ls = System.lineSeparator();
@@ -95,6 +100,15 @@ public class Statistic {
         }, TimeUnit.MINUTES.toSeconds(60));
     }
 
+    private static void collect(MetricsWriter writer) {
+        writer.writeCounter("haveno_p2p_sent_bytes_total", "Bytes sent to all peers", totalSentBytes.get());
+        writer.writeCounter("haveno_p2p_received_bytes_total", "Bytes received from all peers", totalReceivedBytes.get());
+        new TreeMap<>(totalSentMessages).forEach((type, count) ->
+                writer.writeCounter("haveno_p2p_sent_messages_total", "Messages sent by type", count, "type", type));
+        new TreeMap<>(totalReceivedMessages).forEach((type, count) ->
+                writer.writeCounter("haveno_p2p_received_messages_total", "Messages received by type", count, "type", type));
+    }
+
     public static LongProperty totalSentBytesProperty() {
         return totalSentBytesProperty;
     }
@@ -20,11 +20,14 @@ package haveno.network.p2p.peers;
 import haveno.network.p2p.BundleOfEnvelopes;
 import haveno.network.p2p.NodeAddress;
 import haveno.network.p2p.network.Connection;
+import haveno.network.p2p.network.EncodedEnvelope;
 import haveno.network.p2p.network.NetworkNode;
 import haveno.network.p2p.storage.messages.BroadcastMessage;
+import haveno.network.p2p.storage.messages.RefreshOffersMessage;
 
 import haveno.common.Timer;
 import haveno.common.UserThread;
+import haveno.common.proto.network.NetworkEnvelope;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
@@ -33,11 +36,14 @@ import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -86,6 +92,8 @@ public class BroadcastHandler implements PeerManager.Listener {
     @Nullable
     private Timer timeoutTimer;
     private final Set<SettableFuture<Connection>> sendMessageFutures = new CopyOnWriteArraySet<>();
+    // Peers which get the same subset of the broadcast requests share one encoded envelope
+    private final Map<BitSet, EncodedEnvelope> encodedEnvelopesByRequestSet = new ConcurrentHashMap<>();
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
@@ -146,8 +154,10 @@ public class BroadcastHandler implements PeerManager.Listener {
                 // We use broadcastRequests which have excluded the requests for messages the connection has
                 // originated to avoid sending back the message we received. We also remove messages not satisfying
                 // capability checks.
-                List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection = getBroadcastRequestsForConnection(
-                        connection, broadcastRequests);
+                BitSet requestSet = getRequestSetForConnection(connection, broadcastRequests);
+                List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection = requestSet.stream()
+                        .mapToObj(index -> broadcastRequests.get(index % broadcastRequests.size()))
+                        .collect(Collectors.toList());
 
                 // Could be empty list...
                 if (broadcastRequestsForConnection.isEmpty()) {
@@ -170,7 +180,9 @@ public class BroadcastHandler implements PeerManager.Listener {
                 }
 
                 try {
-                    sendToPeer(connection, broadcastRequestsForConnection, executor);
+                    EncodedEnvelope encodedEnvelope = encodedEnvelopesByRequestSet.computeIfAbsent(requestSet,
+                            key -> new EncodedEnvelope(getMessage(broadcastRequests, requestSet)));
+                    sendToPeer(connection, broadcastRequestsForConnection, encodedEnvelope, executor);
                 } catch (RejectedExecutionException e) {
                     log.error("RejectedExecutionException at broadcast ", e);
                     cleanup();
@@ -246,21 +258,34 @@ public class BroadcastHandler implements PeerManager.Listener {
     // We exclude the requests containing a message we received from that connection
     // Also we filter out messages which requires a capability but peer does not
     // support it.
-    private List<Broadcaster.BroadcastRequest> getBroadcastRequestsForConnection(Connection connection,
+    // A RefreshOffersMessage is sent as its single RefreshOfferMessages to peers not supporting batched refreshes.
+    // Returns the indices of the included requests, so connections with the same set can share the encoded message.
+    // Index i means request i is sent as is, index n + i means request i is sent as its single refreshes.
+    private BitSet getRequestSetForConnection(Connection connection,
             List<Broadcaster.BroadcastRequest> broadcastRequests) {
-        return broadcastRequests.stream()
-                .filter(broadcastRequest -> !connection.getPeersNodeAddressOptional().isPresent() ||
-                        !connection.getPeersNodeAddressOptional().get().equals(broadcastRequest.getSender()))
-                .filter(broadcastRequest -> connection.testCapability(broadcastRequest.getMessage()))
-                .collect(Collectors.toList());
+        int numRequests = broadcastRequests.size();
+        BitSet requestSet = new BitSet(2 * numRequests);
+        for (int i = 0; i < numRequests; i++) {
+            Broadcaster.BroadcastRequest broadcastRequest = broadcastRequests.get(i);
+            if (connection.getPeersNodeAddressOptional().isPresent() &&
+                    connection.getPeersNodeAddressOptional().get().equals(broadcastRequest.getSender())) {
+                continue;
+            }
+            if (connection.testCapability(broadcastRequest.getMessage())) {
+                requestSet.set(i);
+            } else if (broadcastRequest.getMessage() instanceof RefreshOffersMessage) {
+                requestSet.set(numRequests + i);
+            }
+        }
+        return requestSet;
     }
 
     private void sendToPeer(Connection connection,
             List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection,
+            EncodedEnvelope encodedEnvelope,
             ListeningExecutorService executor) {
-        // Can be BundleOfEnvelopes or a single BroadcastMessage
-        BroadcastMessage broadcastMessage = getMessage(broadcastRequestsForConnection);
-        SettableFuture<Connection> future = networkNode.sendMessage(connection, broadcastMessage, executor);
+        // Can be BundleOfEnvelopes or a single BroadcastMessage, encoded once for all peers getting the same requests
+        SettableFuture<Connection> future = networkNode.sendMessage(connection, encodedEnvelope, executor);
         sendMessageFutures.add(future);
         Futures.addCallback(future, new FutureCallback<>() {
             @Override
@@ -290,14 +315,22 @@ public class BroadcastHandler implements PeerManager.Listener {
         }, MoreExecutors.directExecutor());
     }
 
-    private BroadcastMessage getMessage(List<Broadcaster.BroadcastRequest> broadcastRequests) {
-        if (broadcastRequests.size() == 1) {
+    private BroadcastMessage getMessage(List<Broadcaster.BroadcastRequest> broadcastRequests, BitSet requestSet) {
+        int numRequests = broadcastRequests.size();
+        List<NetworkEnvelope> messages = new ArrayList<>();
+        requestSet.stream().forEach(index -> {
+            BroadcastMessage message = broadcastRequests.get(index % numRequests).getMessage();
+            if (index < numRequests) {
+                messages.add(message);
+            } else {
+                messages.addAll(((RefreshOffersMessage) message).getRefreshOfferMessages());
+            }
+        });
+        if (messages.size() == 1) {
             // If we only have 1 message we avoid the overhead of the BundleOfEnvelopes and send the message directly
-            return broadcastRequests.get(0).getMessage();
+            return (BroadcastMessage) messages.get(0);
         } else {
-            return new BundleOfEnvelopes(broadcastRequests.stream()
-                    .map(Broadcaster.BroadcastRequest::getMessage)
-                    .collect(Collectors.toList()));
+            return new BundleOfEnvelopes(messages);
         }
     }
 
@@ -341,6 +374,7 @@ public class BroadcastHandler implements PeerManager.Listener {
         }
 
         stopped.set(true);
+        encodedEnvelopesByRequestSet.clear();
 
         if (timeoutTimer != null) {
             timeoutTimer.stop();
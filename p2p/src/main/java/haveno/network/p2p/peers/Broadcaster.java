@@ -24,6 +24,8 @@ import com.google.inject.name.Named;
 import haveno.common.Timer;
 import haveno.common.UserThread;
 import haveno.common.config.Config;
+import haveno.common.metrics.Histogram;
+import haveno.common.metrics.MetricsRegistry;
 import haveno.common.util.Utilities;
 import haveno.network.p2p.NodeAddress;
 import haveno.network.p2p.network.NetworkNode;
@@ -42,6 +44,9 @@ import org.jetbrains.annotations.Nullable;
 @Slf4j
 public class Broadcaster implements BroadcastHandler.ResultHandler {
     private static final long BROADCAST_INTERVAL_MS = 2000;
+    private static final double[] BUNDLE_SIZE_BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500};
+    private static final Histogram bundleSizes = MetricsRegistry.getInstance().histogram("haveno_p2p_broadcast_bundle_size",
+            "Number of messages per broadcast bundle", BUNDLE_SIZE_BOUNDS);
 
     private final NetworkNode networkNode;
     private final PeerManager peerManager;
@@ -71,6 +76,8 @@ public class Broadcaster implements BroadcastHandler.ResultHandler {
                 30,
                 30);
         executor = MoreExecutors.listeningDecorator(threadPoolExecutor);
+        MetricsRegistry.getInstance().gauge("haveno_p2p_broadcast_queue_size", "Number of peer sends waiting in the broadcast executor",
+                () -> threadPoolExecutor.getQueue().size());
     }
 
     public void shutDown(Runnable resultHandler) {
@@ -130,6 +137,7 @@ public class Broadcaster implements BroadcastHandler.ResultHandler {
             if (!broadcastRequests.isEmpty()) {
                 BroadcastHandler broadcastHandler = new BroadcastHandler(networkNode, peerManager, this);
                 broadcastHandlers.add(broadcastHandler);
+                bundleSizes.observe(broadcastRequests.size());
                 broadcastHandler.broadcast(new ArrayList<>(broadcastRequests), shutDownRequested, executor);
                 broadcastRequests.clear();
 
@@ -0,0 +1,154 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.peers;
+
+import haveno.network.p2p.NodeAddress;
+import haveno.network.p2p.peers.peerexchange.Peer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.Nullable;
+
+/**
+ * Peers indexed by node address and by last seen date, so lookups, merges, pruning of old peers and
+ * random eviction only touch the peers which change instead of scanning all peers.
+ * <p>
+ * Not thread safe, callers synchronize on the index.
+ */
+final class PeerIndex {
+    // Peers with the same node address are equal, so the address makes the order consistent with equals
+    private static final Comparator<Peer> BY_DATE = Comparator.comparingLong(Peer::getDateAsLong)
+            .thenComparing(peer -> peer.getNodeAddress().getFullAddress());
+
+    private final Map<NodeAddress, Integer> positionByNodeAddress = new HashMap<>();
+    // Dense list of all peers for picking random peers, a removed peer is replaced by the last one
+    private final List<Peer> peers = new ArrayList<>();
+    private final TreeSet<Peer> peersByDate = new TreeSet<>(BY_DATE);
+
+    /**
+     * Adds the peer or replaces the peer with the same node address.
+     */
+    void put(Peer peer) {
+        remove(peer.getNodeAddress());
+        positionByNodeAddress.put(peer.getNodeAddress(), peers.size());
+        peers.add(peer);
+        peersByDate.add(peer);
+    }
+
+    /**
+     * Adds the peer if we do not know its node address yet or if it was seen more recently than the
+     * known peer.
+     *
+     * @return true if the peer was added
+     */
+    boolean merge(Peer peer) {
+        Peer existing = get(peer.getNodeAddress());
+        if (existing != null && existing.getDateAsLong() >= peer.getDateAsLong()) {
+            return false;
+        }
+        put(peer);
+        return true;
+    }
+
+    @Nullable
+    Peer get(NodeAddress nodeAddress) {
+        Integer position = positionByNodeAddress.get(nodeAddress);
+        return position != null ? peers.get(position) : null;
+    }
+
+    boolean contains(NodeAddress nodeAddress) {
+        return positionByNodeAddress.containsKey(nodeAddress);
+    }
+
+    @Nullable
+    Peer remove(NodeAddress nodeAddress) {
+        Integer position = positionByNodeAddress.remove(nodeAddress);
+        if (position == null) {
+            return null;
+        }
+        Peer peer = peers.get(position);
+        Peer last = peers.remove(peers.size() - 1);
+        if (last != peer) {
+            peers.set(position, last);
+            positionByNodeAddress.put(last.getNodeAddress(), position);
+        }
+        peersByDate.remove(peer);
+        return peer;
+    }
+
+    /**
+     * Removes the peers last seen before the given date.
+     *
+     * @return the removed peers
+     */
+    List<Peer> removeOlderThan(long date) {
+        List<Peer> removed = new ArrayList<>();
+        while (!peersByDate.isEmpty() && peersByDate.first().getDateAsLong() < date) {
+            removed.add(remove(peersByDate.first().getNodeAddress()));
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the peers seen longest ago until at most maxSize peers are left.
+     *
+     * @return the removed peers
+     */
+    List<Peer> removeOldest(int maxSize) {
+        List<Peer> removed = new ArrayList<>();
+        while (peers.size() > maxSize) {
+            removed.add(remove(peersByDate.first().getNodeAddress()));
+        }
+        return removed;
+    }
+
+    /**
+     * Removes random peers until at most maxSize peers are left.
+     *
+     * @return the removed peers
+     */
+    List<Peer> removeRandom(int maxSize, Random random) {
+        List<Peer> removed = new ArrayList<>();
+        while (peers.size() > maxSize) {
+            removed.add(remove(peers.get(random.nextInt(peers.size())).getNodeAddress()));
+        }
+        return removed;
+    }
+
+    int size() {
+        return peers.size();
+    }
+
+    boolean isEmpty() {
+        return peers.isEmpty();
+    }
+
+    List<Peer> getPeers() {
+        return new ArrayList<>(peers);
+    }
+
+    Set<Peer> toSet() {
+        return new HashSet<>(peers);
+    }
+}
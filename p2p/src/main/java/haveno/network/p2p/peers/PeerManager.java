@@ -72,6 +72,8 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
 
     private static final int MAX_REPORTED_PEERS = 1000;
     private static final int MAX_PERSISTED_PEERS = 500;
+    // We send our live peers in peer exchange, so we keep them within the limit the receiving peer accepts
+    private static final int MAX_LIVE_PEERS = MAX_REPORTED_PEERS;
     // max age for reported peers is 14 days
     private static final long MAX_AGE = TimeUnit.DAYS.toMillis(14);
     // Age of what we consider connected peers still as live peers
@@ -113,11 +115,13 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
 
     // Persistable peerList
     private final PeerList peerList = new PeerList();
+    // Index of the persisted peers by date, updated together with the peerList
+    private final PeerIndex persistedPeers = new PeerIndex();
     // Peers we got reported from other peers
-    @Getter
-    private final Set<Peer> reportedPeers = new HashSet<>();
+    private final PeerIndex reportedPeers = new PeerIndex();
     // Most recent peers with activity date of last 30 min.
-    private final Set<Peer> latestLivePeers = new HashSet<>();
+    private final PeerIndex latestLivePeers = new PeerIndex();
+    private final Random random = new Random();
 
     private Timer checkMaxConnectionsTimer;
     private boolean stopped;
@@ -202,7 +206,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     @Override
     public void readPersisted(Runnable completeHandler) {
         persistenceManager.readPersisted(persisted -> {
-                    peerList.setAll(persisted.getMap().values());
+                    addPersistedPeers(persisted.getMap().values());
                     completeHandler.run();
                 },
                 completeHandler);
@@ -315,11 +319,9 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
             Optional<NodeAddress> optionalNodeAddress = connection.getPeersNodeAddressOptional();
             if (optionalNodeAddress.isPresent()) {
                 synchronized (latestLivePeers) {
-                    latestLivePeers.removeIf(peer -> peer.getNodeAddress().equals(optionalNodeAddress.get()));
-                }
-                synchronized (reportedPeers) {
-                    reportedPeers.removeIf(peer -> peer.getNodeAddress().equals(optionalNodeAddress.get()));
+                    latestLivePeers.remove(optionalNodeAddress.get());
                 }
+                removeReportedPeer(optionalNodeAddress.get());
             }
         }
     }
@@ -370,20 +372,34 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     // Peer
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    @SuppressWarnings("unused")
+    // We prefer the persisted peer as that is the one we track connection attempts with
     public Optional<Peer> findPeer(NodeAddress peersNodeAddress) {
-        return getAllPeers().stream()
-                .filter(peer -> peer.getNodeAddress().equals(peersNodeAddress))
-                .findAny();
+        Optional<Peer> persistedPeer = findPersistedPeer(peersNodeAddress);
+        if (persistedPeer.isPresent()) {
+            return persistedPeer;
+        }
+        synchronized (reportedPeers) {
+            Peer reportedPeer = reportedPeers.get(peersNodeAddress);
+            if (reportedPeer != null) {
+                return Optional.of(reportedPeer);
+            }
+        }
+        synchronized (latestLivePeers) {
+            return Optional.ofNullable(latestLivePeers.get(peersNodeAddress));
+        }
     }
 
     public Set<Peer> getAllPeers() {
         Set<Peer> allPeers = getLivePeers(null);
         allPeers.addAll(getPersistedPeers());
+        allPeers.addAll(getReportedPeers());
+        return allPeers;
+    }
+
+    public Set<Peer> getReportedPeers() {
         synchronized (reportedPeers) {
-            allPeers.addAll(reportedPeers);
+            return reportedPeers.toSet();
         }
-        return allPeers;
     }
 
     public Collection<Peer> getPersistedPeers() {
@@ -404,10 +420,11 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         // We check if the reported msg is not violating our rules
         if (peers.size() <= (MAX_REPORTED_PEERS + maxConnectionsAbsolute + 10)) {
             synchronized (reportedPeers) {
-                reportedPeers.addAll(peers);
+                // Peers we know already are only replaced if they got seen more recently
+                peers.forEach(reportedPeers::merge);
                 purgeReportedPeersIfExceeds();
 
-                peerList.addAll(peers);
+                addPersistedPeers(peers);
                 purgePersistedPeersIfExceeds();
                 requestPersistence();
 
@@ -424,22 +441,17 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     // Delivers the live peers from the last 30 min (MAX_AGE_LIVE_PEERS)
     // We include older peers to avoid risks for network partitioning
     public Set<Peer> getLivePeers(@Nullable NodeAddress excludedNodeAddress) {
+        Set<Peer> connectedPeers = getConnectedReportedPeers();
         synchronized (latestLivePeers) {
             int oldNumLatestLivePeers = latestLivePeers.size();
 
-            Set<Peer> peers = new HashSet<>(latestLivePeers);
-            Set<Peer> currentLivePeers = getConnectedReportedPeers().stream()
+            latestLivePeers.removeOlderThan(new Date().getTime() - MAX_AGE_LIVE_PEERS);
+            // Connected peers are seen now, so they replace the older entries
+            connectedPeers.stream()
                     .filter(e -> !isSeedNode(e))
                     .filter(e -> !e.getNodeAddress().equals(excludedNodeAddress))
-                    .collect(Collectors.toSet());
-            peers.addAll(currentLivePeers);
-
-            long maxAge = new Date().getTime() - MAX_AGE_LIVE_PEERS;
-            latestLivePeers.clear();
-            Set<Peer> recentPeers = peers.stream()
-                    .filter(peer -> peer.getDateAsLong() > maxAge)
-                    .collect(Collectors.toSet());
-            latestLivePeers.addAll(recentPeers);
+                    .forEach(latestLivePeers::merge);
+            latestLivePeers.removeOldest(MAX_LIVE_PEERS);
 
             if (oldNumLatestLivePeers != latestLivePeers.size()) {
 
@@ -455,7 +467,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
                     }
                 }
             }
-            return recentPeers; // return a copy
+            return latestLivePeers.toSet(); // return a copy
         }
     }
 
@@ -486,10 +498,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         // inefficient.
         // Also this risk is only for not updated peers, so in case that would be abused for an
         // attack all users have a strong incentive to update ;-).
-        return getAllPeers().stream()
-                .filter(peer -> peer.getNodeAddress().equals(nodeAddress))
-                .findAny()
-                .map(Peer::getCapabilities);
+        return findPeer(nodeAddress).map(Peer::getCapabilities);
     }
 
     private void applyCapabilities(Connection connection, Capabilities newCapabilities) {
@@ -498,8 +507,15 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         }
 
         connection.getPeersNodeAddressOptional().ifPresent(nodeAddress -> {
-            getAllPeers().stream()
-                    .filter(peer -> peer.getNodeAddress().equals(nodeAddress))
+            List<Peer> peers = new ArrayList<>();
+            findPersistedPeer(nodeAddress).ifPresent(peers::add);
+            synchronized (reportedPeers) {
+                Optional.ofNullable(reportedPeers.get(nodeAddress)).ifPresent(peers::add);
+            }
+            synchronized (latestLivePeers) {
+                Optional.ofNullable(latestLivePeers.get(nodeAddress)).ifPresent(peers::add);
+            }
+            peers.stream()
                     .filter(peer -> peer.getCapabilities().hasLess(newCapabilities))
                     .forEach(peer -> peer.setCapabilities(newCapabilities));
         });
@@ -527,9 +543,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
 
     private void doHouseKeepingAux() {
         if (!stopped) {
-            Set<Connection> allConnections = new HashSet<>(networkNode.getAllConnections());
-            int size = allConnections.size();
-            peakNumConnections = Math.max(peakNumConnections, size);
+            peakNumConnections = Math.max(peakNumConnections, networkNode.getAllConnections().size());
 
             removeAnonymousPeers();
             removeTooOldReportedPeers();
@@ -540,9 +554,28 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         }
     }
 
+    // Oldest connection of a category of connections we consider for closing
+    private static class Candidates {
+        private Connection oldest;
+        private long oldestTimestamp;
+        private int size;
+
+        private void add(Connection connection, long timestamp) {
+            size++;
+            if (oldest == null || timestamp < oldestTimestamp) {
+                oldest = connection;
+                oldestTimestamp = timestamp;
+            }
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
     @VisibleForTesting
     boolean checkMaxConnections() {
-        Set<Connection> allConnections = new HashSet<>(networkNode.getAllConnections());
+        Collection<Connection> allConnections = networkNode.getAllConnections();
         int size = allConnections.size();
         ThrottleResult throttleResult = checkMaxConnectionsThrottler.onEvent();
         boolean throttleLogs = throttleResult.throttled;
@@ -564,15 +597,30 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
             return false;
         }
 
+        // We group the connections by type in a single pass and only keep the oldest one of each group,
+        // instead of filtering and sorting all connections for each group
+        Candidates inboundPeers = new Candidates();
+        Candidates peers = new Candidates();
+        Candidates initialDataExchanges = new Candidates();
+        Candidates any = new Candidates();
+        for (Connection connection : allConnections) {
+            long lastActivityTimestamp = connection.getStatistic().getLastActivityTimestamp();
+            PeerType peerType = connection.getConnectionState().getPeerType();
+            if (peerType == PeerType.PEER && !connection.isStopped()) {
+                if (connection instanceof InboundConnection) {
+                    inboundPeers.add(connection, lastActivityTimestamp);
+                }
+                peers.add(connection, lastActivityTimestamp);
+            } else if (peerType == PeerType.INITIAL_DATA_EXCHANGE) {
+                initialDataExchanges.add(connection, connection.getConnectionState().getLastInitialDataMsgTimeStamp());
+            }
+            any.add(connection, lastActivityTimestamp);
+        }
+
         if (!throttleLogs) {
             log.info("We have too many connections open. Lets try first to remove the inbound connections of type PEER.");
         }
-        List<Connection> candidates = allConnections.stream()
-                .filter(e -> e instanceof InboundConnection)
-                .filter(e -> e.getConnectionState().getPeerType() == PeerType.PEER)
-                .filter(e -> !e.isStopped())
-                .sorted(Comparator.comparingLong(o -> o.getStatistic().getLastActivityTimestamp()))
-                .collect(Collectors.toList());
+        Candidates candidates = inboundPeers;
 
         if (candidates.isEmpty()) {
             log.debug("No candidates found. We check if we exceed our " +
@@ -585,11 +633,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
 
             log.debug("We have exceeded outBoundPeerTrigger of {}. " +
                     "Lets try to remove outbound connection of type PEER.", outBoundPeerTrigger);
-            candidates = allConnections.stream()
-                    .filter(e -> e.getConnectionState().getPeerType() == PeerType.PEER)
-                    .filter(e -> !e.isStopped())
-                    .sorted(Comparator.comparingLong(o -> o.getStatistic().getLastActivityTimestamp()))
-                    .collect(Collectors.toList());
+            candidates = peers;
 
             if (candidates.isEmpty()) {
                 log.debug("No candidates found. We check if we exceed our " +
@@ -602,10 +646,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
 
                 log.debug("We have exceeded initialDataExchangeTrigger of {} " +
                         "Lets try to remove the oldest INITIAL_DATA_EXCHANGE connection.", initialDataExchangeTrigger);
-                candidates = allConnections.stream()
-                        .filter(e -> e.getConnectionState().getPeerType() == PeerType.INITIAL_DATA_EXCHANGE)
-                        .sorted(Comparator.comparingLong(o -> o.getConnectionState().getLastInitialDataMsgTimeStamp()))
-                        .collect(Collectors.toList());
+                candidates = initialDataExchanges;
 
                 if (candidates.isEmpty()) {
                     log.debug("No candidates found. We check if we exceed our " +
@@ -617,17 +658,15 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
                     }
 
                     log.info("We reached abs. max. connections. Lets try to remove ANY connection.");
-                    candidates = allConnections.stream()
-                            .sorted(Comparator.comparingLong(o -> o.getStatistic().getLastActivityTimestamp()))
-                            .collect(Collectors.toList());
+                    candidates = any;
                 }
             }
         }
 
         if (!candidates.isEmpty()) {
-            Connection connection = candidates.remove(0);
+            Connection connection = candidates.oldest;
             if (!throttleLogs) {
-                log.info("checkMaxConnections: Num candidates (inbound/peer) for shut down={}. We close oldest connection to peer {}", candidates.size(), connection.getPeersNodeAddressOptional());
+                log.info("checkMaxConnections: Num candidates (inbound/peer) for shut down={}. We close oldest connection to peer {}", candidates.size - 1, connection.getPeersNodeAddressOptional());
             }
             if (!connection.isStopped()) {
                 connection.shutDown(CloseConnectionReason.TOO_MANY_CONNECTIONS_OPEN,
@@ -680,50 +719,30 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     // Reported peers
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private void removeReportedPeer(Peer reportedPeer) {
-        synchronized (reportedPeers) {
-            reportedPeers.remove(reportedPeer);
-            printReportedPeers();
-        }
-
-    }
-
     private void removeReportedPeer(NodeAddress nodeAddress) {
         synchronized (reportedPeers) {
-            List<Peer> reportedPeersClone = new ArrayList<>(reportedPeers);
-            reportedPeersClone.stream()
-                    .filter(e -> e.getNodeAddress().equals(nodeAddress))
-                    .findAny()
-                    .ifPresent(this::removeReportedPeer);
+            if (reportedPeers.remove(nodeAddress) != null) {
+                printReportedPeers();
+            }
         }
     }
 
     private void removeTooOldReportedPeers() {
         synchronized (reportedPeers) {
-            List<Peer> reportedPeersClone = new ArrayList<>(reportedPeers);
-            Set<Peer> reportedPeersToRemove = reportedPeersClone.stream()
-                    .filter(reportedPeer -> new Date().getTime() - reportedPeer.getDate().getTime() > MAX_AGE)
-                    .collect(Collectors.toSet());
-            reportedPeersToRemove.forEach(this::removeReportedPeer);
+            if (!reportedPeers.removeOlderThan(new Date().getTime() - MAX_AGE).isEmpty()) {
+                printReportedPeers();
+            }
         }
     }
 
-
     private void purgeReportedPeersIfExceeds() {
         synchronized (reportedPeers) {
             int size = reportedPeers.size();
             if (size > MAX_REPORTED_PEERS) {
                 log.info("We have already {} reported peers which exceeds our limit of {}." +
                         "We remove random peers from the reported peers list.", size, MAX_REPORTED_PEERS);
-                int diff = size - MAX_REPORTED_PEERS;
-                List<Peer> list = new ArrayList<>(reportedPeers);
                 // we don't use sorting by lastActivityDate to keep it more random
-                for (int i = 0; i < diff; i++) {
-                    if (!list.isEmpty()) {
-                        Peer toRemove = list.remove(new Random().nextInt(list.size()));
-                        removeReportedPeer(toRemove);
-                    }
-                }
+                reportedPeers.removeRandom(MAX_REPORTED_PEERS, random);
             } else {
                 log.trace("No need to purge reported peers.\n\tWe don't have more then {} reported peers yet.", MAX_REPORTED_PEERS);
             }
@@ -733,11 +752,10 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     private void printReportedPeers() {
         synchronized (reportedPeers) {
             if (!reportedPeers.isEmpty()) {
-                if (PRINT_REPORTED_PEERS_DETAILS) {
+                if (PRINT_REPORTED_PEERS_DETAILS && log.isTraceEnabled()) {
                     StringBuilder result = new StringBuilder("\n\n------------------------------------------------------------\n" +
                             "Collected reported peers:");
-                    List<Peer> reportedPeersClone = new ArrayList<>(reportedPeers);
-                    reportedPeersClone.forEach(e -> result.append("\n").append(e));
+                    reportedPeers.getPeers().forEach(e -> result.append("\n").append(e));
                     result.append("\n------------------------------------------------------------\n");
                     log.trace(result.toString());
                 }
@@ -748,7 +766,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
 
     private void printNewReportedPeers(Set<Peer> reportedPeers) {
         synchronized (reportedPeers) {
-            if (PRINT_REPORTED_PEERS_DETAILS) {
+            if (PRINT_REPORTED_PEERS_DETAILS && log.isTraceEnabled()) {
                 StringBuilder result = new StringBuilder("We received new reportedPeers:");
                 List<Peer> reportedPeersClone = new ArrayList<>(reportedPeers);
                 reportedPeersClone.forEach(e -> result.append("\n\t").append(e));
@@ -763,8 +781,19 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     //  Persisted peers
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    private void addPersistedPeers(Collection<Peer> peers) {
+        synchronized (persistedPeers) {
+            peerList.addAll(peers);
+            peers.forEach(persistedPeers::put);
+        }
+    }
+
     private boolean removePersistedPeer(Peer persistedPeer) {
-        Peer removedPersistedPeer = peerList.getMap().remove(persistedPeer.getNodeAddress().toString());
+        Peer removedPersistedPeer;
+        synchronized (persistedPeers) {
+            removedPersistedPeer = peerList.getMap().remove(persistedPeer.getNodeAddress().toString());
+            persistedPeers.remove(persistedPeer.getNodeAddress());
+        }
         if (removedPersistedPeer != null) {
             requestPersistence();
             return true;
@@ -793,9 +822,10 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     }
 
     private void removeTooOldPersistedPeers() {
-        Set<Peer> persistedPeersToRemove = getPersistedPeers().stream()
-                .filter(reportedPeer -> new Date().getTime() - reportedPeer.getDate().getTime() > MAX_AGE)
-                .collect(Collectors.toSet());
+        List<Peer> persistedPeersToRemove;
+        synchronized (persistedPeers) {
+            persistedPeersToRemove = persistedPeers.removeOlderThan(new Date().getTime() - MAX_AGE);
+        }
         persistedPeersToRemove.forEach(this::removePersistedPeer);
     }
 
@@ -805,15 +835,12 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         if (size > limit) {
             log.trace("We have already {} persisted peers which exceeds our limit of {}." +
                     "We remove random peers from the persisted peers list.", size, limit);
-            int diff = size - limit;
-            List<Peer> list = new ArrayList<>(getPersistedPeers());
+            List<Peer> persistedPeersToRemove;
             // we don't use sorting by lastActivityDate to avoid attack vectors and keep it more random
-            for (int i = 0; i < diff; i++) {
-                if (!list.isEmpty()) {
-                    Peer toRemove = list.remove(new Random().nextInt(list.size()));
-                    removePersistedPeer(toRemove);
-                }
+            synchronized (persistedPeers) {
+                persistedPeersToRemove = persistedPeers.removeRandom(limit, random);
             }
+            persistedPeersToRemove.forEach(this::removePersistedPeer);
         } else {
             log.trace("No need to purge persisted peers.\n\tWe don't have more then {} persisted peers yet.", MAX_PERSISTED_PEERS);
         }
@@ -876,15 +903,14 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
                     if (capabilitiesNotFoundInConnection) {
                         // If not found in connection we look up if we got the Capabilities set from any of the
                         // reported or persisted peers
-                        Set<Peer> persistedAndReported = null;
-                        persistedAndReported = new HashSet<>(getPersistedPeers());
-                        synchronized (reportedPeers) {
-                            persistedAndReported.addAll(reportedPeers);
+                        Optional<Peer> candidate = findPersistedPeer(peersNodeAddress)
+                                .filter(peer -> !peer.getCapabilities().isEmpty());
+                        if (candidate.isEmpty()) {
+                            synchronized (reportedPeers) {
+                                candidate = Optional.ofNullable(reportedPeers.get(peersNodeAddress))
+                                        .filter(peer -> !peer.getCapabilities().isEmpty());
+                            }
                         }
-                        Optional<Peer> candidate = persistedAndReported.stream()
-                                .filter(peer -> peer.getNodeAddress().equals(peersNodeAddress))
-                                .filter(peer -> !peer.getCapabilities().isEmpty())
-                                .findAny();
                         if (candidate.isPresent()) {
                             supportedCapabilities = new Capabilities(candidate.get().getCapabilities());
                         }
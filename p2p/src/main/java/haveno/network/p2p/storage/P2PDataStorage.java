@@ -54,6 +54,7 @@ import haveno.network.p2p.storage.messages.AddOncePayload;
 import haveno.network.p2p.storage.messages.AddPersistableNetworkPayloadMessage;
 import haveno.network.p2p.storage.messages.BroadcastMessage;
 import haveno.network.p2p.storage.messages.RefreshOfferMessage;
+import haveno.network.p2p.storage.messages.RefreshOffersMessage;
 import haveno.network.p2p.storage.messages.RemoveDataMessage;
 import haveno.network.p2p.storage.messages.RemoveMailboxDataMessage;
 import haveno.network.p2p.storage.payload.CapabilityRequiringPayload;
@@ -131,6 +132,10 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     @Getter
     private final Map<ByteArray, ProtectedStorageEntry> map = new ConcurrentHashMap<>();
     private final Set<HashMapChangedListener> hashMapChangedListeners = new CopyOnWriteArraySet<>();
+    // Number of entries in the map by class name of their payload. Kept up to date at each map update so inventory
+    // requests don't need to iterate the map. The HashMapChangedListener is not used as it also signals updates of
+    // existing entries and removals of entries we never had.
+    private final Map<String, Integer> protectedStoragePayloadCountByClassName = new ConcurrentHashMap<>();
     private Timer removeExpiredEntriesTimer;
 
     private final PersistenceManager<SequenceNumberMap> persistenceManager;
@@ -226,7 +231,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         appendOnlyDataStoreService.readFromResources(postFix, () -> appendOnlyDataStoreServiceReady.set(true));
         protectedDataStoreService.readFromResources(postFix, () -> {
             synchronized (map) {
-                map.putAll(protectedDataStoreService.getMap());
+                protectedDataStoreService.getMap().forEach(this::putInMap);
                 protectedDataStoreServiceReady.set(true);
             }
         });
@@ -241,7 +246,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             protectedDataStoreService.readFromResourcesSync(postFix);
             resourceDataStoreService.readFromResourcesSync(postFix);
 
-            map.putAll(protectedDataStoreService.getMap());
+            protectedDataStoreService.getMap().forEach(this::putInMap);
         }
     }
 
@@ -251,7 +256,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         synchronized (map) {
             ProtectedStoragePayload protectedStoragePayload = protectedStorageEntry.getProtectedStoragePayload();
             ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStoragePayload);
-            map.put(hashOfPayload, protectedStorageEntry);
+            putInMap(hashOfPayload, protectedStorageEntry);
             //log.trace("## addProtectedMailboxStorageEntryToMap hashOfPayload={}, map={}", hashOfPayload, printMap());
         }
     }
@@ -678,6 +683,14 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                     remove(((RemoveMailboxDataMessage) networkEnvelope).getProtectedMailboxStorageEntry(), peersNodeAddress);
                 } else if (networkEnvelope instanceof RefreshOfferMessage) {
                     refreshTTL((RefreshOfferMessage) networkEnvelope, peersNodeAddress);
+                } else if (networkEnvelope instanceof RefreshOffersMessage) {
+                    List<RefreshOfferMessage> refreshOfferMessages = ((RefreshOffersMessage) networkEnvelope).getRefreshOfferMessages();
+                    if (refreshOfferMessages.size() > RefreshOffersMessage.MAX_REFRESHES) {
+                        log.warn("Ignoring RefreshOffersMessage from {} with {} refreshes, max allowed is {}",
+                                peersNodeAddress, refreshOfferMessages.size(), RefreshOffersMessage.MAX_REFRESHES);
+                    } else {
+                        refreshTTL(refreshOfferMessages, peersNodeAddress);
+                    }
                 } else if (networkEnvelope instanceof AddPersistableNetworkPayloadMessage) {
                     addPersistableNetworkPayload(((AddPersistableNetworkPayloadMessage) networkEnvelope).getPersistableNetworkPayload(),
                             peersNodeAddress, true, false, true);
@@ -841,48 +854,32 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                                              @Nullable NodeAddress sender,
                                              @Nullable BroadcastHandler.Listener listener,
                                              boolean allowBroadcast) {
-        synchronized (map) {
-            ProtectedStoragePayload protectedStoragePayload = protectedStorageEntry.getProtectedStoragePayload();
-            ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStoragePayload);
-
-            //log.trace("## call addProtectedStorageEntry hash={}, map={}", hashOfPayload, printMap());
+        ProtectedStoragePayload protectedStoragePayload = protectedStorageEntry.getProtectedStoragePayload();
+        ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStoragePayload);
 
-            // We do that check early as it is a very common case for returning, so we return early
-            // If we have seen a more recent operation for this payload and we have a payload locally, ignore it
-            ProtectedStorageEntry storedEntry = map.get(hashOfPayload);
-            if (storedEntry != null && !hasSequenceNrIncreased(protectedStorageEntry.getSequenceNumber(), hashOfPayload)) {
-                log.trace("## hasSequenceNrIncreased is false. hash={}", hashOfPayload);
-                return false;
-            }
+        //log.trace("## call addProtectedStorageEntry hash={}, map={}", hashOfPayload, printMap());
 
-            if (hasAlreadyRemovedAddOncePayload(protectedStoragePayload, hashOfPayload)) {
-                log.trace("## We have already removed that AddOncePayload by a previous removeDataMessage. " +
-                        "We ignore that message. ProtectedStoragePayload: {}", protectedStoragePayload.toString());
+        // Verifying the signature does not depend on the stored data, so we do it outside the lock to let
+        // concurrent adds verify in parallel. The cheap checks run first so known, removed or expired entries
+        // are rejected without verifying, and they are repeated as another add may complete in the meantime.
+        synchronized (map) {
+            if (!canAddProtectedStorageEntry(protectedStorageEntry, hashOfPayload, sender)) {
                 return false;
             }
+        }
 
-            // To avoid that expired data get stored and broadcast we check for expire date.
-            if (protectedStorageEntry.isExpired(clock)) {
-                String peer = sender != null ? sender.getFullAddress() : "sender is null";
-                log.trace("## We received an expired protectedStorageEntry from peer {}. ProtectedStoragePayload={}",
-                        peer, protectedStorageEntry.getProtectedStoragePayload().getClass().getSimpleName());
-                return false;
-            }
+        // Verify the ProtectedStorageEntry is well formed and valid for the add operation
+        if (!protectedStorageEntry.isValidForAddOperation()) {
+            log.trace("## !isValidForAddOperation hash={}", hashOfPayload);
+            return false;
+        }
 
-            // We want to allow add operations for equal sequence numbers if we don't have the payload locally. This is
-            // the case for non-persistent Payloads that need to be reconstructed from peer and seed nodes each startup.
-            MapValue sequenceNumberMapValue = sequenceNumberMap.get(hashOfPayload);
-            if (sequenceNumberMapValue != null &&
-                    protectedStorageEntry.getSequenceNumber() < sequenceNumberMapValue.sequenceNr) {
-                log.trace("## sequenceNr too low hash={}", hashOfPayload);
+        synchronized (map) {
+            if (!canAddProtectedStorageEntry(protectedStorageEntry, hashOfPayload, sender)) {
                 return false;
             }
 
-            // Verify the ProtectedStorageEntry is well formed and valid for the add operation
-            if (!protectedStorageEntry.isValidForAddOperation()) {
-                log.trace("## !isValidForAddOperation hash={}", hashOfPayload);
-                return false;
-            }
+            ProtectedStorageEntry storedEntry = map.get(hashOfPayload);
 
             // If we have already seen an Entry with the same hash, verify the metadata is equal
             if (storedEntry != null && !protectedStorageEntry.matchesRelevantPubKey(storedEntry)) {
@@ -898,7 +895,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             }
 
             // This is an updated entry. Record it and signal listeners.
-            map.put(hashOfPayload, protectedStorageEntry);
+            putInMap(hashOfPayload, protectedStorageEntry);
             hashMapChangedListeners.forEach(e -> e.onAdded(Collections.singletonList(protectedStorageEntry)));
 
             // Record the updated sequence number and persist it. Higher delay so we can batch more items.
@@ -920,6 +917,43 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         }
     }
 
+    private boolean canAddProtectedStorageEntry(ProtectedStorageEntry protectedStorageEntry,
+                                                ByteArray hashOfPayload,
+                                                @Nullable NodeAddress sender) {
+        ProtectedStoragePayload protectedStoragePayload = protectedStorageEntry.getProtectedStoragePayload();
+
+        // We do that check early as it is a very common case for returning, so we return early
+        // If we have seen a more recent operation for this payload and we have a payload locally, ignore it
+        if (map.containsKey(hashOfPayload) && !hasSequenceNrIncreased(protectedStorageEntry.getSequenceNumber(), hashOfPayload)) {
+            log.trace("## hasSequenceNrIncreased is false. hash={}", hashOfPayload);
+            return false;
+        }
+
+        if (hasAlreadyRemovedAddOncePayload(protectedStoragePayload, hashOfPayload)) {
+            log.trace("## We have already removed that AddOncePayload by a previous removeDataMessage. " +
+                    "We ignore that message. ProtectedStoragePayload: {}", protectedStoragePayload.toString());
+            return false;
+        }
+
+        // To avoid that expired data get stored and broadcast we check for expire date.
+        if (protectedStorageEntry.isExpired(clock)) {
+            String peer = sender != null ? sender.getFullAddress() : "sender is null";
+            log.trace("## We received an expired protectedStorageEntry from peer {}. ProtectedStoragePayload={}",
+                    peer, protectedStorageEntry.getProtectedStoragePayload().getClass().getSimpleName());
+            return false;
+        }
+
+        // We want to allow add operations for equal sequence numbers if we don't have the payload locally. This is
+        // the case for non-persistent Payloads that need to be reconstructed from peer and seed nodes each startup.
+        MapValue sequenceNumberMapValue = sequenceNumberMap.get(hashOfPayload);
+        if (sequenceNumberMapValue != null &&
+                protectedStorageEntry.getSequenceNumber() < sequenceNumberMapValue.sequenceNr) {
+            log.trace("## sequenceNr too low hash={}", hashOfPayload);
+            return false;
+        }
+        return true;
+    }
+
     /**
      * We do not do all checks as it is used for republishing existing mailbox messages from seed nodes which
      * only got stored if they had been valid when we received them.
@@ -961,49 +995,87 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     public boolean refreshTTL(RefreshOfferMessage refreshTTLMessage,
                               @Nullable NodeAddress sender) {
         synchronized (map) {
-            try {
-                ByteArray hashOfPayload = new ByteArray(refreshTTLMessage.getHashOfPayload());
-                ProtectedStorageEntry storedData = map.get(hashOfPayload);
+            if (!applyRefreshTTL(refreshTTLMessage))
+                return false;
 
-                if (storedData == null) {
-                    log.debug("We don't have data for that refresh message in our map. That is expected if we missed the data publishing.");
+            requestPersistence();
 
-                    return false;
-                }
+            // Always broadcast refreshes
+            broadcaster.broadcast(refreshTTLMessage, sender);
+            return true;
+        }
+    }
 
-                ProtectedStorageEntry storedEntry = map.get(hashOfPayload);
-                ProtectedStorageEntry updatedEntry = new ProtectedStorageEntry(
-                        storedEntry.getProtectedStoragePayload(),
-                        storedEntry.getOwnerPubKey(),
-                        refreshTTLMessage.getSequenceNumber(),
-                        refreshTTLMessage.getSignature(),
-                        this.clock);
+    /**
+     * Updates many local RefreshOffers with TTL changes in one pass and broadcasts the applied changes to the
+     * network, bundled into RefreshOffersMessages.
+     *
+     * @param refreshTTLMessages refreshTTLMessages containing the updates
+     * @param sender local NodeAddress, if available
+     * @return the refreshTTLMessages which were successfully applied and broadcast
+     */
+    public List<RefreshOfferMessage> refreshTTL(Collection<RefreshOfferMessage> refreshTTLMessages,
+                                                @Nullable NodeAddress sender) {
+        synchronized (map) {
+            List<RefreshOfferMessage> applied = refreshTTLMessages.stream()
+                    .filter(this::applyRefreshTTL)
+                    .collect(Collectors.toList());
+            if (applied.isEmpty())
+                return applied;
 
+            requestPersistence();
 
-                // If we have seen a more recent operation for this payload, we ignore the current one
-                if (!hasSequenceNrIncreased(updatedEntry.getSequenceNumber(), hashOfPayload))
-                    return false;
+            // Always broadcast refreshes
+            for (int from = 0; from < applied.size(); from += RefreshOffersMessage.MAX_REFRESHES) {
+                List<RefreshOfferMessage> bundle = applied.subList(from, Math.min(applied.size(), from + RefreshOffersMessage.MAX_REFRESHES));
+                if (bundle.size() == 1) {
+                    broadcaster.broadcast(bundle.get(0), sender);
+                } else {
+                    broadcaster.broadcast(new RefreshOffersMessage(new ArrayList<>(bundle)), sender);
+                }
+            }
+            return applied;
+        }
+    }
 
-                // Verify the updated ProtectedStorageEntry is well formed and valid for update
-                if (!updatedEntry.isValidForAddOperation())
-                    return false;
+    // Caller must hold the lock on the map
+    private boolean applyRefreshTTL(RefreshOfferMessage refreshTTLMessage) {
+        try {
+            ByteArray hashOfPayload = new ByteArray(refreshTTLMessage.getHashOfPayload());
+            ProtectedStorageEntry storedEntry = map.get(hashOfPayload);
 
-                // Update the hash map with the updated entry
-                map.put(hashOfPayload, updatedEntry);
+            if (storedEntry == null) {
+                log.debug("We don't have data for that refresh message in our map. That is expected if we missed the data publishing.");
 
-                // Record the latest sequence number and persist it
-                sequenceNumberMap.put(hashOfPayload, new MapValue(updatedEntry.getSequenceNumber(), this.clock.millis()));
-                requestPersistence();
+                return false;
+            }
 
-                // Always broadcast refreshes
-                broadcaster.broadcast(refreshTTLMessage, sender);
+            ProtectedStorageEntry updatedEntry = new ProtectedStorageEntry(
+                    storedEntry.getProtectedStoragePayload(),
+                    storedEntry.getOwnerPubKey(),
+                    refreshTTLMessage.getSequenceNumber(),
+                    refreshTTLMessage.getSignature(),
+                    this.clock);
 
-            } catch (IllegalArgumentException e) {
-                log.error("refreshTTL failed, missing data: {}\n", e.toString(), e);
+
+            // If we have seen a more recent operation for this payload, we ignore the current one
+            if (!hasSequenceNrIncreased(updatedEntry.getSequenceNumber(), hashOfPayload))
                 return false;
-            }
-            return true;
+
+            // Verify the updated ProtectedStorageEntry is well formed and valid for update
+            if (!updatedEntry.isValidForAddOperation())
+                return false;
+
+            // Update the hash map with the updated entry
+            putInMap(hashOfPayload, updatedEntry);
+
+            // Record the latest sequence number
+            sequenceNumberMap.put(hashOfPayload, new MapValue(updatedEntry.getSequenceNumber(), this.clock.millis()));
+        } catch (IllegalArgumentException e) {
+            log.error("refreshTTL failed, missing data: {}\n", e.toString(), e);
+            return false;
         }
+        return true;
     }
 
     /**
@@ -1117,6 +1189,11 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         hashMapChangedListeners.remove(hashMapChangedListener);
     }
 
+    // Number of entries in the map by class simple name of their payload
+    public Map<String, Integer> getProtectedStoragePayloadCountByClassName() {
+        return Collections.unmodifiableMap(protectedStoragePayloadCountByClassName);
+    }
+
     public void addAppendOnlyDataStoreListener(AppendOnlyDataStoreListener listener) {
         appendOnlyDataStoreListeners.add(listener);
     }
@@ -1129,6 +1206,18 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    private void putInMap(ByteArray hashOfPayload, ProtectedStorageEntry protectedStorageEntry) {
+        ProtectedStorageEntry previous = map.put(hashOfPayload, protectedStorageEntry);
+        if (previous != null)
+            updateProtectedStoragePayloadCount(previous, -1);
+        updateProtectedStoragePayloadCount(protectedStorageEntry, 1);
+    }
+
+    private void updateProtectedStoragePayloadCount(ProtectedStorageEntry protectedStorageEntry, int delta) {
+        String className = protectedStorageEntry.getProtectedStoragePayload().getClass().getSimpleName();
+        protectedStoragePayloadCountByClassName.merge(className, delta, (count, d) -> count + d == 0 ? null : count + d);
+    }
+
     private void removeFromMapAndDataStore(ProtectedStorageEntry protectedStorageEntry, ByteArray hashOfPayload) {
         removeFromMapAndDataStore(Collections.singletonList(Maps.immutableEntry(hashOfPayload, protectedStorageEntry)));
     }
@@ -1144,7 +1233,9 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                 ProtectedStorageEntry protectedStorageEntry = entry.getValue();
 
                 //log.trace("## removeFromMapAndDataStore: hashOfPayload={}, map before remove={}", hashOfPayload, printMap());
-                map.remove(hashOfPayload);
+                ProtectedStorageEntry removedEntry = map.remove(hashOfPayload);
+                if (removedEntry != null)
+                    updateProtectedStoragePayloadCount(removedEntry, -1);
                 //log.trace("## removeFromMapAndDataStore: map after remove={}", printMap());
 
                 // We inform listeners even the entry was not found in our map
@@ -22,10 +22,12 @@ import com.google.inject.Inject;
 import haveno.network.p2p.storage.P2PDataStorage;
 import haveno.network.p2p.storage.payload.PersistableNetworkPayload;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.Getter;
@@ -41,6 +43,11 @@ public class AppendOnlyDataStoreService {
     @Getter
     private final List<MapStoreService<? extends PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>, PersistableNetworkPayload>> services = new ArrayList<>();
 
+    // Number of payloads by class name in the live data of the historical stores and all data of the other stores,
+    // which is what we deliver to a requester on our version. Counted once after reading the stores and kept up to
+    // date on put, so inventory requests don't need to merge and group the stores.
+    private final Map<String, Integer> livePayloadCountByClassName = new ConcurrentHashMap<>();
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
@@ -63,6 +70,7 @@ public class AppendOnlyDataStoreService {
         services.forEach(service -> {
             service.readFromResources(postFix, () -> {
                 if (remaining.decrementAndGet() == 0) {
+                    countLivePayloads();
                     completeHandler.run();
                 }
             });
@@ -73,6 +81,7 @@ public class AppendOnlyDataStoreService {
     @VisibleForTesting
     public void readFromResourcesSync(String postFix) {
         services.forEach(service -> service.readFromResourcesSync(postFix));
+        countLivePayloads();
     }
 
     public Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getMap(PersistableNetworkPayload payload) {
@@ -94,7 +103,27 @@ public class AppendOnlyDataStoreService {
     // Returns true if a service handled the payload and it was not already present.
     public boolean put(P2PDataStorage.ByteArray hashAsByteArray, PersistableNetworkPayload payload) {
         Optional<MapStoreService<? extends PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>, PersistableNetworkPayload>> optionalService = findService(payload);
-        return optionalService.map(service -> service.putIfAbsent(hashAsByteArray, payload) == null).orElse(false);
+        boolean wasAdded = optionalService.map(service -> service.putIfAbsent(hashAsByteArray, payload) == null).orElse(false);
+        if (wasAdded) {
+            livePayloadCountByClassName.merge(payload.getClass().getSimpleName(), 1, Integer::sum);
+        }
+        return wasAdded;
+    }
+
+    public Map<String, Integer> getLivePayloadCountByClassName() {
+        return Collections.unmodifiableMap(livePayloadCountByClassName);
+    }
+
+    private void countLivePayloads() {
+        Map<String, Integer> countByClassName = new HashMap<>();
+        services.forEach(service -> {
+            Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> serviceMap = service instanceof HistoricalDataStoreService ?
+                    ((HistoricalDataStoreService<?>) service).getMapOfLiveData() :
+                    service.getMap();
+            serviceMap.values().forEach(payload -> countByClassName.merge(payload.getClass().getSimpleName(), 1, Integer::sum));
+        });
+        livePayloadCountByClassName.clear();
+        livePayloadCountByClassName.putAll(countByClassName);
     }
 
     @NotNull
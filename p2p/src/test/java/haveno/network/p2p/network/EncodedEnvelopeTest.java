@@ -0,0 +1,66 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.network;
+
+import haveno.common.proto.network.NetworkEnvelope;
+import haveno.network.p2p.peers.keepalive.messages.Ping;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EncodedEnvelopeTest {
+
+    @Test
+    public void testDelimitedBytesMatchProtoEncoding() throws IOException {
+        Ping ping = new Ping(42, 100);
+        protobuf.NetworkEnvelope proto = ping.toProtoNetworkEnvelope();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        proto.writeDelimitedTo(expected);
+
+        EncodedEnvelope encodedEnvelope = new EncodedEnvelope(ping);
+        assertArrayEquals(expected.toByteArray(), encodedEnvelope.getDelimitedBytes());
+        assertEquals(proto.getSerializedSize(), encodedEnvelope.getSerializedSize());
+        assertEquals(proto, protobuf.NetworkEnvelope.parseDelimitedFrom(new ByteArrayInputStream(encodedEnvelope.getDelimitedBytes())));
+    }
+
+    @Test
+    public void testEncodesOnlyOnce() {
+        NetworkEnvelope envelope = mock(NetworkEnvelope.class);
+        when(envelope.toProtoNetworkEnvelope()).thenReturn(new Ping(1, 2).toProtoNetworkEnvelope());
+
+        EncodedEnvelope encodedEnvelope = new EncodedEnvelope(envelope);
+        assertFalse(encodedEnvelope.isEncoded());
+        byte[] bytes = encodedEnvelope.getDelimitedBytes();
+        encodedEnvelope.getSerializedSize();
+        assertTrue(encodedEnvelope.isEncoded());
+        assertSame(bytes, encodedEnvelope.getDelimitedBytes());
+        verify(envelope, times(1)).toProtoNetworkEnvelope();
+    }
+}
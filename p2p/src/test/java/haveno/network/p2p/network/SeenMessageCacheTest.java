@@ -0,0 +1,98 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.network;
+
+import haveno.network.p2p.peers.keepalive.messages.Ping;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SeenMessageCacheTest {
+
+    @Test
+    public void testDetectsDuplicates() {
+        SeenMessageCache cache = new SeenMessageCache(10);
+        byte[] digest = SeenMessageCache.getDigest(new byte[]{1, 2, 3});
+
+        assertFalse(cache.isDuplicate(digest));
+        cache.add(digest);
+        assertTrue(cache.isDuplicate(SeenMessageCache.getDigest(new byte[]{1, 2, 3})));
+        assertFalse(cache.isDuplicate(SeenMessageCache.getDigest(new byte[]{1, 2, 4})));
+
+        assertEquals(1, cache.getNumUnique());
+        assertEquals(1, cache.getNumDuplicates());
+        assertEquals(0.5, cache.getDuplicateRatio(), 0.0001);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlySeen() {
+        SeenMessageCache cache = new SeenMessageCache(2);
+        byte[] digest1 = SeenMessageCache.getDigest(new byte[]{1});
+        byte[] digest2 = SeenMessageCache.getDigest(new byte[]{2});
+        byte[] digest3 = SeenMessageCache.getDigest(new byte[]{3});
+        cache.add(digest1);
+        cache.add(digest2);
+
+        // touch first digest so the second one is evicted
+        assertTrue(cache.isDuplicate(digest1));
+        cache.add(digest3);
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.isDuplicate(digest1));
+        assertFalse(cache.isDuplicate(digest2));
+        assertTrue(cache.isDuplicate(digest3));
+    }
+
+    @Test
+    public void testOnlyGossipMessagesAreDeduplicated() {
+        assertFalse(SeenMessageCache.isDeduplicated(new Ping(1, 2).toProtoNetworkEnvelope()));
+        assertTrue(SeenMessageCache.isDeduplicated(protobuf.NetworkEnvelope.newBuilder()
+                .setRefreshOfferMessage(protobuf.RefreshOfferMessage.newBuilder())
+                .build()));
+    }
+
+    @Test
+    public void testBroadcastFromPeerWithUnknownAddressIsNotRemembered() {
+        SeenMessageCache cache = new SeenMessageCache(10);
+        protobuf.NetworkEnvelope proto = protobuf.NetworkEnvelope.newBuilder()
+                .setRefreshOfferMessage(protobuf.RefreshOfferMessage.newBuilder())
+                .build();
+        byte[] digest = SeenMessageCache.getDigest(proto.toByteArray());
+
+        // the first copy arrives on a connection whose peer address is not yet known, which the storage ignores
+        assertFalse(cache.isDuplicate(digest));
+        assertFalse(cache.maybeAdd(digest, proto, false));
+
+        // so the copy from a known peer is processed and only later copies are dropped
+        assertFalse(cache.isDuplicate(digest));
+        assertTrue(cache.maybeAdd(digest, proto, true));
+        assertTrue(cache.isDuplicate(digest));
+    }
+
+    @Test
+    public void testNonGossipMessagesAreNotRemembered() {
+        protobuf.NetworkEnvelope proto = new Ping(1, 2).toProtoNetworkEnvelope();
+        SeenMessageCache cache = new SeenMessageCache(10);
+        byte[] digest = SeenMessageCache.getDigest(proto.toByteArray());
+
+        assertFalse(cache.maybeAdd(digest, proto, true));
+        assertFalse(cache.isDuplicate(digest));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.peers;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.SettableFuture;
+import haveno.common.proto.network.NetworkEnvelope;
+import haveno.network.p2p.BundleOfEnvelopes;
+import haveno.network.p2p.network.Connection;
+import haveno.network.p2p.network.EncodedEnvelope;
+import haveno.network.p2p.network.NetworkNode;
+import haveno.network.p2p.storage.messages.RefreshOfferMessage;
+import haveno.network.p2p.storage.messages.RefreshOffersMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BroadcastHandlerTest {
+    private NetworkNode networkNode;
+    private Broadcaster broadcaster;
+
+    @BeforeEach
+    public void setUp() {
+        networkNode = mock(NetworkNode.class);
+        when(networkNode.sendMessage(any(Connection.class), any(EncodedEnvelope.class), any(ListeningExecutorService.class)))
+                .thenAnswer(invocation -> {
+                    SettableFuture<Connection> future = SettableFuture.create();
+                    future.set(invocation.getArgument(0));
+                    return future;
+                });
+        broadcaster = new Broadcaster(networkNode, mock(PeerManager.class), 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        broadcaster.shutDown(() -> {
+        });
+    }
+
+    @Test
+    public void testRefreshOffersAreSentSingleToPeersWithoutBatchedRefreshCapability() {
+        Connection capable = getConnection(true);
+        Connection incapable = getConnection(false);
+        when(networkNode.getConfirmedConnections()).thenReturn(Set.of(capable, incapable));
+
+        List<RefreshOfferMessage> refreshOfferMessages = IntStream.range(0, 3)
+                .mapToObj(i -> new RefreshOfferMessage(new byte[32], new byte[46], new byte[]{(byte) i}, i))
+                .collect(Collectors.toList());
+        RefreshOffersMessage refreshOffersMessage = new RefreshOffersMessage(refreshOfferMessages);
+        broadcaster.broadcast(refreshOffersMessage, null);
+        broadcaster.flush();
+
+        ArgumentCaptor<EncodedEnvelope> capableEnvelope = ArgumentCaptor.forClass(EncodedEnvelope.class);
+        verify(networkNode, timeout(5000)).sendMessage(eq(capable), capableEnvelope.capture(), any(ListeningExecutorService.class));
+        assertSame(refreshOffersMessage, capableEnvelope.getValue().getEnvelope());
+
+        ArgumentCaptor<EncodedEnvelope> incapableEnvelope = ArgumentCaptor.forClass(EncodedEnvelope.class);
+        verify(networkNode, timeout(5000)).sendMessage(eq(incapable), incapableEnvelope.capture(), any(ListeningExecutorService.class));
+        List<NetworkEnvelope> envelopes = ((BundleOfEnvelopes) incapableEnvelope.getValue().getEnvelope()).getEnvelopes();
+        assertEquals(refreshOfferMessages, envelopes);
+    }
+
+    private Connection getConnection(boolean supportsBatchedRefreshOffer) {
+        Connection connection = mock(Connection.class);
+        when(connection.getPeersNodeAddressOptional()).thenReturn(Optional.empty());
+        when(connection.testCapability(any(NetworkEnvelope.class))).thenAnswer(invocation ->
+                supportsBatchedRefreshOffer || !(invocation.getArgument(0) instanceof RefreshOffersMessage));
+        return connection;
+    }
+}
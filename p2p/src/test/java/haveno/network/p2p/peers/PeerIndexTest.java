@@ -0,0 +1,109 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.network.p2p.peers;
+
+import haveno.network.p2p.NodeAddress;
+import haveno.network.p2p.peers.peerexchange.Peer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PeerIndexTest {
+
+    @Test
+    public void testMergeKeepsMostRecentPeer() {
+        PeerIndex index = new PeerIndex();
+        Peer peer = peer("peer1", 2000);
+        assertTrue(index.merge(peer));
+
+        assertFalse(index.merge(peer("peer1", 1000)));
+        assertSame(peer, index.get(address("peer1")));
+
+        Peer newerPeer = peer("peer1", 3000);
+        assertTrue(index.merge(newerPeer));
+        assertSame(newerPeer, index.get(address("peer1")));
+        assertEquals(1, index.size());
+
+        // the replaced peer must not be pruned by its old date
+        assertTrue(index.removeOlderThan(2500).isEmpty());
+        assertTrue(index.contains(address("peer1")));
+    }
+
+    @Test
+    public void testRemoveOlderThan() {
+        PeerIndex index = new PeerIndex();
+        for (int i = 0; i < 10; i++) index.put(peer("peer" + i, 1000 + i));
+
+        List<Peer> removed = index.removeOlderThan(1004);
+        assertEquals(Set.of(address("peer0"), address("peer1"), address("peer2"), address("peer3")),
+                removed.stream().map(Peer::getNodeAddress).collect(Collectors.toSet()));
+        assertEquals(6, index.size());
+        assertNull(index.get(address("peer3")));
+        assertTrue(index.contains(address("peer4")));
+
+        index.removeOldest(2);
+        assertEquals(Set.of(address("peer8"), address("peer9")),
+                index.toSet().stream().map(Peer::getNodeAddress).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testRemoveRandomKeepsIndexConsistent() {
+        PeerIndex index = new PeerIndex();
+        for (int i = 0; i < 100; i++) index.put(peer("peer" + i, i));
+
+        List<Peer> removed = index.removeRandom(60, new Random(1));
+        assertEquals(40, removed.size());
+        assertEquals(60, index.size());
+
+        Set<NodeAddress> remaining = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            NodeAddress nodeAddress = address("peer" + i);
+            Peer peer = index.get(nodeAddress);
+            if (peer != null) {
+                assertEquals(nodeAddress, peer.getNodeAddress());
+                remaining.add(nodeAddress);
+            }
+        }
+        assertEquals(60, remaining.size());
+        removed.forEach(peer -> assertFalse(remaining.contains(peer.getNodeAddress())));
+
+        // the date index only contains the remaining peers
+        assertEquals(60, index.removeOlderThan(Long.MAX_VALUE).size());
+        assertTrue(index.isEmpty());
+    }
+
+    private static NodeAddress address(String hostName) {
+        return new NodeAddress(hostName + ".onion", 9999);
+    }
+
+    private static Peer peer(String hostName, long date) {
+        return Peer.fromProto(protobuf.Peer.newBuilder()
+                .setNodeAddress(address(hostName).toProtoMessage())
+                .setDate(date)
+                .build());
+    }
+}
@@ -18,10 +18,12 @@
 package haveno.network.p2p.peers;
 
 import haveno.network.p2p.MockNode;
+import haveno.network.p2p.NodeAddress;
 import haveno.network.p2p.network.CloseConnectionReason;
 import haveno.network.p2p.network.Connection;
 import haveno.network.p2p.network.InboundConnection;
 import haveno.network.p2p.network.PeerType;
+import haveno.network.p2p.peers.peerexchange.Peer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -30,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -37,6 +40,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -194,4 +198,33 @@ public class PeerManagerTest {
         node.getNetworkNode().getAllConnections().forEach(connection ->
                 verify(connection, never()).shutDown(eq(CloseConnectionReason.TOO_MANY_CONNECTIONS_OPEN), isA(Runnable.class)));
     }
+
+    @Test
+    public void testReportedPeersAreMergedByNodeAddress() {
+        PeerManager peerManager = node.getPeerManager();
+        long now = System.currentTimeMillis();
+        peerManager.addToReportedPeers(Set.of(peer("peer1", now - 2000), peer("peer2", now)), mock(Connection.class), null);
+        assertEquals(2, peerManager.getReportedPeers().size());
+
+        // a more recent report replaces the known peer, an older one is ignored
+        peerManager.addToReportedPeers(Set.of(peer("peer1", now - 1000)), mock(Connection.class), null);
+        peerManager.addToReportedPeers(Set.of(peer("peer1", now - 3000)), mock(Connection.class), null);
+        Set<Peer> reportedPeers = peerManager.getReportedPeers();
+        assertEquals(2, reportedPeers.size());
+        assertEquals(now - 1000, reportedPeers.stream()
+                .filter(peer -> peer.getNodeAddress().equals(address("peer1")))
+                .findAny().orElseThrow().getDateAsLong());
+        assertTrue(peerManager.findPeer(address("peer2")).isPresent());
+    }
+
+    private static NodeAddress address(String hostName) {
+        return new NodeAddress(hostName + ".onion", 9999);
+    }
+
+    private static Peer peer(String hostName, long date) {
+        return Peer.fromProto(protobuf.Peer.newBuilder()
+                .setNodeAddress(address(hostName).toProtoMessage())
+                .setDate(date)
+                .build());
+    }
 }
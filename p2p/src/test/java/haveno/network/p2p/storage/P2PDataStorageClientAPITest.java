@@ -19,10 +19,13 @@ package haveno.network.p2p.storage;
 
 import haveno.common.app.Version;
 import haveno.common.crypto.CryptoException;
+import haveno.network.p2p.NodeAddress;
 import haveno.network.p2p.TestUtils;
 import haveno.network.p2p.network.Connection;
 import haveno.network.p2p.storage.messages.AddDataMessage;
+import haveno.network.p2p.storage.messages.BroadcastMessage;
 import haveno.network.p2p.storage.messages.RefreshOfferMessage;
+import haveno.network.p2p.storage.messages.RefreshOffersMessage;
 import haveno.network.p2p.storage.mocks.ExpirableProtectedStoragePayloadStub;
 import haveno.network.p2p.storage.payload.MailboxStoragePayload;
 import haveno.network.p2p.storage.payload.ProtectedMailboxStorageEntry;
@@ -30,15 +33,22 @@ import haveno.network.p2p.storage.payload.ProtectedStorageEntry;
 import haveno.network.p2p.storage.payload.ProtectedStoragePayload;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.security.KeyPair;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static haveno.network.p2p.storage.TestState.SavedTestState;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -171,6 +181,37 @@ public class P2PDataStorageClientAPITest {
         this.testState.verifyRefreshTTL(beforeState, refreshOfferMessage, true);
     }
 
+    // TESTCASE: Refreshing many entries at once applies the known ones and broadcasts them in one RefreshOffersMessage
+    @Test
+    public void refreshTTL_Batch() throws NoSuchAlgorithmException, CryptoException {
+        List<RefreshOfferMessage> refreshOfferMessages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            KeyPair ownerKeys = TestUtils.generateKeyPair();
+            ProtectedStoragePayload protectedStoragePayload = new ExpirableProtectedStoragePayloadStub(ownerKeys.getPublic());
+            // the last payload was never added so its refresh must be skipped
+            if (i < 2) {
+                ProtectedStorageEntry protectedStorageEntry = this.testState.mockedStorage.getProtectedStorageEntry(protectedStoragePayload, ownerKeys);
+                this.testState.mockedStorage.addProtectedStorageEntry(protectedStorageEntry, TestState.getTestNodeAddress(), null);
+            }
+            refreshOfferMessages.add(this.testState.mockedStorage.getRefreshTTLMessage(protectedStoragePayload, ownerKeys));
+        }
+
+        this.testState.incrementClock();
+
+        this.testState.saveTestState(refreshOfferMessages.get(0));
+        List<RefreshOfferMessage> applied = this.testState.mockedStorage.refreshTTL(refreshOfferMessages, TestState.getTestNodeAddress());
+        assertEquals(refreshOfferMessages.subList(0, 2), applied);
+
+        for (RefreshOfferMessage refreshOfferMessage : applied) {
+            ProtectedStorageEntry entry = this.testState.mockedStorage.getMap().get(new P2PDataStorage.ByteArray(refreshOfferMessage.getHashOfPayload()));
+            assertEquals(refreshOfferMessage.getSequenceNumber(), entry.getSequenceNumber());
+        }
+
+        ArgumentCaptor<BroadcastMessage> captor = ArgumentCaptor.forClass(BroadcastMessage.class);
+        verify(this.testState.mockBroadcaster).broadcast(captor.capture(), nullable(NodeAddress.class));
+        assertEquals(new RefreshOffersMessage(applied), captor.getValue());
+    }
+
     // TESTCASE: Removing a non-existent mailbox entry from the getMailboxDataWithSignedSeqNr API
     @Test
     public void getMailboxDataWithSignedSeqNr_RemoveNoExist() throws NoSuchAlgorithmException, CryptoException {
@@ -236,4 +277,36 @@ public class P2PDataStorageClientAPITest {
 
         this.testState.verifyProtectedStorageRemove(beforeState, protectedMailboxStorageEntry, true, true, true, true);
     }
+
+    // TESTCASE: The payload counts by class name follow adds, updates and removes of an item
+    @Test
+    public void getProtectedStoragePayloadCountByClassName() throws NoSuchAlgorithmException, CryptoException {
+        KeyPair ownerKeys = TestUtils.generateKeyPair();
+
+        ProtectedStoragePayload protectedStoragePayload = new ExpirableProtectedStoragePayloadStub(ownerKeys.getPublic());
+        String className = protectedStoragePayload.getClass().getSimpleName();
+        ProtectedStorageEntry protectedStorageEntry = this.testState.mockedStorage.getProtectedStorageEntry(protectedStoragePayload, ownerKeys);
+        assertTrue(this.testState.mockedStorage.addProtectedStorageEntry(protectedStorageEntry, TestState.getTestNodeAddress(), null));
+        assertEquals(1, (int) this.testState.mockedStorage.getProtectedStoragePayloadCountByClassName().get(className));
+
+        // An update replaces the entry
+        protectedStorageEntry = this.testState.mockedStorage.getProtectedStorageEntry(protectedStoragePayload, ownerKeys);
+        assertTrue(this.testState.mockedStorage.addProtectedStorageEntry(protectedStorageEntry, TestState.getTestNodeAddress(), null));
+        assertEquals(1, (int) this.testState.mockedStorage.getProtectedStoragePayloadCountByClassName().get(className));
+
+        KeyPair receiverKeys = TestUtils.generateKeyPair();
+        KeyPair senderKeys = TestUtils.generateKeyPair();
+        MailboxStoragePayload mailboxStoragePayload = TestState.buildMailboxStoragePayload(senderKeys.getPublic(), receiverKeys.getPublic());
+        String mailboxClassName = mailboxStoragePayload.getClass().getSimpleName();
+        ProtectedMailboxStorageEntry protectedMailboxStorageEntry =
+                this.testState.mockedStorage.getMailboxDataWithSignedSeqNr(mailboxStoragePayload, senderKeys, receiverKeys.getPublic());
+        assertTrue(this.testState.mockedStorage.addProtectedStorageEntry(protectedMailboxStorageEntry, TestState.getTestNodeAddress(), null));
+        assertEquals(1, (int) this.testState.mockedStorage.getProtectedStoragePayloadCountByClassName().get(mailboxClassName));
+
+        protectedMailboxStorageEntry =
+                this.testState.mockedStorage.getMailboxDataWithSignedSeqNr(mailboxStoragePayload, receiverKeys, receiverKeys.getPublic());
+        assertTrue(this.testState.mockedStorage.remove(protectedMailboxStorageEntry, TestState.getTestNodeAddress()));
+        assertNull(this.testState.mockedStorage.getProtectedStoragePayloadCountByClassName().get(mailboxClassName));
+        assertEquals(1, (int) this.testState.mockedStorage.getProtectedStoragePayloadCountByClassName().get(className));
+    }
 }
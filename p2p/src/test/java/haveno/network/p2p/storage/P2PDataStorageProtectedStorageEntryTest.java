@@ -38,6 +38,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import java.security.KeyPair;
 import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.util.Map;
 
 import static haveno.network.p2p.storage.TestState.SavedTestState;
@@ -46,6 +47,8 @@ import static java.util.Optional.of;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -259,6 +262,33 @@ public class P2PDataStorageProtectedStorageEntryTest {
             assertAndDoProtectedStorageAdd(entryForAdd, false, false);
         }
 
+        // TESTCASE: Add w/ lower sequence number after remove is rejected without verifying the signature
+        @ValueSource(booleans = {true, false})
+        @ParameterizedTest(name = "{index}: Test with useMessageHandler={0}")
+        public void addProtectedStorageEntryAfterRemoveLowerSeqNrIsNotVerified(boolean useMessageHandler) {
+            this.useMessageHandler = useMessageHandler;
+            ProtectedStorageEntry entryForRemove = getProtectedStorageEntryForRemove(2);
+            ProtectedStorageEntry entryForAdd = getProtectedStorageEntryForAdd(1);
+
+            assertAndDoProtectedStorageRemove(entryForRemove, true, false, false, true, true);
+            assertAndDoProtectedStorageAdd(entryForAdd, false, false);
+
+            verify(entryForAdd, never()).isValidForAddOperation();
+        }
+
+        // TESTCASE: Expired add is rejected without verifying the signature
+        @ValueSource(booleans = {true, false})
+        @ParameterizedTest(name = "{index}: Test with useMessageHandler={0}")
+        public void addProtectedStorageEntryExpiredIsNotVerified(boolean useMessageHandler) {
+            this.useMessageHandler = useMessageHandler;
+            ProtectedStorageEntry entryForAdd = getProtectedStorageEntryForAdd(1);
+            when(entryForAdd.isExpired(any(Clock.class))).thenReturn(true);
+
+            assertAndDoProtectedStorageAdd(entryForAdd, false, false);
+
+            verify(entryForAdd, never()).isValidForAddOperation();
+        }
+
         // Invalid add tests (isValidForAddOperation() || matchesRelevantPubKey()) returns false
 
         // TESTCASE: Add fails if Entry is not valid for add
@@ -23,6 +23,7 @@ import haveno.network.p2p.storage.mocks.PersistableNetworkPayloadStub;
 import haveno.network.p2p.storage.payload.PersistableNetworkPayload;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -53,4 +54,19 @@ public class HistoricalDataStoreServiceTest {
         assertTrue(appendOnlyDataStoreService.put(hash, payload));
         assertFalse(appendOnlyDataStoreService.put(hash, payload));
     }
+
+    // TESTCASE: AppendOnlyDataStoreService counts each newly added payload once by class name
+    @Test
+    public void appendOnlyPutCountsNewPayloads() {
+        AppendOnlyDataStoreService appendOnlyDataStoreService = new AppendOnlyDataStoreService();
+        appendOnlyDataStoreService.addService(new HistoricalDataStoreServiceFake());
+        PersistableNetworkPayload payload = new PersistableNetworkPayloadStub(new byte[]{1});
+        P2PDataStorage.ByteArray hash = new P2PDataStorage.ByteArray(payload.getHash());
+
+        appendOnlyDataStoreService.put(hash, payload);
+        appendOnlyDataStoreService.put(hash, payload);
+
+        assertEquals(1, (int) appendOnlyDataStoreService.getLivePayloadCountByClassName()
+                .get(PersistableNetworkPayloadStub.class.getSimpleName()));
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.relay;
+
+import com.eatthepath.pushy.apns.ApnsClient;
+import com.eatthepath.pushy.apns.PushNotificationResponse;
+import com.eatthepath.pushy.apns.util.SimpleApnsPayloadBuilder;
+import com.eatthepath.pushy.apns.util.SimpleApnsPushNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Sends notifications to the APNs gateway. APNs takes one notification per request, but the
+ * requests of a batch are multiplexed over the HTTP/2 connection of the client.
+ */
+class ApnsPushSender implements PushSender {
+    private static final Logger log = LoggerFactory.getLogger(ApnsPushSender.class);
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final Set<String> RETRYABLE_REJECTION_REASONS = Set.of("TooManyRequests",
+            "InternalServerError", "ServiceUnavailable", "Shutdown");
+
+    private final String appleBundleId;
+    private final ApnsClient productionApnsClient;
+    private final ApnsClient devApnsClient; // used for iOS development in XCode
+
+    ApnsPushSender(String appleBundleId, ApnsClient productionApnsClient, ApnsClient devApnsClient) {
+        this.appleBundleId = appleBundleId;
+        this.productionApnsClient = productionApnsClient;
+        this.devApnsClient = devApnsClient;
+    }
+
+    @Override
+    public String getName() {
+        return "apns";
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+
+    @Override
+    public CompletableFuture<List<Result>> send(List<PushNotification> notifications) {
+        List<CompletableFuture<Result>> futures = notifications.stream()
+                .map(this::send)
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignore -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
+
+    private CompletableFuture<Result> send(PushNotification notification) {
+        ApnsClient apnsClient = notification.isProduction ? productionApnsClient : devApnsClient;
+        if (apnsClient == null) {
+            log.error("APNs client is not set up, cannot send notification");
+            return CompletableFuture.completedFuture(Result.FAILED);
+        }
+
+        SimpleApnsPayloadBuilder payloadBuilder = new SimpleApnsPayloadBuilder();
+        if (notification.useSound)
+            payloadBuilder.setSound("default");
+        payloadBuilder.setAlertBody("Haveno notification");
+        payloadBuilder.setContentAvailable(notification.isContentAvailable);
+        payloadBuilder.addCustomProperty("encrypted", notification.encryptedMessage);
+        String payload = payloadBuilder.build();
+        log.debug("payload " + payload);
+        SimpleApnsPushNotification apnsPushNotification = new SimpleApnsPushNotification(notification.token, appleBundleId, payload);
+
+        return apnsClient.sendNotification(apnsPushNotification).handle((response, throwable) -> {
+            if (throwable != null) {
+                log.warn("Sending notification to the APNs gateway failed: {}", throwable.toString());
+                return Result.RETRY;
+            }
+            return toResult(response);
+        });
+    }
+
+    private static Result toResult(PushNotificationResponse<SimpleApnsPushNotification> response) {
+        if (response.isAccepted()) {
+            log.info("Push notification accepted by APNs gateway.");
+            return Result.DELIVERED;
+        }
+        String rejectionReason = response.getRejectionReason().orElse("unknown");
+        String invalidation = response.getTokenInvalidationTimestamp()
+                .map(timestamp -> " and the token is invalid as of " + timestamp)
+                .orElse("");
+        log.info("Notification rejected by the APNs gateway: " + rejectionReason + invalidation);
+        return RETRYABLE_REJECTION_REASONS.contains(rejectionReason) ? Result.RETRY : Result.FAILED;
+    }
+}
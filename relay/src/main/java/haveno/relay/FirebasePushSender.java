@@ -0,0 +1,101 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.relay;
+
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Sends notifications to Firebase Cloud Messaging in batches. The messages of a batch have different
+ * tokens and payloads, so they are sent with sendEach rather than as one multicast message.
+ */
+class FirebasePushSender implements PushSender {
+    private static final Logger log = LoggerFactory.getLogger(FirebasePushSender.class);
+    // FCM accepts at most 500 messages per batch
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final Set<MessagingErrorCode> RETRYABLE_ERROR_CODES = Set.of(MessagingErrorCode.UNAVAILABLE,
+            MessagingErrorCode.INTERNAL, MessagingErrorCode.QUOTA_EXCEEDED);
+
+    @Override
+    public String getName() {
+        return "firebase";
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+
+    @Override
+    public CompletableFuture<List<Result>> send(List<PushNotification> notifications) {
+        List<Message> messages = notifications.stream()
+                .map(FirebasePushSender::toMessage)
+                .collect(Collectors.toList());
+        CompletableFuture<List<Result>> future = new CompletableFuture<>();
+        ApiFutures.addCallback(FirebaseMessaging.getInstance().sendEachAsync(messages), new ApiFutureCallback<>() {
+            @Override
+            public void onFailure(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onSuccess(BatchResponse batchResponse) {
+                future.complete(batchResponse.getResponses().stream()
+                        .map(FirebasePushSender::toResult)
+                        .collect(Collectors.toList()));
+            }
+        }, Runnable::run);
+        return future;
+    }
+
+    private static Message toMessage(PushNotification notification) {
+        Message.Builder messageBuilder = Message.builder();
+        Notification firebaseNotification = Notification.builder()
+                .setTitle("Haveno")
+                .setBody("Notification")
+                .build();
+        messageBuilder.setNotification(firebaseNotification);
+        messageBuilder.putData("encrypted", notification.encryptedMessage);
+        messageBuilder.setToken(notification.token);
+        if (notification.useSound)
+            messageBuilder.putData("sound", "default");
+        return messageBuilder.build();
+    }
+
+    private static Result toResult(SendResponse response) {
+        if (response.isSuccessful()) return Result.DELIVERED;
+        FirebaseMessagingException exception = response.getException();
+        log.warn("Notification rejected by Firebase: {}", exception.toString());
+        MessagingErrorCode errorCode = exception.getMessagingErrorCode();
+        return errorCode != null && RETRYABLE_ERROR_CODES.contains(errorCode) ? Result.RETRY : Result.FAILED;
+    }
+}
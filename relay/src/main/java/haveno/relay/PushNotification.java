@@ -0,0 +1,38 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.relay;
+
+/**
+ * A notification for a single device as received in a relay request.
+ */
+class PushNotification {
+    final String token;
+    final String encryptedMessage;
+    final boolean useSound;
+    // only used for Apple devices
+    final boolean isProduction;
+    final boolean isContentAvailable;
+
+    PushNotification(String token, String encryptedMessage, boolean useSound, boolean isProduction, boolean isContentAvailable) {
+        this.token = token;
+        this.encryptedMessage = encryptedMessage;
+        this.useSound = useSound;
+        this.isProduction = isProduction;
+        this.isContentAvailable = isContentAvailable;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.relay;
+
+import haveno.common.metrics.Counter;
+import haveno.common.metrics.Histogram;
+import haveno.common.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue of notifications for one push provider.
+ * <p>
+ * A dispatcher thread takes the queued notifications in batches and hands them to the sender, which
+ * completes them asynchronously, so request threads only enqueue. The number of notifications being
+ * sent is bounded as well. Notifications which failed temporarily are queued again after an exponential
+ * backoff until they run out of attempts.
+ */
+class PushQueue {
+    private static final Logger log = LoggerFactory.getLogger(PushQueue.class);
+
+    private static class Delivery {
+        private final PushNotification notification;
+        private final long enqueueTime = System.currentTimeMillis();
+        private int numAttempts;
+
+        private Delivery(PushNotification notification) {
+            this.notification = notification;
+        }
+    }
+
+    private final PushSender sender;
+    private final BlockingQueue<Delivery> queue;
+    private final int maxBatchSize;
+    private final Semaphore inFlight;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final ScheduledExecutorService retryScheduler;
+    private final Thread dispatcher;
+    private volatile boolean shutDown;
+
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    private final Histogram latencyHistogram;
+    private final Histogram sendDurationHistogram;
+
+    /**
+     * @param capacity         Maximum number of queued notifications. Further notifications are rejected.
+     * @param maxInFlight      Maximum number of notifications being sent at once.
+     * @param maxAttempts      Maximum number of attempts to send a notification.
+     * @param initialBackoffMs Delay before the first retry, doubled with each further retry.
+     * @param maxBackoffMs     Maximum delay before a retry.
+     */
+    PushQueue(PushSender sender, int capacity, int maxInFlight, int maxAttempts, long initialBackoffMs, long maxBackoffMs) {
+        this.sender = sender;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = Math.min(sender.getMaxBatchSize(), maxInFlight);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+
+        String provider = sender.getName();
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        String countHelp = "Number of push notifications by outcome";
+        deliveredCounter = metrics.counter("haveno_relay_push_total", countHelp, "provider", provider, "outcome", "delivered");
+        retriedCounter = metrics.counter("haveno_relay_push_total", countHelp, "provider", provider, "outcome", "retried");
+        failedCounter = metrics.counter("haveno_relay_push_total", countHelp, "provider", provider, "outcome", "failed");
+        droppedCounter = metrics.counter("haveno_relay_push_total", countHelp, "provider", provider, "outcome", "dropped");
+        latencyHistogram = metrics.histogram("haveno_relay_push_latency_ms",
+                "Time from receiving a push notification until the provider accepted it", "provider", provider);
+        sendDurationHistogram = metrics.histogram("haveno_relay_push_send_duration_ms",
+                "Time the provider took to answer a batch of push notifications", "provider", provider);
+        metrics.gauge("haveno_relay_push_queue_size", "Number of queued push notifications", queue::size, "provider", provider);
+
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PushQueue-retry-" + provider);
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher = new Thread(this::dispatch, "PushQueue-" + provider);
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * @return false if the queue is full or shut down
+     */
+    boolean offer(PushNotification notification) {
+        if (shutDown) return false;
+        if (queue.offer(new Delivery(notification))) return true;
+        droppedCounter.increment();
+        log.warn("{} push queue is full, rejecting notification", sender.getName());
+        return false;
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    void shutDown() {
+        shutDown = true;
+        dispatcher.interrupt();
+        retryScheduler.shutdownNow();
+    }
+
+    private void dispatch() {
+        while (!shutDown) {
+            try {
+                List<Delivery> batch = new ArrayList<>();
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+                // we hold the batch back until earlier sends completed
+                inFlight.acquire(batch.size());
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable t) {
+                log.error("Error dispatching {} push notifications", sender.getName(), t);
+            }
+        }
+    }
+
+    private void send(List<Delivery> batch) {
+        List<PushNotification> notifications = new ArrayList<>(batch.size());
+        for (Delivery delivery : batch) {
+            delivery.numAttempts++;
+            notifications.add(delivery.notification);
+        }
+
+        long ts = System.currentTimeMillis();
+        CompletableFuture<List<PushSender.Result>> future;
+        try {
+            future = sender.send(notifications);
+        } catch (Throwable t) {
+            future = CompletableFuture.failedFuture(t);
+        }
+        future.whenComplete((results, throwable) -> {
+            inFlight.release(batch.size());
+            sendDurationHistogram.observe(System.currentTimeMillis() - ts);
+            if (throwable != null) {
+                log.warn("Sending {} {} push notifications failed: {}", batch.size(), sender.getName(), throwable.toString());
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                onResult(batch.get(i), throwable != null ? PushSender.Result.RETRY : results.get(i));
+            }
+        });
+    }
+
+    private void onResult(Delivery delivery, PushSender.Result result) {
+        switch (result) {
+            case DELIVERED:
+                deliveredCounter.increment();
+                latencyHistogram.observe(System.currentTimeMillis() - delivery.enqueueTime);
+                break;
+            case RETRY:
+                if (delivery.numAttempts < maxAttempts && !shutDown) {
+                    retriedCounter.increment();
+                    long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(delivery.numAttempts - 1, 30));
+                    try {
+                        retryScheduler.schedule(() -> requeue(delivery), backoffMs, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (RejectedExecutionException e) {
+                        // shut down in the meantime
+                    }
+                }
+                failedCounter.increment();
+                log.warn("Giving up on {} push notification after {} attempts", sender.getName(), delivery.numAttempts);
+                break;
+            case FAILED:
+            default:
+                failedCounter.increment();
+                break;
+        }
+    }
+
+    private void requeue(Delivery delivery) {
+        if (!queue.offer(delivery)) {
+            droppedCounter.increment();
+            log.warn("{} push queue is full, dropping notification to retry", sender.getName());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.relay;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivers notifications to a push provider.
+ */
+interface PushSender {
+
+    enum Result {
+        DELIVERED,
+        // temporary failure, e.g. the provider is unavailable or throttles us
+        RETRY,
+        // permanent failure, e.g. the token is invalid
+        FAILED
+    }
+
+    /**
+     * @return name of the provider, used as metrics label
+     */
+    String getName();
+
+    int getMaxBatchSize();
+
+    /**
+     * Sends the notifications without blocking the calling thread.
+     *
+     * @return future which completes with the result of each notification in the given order, or
+     * exceptionally if the whole batch failed
+     */
+    CompletableFuture<List<Result>> send(List<PushNotification> notifications);
+}
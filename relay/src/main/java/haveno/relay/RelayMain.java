@@ -19,6 +19,7 @@ package haveno.relay;
 
 import ch.qos.logback.classic.Level;
 import haveno.common.app.Log;
+import haveno.common.metrics.MetricsRegistry;
 import haveno.common.util.Utilities;
 import org.apache.commons.codec.binary.Hex;
 import org.slf4j.Logger;
@@ -86,6 +87,7 @@ public class RelayMain {
         relayService = new RelayService(appleCertPwPath, appleCertPath, appleBundleId, androidCertPath);
 
         handleRelay();
+        handleMetrics();
 
         keepRunning();
     }
@@ -109,6 +111,14 @@ public class RelayMain {
         });
     }
 
+    // push delivery metrics in the Prometheus text format
+    private static void handleMetrics() {
+        get("/metrics", (request, response) -> {
+            response.type("text/plain; version=0.0.4; charset=utf-8");
+            return MetricsRegistry.getInstance().scrape();
+        });
+    }
+
     private static void keepRunning() {
         //noinspection InfiniteLoopStatement
         while (true) {
@@ -20,16 +20,8 @@ package haveno.relay;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.Message;
-import com.google.firebase.messaging.Notification;
 import com.eatthepath.pushy.apns.ApnsClient;
 import com.eatthepath.pushy.apns.ApnsClientBuilder;
-import com.eatthepath.pushy.apns.PushNotificationResponse;
-import com.eatthepath.pushy.apns.util.SimpleApnsPayloadBuilder;
-import com.eatthepath.pushy.apns.util.SimpleApnsPushNotification;
-import com.eatthepath.pushy.apns.util.concurrent.PushNotificationFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,8 +30,12 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Scanner;
-import java.util.concurrent.ExecutionException;
 
+/**
+ * Queues the notifications of relay requests for delivery, so request threads do not wait for the
+ * push providers. A request succeeds once its notification is queued. Delivery failures are retried
+ * and reported in the logs and metrics, but not to the requester.
+ */
 class RelayService {
     private static final Logger log = LoggerFactory.getLogger(RelayMain.class);
     private static final String ANDROID_DATABASE_URL = "https://havenonotifications.firebaseio.com";
@@ -47,19 +43,25 @@ class RelayService {
     // duplicated in core and here. Must not be changed.
     private static final String SUCCESS = "success";
 
-    private final String appleBundleId;
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int MAX_IN_FLIGHT = 1_000;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long INITIAL_BACKOFF_MS = 1_000;
+    private static final long MAX_BACKOFF_MS = 60_000;
 
-    private ApnsClient productionApnsClient;
-    private ApnsClient devApnsClient; // used for iOS development in XCode
+    private final PushQueue appleQueue;
+    private final PushQueue androidQueue;
 
     RelayService(String appleCertPwPath, String appleCertPath, String appleBundleId, String androidCertPath) {
-        this.appleBundleId = appleBundleId;
+        this(setupForApple(appleCertPwPath, appleCertPath, appleBundleId), setupForAndroid(androidCertPath));
+    }
 
-        setupForAndroid(androidCertPath);
-        setupForApple(appleCertPwPath, appleCertPath);
+    RelayService(PushSender appleSender, PushSender androidSender) {
+        appleQueue = new PushQueue(appleSender, QUEUE_CAPACITY, MAX_IN_FLIGHT, MAX_ATTEMPTS, INITIAL_BACKOFF_MS, MAX_BACKOFF_MS);
+        androidQueue = new PushQueue(androidSender, QUEUE_CAPACITY, MAX_IN_FLIGHT, MAX_ATTEMPTS, INITIAL_BACKOFF_MS, MAX_BACKOFF_MS);
     }
 
-    private void setupForAndroid(String androidCertPath) {
+    private static PushSender setupForAndroid(String androidCertPath) {
         try {
             InputStream androidCertStream = new FileInputStream(androidCertPath);
             FirebaseOptions options = new FirebaseOptions.Builder()
@@ -71,9 +73,12 @@ class RelayService {
             log.error(e.toString());
             e.printStackTrace();
         }
+        return new FirebasePushSender();
     }
 
-    private void setupForApple(String appleCertPwPath, String appleCertPath) {
+    private static PushSender setupForApple(String appleCertPwPath, String appleCertPath, String appleBundleId) {
+        ApnsClient productionApnsClient = null;
+        ApnsClient devApnsClient = null;
         try {
             InputStream certInputStream = new FileInputStream(appleCertPwPath);
             Scanner scanner = new Scanner(certInputStream);
@@ -90,65 +95,23 @@ class RelayService {
             log.error(e.toString());
             e.printStackTrace();
         }
+        return new ApnsPushSender(appleBundleId, productionApnsClient, devApnsClient);
     }
 
     String sendAppleMessage(boolean isProduction, boolean isContentAvailable, String apsTokenHex, String encryptedMessage, boolean useSound) {
-        SimpleApnsPayloadBuilder payloadBuilder = new SimpleApnsPayloadBuilder();
-        if (useSound)
-            payloadBuilder.setSound("default");
-        payloadBuilder.setAlertBody("Haveno notification");
-        payloadBuilder.setContentAvailable(isContentAvailable);
-        payloadBuilder.addCustomProperty("encrypted", encryptedMessage);
-        final String payload = payloadBuilder.build();
-        log.info("payload " + payload);
-        SimpleApnsPushNotification simpleApnsPushNotification = new SimpleApnsPushNotification(apsTokenHex, appleBundleId, payload);
+        return enqueue(appleQueue, new PushNotification(apsTokenHex, encryptedMessage, useSound, isProduction, isContentAvailable));
+    }
 
-        ApnsClient apnsClient = isProduction ? productionApnsClient : devApnsClient;
-        PushNotificationFuture<SimpleApnsPushNotification, PushNotificationResponse<SimpleApnsPushNotification>>
-            notificationFuture = apnsClient.sendNotification(simpleApnsPushNotification);
-        try {
-            PushNotificationResponse<SimpleApnsPushNotification> pushNotificationResponse = notificationFuture.get();
-            if (pushNotificationResponse.isAccepted()) {
-                log.info("Push notification accepted by APNs gateway.");
-                return SUCCESS;
-            } else {
-                String msg1 = "Notification rejected by the APNs gateway: " +
-                    pushNotificationResponse.getRejectionReason();
-                String msg2 = "";
-                if (pushNotificationResponse.getTokenInvalidationTimestamp() != null)
-                    msg2 = " and the token is invalid as of " +
-                        pushNotificationResponse.getTokenInvalidationTimestamp();
+    String sendAndroidMessage(String apsTokenHex, String encryptedMessage, boolean useSound) {
+        return enqueue(androidQueue, new PushNotification(apsTokenHex, encryptedMessage, useSound, false, false));
+    }
 
-                log.info(msg1 + msg2);
-                return "Error: " + msg1 + msg2;
-            }
-        } catch (InterruptedException | ExecutionException e) {
-            log.error(e.toString());
-            e.printStackTrace();
-            return "Error: " + e.toString();
-        }
+    void shutDown() {
+        appleQueue.shutDown();
+        androidQueue.shutDown();
     }
 
-    String sendAndroidMessage(String apsTokenHex, String encryptedMessage, boolean useSound) {
-        Message.Builder messageBuilder = Message.builder();
-        Notification notification = Notification.builder()
-                .setTitle("Haveno")
-                .setBody("Notification")
-                .build();
-        messageBuilder.setNotification(notification);
-        messageBuilder.putData("encrypted", encryptedMessage);
-        messageBuilder.setToken(apsTokenHex);
-        if (useSound)
-            messageBuilder.putData("sound", "default");
-        Message message = messageBuilder.build();
-        try {
-            FirebaseMessaging firebaseMessaging = FirebaseMessaging.getInstance();
-            firebaseMessaging.send(message);
-            return SUCCESS;
-        } catch (FirebaseMessagingException e) {
-            log.error(e.toString());
-            e.printStackTrace();
-            return "Error: " + e.toString();
-        }
+    private static String enqueue(PushQueue queue, PushNotification notification) {
+        return queue.offer(notification) ? SUCCESS : "Error: Too many pending notifications, try again later";
     }
 }
@@ -0,0 +1,223 @@
+/*
+ * This file is part of Haveno.
+ *
+ * Haveno is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Haveno is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Haveno. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package haveno.relay;
+
+import haveno.common.metrics.MetricsRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PushQueueTest {
+
+    // Fake provider which answers each batch asynchronously, like the APNs and Firebase clients.
+    // Tokens starting with "invalid" are rejected permanently, tokens starting with "flaky" fail
+    // temporarily on the first two attempts. Batches are answered only once resumed while paused, and
+    // the sending thread is blocked while the send gate is closed.
+    private static class FakePushSender implements PushSender {
+        private final String name;
+        private final int maxBatchSize;
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final Map<String, AtomicInteger> attemptsByToken = new ConcurrentHashMap<>();
+        private final List<Runnable> pausedBatches = new ArrayList<>();
+        private boolean paused;
+        private volatile CountDownLatch sendGate;
+
+        private FakePushSender(String name, int maxBatchSize) {
+            this.name = name;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        @Override
+        public CompletableFuture<List<Result>> send(List<PushNotification> notifications) {
+            batchSizes.add(notifications.size());
+            CountDownLatch gate = sendGate;
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            CompletableFuture<List<Result>> future = new CompletableFuture<>();
+            Runnable answer = () -> {
+                List<Result> results = new ArrayList<>();
+                for (PushNotification notification : notifications) {
+                    int attempt = attemptsByToken.computeIfAbsent(notification.token, token -> new AtomicInteger()).incrementAndGet();
+                    if (notification.token.startsWith("invalid")) {
+                        results.add(Result.FAILED);
+                    } else if (notification.token.startsWith("flaky") && attempt <= 2) {
+                        results.add(Result.RETRY);
+                    } else {
+                        results.add(Result.DELIVERED);
+                    }
+                }
+                future.complete(results);
+            };
+            synchronized (this) {
+                if (paused) {
+                    pausedBatches.add(answer);
+                    return future;
+                }
+            }
+            executor.schedule(answer, 5, TimeUnit.MILLISECONDS);
+            return future;
+        }
+
+        private synchronized void pause() {
+            paused = true;
+        }
+
+        private synchronized void resume() {
+            paused = false;
+            pausedBatches.forEach(executor::execute);
+            pausedBatches.clear();
+        }
+
+        private int getAttempts(String token) {
+            AtomicInteger attempts = attemptsByToken.get(token);
+            return attempts == null ? 0 : attempts.get();
+        }
+    }
+
+    private final List<PushQueue> queues = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        queues.forEach(PushQueue::shutDown);
+    }
+
+    @Test
+    public void testNotificationsAreSentInBatches() throws Exception {
+        FakePushSender sender = new FakePushSender("fake-firebase-batches", 500);
+        PushQueue queue = createQueue(sender, 10_000, 500);
+
+        // while the dispatcher is blocked in sending the first batch, the next notifications are queued
+        sender.sendGate = new CountDownLatch(1);
+        assertTrue(queue.offer(notification("token-0")));
+        waitUntil(() -> sender.batchSizes.size() == 1);
+        for (int i = 1; i <= 1200; i++) assertTrue(queue.offer(notification("token-" + i)));
+        sender.sendGate.countDown();
+
+        waitUntil(() -> getCount("fake-firebase-batches", "delivered") == 1201);
+        assertEquals(List.of(1, 500, 500, 200), sender.batchSizes);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testTemporaryFailuresAreRetried() throws Exception {
+        FakePushSender sender = new FakePushSender("fake-apns-retries", 100);
+        PushQueue queue = createQueue(sender, 100, 100);
+
+        assertTrue(queue.offer(notification("flaky-token")));
+        assertTrue(queue.offer(notification("invalid-token")));
+        assertTrue(queue.offer(notification("valid-token")));
+
+        waitUntil(() -> getCount("fake-apns-retries", "delivered") == 2);
+        assertEquals(3, sender.getAttempts("flaky-token"));
+        assertEquals(1, sender.getAttempts("invalid-token"));
+        assertEquals(1, sender.getAttempts("valid-token"));
+        assertEquals(2, getCount("fake-apns-retries", "retried"));
+        assertEquals(1, getCount("fake-apns-retries", "failed"));
+    }
+
+    @Test
+    public void testFullQueueRejectsNotifications() throws Exception {
+        FakePushSender sender = new FakePushSender("fake-apns-full", 100);
+        PushQueue queue = createQueue(sender, 2, 1);
+        sender.pause();
+
+        // the first notification is being sent, the second waits in the dispatcher for the first to complete
+        assertTrue(queue.offer(notification("token-1")));
+        waitUntil(() -> sender.batchSizes.size() == 1);
+        assertTrue(queue.offer(notification("token-2")));
+        waitUntil(() -> queue.size() == 0);
+
+        assertTrue(queue.offer(notification("token-3")));
+        assertTrue(queue.offer(notification("token-4")));
+        assertFalse(queue.offer(notification("token-5")));
+        assertEquals(1, getCount("fake-apns-full", "dropped"));
+
+        sender.resume();
+        waitUntil(() -> getCount("fake-apns-full", "delivered") == 4);
+    }
+
+    @Test
+    public void testRelayRequestDoesNotWaitForDelivery() {
+        FakePushSender appleSender = new FakePushSender("fake-apns-relay", 100);
+        FakePushSender androidSender = new FakePushSender("fake-firebase-relay", 500);
+        appleSender.pause();
+        androidSender.pause();
+        RelayService relayService = new RelayService(appleSender, androidSender);
+        try {
+            assertEquals("success", relayService.sendAppleMessage(true, false, "token", "message", true));
+            assertEquals("success", relayService.sendAndroidMessage("token", "message", true));
+            assertEquals(0, getCount("fake-apns-relay", "delivered"));
+        } finally {
+            relayService.shutDown();
+        }
+    }
+
+    private PushQueue createQueue(PushSender sender, int capacity, int maxInFlight) {
+        PushQueue queue = new PushQueue(sender, capacity, maxInFlight, 3, 10, 100);
+        queues.add(queue);
+        return queue;
+    }
+
+    private static PushNotification notification(String token) {
+        return new PushNotification(token, "encrypted", false, true, false);
+    }
+
+    private static long getCount(String provider, String outcome) {
+        return MetricsRegistry.getInstance().counter("haveno_relay_push_total", "Number of push notifications by outcome",
+                "provider", provider, "outcome", outcome).get();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}